@@ -50,6 +50,7 @@ import java.util.ArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * RPC 服务调用方 与 RPC 服务提供方进行数据通信的管道，使用 {@link RpcPacket} 作为数据载体。
@@ -59,6 +60,14 @@ import java.util.concurrent.TimeUnit;
  *     管道是否可以进行数据通信可通过 {@link #isActive()} 方法进行判断。当管道不再使用时，应调用 {@link #close()} 方法进行资源释放。
  * </p>
  *
+ * <h3>下线排空</h3>
+ * <blockquote>
+ * 管道会记录正在执行中的 RPC 调用数量（可通过 {@link #getInflightCount()} 获取）：RPC 服务调用方为尚未结束（未收到响应、未超时）的 RPC 调用数，
+ * 由调用方通过 {@link #onCallStarted()}、{@link #onCallFinished()} 方法维护，RPC 服务提供方为已接收但响应尚未写出的 RPC 请求数。<br>
+ * RPC 服务提供方调用 {@link #offline(long)} 后，调用方将不再发送新的 RPC 请求，并在执行中的 RPC 调用数量降为 0 后立即关闭管道，
+ * 最长等待 {@link #DEFAULT_DRAIN_TIMEOUT} 毫秒；提供方则等待至执行中的 RPC 调用全部响应完成或排空超时。
+ * </blockquote>
+ *
  * <h3>数据监控</h3>
  * <blockquote>
  * 可通过 {@link RpcClientSocketMonitorFactory} 获取 RPC 服务调用方 Socket 通信监控数据。<br>
@@ -94,6 +103,18 @@ public class RpcChannel implements Closeable {
 
     private static final String MODE_SERVER = "Server";
 
+    /**
+     * 默认的下线排空超时时间，单位：毫秒，RPC 服务调用方接收到下线操作请求后，最长等待该时间后关闭管道
+     *
+     * @since 1.2
+     */
+    public static final long DEFAULT_DRAIN_TIMEOUT = 60 * 1000;
+
+    /**
+     * RPC 服务提供方等待下线操作响应的最大时间，单位：毫秒
+     */
+    private static final long OFFLINE_RESPONSE_TIMEOUT = 5 * 1000;
+
     /**
      * 等待发送的 RPC 数据队列
      */
@@ -159,6 +180,26 @@ public class RpcChannel implements Closeable {
      */
     private final CountDownLatch offlineLatch = new CountDownLatch(1);
 
+    /**
+     * 当前管道中正在执行中的 RPC 调用数量
+     */
+    private final AtomicInteger inflightCount = new AtomicInteger();
+
+    /**
+     * 当前管道是否处于下线排空状态
+     */
+    private volatile boolean isDraining = false;
+
+    /**
+     * 等待下线排空完成使用的私有锁
+     */
+    private final Object drainLock = new Object();
+
+    /**
+     * RPC 服务提供方开始执行下线操作的时间戳，如果未执行下线操作，该值为 0
+     */
+    private volatile long offlineStartTime = 0;
+
     /**
      * RPC 数据包发送线程
      */
@@ -276,6 +317,10 @@ public class RpcChannel implements Closeable {
                     //停止 Write 线程
                     writeTask.stopSignal = true;
                     writeTask.interrupt();
+                    //唤醒等待下线排空的线程
+                    synchronized (drainLock) {
+                        drainLock.notifyAll();
+                    }
                     RPC_CONNECTION_LOG.info("[{}] RpcChannel has been closed. Cost: `{}ms`. Host: `{}`. Heartbeat period: `{}`.",
                             mode, (System.currentTimeMillis() - startTime), host, heartbeatPeriod);
                 } catch (Exception e) {
@@ -305,35 +350,130 @@ public class RpcChannel implements Closeable {
     }
 
     /**
-     * RPC 服务提供方给 RPC 服务调用方发送一个下线操作请求，调用方在收到该请求后将不再发送新的 RPC 数据，并在 1 分钟后关闭当前管道。
+     * RPC 服务提供方给 RPC 服务调用方发送一个下线操作请求，并等待执行中的 RPC 调用全部响应完成，最长等待 {@link #DEFAULT_DRAIN_TIMEOUT} 毫秒。
+     * 调用方在收到该请求后将不再发送新的 RPC 数据，并在执行中的 RPC 调用全部完成后关闭当前管道。
      *
      * <p><strong>说明：</strong>该方法由 RPC 服务提供方调用，RPC 服务调用方调用此方法不产生任何效果。该方法不会抛出任何异常。</p>
      *
      * @return 下线操作是否成功
+     * @see #offline(long)
      */
     public boolean offline() {
+        return offline(DEFAULT_DRAIN_TIMEOUT);
+    }
+
+    /**
+     * RPC 服务提供方给 RPC 服务调用方发送一个下线操作请求，并等待执行中的 RPC 调用全部响应完成，最长等待 {@code drainTimeout} 毫秒。
+     * 调用方在收到该请求后将不再发送新的 RPC 数据，并在执行中的 RPC 调用全部完成后关闭当前管道。
+     *
+     * <p><strong>说明：</strong>该方法由 RPC 服务提供方调用，RPC 服务调用方调用此方法不产生任何效果。该方法不会抛出任何异常。</p>
+     *
+     * @param drainTimeout 下线排空超时时间，单位：毫秒
+     * @return 下线操作是否成功
+     * @since 1.2
+     */
+    public boolean offline(long drainTimeout) {
+        return startOffline() && awaitOffline(drainTimeout);
+    }
+
+    /**
+     * RPC 服务提供方给 RPC 服务调用方发送一个下线操作请求，该方法不会等待下线完成，应配合 {@link #awaitOffline(long)} 方法使用。
+     * 多个管道可先依次调用此方法，再依次调用 {@link #awaitOffline(long)}，使下线排空并行进行。
+     *
+     * <p><strong>说明：</strong>该方法由 RPC 服务提供方调用，RPC 服务调用方调用此方法不产生任何效果。该方法不会抛出任何异常。</p>
+     *
+     * @return 下线操作请求是否已提交
+     * @since 1.2
+     */
+    public boolean startOffline() {
         if (mode.equals(MODE_SERVER)) {
-            rpcPacketQueue.add(RpcPacketBuilder.buildRequestPacket(0, OperationCode.OFFLINE));
-            boolean latchFlag;
-            try {
-                latchFlag = offlineLatch.await(5, TimeUnit.SECONDS);
-            } catch (InterruptedException e) { //never happened
-                latchFlag = false;
-            }
-            if (latchFlag) {
-                RPC_CONNECTION_LOG.info("[{}] Offline RpcChannel success. Host: `{}`. Socket: `{}`.", mode, host, socket);
-                return true;
-            } else {
-                RPC_CONNECTION_LOG.error("[{}] Offline RpcChannel failed: `offline timeout`. Host: `{}`. Socket: `{}`.", mode, host, socket);
-                return false;
+            synchronized (lock) {
+                if (offlineStartTime == 0) {
+                    offlineStartTime = System.currentTimeMillis();
+                    isDraining = true;
+                    rpcPacketQueue.add(RpcPacketBuilder.buildRequestPacket(0, OperationCode.OFFLINE));
+                }
             }
+            return true;
         } else {
-            LOG.warn("[" + mode + "] RpcChannel offline failed: `client rpc channel should not invoke #offline() method`. State: `" + state +
+            LOG.warn("[" + mode + "] RpcChannel offline failed: `client rpc channel should not invoke #startOffline() method`. State: `" + state +
                     "`. Offline: `" + isOffline + "`. Host: `" + host + "`. Socket: `" + socket + "`.");
             return false;
         }
     }
 
+    /**
+     * 等待 {@link #startOffline()} 提交的下线操作完成：RPC 服务调用方确认下线，且执行中的 RPC 调用全部响应完成或管道已关闭。
+     * 等待截止时间从调用 {@link #startOffline()} 时开始计算。
+     *
+     * <p><strong>说明：</strong>该方法由 RPC 服务提供方调用，未调用 {@link #startOffline()} 时将直接返回 {@code false}。该方法不会抛出任何异常。</p>
+     *
+     * @param drainTimeout 下线排空超时时间，单位：毫秒
+     * @return 下线操作是否成功
+     * @since 1.2
+     */
+    public boolean awaitOffline(long drainTimeout) {
+        long startTime = offlineStartTime;
+        if (startTime == 0) {
+            LOG.warn("[" + mode + "] RpcChannel await offline failed: `#startOffline() has not been invoked`. State: `" + state +
+                    "`. Offline: `" + isOffline + "`. Host: `" + host + "`. Socket: `" + socket + "`.");
+            return false;
+        }
+        boolean latchFlag;
+        try {
+            long responseTimeout = startTime + OFFLINE_RESPONSE_TIMEOUT - System.currentTimeMillis();
+            latchFlag = offlineLatch.await(Math.max(responseTimeout, 0), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) { //never happened
+            latchFlag = false;
+        }
+        if (!latchFlag) {
+            RPC_CONNECTION_LOG.error("[{}] Offline RpcChannel failed: `offline timeout`. Host: `{}`. Socket: `{}`.", mode, host, socket);
+            return false;
+        }
+        if (awaitDrained(startTime + drainTimeout)) {
+            RPC_CONNECTION_LOG.info("[{}] Offline RpcChannel success. Cost: `{}ms`. Host: `{}`. Socket: `{}`.",
+                    mode, (System.currentTimeMillis() - startTime), host, socket);
+            return true;
+        } else {
+            RPC_CONNECTION_LOG.error("[{}] Offline RpcChannel failed: `drain timeout`. Inflight: `{}`. Drain timeout: `{}ms`. Host: `{}`. Socket: `{}`.",
+                    mode, inflightCount.get(), drainTimeout, host, socket);
+            return false;
+        }
+    }
+
+    /**
+     * 获得当前管道中正在执行中的 RPC 调用数量。RPC 服务调用方为尚未结束的 RPC 调用数，RPC 服务提供方为已接收但响应尚未写出的 RPC 请求数。
+     *
+     * @return 正在执行中的 RPC 调用数量
+     * @since 1.2
+     */
+    public int getInflightCount() {
+        return inflightCount.get();
+    }
+
+    /**
+     * RPC 服务调用方在发送 RPC 请求前调用，增加执行中的 RPC 调用数量，每次调用必须对应一次 {@link #onCallFinished()} 调用。
+     *
+     * <p><strong>说明：</strong>应在检查管道是否可用前调用，保证下线排空时不会遗漏正在发送的请求。该方法不会抛出任何异常。</p>
+     *
+     * @since 1.2
+     */
+    public void onCallStarted() {
+        inflightCount.incrementAndGet();
+    }
+
+    /**
+     * RPC 服务调用方在 RPC 调用结束（收到响应、超时、发送失败或管道关闭）后调用，减少执行中的 RPC 调用数量。
+     *
+     * <p><strong>说明：</strong>超时的 RPC 调用可能永远不会收到响应，因此该数量由调用方根据 RPC 调用是否结束维护，而不是根据是否收到响应。
+     * 该方法不会抛出任何异常。</p>
+     *
+     * @since 1.2
+     */
+    public void onCallFinished() {
+        onInflightFinished(1);
+    }
+
     /**
      * 判断当前 RPC 数据通信管道是否已被关闭。
      *
@@ -388,9 +528,46 @@ public class RpcChannel implements Closeable {
                 ", state=" + state +
                 ", mode='" + mode + '\'' +
                 ", isOffline=" + isOffline +
+                ", inflightCount=" + inflightCount +
                 '}';
     }
 
+    /**
+     * 减少执行中的 RPC 调用数量，如果当前管道处于下线排空状态且数量降为 0，将唤醒等待排空的线程。
+     *
+     * @param count 已完成的 RPC 调用数量
+     */
+    private void onInflightFinished(int count) {
+        if (inflightCount.addAndGet(-count) <= 0 && isDraining) {
+            synchronized (drainLock) {
+                drainLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 等待执行中的 RPC 调用数量降为 0，或管道被关闭，或到达截止时间。
+     *
+     * @param deadline 截止时间戳，单位：毫秒
+     * @return 执行中的 RPC 调用数量是否已降为 0，或管道已被关闭
+     */
+    private boolean awaitDrained(long deadline) {
+        synchronized (drainLock) {
+            while (inflightCount.get() > 0 && state != BeanStatusEnum.CLOSED) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    drainLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * RPC 数据发送线程
      */
@@ -402,6 +579,13 @@ public class RpcChannel implements Closeable {
 
         private final ArrayList<RpcPacket> mergedPacketList = new ArrayList<>();
 
+        /**
+         * 合并数据包中 RPC 服务提供方写出的 RPC 响应数量
+         */
+        private int mergedResponseCount = 0;
+
+        private final boolean isServerMode = MODE_SERVER.equals(mode);
+
         private volatile boolean stopSignal = false;
 
         private WriteTask(Integer sendBufferSize) {
@@ -435,6 +619,9 @@ public class RpcChannel implements Closeable {
                                 System.arraycopy(rpcPacket.getBody(), 0, rpcPacketByteArray, rpcPacket.getHeader().length, rpcPacket.getBody().length);
                                 outputStream.write(rpcPacketByteArray);
                                 socketMonitor.onWritten(rpcPacketByteArray.length);
+                                if (isInflightResponse(rpcPacket)) {
+                                    onInflightFinished(1);
+                                }
                             } else {
                                 addToMergedPacket(rpcPacket);
                             }
@@ -476,6 +663,9 @@ public class RpcChannel implements Closeable {
         private void addToMergedPacket(RpcPacket rpcPacket) {
             mergedPacketList.add(rpcPacket);
             mergedPacketSize = mergedPacketSize + rpcPacket.getHeader().length + rpcPacket.getBody().length;
+            if (isInflightResponse(rpcPacket)) {
+                mergedResponseCount++;
+            }
         }
 
         private void sendMergedPacket(OutputStream outputStream) throws IOException {
@@ -491,12 +681,23 @@ public class RpcChannel implements Closeable {
             }
             outputStream.write(mergedPacket, 0,  destPos);
             socketMonitor.onWritten(destPos);
+            if (mergedResponseCount > 0) {
+                onInflightFinished(mergedResponseCount);
+            }
             resetMergedPacket();
         }
 
         private void resetMergedPacket() {
             mergedPacketList.clear();
             mergedPacketSize = 0;
+            mergedResponseCount = 0;
+        }
+
+        /**
+         * 判断 RPC 数据是否为 RPC 服务提供方写出的 RPC 响应，写出后对应的 RPC 调用即执行完成。
+         */
+        private boolean isInflightResponse(RpcPacket rpcPacket) {
+            return isServerMode && !rpcPacket.isRequestPacket() && rpcPacket.getOpcode() == OperationCode.REMOTE_PROCEDURE_CALL;
         }
 
     }
@@ -527,15 +728,22 @@ public class RpcChannel implements Closeable {
                         }
                     } else if (rpcPacket.getOpcode() == OperationCode.OFFLINE) {
                         if (rpcPacket.isRequestPacket()) {
+                            isDraining = true;
                             isOffline = true;
                             new Thread() {
 
                                 @Override
                                 public void run() {
-                                    RPC_CONNECTION_LOG.info("[{}] RpcChannel receive offline packet, channel will be closed after 1 minute. {}", mode, RpcChannel.this);
-                                    try {
-                                        Thread.sleep(1000 * 60);
-                                    } catch (InterruptedException ignored) {} //ignore exception
+                                    long startTime = System.currentTimeMillis();
+                                    RPC_CONNECTION_LOG.info("[{}] RpcChannel receive offline packet, channel will be closed after inflight calls completed. Inflight: `{}`. {}",
+                                            mode, inflightCount.get(), RpcChannel.this);
+                                    if (awaitDrained(startTime + DEFAULT_DRAIN_TIMEOUT)) {
+                                        RPC_CONNECTION_LOG.info("[{}] RpcChannel has been drained. Cost: `{}ms`. Host: `{}`.",
+                                                mode, (System.currentTimeMillis() - startTime), host);
+                                    } else {
+                                        RPC_CONNECTION_LOG.error("[{}] RpcChannel drain timeout, channel will be closed. Inflight: `{}`. Host: `{}`.",
+                                                mode, inflightCount.get(), host);
+                                    }
                                     close();
                                 }
 
@@ -550,6 +758,9 @@ public class RpcChannel implements Closeable {
                             LOG.debug("[{}] Receive offline response packet success. Host: `{}`.", mode, host);
                         }
                     } else {
+                        if (rpcPacket.isRequestPacket() && rpcPacket.getOpcode() == OperationCode.REMOTE_PROCEDURE_CALL) {
+                            inflightCount.incrementAndGet();
+                        }
                         try {
                             rpcPacketProcessor.onReceived(RpcChannel.this, rpcPacket);
                         } catch (Exception e) {
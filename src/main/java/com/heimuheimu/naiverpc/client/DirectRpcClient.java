@@ -28,21 +28,27 @@ import com.heimuheimu.naivemonitor.monitor.ExecutionMonitor;
 import com.heimuheimu.naiverpc.channel.RpcChannel;
 import com.heimuheimu.naiverpc.constant.OperationCode;
 import com.heimuheimu.naiverpc.constant.ResponseStatusCode;
+import com.heimuheimu.naiverpc.exception.ConcurrencyLimitExceededException;
 import com.heimuheimu.naiverpc.exception.RpcException;
 import com.heimuheimu.naiverpc.exception.TimeoutException;
 import com.heimuheimu.naiverpc.exception.TooBusyException;
 import com.heimuheimu.naiverpc.facility.UnusableServiceNotifier;
+import com.heimuheimu.naiverpc.facility.latency.PeakEwma;
+import com.heimuheimu.naiverpc.facility.limit.AdaptiveConcurrencyLimiter;
+import com.heimuheimu.naiverpc.facility.timer.RpcClientTimerFactory;
 import com.heimuheimu.naiverpc.message.RpcRequestMessage;
 import com.heimuheimu.naiverpc.monitor.client.RpcClientCompressionMonitorFactory;
 import com.heimuheimu.naiverpc.monitor.client.RpcClientExecutionMonitorFactory;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientPendingCallMonitorFactory;
 import com.heimuheimu.naiverpc.net.BuildSocketException;
 import com.heimuheimu.naiverpc.net.SocketConfiguration;
 import com.heimuheimu.naiverpc.packet.RpcPacket;
 import com.heimuheimu.naiverpc.packet.RpcPacketBuilder;
+import com.heimuheimu.naiverpc.packet.RpcServerLoad;
 import com.heimuheimu.naiverpc.transcoder.SimpleTranscoder;
 import com.heimuheimu.naiverpc.transcoder.Transcoder;
 import com.heimuheimu.naiverpc.util.ByteUtil;
-import com.heimuheimu.naiverpc.util.ReflectUtil;
+import com.heimuheimu.naiverpc.util.FutureUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,10 +56,11 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.net.Socket;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * RPC 服务调用方使用的直连客户端，通过 {@link #execute(Method, Object[])} 方法远程调用 RPC 服务提供方提供的服务。
@@ -67,10 +74,26 @@ import java.util.concurrent.atomic.AtomicLong;
  * 当 RPC 调用出现异常、超时、执行过慢、RPC 服务提供方繁忙、{@code DirectRpcClient} 已关闭等错误时，均会触发 {@link DirectRpcClientListener} 相应的事件进行通知。
  * </blockquote>
  *
+ * <h3>异步调用</h3>
+ * <blockquote>
+ * 所有 RPC 调用均以异步方式进行，调用请求发送后不会占用调用线程，RPC 响应数据在数据通信管道的读取线程中完成解码，
+ * 超时由 {@link RpcClientTimerFactory} 提供的共享时间轮定时器进行检查，超时精度为 10 毫秒，超时后的日志、监听器及回调函数在
+ * {@link RpcClientTimerFactory#getExecutor()} 的线程中执行。
+ * 同步调用方法 {@link #execute(Method, Object[], long)} 仅等待 {@link #executeAsync(Method, Object[], long)} 返回的结果。<br>
+ * 如果调用方取消了返回的 {@code CompletableFuture}（例如对冲调用中落后的请求），该调用将在收到响应数据或超时后被静默释放，不会解码响应数据，也不会触发监听器事件。
+ * </blockquote>
+ *
+ * <h3>并发限制</h3>
+ * <blockquote>
+ * 如果构造时指定了 {@link AdaptiveConcurrencyLimiter}，未返回的 RPC 调用数量达到其自动探测的上限后，新的 RPC 调用将立即以 {@link ConcurrencyLimitExceededException} 失败，
+ * 不会发送至 RPC 服务提供方，调用耗时作为探测样本，超时及 RPC 服务提供方繁忙将降低上限。
+ * </blockquote>
+ *
  * <h3>数据监控</h3>
  * <blockquote>
  * 可通过 {@link RpcClientCompressionMonitorFactory} 获取 RPC 服务调用方压缩信息监控数据。<br>
- * 可通过 {@link RpcClientExecutionMonitorFactory} 获取单个 RPC 服务提供方的 RPC 调用信息监控数据。
+ * 可通过 {@link RpcClientExecutionMonitorFactory} 获取单个 RPC 服务提供方的 RPC 调用信息监控数据。<br>
+ * 可通过 {@link RpcClientPendingCallMonitorFactory} 获取单个 RPC 服务提供方等待响应的 RPC 调用数量。
  * </blockquote>
  *
  * <p><strong>说明：</strong>{@code DirectRpcClient} 类是线程安全的，可在多个线程中使用同一个实例。</p>
@@ -83,20 +106,35 @@ public class DirectRpcClient implements RpcClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(DirectRpcClient.class);
 
+    /**
+     * 等待响应的 RPC 调用表容量，超出该容量的 RPC 调用仍可正常执行，但不会复用 {@link PendingCall}
+     */
+    private static final int PENDING_CALL_TABLE_CAPACITY = 1024;
+
+    /**
+     * RPC 服务提供方负载信息采样间隔，单位：毫秒，在该间隔内接收到的负载信息将被忽略，避免每次响应均创建 {@link RpcServerLoad}
+     */
+    private static final long SERVER_LOAD_SAMPLE_INTERVAL = 10;
+
+    /**
+     * 当前线程复用的 RPC 请求消息，仅在 RPC 请求数据编码期间持有 RPC 调用参数
+     */
+    private static final ThreadLocal<RpcRequestMessage> REQUEST_MESSAGE_HOLDER = ThreadLocal.withInitial(RpcRequestMessage::new);
+
     /**
      * RPC 数据 ID 生成器
      */
     private final AtomicLong packetIdGenerator = new AtomicLong();
 
     /**
-     * Key 为 RPC 请求数据 ID，Value 为该请求数据对应的 {@link CountDownLatch} 实例
+     * 等待响应的 RPC 调用表
      */
-    private final ConcurrentHashMap<Long, CountDownLatch> latchMap = new ConcurrentHashMap<>();
+    private final PendingCallTable pendingCallTable = new PendingCallTable(PENDING_CALL_TABLE_CAPACITY, RpcClientTimerFactory.get(), this::onTimeout);
 
     /**
-     * Key 为 RPC 请求数据 ID，Value 为该请求数据对应的 RPC 响应数据
+     * 注册至 {@link RpcClientPendingCallMonitorFactory} 的等待响应的 RPC 调用数量计数器
      */
-    private final ConcurrentHashMap<Long, RpcPacket> resultMap = new ConcurrentHashMap<>();
+    private final LongSupplier pendingCallCounter = pendingCallTable::size;
 
     /**
      * 提供 RPC 服务的主机地址，由主机名和端口组成，":"符号分割，例如：localhost:4182
@@ -134,6 +172,21 @@ public class DirectRpcClient implements RpcClient {
      */
     private final ExecutionMonitor executionMonitor;
 
+    /**
+     * RPC 调用耗时 Peak-EWMA 估算器，用于负载均衡策略估算当前 RPC 服务提供方的调用耗时
+     */
+    private final PeakEwma peakEwma = new PeakEwma();
+
+    /**
+     * 最近一次采样的 RPC 服务提供方负载信息，如果 RPC 服务提供方未携带负载信息，则为 {@code null}
+     */
+    private volatile RpcServerLoad serverLoad = null;
+
+    /**
+     * 自适应并发限制器，如果为 {@code null}，则不限制未返回的 RPC 调用数量
+     */
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
     /**
      * 连续 {@link TimeoutException} 异常出现次数
      */
@@ -181,6 +234,33 @@ public class DirectRpcClient implements RpcClient {
                            int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener clientListener,
                            UnusableServiceNotifier<DirectRpcClient> unusableServiceNotifier)
             throws IllegalArgumentException, BuildSocketException {
+        this(host, configuration, timeout, compressionThreshold, slowExecutionThreshold, heartbeatPeriod, clientListener,
+                unusableServiceNotifier, null);
+    }
+
+    /**
+     * 构造一个 RPC 服务调用方使用的直连客户端，并使用自适应并发限制器限制未返回的 RPC 调用数量。
+     *
+     * @param host 提供 RPC 服务的主机地址，由主机名和端口组成，":"符号分割，例如：localhost:4182
+     * @param configuration {@link Socket} 配置信息，如果传 {@code null}，将会使用 {@link SocketConfiguration#DEFAULT} 配置信息
+     * @param timeout RPC 调用超时时间，单位：毫秒，不能小于等于 0
+     * @param compressionThreshold 最小压缩字节数，当数据 body 字节数小于或等于该值，不进行压缩，不能小于等于 0
+     * @param slowExecutionThreshold RPC 调用过慢最小时间，单位：毫秒，不能小于等于 0，RPC 调用时间大于该值时，将会触发 {@link DirectRpcClientListener#onSlowExecution(String, Method, Object[], long)} 事件
+     * @param heartbeatPeriod 心跳检测时间，单位：秒，在该周期时间内没有任何数据交互，将会发送一个心跳请求数据，如果该值小于等于 0，则不进行检测
+     * @param clientListener {@code DirectRpcClient} 事件监听器，允许为 {@code null}
+     * @param unusableServiceNotifier {@code DirectRpcClient} 不可用通知器，允许为 {@code null}
+     * @param concurrencyLimiter 自适应并发限制器，每个 {@code DirectRpcClient} 应使用独立的实例，如果为 {@code null}，则不限制未返回的 RPC 调用数量
+     * @throws IllegalArgumentException 如果 RPC 调用超时时间小于等于 0，将会抛出此异常
+     * @throws IllegalArgumentException 如果最小压缩字节数小于等于 0，将会抛出此异常
+     * @throws IllegalArgumentException 如果 RPC 调用过慢最小时间小于等于 0，将会抛出此异常
+     * @throws IllegalArgumentException 如果提供 RPC 服务的主机地址不符合规则，将会抛出此异常
+     * @throws BuildSocketException 如果创建 {@link Socket} 过程中发生错误，将会抛出此异常
+     * @since 1.2
+     */
+    public DirectRpcClient(String host, SocketConfiguration configuration, int timeout, int compressionThreshold,
+                           int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener clientListener,
+                           UnusableServiceNotifier<DirectRpcClient> unusableServiceNotifier, AdaptiveConcurrencyLimiter concurrencyLimiter)
+            throws IllegalArgumentException, BuildSocketException {
         if (timeout <= 0) {
             LOG.error("Create DirectRpcClient failed: `timeout could not be equal or less than 0`. Host: `" + host + "`. SocketConfiguration: `"
                     + configuration + "`. Timeout: `" + timeout + "`. CompressionThreshold: `" + compressionThreshold +
@@ -217,11 +297,15 @@ public class DirectRpcClient implements RpcClient {
         //将毫秒转换为纳秒
         this.slowExecutionThreshold = TimeUnit.NANOSECONDS.convert(slowExecutionThreshold, TimeUnit.MILLISECONDS);
         this.executionMonitor = RpcClientExecutionMonitorFactory.get(host);
+        this.concurrencyLimiter = concurrencyLimiter;
         this.rpcChannel = new RpcChannel(host, configuration, heartbeatPeriod, unusableChannel -> {
             if (unusableChannel.isClosed()) { // 释放所有等待 RPC 命令
-                for (CountDownLatch latch : latchMap.values()) {
-                    latch.countDown();
-                }
+                pendingCallTable.removeAll(pendingCall -> {
+                    pendingCall.cancelTimeoutTask();
+                    unusableChannel.onCallFinished();
+                    onEmptyResponse(pendingCall);
+                });
+                RpcClientPendingCallMonitorFactory.get(host).unregister(pendingCallCounter);
             }
             if (unusableServiceNotifier != null) {
                 unusableServiceNotifier.onClosed(this);
@@ -229,10 +313,19 @@ public class DirectRpcClient implements RpcClient {
         }, (targetChannel, receivedPacket) -> {
                 if (receivedPacket.isResponsePacket() && receivedPacket.getOpcode() == OperationCode.REMOTE_PROCEDURE_CALL) {
                     long packetId = ByteUtil.readLong(receivedPacket.getHeader(), 8);
-                    CountDownLatch latch = latchMap.remove(packetId);
-                    if (latch != null) {
-                        resultMap.put(packetId, receivedPacket);
-                        latch.countDown();
+                    RpcServerLoad currentServerLoad = serverLoad;
+                    if (currentServerLoad == null
+                            || System.currentTimeMillis() - currentServerLoad.getCreatedTime() >= SERVER_LOAD_SAMPLE_INTERVAL) {
+                        RpcServerLoad receivedServerLoad = receivedPacket.getServerLoad();
+                        if (receivedServerLoad != null) {
+                            serverLoad = receivedServerLoad;
+                        }
+                    }
+                    PendingCall pendingCall = pendingCallTable.remove(packetId);
+                    if (pendingCall != null) {
+                        pendingCall.cancelTimeoutTask();
+                        targetChannel.onCallFinished();
+                        onResponse(pendingCall, receivedPacket);
                     }
                 } else { //should not happen
                     LOG.error("Unrecognized rpc packet: `{}`", receivedPacket);
@@ -240,6 +333,10 @@ public class DirectRpcClient implements RpcClient {
         });
         this.rpcChannel.init();
         this.rpcClientListenerWrapper = new RpcClientListenerWrapper(clientListener);
+        RpcClientPendingCallMonitorFactory.get(host).register(pendingCallCounter);
+        if (rpcChannel.isClosed()) { // 管道在初始化后立即被关闭，计数器可能已错过移除时机
+            RpcClientPendingCallMonitorFactory.get(host).unregister(pendingCallCounter);
+        }
     }
 
     @Override
@@ -249,7 +346,19 @@ public class DirectRpcClient implements RpcClient {
 
     @Override
     public Object execute(Method method, Object[] args, long timeout) throws IllegalStateException, TimeoutException, TooBusyException, RpcException {
+        return FutureUtil.get(executeAsync(method, args, timeout), Math.max(timeout, 0) + FutureUtil.WAIT_TIMEOUT_SLACK);
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args) {
+        return executeAsync(method, args, timeout);
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args, long timeout) {
         long startTime = System.nanoTime();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        boolean isAcquired = false; // 是否已获取并发许可，注册等待响应后，许可由结束该调用的线程释放
         try {
             if (timeout <= 0) {
                 LOG.error("RPC execute failed: `timeout could not be equal or less than 0`. Timeout: `" + timeout + "`. Method: `"
@@ -259,11 +368,7 @@ public class DirectRpcClient implements RpcClient {
                 throw new RpcException("RPC execute failed: `timeout could not be equal or less than 0`. Timeout: `" + timeout
                         + "`. Method: `" + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
             }
-            validateArguments(startTime, method, args);
-            RpcRequestMessage rpcRequestMessage = new RpcRequestMessage();
-            rpcRequestMessage.setTargetClass(method.getDeclaringClass().getName());
-            rpcRequestMessage.setMethodUniqueName(ReflectUtil.getMethodUniqueName(method));
-            rpcRequestMessage.setArguments(args);
+            RpcMethodDescriptor descriptor = validateArguments(startTime, method, args);
             if (!rpcChannel.isActive()) {
                 LOG.error("RPC execute failed: `inactive rpc channel`. Timeout: `" + timeout + "`. Method: `"
                         + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
@@ -272,9 +377,26 @@ public class DirectRpcClient implements RpcClient {
                 throw new IllegalStateException("RPC execute failed: `inactive rpc channel`. Timeout: `" + timeout + "`. Method: `"
                         + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
             }
+            if (concurrencyLimiter != null) {
+                if (!concurrencyLimiter.tryAcquire()) {
+                    //过载时拒绝频率较高，仅输出 DEBUG 日志，且不输出调用参数及客户端信息，避免拒绝本身消耗过多资源
+                    LOG.debug("RPC execute failed: `concurrency limit exceeded`. Limit: `{}`. Host: `{}`. Method: `{}`.",
+                            concurrencyLimiter.getLimit(), host, method);
+                    rpcClientListenerWrapper.onTooBusy(host, method, args);
+                    executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_TOO_BUSY);
+                    throw new ConcurrencyLimitExceededException("RPC execute failed: `concurrency limit exceeded`. Limit: `" + concurrencyLimiter.getLimit()
+                            + "`. Host: `" + host + "`. Method: `" + method + "`.");
+                }
+                isAcquired = true;
+            }
 
             long packetId = packetIdGenerator.incrementAndGet();
             RpcPacket rpcPacket;
+            //RPC 请求消息在编码完成后不再被使用，每个线程复用同一个实例
+            RpcRequestMessage rpcRequestMessage = REQUEST_MESSAGE_HOLDER.get();
+            rpcRequestMessage.setTargetClass(descriptor.getTargetClass());
+            rpcRequestMessage.setMethodUniqueName(descriptor.getMethodUniqueName());
+            rpcRequestMessage.setArguments(args);
             try {
                 rpcPacket = RpcPacketBuilder.buildRequestPacket(packetId, OperationCode.REMOTE_PROCEDURE_CALL, rpcRequestMessage, transcoder);
             } catch (Exception e) {
@@ -284,119 +406,257 @@ public class DirectRpcClient implements RpcClient {
                 executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
                 throw new RpcException("RPC execute failed: `build RpcPacket failed`. Timeout: `" + timeout + "`. Method: `"
                         + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.", e);
+            } finally {
+                rpcRequestMessage.setArguments(null);
             }
-            CountDownLatch latch = new CountDownLatch(1);
-            latchMap.put(packetId, latch);
-            rpcChannel.send(rpcPacket);
-            boolean latchFlag;
+            //先计数再注册及发送，保证下线排空时不会遗漏正在发送的请求，该计数由结束该调用的线程减少
+            rpcChannel.onCallStarted();
+            PendingCall pendingCall;
             try {
-                latchFlag = latch.await(timeout, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException e) {
-                latchFlag = false; //never happened
+                pendingCall = pendingCallTable.register(packetId, method, args, timeout, startTime, future);
+            } catch (RuntimeException e) {
+                rpcChannel.onCallFinished();
+                throw e;
             }
-            if (latchFlag) {
-                RpcPacket responsePacket = resultMap.remove(packetId);
-                if (responsePacket != null) {
-                    byte status = responsePacket.getResponseStatus();
-                    if (status == ResponseStatusCode.SUCCESS) {
-                        try {
-                            return transcoder.decode(responsePacket.getBody(), responsePacket.getSerializationType(), responsePacket.getCompressionType());
-                        } catch (Exception e) {
-                            LOG.error("RPC execute failed: `decode response packet failed`. Timeout: `" + timeout + "`. Method: `"
-                                    + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.", e);
-                            rpcClientListenerWrapper.onError(host, method, args);
-                            executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
-                            throw new RpcException("RPC execute failed: `decode response packet failed`. Timeout: `" + timeout + "`. Method: `"
-                                    + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.", e);
-                        }
-                    } else if (status == ResponseStatusCode.TOO_BUSY) {
-                        LOG.error("RPC execute failed: `too busy`. Timeout: `" + timeout + "`. Method: `"
-                                + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
-                        rpcClientListenerWrapper.onTooBusy(host, method, args);
-                        executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_TOO_BUSY);
-                        throw new TooBusyException("RPC execute failed: `too busy`. Timeout: `" + timeout + "`. Method: `"
-                                + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
-                    } else {
-                        String errorMessage;
-                        switch (status) {
-                            case ResponseStatusCode.INVOCATION_TARGET_ERROR:
-                                try {
-                                    errorMessage = transcoder.decode(responsePacket.getBody(), responsePacket.getSerializationType(), responsePacket.getCompressionType());
-                                } catch (Exception e) {
-                                    errorMessage = "decode error message failed";
-                                }
-                                rpcClientListenerWrapper.onInvocationTargetError(host, method, args, errorMessage);
-                                break;
-                            case ResponseStatusCode.CLASS_NOT_FOUND:
-                                errorMessage = "class not found";
-                                rpcClientListenerWrapper.onClassNotFound(host, method, args);
-                                break;
-                            case ResponseStatusCode.NO_SUCH_METHOD:
-                                errorMessage = "no such method";
-                                rpcClientListenerWrapper.onNoSuchMethod(host, method, args);
-                                break;
-                            case ResponseStatusCode.ILLEGAL_ARGUMENT:
-                                errorMessage = "illegal argument";
-                                rpcClientListenerWrapper.onIllegalArgument(host, method, args);
-                                break;
-                            case ResponseStatusCode.INTERNAL_ERROR:
-                                errorMessage = "server internal error";
-                                rpcClientListenerWrapper.onError(host, method, args);
-                                break;
-                            default:
-                                errorMessage = "unrecognized response status code [" + status + "]";
-                                rpcClientListenerWrapper.onError(host, method, args);
-                        }
-                        LOG.error("RPC execute failed: `" + errorMessage + "`. See the rpc server log for more information. Timeout: `"
-                                + timeout + "`. Method: `" + method + "`. Arguments: `" + Arrays.toString(args)
-                                + "`. DirectRpcClient: `" + this + "`.");
-                        executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
-                        throw new RpcException("RPC execute failed: `" + errorMessage + "`. See the rpc server log for more information. Timeout: `"
-                                + timeout + "`. Method: `" + method + "`. Arguments: `" + Arrays.toString(args)
-                                + "`. DirectRpcClient: `" + this + "`.");
-                    }
-                } else {
-                    LOG.error("RPC execute failed: `empty response packet`. Timeout: `" + timeout + "`. Method: `" + method
-                            + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
-                    rpcClientListenerWrapper.onError(host, method, args);
-                    executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
-                    throw new RpcException("RPC execute failed: `empty response packet`. Timeout: `" + timeout + "`. Method: `" + method
-                            + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
+            isAcquired = false;
+            try {
+                rpcChannel.send(rpcPacket);
+            } catch (IllegalStateException e) {
+                //如果该调用已被超时检查或管道关闭操作结束，则无需再次处理
+                if (pendingCallTable.claim(pendingCall, packetId)) {
+                    pendingCall.cancelTimeoutTask();
+                    pendingCallTable.release(pendingCall);
+                    rpcChannel.onCallFinished();
+                    isAcquired = concurrencyLimiter != null;
+                    throw e;
                 }
+            }
+        } catch (RuntimeException e) {
+            if (isAcquired) {
+                concurrencyLimiter.onIgnored();
+            }
+            onExecuted(startTime, method, args);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 处理 RPC 调用对应的响应数据，该方法在 RPC 数据通信管道的读取线程中执行。
+     *
+     * @param pendingCall 已获得结束权的 RPC 调用，处理完成后将会被释放
+     * @param responsePacket RPC 响应数据
+     */
+    private void onResponse(PendingCall pendingCall, RpcPacket responsePacket) {
+        if (concurrencyLimiter != null) {
+            if (responsePacket.getResponseStatus() == ResponseStatusCode.TOO_BUSY) {
+                concurrencyLimiter.onDropped();
             } else {
-                latchMap.remove(packetId);
-                LOG.error("RPC execute failed: `wait response timeout`. Timeout: `" + timeout + "`. Method: `" + method
-                        + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
-                //如果两次超时异常发生在 1s 以内，则认为是连续失败
-                if (System.currentTimeMillis() - lastTimeoutExceptionTime < 1000) {
-                    continuousTimeoutExceptionTimes ++;
-                } else {
-                    continuousTimeoutExceptionTimes = 1;
-                }
-                lastTimeoutExceptionTime = System.currentTimeMillis();
-                //如果连续超时异常出现次数大于 50 次，认为当前连接出现异常，关闭当前连接
-                if (continuousTimeoutExceptionTimes > 50) {
-                    RPC_CONNECTION_LOG.error("DirectRpcClient need to be closed due to: `Too many timeout exceptions[{}]`. Host: `{}`.",
-                            continuousTimeoutExceptionTimes, host);
-                    close();
-                }
-                rpcClientListenerWrapper.onTimeout(host, method, args);
-                executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_TIMEOUT);
-                throw new TimeoutException("RPC execute failed: `wait response timeout`. Timeout: `" + timeout + "`. Method: `"
-                        + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
+                concurrencyLimiter.onSample(System.nanoTime() - pendingCall.startTime);
+            }
+        }
+        if (pendingCall.future.isCancelled()) { // 调用方已取消该调用，无需解码响应数据
+            pendingCallTable.release(pendingCall);
+            return;
+        }
+        Object result = null;
+        RuntimeException exception = null;
+        try {
+            result = parseResponse(pendingCall, responsePacket);
+        } catch (RuntimeException e) {
+            exception = e;
+        }
+        onExecuted(pendingCall.startTime, pendingCall.method, pendingCall.args);
+        peakEwma.record(System.nanoTime() - pendingCall.startTime);
+        CompletableFuture<Object> future = pendingCall.future;
+        pendingCallTable.release(pendingCall);
+        if (exception == null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(exception);
+        }
+    }
+
+    private Object parseResponse(PendingCall pendingCall, RpcPacket responsePacket) throws TooBusyException, RpcException {
+        Method method = pendingCall.method;
+        Object[] args = pendingCall.args;
+        long timeout = pendingCall.timeout;
+        byte status = responsePacket.getResponseStatus();
+        if (status == ResponseStatusCode.SUCCESS) {
+            try {
+                return transcoder.decode(responsePacket.getBody(), responsePacket.getSerializationType(), responsePacket.getCompressionType());
+            } catch (Exception e) {
+                LOG.error("RPC execute failed: `decode response packet failed`. Timeout: `" + timeout + "`. Method: `"
+                        + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.", e);
+                rpcClientListenerWrapper.onError(host, method, args);
+                executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
+                throw new RpcException("RPC execute failed: `decode response packet failed`. Timeout: `" + timeout + "`. Method: `"
+                        + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.", e);
+            }
+        } else if (status == ResponseStatusCode.TOO_BUSY) {
+            LOG.error("RPC execute failed: `too busy`. Timeout: `" + timeout + "`. Method: `"
+                    + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
+            rpcClientListenerWrapper.onTooBusy(host, method, args);
+            executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_TOO_BUSY);
+            throw new TooBusyException("RPC execute failed: `too busy`. Timeout: `" + timeout + "`. Method: `"
+                    + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
+        } else {
+            String errorMessage;
+            switch (status) {
+                case ResponseStatusCode.INVOCATION_TARGET_ERROR:
+                    try {
+                        errorMessage = transcoder.decode(responsePacket.getBody(), responsePacket.getSerializationType(), responsePacket.getCompressionType());
+                    } catch (Exception e) {
+                        errorMessage = "decode error message failed";
+                    }
+                    rpcClientListenerWrapper.onInvocationTargetError(host, method, args, errorMessage);
+                    break;
+                case ResponseStatusCode.CLASS_NOT_FOUND:
+                    errorMessage = "class not found";
+                    rpcClientListenerWrapper.onClassNotFound(host, method, args);
+                    break;
+                case ResponseStatusCode.NO_SUCH_METHOD:
+                    errorMessage = "no such method";
+                    rpcClientListenerWrapper.onNoSuchMethod(host, method, args);
+                    break;
+                case ResponseStatusCode.ILLEGAL_ARGUMENT:
+                    errorMessage = "illegal argument";
+                    rpcClientListenerWrapper.onIllegalArgument(host, method, args);
+                    break;
+                case ResponseStatusCode.INTERNAL_ERROR:
+                    errorMessage = "server internal error";
+                    rpcClientListenerWrapper.onError(host, method, args);
+                    break;
+                default:
+                    errorMessage = "unrecognized response status code [" + status + "]";
+                    rpcClientListenerWrapper.onError(host, method, args);
             }
-        } finally {
-            long executedNanoTime = System.nanoTime() - startTime;
-            if (executedNanoTime > slowExecutionThreshold) {
-                executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_SLOW_EXECUTION);
-                rpcClientListenerWrapper.onSlowExecution(host, method, args, executedNanoTime);
+            LOG.error("RPC execute failed: `" + errorMessage + "`. See the rpc server log for more information. Timeout: `"
+                    + timeout + "`. Method: `" + method + "`. Arguments: `" + Arrays.toString(args)
+                    + "`. DirectRpcClient: `" + this + "`.");
+            executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
+            throw new RpcException("RPC execute failed: `" + errorMessage + "`. See the rpc server log for more information. Timeout: `"
+                    + timeout + "`. Method: `" + method + "`. Arguments: `" + Arrays.toString(args)
+                    + "`. DirectRpcClient: `" + this + "`.");
+        }
+    }
+
+    /**
+     * 当 RPC 数据通信管道关闭时，结束尚未收到响应数据的 RPC 调用，该 RPC 调用将由 {@link PendingCallTable#removeAll(java.util.function.Consumer)} 释放。
+     *
+     * @param pendingCall 已获得结束权的 RPC 调用
+     */
+    private void onEmptyResponse(PendingCall pendingCall) {
+        if (concurrencyLimiter != null) {
+            concurrencyLimiter.onIgnored();
+        }
+        Method method = pendingCall.method;
+        Object[] args = pendingCall.args;
+        LOG.error("RPC execute failed: `empty response packet`. Timeout: `" + pendingCall.timeout + "`. Method: `" + method
+                + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
+        rpcClientListenerWrapper.onError(host, method, args);
+        executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
+        RpcException exception = new RpcException("RPC execute failed: `empty response packet`. Timeout: `" + pendingCall.timeout
+                + "`. Method: `" + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
+        onExecuted(pendingCall.startTime, method, args);
+        pendingCall.future.completeExceptionally(exception);
+    }
+
+    /**
+     * 当 RPC 调用等待响应超时时，获得该 RPC 调用的结束权并释放 {@code PendingCall}，该方法在时间轮定时器的工作线程中执行。
+     * 打印日志、触发监听器及结束 {@code CompletableFuture} 等操作将提交至 {@link RpcClientTimerFactory#getExecutor()} 中执行，
+     * 防止调用方的回调函数阻塞定时器工作线程。
+     *
+     * @param pendingCall RPC 调用
+     * @param packetId RPC 请求数据 ID，如果 {@code pendingCall} 已被其它 RPC 调用复用，将不会进行任何操作
+     */
+    private void onTimeout(PendingCall pendingCall, long packetId) {
+        if (pendingCallTable.claim(pendingCall, packetId)) {
+            Method method = pendingCall.method;
+            Object[] args = pendingCall.args;
+            long timeout = pendingCall.timeout;
+            long startTime = pendingCall.startTime;
+            CompletableFuture<Object> future = pendingCall.future;
+            pendingCallTable.release(pendingCall);
+            rpcChannel.onCallFinished();
+            Runnable timeoutTask = () -> onTimeout(method, args, timeout, startTime, future);
+            try {
+                RpcClientTimerFactory.getExecutor().execute(timeoutTask);
+            } catch (RejectedExecutionException e) { //should not happen
+                timeoutTask.run();
+            }
+        }
+    }
+
+    /**
+     * 结束已超时的 RPC 调用，该方法在 {@link RpcClientTimerFactory#getExecutor()} 的线程中执行。
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @param timeout RPC 调用超时时间，单位：毫秒
+     * @param startTime RPC 调用开始时间，单位：纳秒
+     * @param future RPC 调用结果
+     */
+    private void onTimeout(Method method, Object[] args, long timeout, long startTime, CompletableFuture<Object> future) {
+        if (concurrencyLimiter != null) {
+            if (future.isCancelled()) {
+                concurrencyLimiter.onIgnored();
+            } else {
+                concurrencyLimiter.onDropped();
             }
-            executionMonitor.onExecuted(startTime);
         }
+        if (future.isCancelled()) { // 调用方已取消该调用，超时不再视为错误
+            return;
+        }
+        LOG.error("RPC execute failed: `wait response timeout`. Timeout: `" + timeout + "`. Method: `" + method
+                + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
+        //如果两次超时异常发生在 1s 以内，则认为是连续失败
+        if (System.currentTimeMillis() - lastTimeoutExceptionTime < 1000) {
+            continuousTimeoutExceptionTimes ++;
+        } else {
+            continuousTimeoutExceptionTimes = 1;
+        }
+        lastTimeoutExceptionTime = System.currentTimeMillis();
+        //如果连续超时异常出现次数大于 50 次，认为当前连接出现异常，关闭当前连接
+        if (continuousTimeoutExceptionTimes > 50) {
+            RPC_CONNECTION_LOG.error("DirectRpcClient need to be closed due to: `Too many timeout exceptions[{}]`. Host: `{}`.",
+                    continuousTimeoutExceptionTimes, host);
+            close();
+        }
+        rpcClientListenerWrapper.onTimeout(host, method, args);
+        executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_TIMEOUT);
+        TimeoutException exception = new TimeoutException("RPC execute failed: `wait response timeout`. Timeout: `" + timeout
+                + "`. Method: `" + method + "`. Arguments: `" + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
+        onExecuted(startTime, method, args);
+        peakEwma.record(System.nanoTime() - startTime);
+        future.completeExceptionally(exception);
     }
 
+    private void onExecuted(long startTime, Method method, Object[] args) {
+        long executedNanoTime = System.nanoTime() - startTime;
+        if (executedNanoTime > slowExecutionThreshold) {
+            executionMonitor.onError(RpcClientExecutionMonitorFactory.ERROR_CODE_SLOW_EXECUTION);
+            rpcClientListenerWrapper.onSlowExecution(host, method, args, executedNanoTime);
+        }
+        executionMonitor.onExecuted(startTime);
+    }
+
+    /**
+     * 对 RPC 调用使用的参数数组进行检查，并返回 RPC 方法调用描述信息。
+     *
+     * <p>
+     *     如果参数声明类型无法保证可被序列化，且参数实例为未实现 {@link Serializable} 接口的 {@code List}、{@code Map}、{@code Set}，
+     *     将会使用可序列化的集合替换该参数。
+     * </p>
+     *
+     * @param startTime RPC 调用开始时间
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @return RPC 方法调用描述信息
+     * @throws RpcException 如果参数检查未通过，将会抛出此异常
+     */
     @SuppressWarnings("unchecked")
-    private void validateArguments(long startTime, Method method, Object[] args) throws RpcException {
+    private RpcMethodDescriptor validateArguments(long startTime, Method method, Object[] args) throws RpcException {
         if (method == null) {
             LOG.error("RPC execute failed: `method could not be null`. Method: `null`. Arguments: `"
                     + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
@@ -405,9 +665,9 @@ public class DirectRpcClient implements RpcClient {
             throw new RpcException("RPC execute failed: `method could not be null`. Method: `null`. Arguments: `"
                     + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
         }
-        Class<?>[] parameterTypes = method.getParameterTypes();
+        RpcMethodDescriptor descriptor = RpcMethodDescriptor.get(method);
         int argsLength = args != null ? args.length : 0;
-        if (parameterTypes.length != argsLength) {
+        if (descriptor.getParameterCount() != argsLength) {
             LOG.error("RPC execute failed: `wrong argument size`. Method: `" + method + "`. Arguments: `"
                     + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
             rpcClientListenerWrapper.onError(host, method, args);
@@ -415,10 +675,10 @@ public class DirectRpcClient implements RpcClient {
             throw new RpcException("RPC execute failed: `wrong argument size`. Method: `" + method + "`. Arguments: `"
                     + Arrays.toString(args) + "`. DirectRpcClient: `" + this + "`.");
         }
-        if (args != null && args.length > 0) {
-            for (int i = 0; i < args.length; i++) {
+        if (argsLength > 0 && descriptor.isSerializationCheckRequired()) {
+            for (int i = 0; i < argsLength; i++) {
                 Object arg = args[i];
-                if (arg != null && !(arg instanceof Serializable)) {
+                if (descriptor.isSerializationCheckRequired(i) && arg != null && !(arg instanceof Serializable)) {
                     if (arg instanceof List) {
                         args[i] = new ArrayList((List)arg);
                         LOG.warn("RPC execute warning: `not serializable List`. Method: `" + method + "`. Arguments: `" + Arrays.toString(args) + ".");
@@ -439,6 +699,7 @@ public class DirectRpcClient implements RpcClient {
                 }
             }
         }
+        return descriptor;
     }
 
     @Override
@@ -464,6 +725,48 @@ public class DirectRpcClient implements RpcClient {
         return rpcChannel.isActive();
     }
 
+    /**
+     * 获得当前已发送请求但尚未收到响应的 RPC 调用数量。
+     *
+     * @return 当前等待响应的 RPC 调用数量
+     * @since 1.2
+     */
+    public long getPendingCallCount() {
+        return pendingCallTable.size();
+    }
+
+    /**
+     * 获得 RPC 调用耗时的 Peak-EWMA 估算值，耗时变长时估算值立即提升，耗时变短时估算值以 10 秒为衰减时间逐步下降，
+     * 超时的调用按已等待的时间记录。如果尚未执行过 RPC 调用，则返回 0。
+     *
+     * @return RPC 调用耗时估算值，单位：纳秒
+     * @since 1.2
+     */
+    public long getLatencyEstimate() {
+        return peakEwma.get();
+    }
+
+    /**
+     * 获得最近采样的 RPC 调用响应中携带的 RPC 服务提供方负载信息，每 10 毫秒最多采样一次，可通过 {@link RpcServerLoad#getCreatedTime()} 判断该信息是否已过期，
+     * 如果 RPC 服务提供方未携带负载信息（例如旧版本的 RPC 服务提供方）或尚未收到过响应，则返回 {@code null}。
+     *
+     * @return RPC 服务提供方负载信息，可能返回 {@code null}
+     * @since 1.2
+     */
+    public RpcServerLoad getServerLoad() {
+        return serverLoad;
+    }
+
+    /**
+     * 获得当前使用的自适应并发限制器，如果未限制未返回的 RPC 调用数量，则返回 {@code null}。
+     *
+     * @return 自适应并发限制器，可能返回 {@code null}
+     * @since 1.2
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
     /**
      * 获得 RPC 服务提供方的远程主机地址，由主机名和端口组成，":"符号分割，例如：localhost:4182。
      *
@@ -473,6 +776,16 @@ public class DirectRpcClient implements RpcClient {
         return host;
     }
 
+    /**
+     * 获得 RPC 调用默认超时时间，单位：毫秒。
+     *
+     * @return RPC 调用默认超时时间
+     * @since 1.2
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+
     @Override
     public String toString() {
         return "DirectRpcClient{" +
@@ -481,9 +794,11 @@ public class DirectRpcClient implements RpcClient {
                 ", timeout=" + timeout +
                 ", slowExecutionThreshold=" + slowExecutionThreshold +
                 ", rpcChannel=" + rpcChannel +
+                ", pendingCallTable=" + pendingCallTable +
                 ", rpcClientListenerWrapper=" + rpcClientListenerWrapper +
                 ", continuousTimeoutExceptionTimes=" + continuousTimeoutExceptionTimes +
                 ", lastTimeoutExceptionTime=" + lastTimeoutExceptionTime +
+                ", concurrencyLimiter=" + concurrencyLimiter +
                 '}';
     }
 
@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client;
+
+import com.heimuheimu.naiverpc.facility.timer.Timeout;
+import com.heimuheimu.naiverpc.facility.timer.TimerTask;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 等待 RPC 服务提供方响应的 RPC 调用，由 {@link PendingCallTable} 统一分配及回收，同一个实例在释放后会被下一次 RPC 调用复用。
+ *
+ * <p>
+ *     {@link #id} 记录当前占用该实例的 RPC 请求数据 ID，{@link #FREE} 表示空闲，{@link #CLAIMED} 表示正在写入或正在结束。
+ *     只有通过 CAS 操作将 {@code id} 由 RPC 请求数据 ID 修改为 {@code CLAIMED} 的线程可以结束该 RPC 调用，
+ *     以此保证响应数据、调用超时、管道关闭三者之间仅有一方生效。
+ * </p>
+ *
+ * <p>
+ *     {@code PendingCall} 同时作为超时检查任务提交至时间轮定时器，提交时无需额外创建任务实例。超时检查任务到期时，
+ *     仅当 {@link #timeoutTask} 仍为到期的 {@link Timeout} 时才会进行超时处理，防止已被复用的实例被过期的超时检查任务结束。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+class PendingCall implements TimerTask {
+
+    /**
+     * RPC 调用状态：空闲
+     */
+    static final long FREE = 0;
+
+    /**
+     * RPC 调用状态：正在写入或正在结束
+     */
+    static final long CLAIMED = -1;
+
+    private static final AtomicLongFieldUpdater<PendingCall> ID_UPDATER = AtomicLongFieldUpdater.newUpdater(PendingCall.class, "id");
+
+    /**
+     * 是否为调用表容量不足时额外创建的实例，该实例不会被复用
+     */
+    final boolean overflow;
+
+    /**
+     * RPC 调用超时处理器
+     */
+    private final PendingCallTable.TimeoutHandler timeoutHandler;
+
+    /**
+     * 当前占用该实例的 RPC 请求数据 ID
+     */
+    volatile long id = FREE;
+
+    /**
+     * RPC 调用的方法
+     */
+    Method method;
+
+    /**
+     * RPC 调用使用的参数数组
+     */
+    Object[] args;
+
+    /**
+     * RPC 调用超时时间，单位：毫秒
+     */
+    long timeout;
+
+    /**
+     * RPC 调用开始时间，单位：纳秒
+     */
+    long startTime;
+
+    /**
+     * RPC 调用结果
+     */
+    CompletableFuture<Object> future;
+
+    /**
+     * RPC 调用超时检查任务
+     */
+    volatile Timeout timeoutTask;
+
+    PendingCall(boolean overflow, PendingCallTable.TimeoutHandler timeoutHandler) {
+        this.overflow = overflow;
+        this.timeoutHandler = timeoutHandler;
+    }
+
+    @Override
+    public void run(Timeout timeout) {
+        // 必须先读取 id 再比较 timeoutTask，注册时 timeoutTask 在 id 发布前写入，保证读取到的 id 不会属于其它超时检查任务
+        long packetId = id;
+        if (packetId > 0 && timeoutTask == timeout) {
+            timeoutHandler.onTimeout(this, packetId);
+        }
+    }
+
+    boolean compareAndSetId(long expect, long update) {
+        return ID_UPDATER.compareAndSet(this, expect, update);
+    }
+
+    /**
+     * 取消超时检查任务。
+     */
+    void cancelTimeoutTask() {
+        Timeout task = timeoutTask;
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * 清除本次 RPC 调用使用的数据，以便该实例被复用。
+     */
+    void clear() {
+        method = null;
+        args = null;
+        timeout = 0;
+        startTime = 0;
+        future = null;
+        timeoutTask = null;
+    }
+}
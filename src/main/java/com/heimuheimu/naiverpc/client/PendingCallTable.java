@@ -0,0 +1,319 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client;
+
+import com.heimuheimu.naiverpc.facility.timer.HashedWheelTimer;
+import com.heimuheimu.naiverpc.facility.timer.Timeout;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 等待响应的 RPC 调用表，以 RPC 请求数据 ID（{@code long}）作为 Key，采用开放寻址（线性探测）方式在固定大小的数组中存放可复用的 {@link PendingCall}。
+ *
+ * <p>
+ *     调用表在创建时预先分配所有 {@code PendingCall}，调用表本身在注册及结束 RPC 调用时不会创建对象，也不会对 RPC 请求数据 ID 进行装箱，
+ *     {@code PendingCall} 直接作为超时检查任务提交，每次调用仅由时间轮定时器创建一个定时任务句柄。
+ *     当调用表已满，或在最大探测距离内没有空闲位置时，将额外创建 {@code PendingCall} 并存放至溢出 {@code Map} 中，溢出的 {@code PendingCall} 不会被复用。
+ * </p>
+ *
+ * <p>
+ *     RPC 调用通过 {@link #remove(long)} 或 {@link #claim(PendingCall, long)} 方法获得结束权，获得结束权的线程在读取完调用信息后，
+ *     必须调用 {@link #release(PendingCall)} 方法释放该 {@code PendingCall}。
+ * </p>
+ *
+ * <p>
+ *     注册 RPC 调用时，超时检查任务在 RPC 请求数据 ID 发布前提交，保证 {@code PendingCall} 对其它线程可见时已持有本次调用的超时检查任务。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code PendingCallTable} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+class PendingCallTable {
+
+    /**
+     * 注册 RPC 调用时允许的最大探测距离，超过该距离仍未找到空闲位置时，直接使用溢出 {@code Map}，避免调用表接近已满时每次注册均遍历整个数组
+     */
+    private static final int MAX_PROBE_DISTANCE = 32;
+
+    /**
+     * 可复用的 RPC 调用数组，长度为 2 的幂
+     */
+    private final PendingCall[] slots;
+
+    /**
+     * 数组索引掩码
+     */
+    private final int mask;
+
+    /**
+     * 已出现过的最大探测距离，查找 RPC 调用时最多探测 {@code maxProbeDistance + 1} 个位置，该值只会增加，且不会超过 {@link #MAX_PROBE_DISTANCE}
+     */
+    private final AtomicInteger maxProbeDistance = new AtomicInteger();
+
+    /**
+     * 调用表已满时使用的溢出 {@code Map}，Key 为 RPC 请求数据 ID
+     */
+    private final ConcurrentHashMap<Long, PendingCall> overflowMap = new ConcurrentHashMap<>();
+
+    /**
+     * 当前等待响应的 RPC 调用数量，包含溢出的 RPC 调用
+     */
+    private final LongAdder pendingCallCount = new LongAdder();
+
+    /**
+     * 提交 RPC 调用超时检查任务使用的定时器
+     */
+    private final HashedWheelTimer timer;
+
+    /**
+     * RPC 调用超时处理器
+     */
+    private final TimeoutHandler timeoutHandler;
+
+    /**
+     * 构造一个等待响应的 RPC 调用表。
+     *
+     * @param capacity 调用表容量，将会被调整为不小于该值的 2 的幂，不能小于等于 0
+     * @param timer 提交 RPC 调用超时检查任务使用的定时器，不允许为 {@code null}
+     * @param timeoutHandler RPC 调用超时处理器，不允许为 {@code null}
+     * @throws IllegalArgumentException 如果调用表容量小于等于 0，将会抛出此异常
+     */
+    PendingCallTable(int capacity, HashedWheelTimer timer, TimeoutHandler timeoutHandler) throws IllegalArgumentException {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Create PendingCallTable failed: `invalid capacity`. Capacity: `" + capacity + "`.");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new PendingCall[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new PendingCall(false, timeoutHandler);
+        }
+        this.mask = size - 1;
+        this.timer = timer;
+        this.timeoutHandler = timeoutHandler;
+    }
+
+    /**
+     * 注册一个等待响应的 RPC 调用，并提交该调用的超时检查任务，返回的 {@code PendingCall} 已对其它线程可见。
+     *
+     * <p>
+     *     如果超时检查任务在 RPC 请求数据 ID 发布前已到期，将在当前线程中执行超时处理，此时返回的 {@code PendingCall} 可能已被结束，
+     *     调用方应通过 {@link #claim(PendingCall, long)} 方法获得结束权后再进行处理。
+     * </p>
+     *
+     * @param packetId RPC 请求数据 ID，必须大于 0
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @param timeout RPC 调用超时时间，单位：毫秒
+     * @param startTime RPC 调用开始时间，单位：纳秒
+     * @param future RPC 调用结果
+     * @return 已注册的 RPC 调用
+     * @throws IllegalStateException 如果定时器已关闭，将会抛出此异常
+     */
+    PendingCall register(long packetId, Method method, Object[] args, long timeout, long startTime, CompletableFuture<Object> future)
+            throws IllegalStateException {
+        PendingCall call = reserve(packetId);
+        fill(call, method, args, timeout, startTime, future);
+        Timeout timeoutTask;
+        try {
+            timeoutTask = timer.newTimeout(call, timeout, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            call.clear();
+            if (!call.overflow) {
+                call.id = PendingCall.FREE;
+            }
+            throw e;
+        }
+        call.timeoutTask = timeoutTask;
+        pendingCallCount.increment();
+        if (call.overflow) { // 必须在发布前放入溢出 Map，否则在发布后、放入前被结束并释放的 RPC 调用将永久残留在溢出 Map 中
+            overflowMap.put(packetId, call);
+        }
+        call.id = packetId;
+        if (timeoutTask.isExpired()) { // 超时检查任务在发布前已执行，此时未能获得结束权，需重新执行超时处理
+            call.run(timeoutTask);
+        }
+        return call;
+    }
+
+    /**
+     * 根据 RPC 请求数据 ID 查找并获得该 RPC 调用的结束权，如果该 RPC 调用不存在或已被其它线程结束，将会返回 {@code null}。
+     *
+     * @param packetId RPC 请求数据 ID
+     * @return 已获得结束权的 RPC 调用，可能为 {@code null}
+     */
+    PendingCall remove(long packetId) {
+        int start = (int) (packetId & mask);
+        int probeDistance = maxProbeDistance.get();
+        for (int distance = 0; distance <= probeDistance && distance < slots.length; distance++) {
+            PendingCall slot = slots[(start + distance) & mask];
+            if (slot.id == packetId) {
+                return slot.compareAndSetId(packetId, PendingCall.CLAIMED) ? slot : null;
+            }
+        }
+        if (!overflowMap.isEmpty()) {
+            PendingCall call = overflowMap.remove(packetId);
+            if (call != null && call.compareAndSetId(packetId, PendingCall.CLAIMED)) {
+                return call;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获得指定 RPC 调用的结束权，如果该 RPC 调用已被其它线程结束，或者已被其它 RPC 调用复用，将会返回 {@code false}。
+     *
+     * @param call RPC 调用
+     * @param packetId RPC 请求数据 ID
+     * @return 是否获得结束权
+     */
+    boolean claim(PendingCall call, long packetId) {
+        if (call.compareAndSetId(packetId, PendingCall.CLAIMED)) {
+            if (call.overflow) {
+                overflowMap.remove(packetId, call);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 释放已获得结束权的 RPC 调用，释放后该 {@code PendingCall} 将会被复用，调用方不应再访问该实例。
+     *
+     * @param call 已获得结束权的 RPC 调用
+     */
+    void release(PendingCall call) {
+        call.clear();
+        pendingCallCount.decrement();
+        if (!call.overflow) {
+            call.id = PendingCall.FREE;
+        }
+    }
+
+    /**
+     * 尝试获得所有等待响应的 RPC 调用的结束权，并对每个获得结束权的 RPC 调用执行 {@code action}，{@code action} 执行完成后，
+     * {@code PendingCall} 将会被自动释放。
+     *
+     * @param action 对获得结束权的 RPC 调用执行的操作
+     */
+    void removeAll(Consumer<PendingCall> action) {
+        for (PendingCall slot : slots) {
+            removeAndAccept(slot, action);
+        }
+        for (PendingCall call : overflowMap.values()) {
+            removeAndAccept(call, action);
+        }
+    }
+
+    /**
+     * 获得当前等待响应的 RPC 调用数量。
+     *
+     * @return 当前等待响应的 RPC 调用数量
+     */
+    long size() {
+        return pendingCallCount.sum();
+    }
+
+    private void removeAndAccept(PendingCall call, Consumer<PendingCall> action) {
+        long packetId = call.id;
+        if (packetId > 0 && claim(call, packetId)) {
+            try {
+                action.accept(call);
+            } finally {
+                release(call);
+            }
+        }
+    }
+
+    /**
+     * 获得一个处于 {@link PendingCall#CLAIMED} 状态的 {@code PendingCall}，如果在 {@link #MAX_PROBE_DISTANCE} 探测距离内没有空闲位置，
+     * 将额外创建一个溢出的 {@code PendingCall}。
+     *
+     * @param packetId RPC 请求数据 ID
+     * @return 处于 {@code CLAIMED} 状态的 {@code PendingCall}
+     */
+    private PendingCall reserve(long packetId) {
+        int start = (int) (packetId & mask);
+        int maxDistance = Math.min(MAX_PROBE_DISTANCE, slots.length - 1);
+        for (int distance = 0; distance <= maxDistance; distance++) {
+            PendingCall slot = slots[(start + distance) & mask];
+            if (slot.id == PendingCall.FREE && slot.compareAndSetId(PendingCall.FREE, PendingCall.CLAIMED)) {
+                // 必须在发布前更新最大探测距离，保证响应线程可以查找到该位置
+                int currentMaxProbeDistance;
+                while (distance > (currentMaxProbeDistance = maxProbeDistance.get())) {
+                    if (maxProbeDistance.compareAndSet(currentMaxProbeDistance, distance)) {
+                        break;
+                    }
+                }
+                return slot;
+            }
+        }
+        PendingCall call = new PendingCall(true, timeoutHandler);
+        call.id = PendingCall.CLAIMED;
+        return call;
+    }
+
+    private void fill(PendingCall call, Method method, Object[] args, long timeout, long startTime, CompletableFuture<Object> future) {
+        call.method = method;
+        call.args = args;
+        call.timeout = timeout;
+        call.startTime = startTime;
+        call.future = future;
+    }
+
+    /**
+     * RPC 调用超时处理器。
+     */
+    interface TimeoutHandler {
+
+        /**
+         * 当 RPC 调用的超时检查任务到期时调用，处理器应通过 {@link #claim(PendingCall, long)} 方法获得结束权后再进行处理。
+         *
+         * @param call RPC 调用
+         * @param packetId 超时检查任务到期时该 RPC 调用的 RPC 请求数据 ID，如果 {@code call} 已被结束，{@code claim} 将会失败
+         */
+        void onTimeout(PendingCall call, long packetId);
+    }
+
+    @Override
+    public String toString() {
+        return "PendingCallTable{" +
+                "capacity=" + slots.length +
+                ", maxProbeDistance=" + maxProbeDistance +
+                ", overflowSize=" + overflowMap.size() +
+                ", pendingCallCount=" + pendingCallCount +
+                '}';
+    }
+}
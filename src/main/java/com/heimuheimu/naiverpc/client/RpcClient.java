@@ -27,14 +27,21 @@ package com.heimuheimu.naiverpc.client;
 import com.heimuheimu.naiverpc.exception.RpcException;
 import com.heimuheimu.naiverpc.exception.TimeoutException;
 import com.heimuheimu.naiverpc.exception.TooBusyException;
+import com.heimuheimu.naiverpc.util.FutureUtil;
 
 import java.io.Closeable;
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * RPC 服务调用方使用的客户端，通过 {@link #execute(Method, Object[])} 方法远程调用 RPC 服务提供方提供的服务。
  *
  * <p>
+ *     如果不希望调用线程阻塞等待 RPC 调用结果，可通过 {@link #executeAsync(Method, Object[])} 方法发起异步调用，
+ *     同步调用方法 {@link #execute(Method, Object[])} 等价于等待异步调用返回的 {@link CompletableFuture} 执行完成。
+ * </p>
+ *
+ * <p>
  *     <strong>说明：</strong> {@code RpcClient} 的实现类必须是线程安全的。
  * </p>
  *
@@ -68,4 +75,54 @@ public interface RpcClient extends Closeable {
      * @throws RpcException 如果 RPC 调用过程中遇到错误，将抛出此异常
      */
     Object execute(Method method, Object[] args, long timeout) throws IllegalStateException, TimeoutException, TooBusyException, RpcException;
+
+    /**
+     * 向 RPC 服务提供方发起异步调用请求，调用线程不会等待执行结果，超时时间使用 {@code RpcClient} 实现类默认的超时时间设置。
+     *
+     * <p>
+     *     该方法不会抛出任何异常，调用过程中遇到的错误将通过返回的 {@code CompletableFuture} 异常结束进行通知，
+     *     异常类型与 {@link #execute(Method, Object[])} 方法抛出的异常类型保持一致。
+     * </p>
+     *
+     * <p>
+     *     <strong>注意：</strong>{@code CompletableFuture} 的回调函数可能在 RPC 数据通信管道的读取线程或超时检查线程中执行，
+     *     不应在回调函数中执行耗时操作或阻塞等待其它 RPC 调用结果，如有需要，请使用 {@code CompletableFuture} 的 *Async 方法并指定执行线程池。
+     * </p>
+     *
+     * <p>
+     *     默认实现将在调用线程中执行 {@link #execute(Method, Object[])} 方法，并返回已结束的 {@code CompletableFuture}，
+     *     实现类应重写该方法以提供真正的异步调用。
+     * </p>
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
+     * @return RPC 调用结果
+     * @since 1.2
+     */
+    default CompletableFuture<Object> executeAsync(Method method, Object[] args) {
+        return FutureUtil.supplySync(() -> execute(method, args));
+    }
+
+    /**
+     * 向 RPC 服务提供方发起异步调用请求，调用线程不会等待执行结果。
+     *
+     * <p>
+     *     该方法不会抛出任何异常，调用过程中遇到的错误将通过返回的 {@code CompletableFuture} 异常结束进行通知，
+     *     异常类型与 {@link #execute(Method, Object[], long)} 方法抛出的异常类型保持一致。
+     * </p>
+     *
+     * <p>
+     *     默认实现将在调用线程中执行 {@link #execute(Method, Object[], long)} 方法，并返回已结束的 {@code CompletableFuture}，
+     *     实现类应重写该方法以提供真正的异步调用。
+     * </p>
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
+     * @param timeout RPC 调用超时时间，单位为毫秒，不允许小于等于 0
+     * @return RPC 调用结果
+     * @since 1.2
+     */
+    default CompletableFuture<Object> executeAsync(Method method, Object[] args, long timeout) {
+        return FutureUtil.supplySync(() -> execute(method, args, timeout));
+    }
 }
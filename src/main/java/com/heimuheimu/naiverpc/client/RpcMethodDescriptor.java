@@ -0,0 +1,204 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client;
+
+import com.heimuheimu.naiverpc.util.ReflectUtil;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RPC 方法调用描述信息，在 {@code Method} 首次被调用时生成，并在之后的调用中复用，避免在每次 RPC 调用中重复执行反射操作和字符串拼接。
+ *
+ * <p>
+ *     RPC 方法的参数检查计划根据参数的声明类型预先生成：如果参数声明类型为基本类型或已实现 {@link Serializable} 接口，
+ *     该参数的任何实例均可被序列化，调用时将跳过该参数的序列化检查。
+ * </p>
+ *
+ * <p>
+ *     <strong>说明：</strong>{@code RpcMethodDescriptor} 类是线程安全的，生成后不可修改，可在多个线程中使用。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcMethodDescriptor {
+
+    /**
+     * 已生成的 RPC 方法调用描述信息 {@code Map}，Key 为 {@code Method}，Value 为该方法对应的调用描述信息
+     */
+    private static final ConcurrentHashMap<Method, RpcMethodDescriptor> DESCRIPTOR_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * RPC 调用的方法
+     */
+    private final Method method;
+
+    /**
+     * RPC 服务所在 Class 名称
+     */
+    private final String targetClass;
+
+    /**
+     * RPC 服务 Method 名称，由方法名和参数类型组合构成
+     *
+     * @see ReflectUtil#getMethodUniqueName(Method)
+     */
+    private final String methodUniqueName;
+
+    /**
+     * RPC 方法参数数量
+     */
+    private final int parameterCount;
+
+    /**
+     * RPC 方法参数在调用时是否需要进行序列化检查，数组索引与参数索引一致
+     */
+    private final boolean[] serializationCheckRequiredArray;
+
+    /**
+     * RPC 方法是否有参数在调用时需要进行序列化检查
+     */
+    private final boolean serializationCheckRequired;
+
+    /**
+     * RPC 方法是否为异步方法
+     *
+     * @see ReflectUtil#isAsyncMethod(Method)
+     */
+    private final boolean async;
+
+    private RpcMethodDescriptor(Method method) {
+        this.method = method;
+        this.targetClass = method.getDeclaringClass().getName().intern();
+        this.methodUniqueName = ReflectUtil.getMethodUniqueName(method).intern();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        this.parameterCount = parameterTypes.length;
+        this.serializationCheckRequiredArray = new boolean[parameterCount];
+        boolean serializationCheckRequired = false;
+        for (int i = 0; i < parameterCount; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            if (!parameterType.isPrimitive() && !Serializable.class.isAssignableFrom(parameterType)) {
+                serializationCheckRequiredArray[i] = true;
+                serializationCheckRequired = true;
+            }
+        }
+        this.serializationCheckRequired = serializationCheckRequired;
+        this.async = ReflectUtil.isAsyncMethod(method);
+    }
+
+    /**
+     * 获得 {@code Method} 对应的 RPC 方法调用描述信息，如果不存在，将会生成并缓存。
+     *
+     * @param method RPC 调用的方法，不允许为 {@code null}
+     * @return RPC 方法调用描述信息
+     * @throws NullPointerException 如果 {@code method} 为 {@code null}，将会抛出此异常
+     */
+    public static RpcMethodDescriptor get(Method method) throws NullPointerException {
+        RpcMethodDescriptor descriptor = DESCRIPTOR_MAP.get(method);
+        if (descriptor == null) {
+            descriptor = DESCRIPTOR_MAP.computeIfAbsent(method, RpcMethodDescriptor::new);
+        }
+        return descriptor;
+    }
+
+    /**
+     * 获得 RPC 调用的方法。
+     *
+     * @return RPC 调用的方法
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * 获得 RPC 服务所在 Class 名称。
+     *
+     * @return RPC 服务所在 Class 名称
+     */
+    public String getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 获得 RPC 服务 Method 名称，由方法名和参数类型组合构成。
+     *
+     * @return RPC 服务 Method 名称，由方法名和参数类型组合构成
+     * @see ReflectUtil#getMethodUniqueName(Method)
+     */
+    public String getMethodUniqueName() {
+        return methodUniqueName;
+    }
+
+    /**
+     * 获得 RPC 方法参数数量。
+     *
+     * @return RPC 方法参数数量
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * 判断 RPC 方法是否有参数在调用时需要进行序列化检查。
+     *
+     * @return 是否有参数需要进行序列化检查
+     */
+    public boolean isSerializationCheckRequired() {
+        return serializationCheckRequired;
+    }
+
+    /**
+     * 判断指定索引的 RPC 方法参数在调用时是否需要进行序列化检查。
+     *
+     * @param index 参数索引
+     * @return 该参数是否需要进行序列化检查
+     */
+    public boolean isSerializationCheckRequired(int index) {
+        return serializationCheckRequiredArray[index];
+    }
+
+    /**
+     * 判断 RPC 方法是否为异步方法，即方法返回类型为 {@link java.util.concurrent.CompletableFuture} 或
+     * {@link java.util.concurrent.CompletionStage}。
+     *
+     * @return 是否为异步方法
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    @Override
+    public String toString() {
+        return "RpcMethodDescriptor{" +
+                "targetClass='" + targetClass + '\'' +
+                ", methodUniqueName='" + methodUniqueName + '\'' +
+                ", parameterCount=" + parameterCount +
+                ", serializationCheckRequired=" + serializationCheckRequired +
+                ", async=" + async +
+                '}';
+    }
+}
@@ -24,6 +24,9 @@
 
 package com.heimuheimu.naiverpc.client;
 
+import com.heimuheimu.naiverpc.client.stub.RpcStub;
+import com.heimuheimu.naiverpc.client.stub.RpcStubFactory;
+
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -32,6 +35,17 @@ import java.lang.reflect.Proxy;
  * RPC 服务提供方通常以接口的形式提供其所支持的服务，{@code RpcProxyFactory} 可为这类接口生成一个代理实现，
  * 接口的方法执行均通过 {@link RpcClient#execute(Method, Object[])} 来发起 RPC 调用，并返回结果。
  *
+ * <p>
+ *     如果接口方法的返回类型为 {@link java.util.concurrent.CompletableFuture} 或 {@link java.util.concurrent.CompletionStage}，
+ *     将通过 {@link RpcClient#executeAsync(Method, Object[])} 发起异步 RPC 调用，调用线程不会等待执行结果。
+ *     RPC 服务提供方会等待该方法返回的异步结果执行完成，再将执行结果返回给 RPC 服务调用方。
+ * </p>
+ *
+ * <p>
+ *     如果接口使用了 {@link RpcStub} 注解，并在编译期生成了调用桩实现类，将优先使用调用桩代替 JDK 动态代理，
+ *     避免 {@code InvocationHandler} 的分发开销及代理类的生成开销，更多信息请参考 {@link RpcStub}。
+ * </p>
+ *
  * <p><strong>说明：</strong>{@code RpcProxyFactory} 类是线程安全的，可在多个线程中使用同一个实例。</p>
  *
  * @author heimuheimu
@@ -45,9 +59,14 @@ public class RpcProxyFactory {
      * @param rpcClient RPC 服务调用方使用的客户端
      * @param <T> RPC 服务类型
      * @return RPC 调用代理
+     * @throws IllegalStateException 如果调用桩实例创建失败，将抛出此异常
      */
     @SuppressWarnings("unchecked")
-    public static <T> T build(Class<T> clz, RpcClient rpcClient) {
+    public static <T> T build(Class<T> clz, RpcClient rpcClient) throws IllegalStateException {
+        T stub = RpcStubFactory.build(clz, rpcClient);
+        if (stub != null) {
+            return stub;
+        }
         return (T) Proxy.newProxyInstance(clz.getClassLoader(), new Class<?>[]{clz}, new RpcInvocationHandler(rpcClient));
     }
 
@@ -63,6 +82,8 @@ public class RpcProxyFactory {
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
             if (method.getDeclaringClass() == Object.class) {
                 return method.invoke(this, args);
+            } else if (RpcMethodDescriptor.get(method).isAsync()) {
+                return rpcClient.executeAsync(method, args);
             } else {
                 return rpcClient.execute(method, args);
             }
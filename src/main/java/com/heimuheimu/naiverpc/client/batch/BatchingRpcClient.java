@@ -0,0 +1,218 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.batch;
+
+import com.heimuheimu.naiverpc.client.RpcClient;
+import com.heimuheimu.naiverpc.exception.RpcException;
+import com.heimuheimu.naiverpc.exception.TimeoutException;
+import com.heimuheimu.naiverpc.exception.TooBusyException;
+import com.heimuheimu.naiverpc.util.FutureUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 支持自动批量调用的 RPC 客户端，对使用 {@link RpcBatch} 注解的单个查询方法，在收集窗口内并发执行的调用将被合并为一次批量查询方法调用，
+ * 其它方法将直接通过被装饰的 {@link RpcClient} 执行。
+ *
+ * <p>
+ *     如果 {@link RpcBatch} 注解配置不正确，例如批量查询方法不存在，将输出错误日志，该单个查询方法将直接通过被装饰的 {@link RpcClient} 执行。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code BatchingRpcClient} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class BatchingRpcClient implements RpcClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingRpcClient.class);
+
+    /**
+     * 被装饰的 RPC 客户端
+     */
+    private final RpcClient rpcClient;
+
+    /**
+     * 单个查询方法对应的调用收集器 {@code Map}，如果该方法没有使用 {@link RpcBatch} 注解或注解配置不正确，Value 为 {@link Optional#empty()}
+     */
+    private final ConcurrentHashMap<Method, Optional<RpcCallBatcher>> batcherMap = new ConcurrentHashMap<>();
+
+    /**
+     * 被装饰的 RPC 客户端默认的 RPC 调用超时时间，单位：毫秒，如果小于等于 0，则表示未知
+     */
+    private final long timeout;
+
+    /**
+     * 构造一个支持自动批量调用的 RPC 客户端，未指定超时时间的同步批量调用将一直等待至被装饰的 RPC 客户端结束该调用。
+     *
+     * @param rpcClient 被装饰的 RPC 客户端，不允许为 {@code null}
+     * @throws IllegalArgumentException 如果 {@code rpcClient} 为 {@code null}，将会抛出此异常
+     */
+    public BatchingRpcClient(RpcClient rpcClient) throws IllegalArgumentException {
+        this(rpcClient, 0);
+    }
+
+    /**
+     * 构造一个支持自动批量调用的 RPC 客户端。
+     *
+     * <p>
+     *     同步批量调用最多等待 RPC 调用超时时间、收集窗口时长及 {@link FutureUtil#WAIT_TIMEOUT_SLACK} 之和，未指定超时时间的调用使用 {@code timeout}
+     *     作为 RPC 调用超时时间计算等待时间，超过等待时间后将抛出 {@link TimeoutException} 异常。
+     * </p>
+     *
+     * @param rpcClient 被装饰的 RPC 客户端，不允许为 {@code null}
+     * @param timeout 被装饰的 RPC 客户端默认的 RPC 调用超时时间，单位：毫秒，如果小于等于 0，未指定超时时间的同步批量调用将不限制等待时间
+     * @throws IllegalArgumentException 如果 {@code rpcClient} 为 {@code null}，将会抛出此异常
+     */
+    public BatchingRpcClient(RpcClient rpcClient, long timeout) throws IllegalArgumentException {
+        if (rpcClient == null) {
+            LOG.error("Create BatchingRpcClient failed: `rpcClient could not be null`.");
+            throw new IllegalArgumentException("Create BatchingRpcClient failed: `rpcClient could not be null`.");
+        }
+        this.rpcClient = rpcClient;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Object execute(Method method, Object[] args) throws IllegalStateException, TimeoutException, TooBusyException, RpcException {
+        RpcCallBatcher batcher = getBatcher(method);
+        if (batcher != null && args != null && args.length == 1) {
+            return get(batcher, batcher.submit(args[0], 0), 0);
+        } else {
+            return rpcClient.execute(method, args);
+        }
+    }
+
+    @Override
+    public Object execute(Method method, Object[] args, long timeout) throws IllegalStateException, TimeoutException, TooBusyException, RpcException {
+        RpcCallBatcher batcher = getBatcher(method);
+        if (batcher != null && args != null && args.length == 1) {
+            return get(batcher, batcher.submit(args[0], timeout), timeout);
+        } else {
+            return rpcClient.execute(method, args, timeout);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args) {
+        RpcCallBatcher batcher = getBatcher(method);
+        if (batcher != null && args != null && args.length == 1) {
+            return batcher.submit(args[0], 0);
+        } else {
+            return rpcClient.executeAsync(method, args);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args, long timeout) {
+        RpcCallBatcher batcher = getBatcher(method);
+        if (batcher != null && args != null && args.length == 1) {
+            return batcher.submit(args[0], timeout);
+        } else {
+            return rpcClient.executeAsync(method, args, timeout);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        rpcClient.close();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchingRpcClient{" +
+                "rpcClient=" + rpcClient +
+                ", timeout=" + timeout +
+                ", batcherMap=" + batcherMap +
+                '}';
+    }
+
+    /**
+     * 等待批量调用结果，最多等待 RPC 调用超时时间、收集窗口时长及 {@link FutureUtil#WAIT_TIMEOUT_SLACK} 之和。
+     *
+     * @param batcher 调用收集器
+     * @param future 批量调用结果
+     * @param callTimeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用被装饰的 RPC 客户端默认的超时时间
+     * @return 调用结果
+     */
+    private Object get(RpcCallBatcher batcher, CompletableFuture<Object> future, long callTimeout) {
+        long waitTimeout = callTimeout > 0 ? callTimeout : timeout;
+        if (waitTimeout <= 0) {
+            return FutureUtil.get(future);
+        }
+        return FutureUtil.get(future, waitTimeout + batcher.getMaxDelay() + FutureUtil.WAIT_TIMEOUT_SLACK);
+    }
+
+    private RpcCallBatcher getBatcher(Method method) {
+        if (method == null) {
+            return null;
+        }
+        Optional<RpcCallBatcher> batcher = batcherMap.get(method);
+        if (batcher == null) {
+            batcher = batcherMap.computeIfAbsent(method, this::createBatcher);
+        }
+        return batcher.orElse(null);
+    }
+
+    private Optional<RpcCallBatcher> createBatcher(Method method) {
+        RpcBatch rpcBatch = method.getAnnotation(RpcBatch.class);
+        if (rpcBatch == null) {
+            return Optional.empty();
+        }
+        if (method.getParameterTypes().length != 1 || rpcBatch.maxBatchSize() <= 0 || rpcBatch.maxDelay() <= 0) {
+            LOG.error("Create RpcCallBatcher failed: `method should have exactly one parameter, maxBatchSize and maxDelay could not be equal or less than 0`. Method: `"
+                    + method + "`. MaxBatchSize: `" + rpcBatch.maxBatchSize() + "`. MaxDelay: `" + rpcBatch.maxDelay() + "`.");
+            return Optional.empty();
+        }
+        for (Method batchMethod : method.getDeclaringClass().getMethods()) {
+            if (batchMethod.getName().equals(rpcBatch.value()) && isBatchMethod(batchMethod)) {
+                return Optional.of(new RpcCallBatcher(method, batchMethod, rpcBatch.maxBatchSize(), rpcBatch.maxDelay(), rpcClient));
+            }
+        }
+        LOG.error("Create RpcCallBatcher failed: `no such batch method`. Method: `" + method + "`. BatchMethod: `" + rpcBatch.value() + "`.");
+        return Optional.empty();
+    }
+
+    private boolean isBatchMethod(Method batchMethod) {
+        Class<?>[] parameterTypes = batchMethod.getParameterTypes();
+        if (parameterTypes.length != 1) {
+            return false;
+        }
+        Class<?> parameterType = parameterTypes[0];
+        if (parameterType != List.class && parameterType != Set.class && parameterType != Collection.class) {
+            return false;
+        }
+        Class<?> returnType = batchMethod.getReturnType();
+        return Map.class.isAssignableFrom(returnType) || List.class.isAssignableFrom(returnType)
+                || returnType == CompletableFuture.class || returnType == CompletionStage.class;
+    }
+}
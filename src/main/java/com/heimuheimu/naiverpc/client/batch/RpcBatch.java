@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.batch;
+
+import java.lang.annotation.*;
+
+/**
+ * 将单个查询方法与对应的批量查询方法关联，通过 {@link BatchingRpcClient} 执行单个查询方法时，
+ * 在收集窗口内并发执行的调用将被合并为一次批量查询方法调用，批量查询结果将按查询参数分发给各个调用方。
+ *
+ * <p>单个查询方法及批量查询方法需满足以下要求：</p>
+ * <ul>
+ *     <li>单个查询方法仅有一个参数，例如：{@code User getUser(long id)}</li>
+ *     <li>批量查询方法与单个查询方法位于同一接口，仅有一个参数，参数类型为 {@code List}、{@code Set} 或 {@code Collection}，
+ *     例如：{@code Map<Long, User> getUsers(List<Long> ids)}</li>
+ *     <li>批量查询方法返回 {@code Map} 时，Key 为查询参数，Value 为对应的查询结果，不存在的查询参数对应的调用结果为 {@code null}；
+ *     返回 {@code List} 时，查询结果顺序需与查询参数顺序保持一致</li>
+ * </ul>
+ *
+ * <p>
+ *     收集窗口从第一个调用进入开始计算，在 {@link #maxDelay()} 毫秒后，或收集到 {@link #maxBatchSize()} 个调用时，立即发起批量查询，
+ *     相同查询参数的调用仅会在批量查询参数中出现一次。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RpcBatch {
+
+    /**
+     * 批量查询方法名称。
+     *
+     * @return 批量查询方法名称
+     */
+    String value();
+
+    /**
+     * 单次批量查询最多包含的调用数量，不能小于等于 0，默认为 100。
+     *
+     * @return 单次批量查询最多包含的调用数量
+     */
+    int maxBatchSize() default 100;
+
+    /**
+     * 收集窗口的最大时长，单位：毫秒，不能小于等于 0，默认为 1 毫秒。
+     *
+     * @return 收集窗口的最大时长
+     */
+    long maxDelay() default 1;
+}
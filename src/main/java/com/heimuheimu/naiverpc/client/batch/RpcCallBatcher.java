@@ -0,0 +1,272 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.batch;
+
+import com.heimuheimu.naiverpc.client.RpcClient;
+import com.heimuheimu.naiverpc.exception.RpcException;
+import com.heimuheimu.naiverpc.facility.timer.RpcClientTimerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个查询方法对应的调用收集器，负责收集并发执行的单个查询调用，合并为一次批量查询方法调用，并将批量查询结果分发给各个调用方。
+ *
+ * <p>
+ *     收集窗口由高精度定时器（{@link RpcClientTimerFactory#getFineGrained()}）触发，定时器工作线程仅获得该批调用的发送权，
+ *     编码及发送批量查询请求在 {@link RpcClientTimerFactory#getExecutor()} 的线程中执行。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code RpcCallBatcher} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+class RpcCallBatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RpcCallBatcher.class);
+
+    /**
+     * 单个查询方法
+     */
+    private final Method method;
+
+    /**
+     * 批量查询方法
+     */
+    private final Method batchMethod;
+
+    /**
+     * 批量查询方法的参数类型是否为 {@code Set}
+     */
+    private final boolean setArgument;
+
+    /**
+     * 单次批量查询最多包含的调用数量
+     */
+    private final int maxBatchSize;
+
+    /**
+     * 收集窗口的最大时长，单位：毫秒
+     */
+    private final long maxDelay;
+
+    /**
+     * 执行批量查询使用的 RPC 客户端
+     */
+    private final RpcClient rpcClient;
+
+    private final Object lock = new Object();
+
+    /**
+     * 当前收集窗口内的调用列表，如果当前没有正在收集的调用，则为 {@code null}
+     */
+    private List<BatchedCall> currentBatch = null;
+
+    /**
+     * 构造一个单个查询方法对应的调用收集器。
+     *
+     * @param method 单个查询方法
+     * @param batchMethod 批量查询方法
+     * @param maxBatchSize 单次批量查询最多包含的调用数量
+     * @param maxDelay 收集窗口的最大时长，单位：毫秒
+     * @param rpcClient 执行批量查询使用的 RPC 客户端
+     */
+    RpcCallBatcher(Method method, Method batchMethod, int maxBatchSize, long maxDelay, RpcClient rpcClient) {
+        this.method = method;
+        this.batchMethod = batchMethod;
+        this.setArgument = Set.class.isAssignableFrom(batchMethod.getParameterTypes()[0]);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.rpcClient = rpcClient;
+    }
+
+    /**
+     * 获得收集窗口的最大时长，单位：毫秒。
+     *
+     * @return 收集窗口的最大时长
+     */
+    long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * 提交一个单个查询调用，该调用将在收集窗口结束后通过批量查询执行。
+     *
+     * @param key 查询参数
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 RPC 客户端默认的超时时间
+     * @return 调用结果
+     */
+    CompletableFuture<Object> submit(Object key, long timeout) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        List<BatchedCall> fullBatch = null;
+        List<BatchedCall> newBatch = null;
+        synchronized (lock) {
+            if (currentBatch == null) {
+                currentBatch = new ArrayList<>(Math.min(maxBatchSize, 16));
+                newBatch = currentBatch;
+            }
+            currentBatch.add(new BatchedCall(key, timeout, future));
+            if (currentBatch.size() >= maxBatchSize) {
+                fullBatch = currentBatch;
+                currentBatch = null;
+            }
+        }
+        if (fullBatch != null) {
+            send(fullBatch);
+        } else if (newBatch != null) {
+            List<BatchedCall> scheduledBatch = newBatch;
+            try {
+                RpcClientTimerFactory.getFineGrained().newTimeout(expiredTimeout -> flush(scheduledBatch), maxDelay, TimeUnit.MILLISECONDS);
+            } catch (IllegalStateException e) { //定时器已关闭，立即发送
+                flush(scheduledBatch);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * 收集窗口结束，如果该批调用尚未因数量达到上限而发送，则将其提交至 {@link RpcClientTimerFactory#getExecutor()} 中发送，
+     * 该方法通常在高精度定时器的工作线程中执行。
+     *
+     * @param batch 收集窗口对应的调用列表
+     */
+    private void flush(List<BatchedCall> batch) {
+        synchronized (lock) {
+            if (currentBatch != batch) {
+                return;
+            }
+            currentBatch = null;
+        }
+        try {
+            RpcClientTimerFactory.getExecutor().execute(() -> send(batch));
+        } catch (RejectedExecutionException e) { //should not happen, just for bug detection
+            LOG.error("Submit RpcCallBatcher send task failed, send in current thread. Method: `" + method + "`.", e);
+            send(batch);
+        }
+    }
+
+    /**
+     * 发送批量查询请求，如果被装饰的 RPC 客户端在发送时直接抛出异常，该批所有调用将以该异常结束。
+     *
+     * @param batch 需要发送的调用列表
+     */
+    private void send(List<BatchedCall> batch) {
+        LinkedHashMap<Object, List<CompletableFuture<Object>>> keyMap = new LinkedHashMap<>();
+        long timeout = 0;
+        boolean useDefaultTimeout = false;
+        for (BatchedCall call : batch) {
+            keyMap.computeIfAbsent(call.key, k -> new ArrayList<>(1)).add(call.future);
+            if (call.timeout > 0) {
+                timeout = Math.max(timeout, call.timeout);
+            } else {
+                useDefaultTimeout = true;
+            }
+        }
+        Collection<Object> keys = setArgument ? new LinkedHashSet<>(keyMap.keySet()) : new ArrayList<>(keyMap.keySet());
+        Object[] batchArgs = new Object[]{keys};
+        CompletableFuture<Object> batchFuture;
+        try {
+            batchFuture = (useDefaultTimeout || timeout <= 0) ? rpcClient.executeAsync(batchMethod, batchArgs)
+                    : rpcClient.executeAsync(batchMethod, batchArgs, timeout);
+        } catch (RuntimeException e) { // RPC 客户端实现同步抛出异常时，同样需要结束该批所有调用
+            LOG.error("RPC batch execute failed: `" + e.getMessage() + "`. Method: `" + method + "`. BatchMethod: `"
+                    + batchMethod + "`. Keys: `" + keyMap.keySet() + "`.", e);
+            dispatch(keyMap, null, e);
+            return;
+        }
+        batchFuture.whenComplete((result, exception) -> dispatch(keyMap, result, exception));
+    }
+
+    private void dispatch(LinkedHashMap<Object, List<CompletableFuture<Object>>> keyMap, Object result, Throwable exception) {
+        if (exception == null) {
+            if (result instanceof Map) {
+                Map<?, ?> resultMap = (Map<?, ?>) result;
+                for (Map.Entry<Object, List<CompletableFuture<Object>>> entry : keyMap.entrySet()) {
+                    Object value = resultMap.get(entry.getKey());
+                    for (CompletableFuture<Object> future : entry.getValue()) {
+                        future.complete(value);
+                    }
+                }
+                return;
+            } else if (result instanceof List && ((List<?>) result).size() == keyMap.size()) {
+                Iterator<?> valueIterator = ((List<?>) result).iterator();
+                for (List<CompletableFuture<Object>> futureList : keyMap.values()) {
+                    Object value = valueIterator.next();
+                    for (CompletableFuture<Object> future : futureList) {
+                        future.complete(value);
+                    }
+                }
+                return;
+            } else {
+                LOG.error("RPC batch execute failed: `invalid batch result`. Method: `" + method + "`. BatchMethod: `"
+                        + batchMethod + "`. Keys: `" + keyMap.keySet() + "`. Result: `" + result + "`.");
+                exception = new RpcException("RPC batch execute failed: `invalid batch result`. Method: `" + method
+                        + "`. BatchMethod: `" + batchMethod + "`. Keys: `" + keyMap.keySet() + "`.");
+            }
+        } else if (exception instanceof CompletionException && exception.getCause() != null) {
+            exception = exception.getCause();
+        }
+        for (List<CompletableFuture<Object>> futureList : keyMap.values()) {
+            for (CompletableFuture<Object> future : futureList) {
+                future.completeExceptionally(exception);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RpcCallBatcher{" +
+                "method=" + method +
+                ", batchMethod=" + batchMethod +
+                ", maxBatchSize=" + maxBatchSize +
+                ", maxDelay=" + maxDelay +
+                '}';
+    }
+
+    /**
+     * 等待批量查询的单个查询调用。
+     */
+    private static class BatchedCall {
+
+        private final Object key;
+
+        private final long timeout;
+
+        private final CompletableFuture<Object> future;
+
+        private BatchedCall(Object key, long timeout, CompletableFuture<Object> future) {
+            this.key = key;
+            this.timeout = timeout;
+            this.future = future;
+        }
+    }
+}
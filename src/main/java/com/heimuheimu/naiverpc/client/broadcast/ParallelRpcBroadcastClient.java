@@ -26,10 +26,12 @@ package com.heimuheimu.naiverpc.client.broadcast;
 
 import com.heimuheimu.naiverpc.client.DirectRpcClient;
 import com.heimuheimu.naiverpc.client.DirectRpcClientListener;
+import com.heimuheimu.naiverpc.exception.RpcException;
 import com.heimuheimu.naiverpc.facility.clients.DirectRpcClientList;
 import com.heimuheimu.naiverpc.facility.clients.DirectRpcClientListListener;
-import com.heimuheimu.naiverpc.monitor.client.RpcClientThreadPoolMonitorFactory;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientBroadcastMonitor;
 import com.heimuheimu.naiverpc.net.SocketConfiguration;
+import com.heimuheimu.naiverpc.util.FutureUtil;
 import com.heimuheimu.naiverpc.util.LogBuildUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,30 +39,37 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.Method;
 import java.net.Socket;
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * {@link RpcBroadcastClient} 实现类，RPC 调用请求会并行发送至 {@code ParallelRpcBroadcastClient} 中的多个 RPC 服务提供方进行执行，并返回结果 {@code Map}，
  * {@code Map} 的 Key 为 RPC 服务提供方主机地址，Value 为 {@link BroadcastResponse}。
  *
  * <p>
+ *     RPC 调用请求通过 {@link DirectRpcClient#executeAsync(Method, Object[], long)} 异步发送，等待执行结果期间不会占用额外的线程，
+ *     使用的线程数量与广播的主机数量无关。每个 RPC 服务提供方的执行结果可通过
+ *     {@link #executeAsync(String[], Method, Object[], long, Consumer)} 方法在返回后立即接收。
+ * </p>
+ *
+ * <p>
  *     当 {@code RpcBroadcastClient} 不再使用时，应调用 {@link #close()} 方法进行资源释放。
  * </p>
  *
  * <h3>可用性</h3>
  * <blockquote>
- * {@code ParallelRpcBroadcastClient} 中不可用的 {@code DirectRpcClient} 将会被自动移除，并启动恢复线程尝试进行恢复，如果恢复失败，等待下一次恢复的周期为 5 秒。
+ * {@code ParallelRpcBroadcastClient} 中不可用的 {@code DirectRpcClient} 将会被自动移除，并由恢复线程池并行尝试进行恢复，如果恢复失败，等待下一次恢复的时间按指数退避增长（默认 0.5 秒起，最长 10 秒）。
  * </blockquote>
  *
- * <h3>监听器</h3>
+ * <h3>RPC 调用监控</h3>
  * <blockquote>
- * <p>当 {@code ParallelRpcBroadcastClient} 中的 {@code DirectRpcClient} 被创建、关闭、恢复后，均会触发 {@link DirectRpcClientListener} 相应的事件进行通知。</p>
- * <p>当 RPC 调用成功或失败时，均会触发 {@link RpcBroadcastClientListener} 相应的事件进行通知。</p>
+ * 可通过 {@link RpcClientBroadcastMonitor} 获取正在执行中的广播 RPC 调用数量。
  * </blockquote>
  *
- * <h3>数据监控</h3>
+ * <h3>监听器</h3>
  * <blockquote>
- * 可通过 {@link RpcClientThreadPoolMonitorFactory} 获取并行执行 RPC 调用请求使用的线程池监控数据。
+ * <p>当 {@code ParallelRpcBroadcastClient} 中的 {@code DirectRpcClient} 被创建、关闭、恢复后，均会触发 {@link DirectRpcClientListener} 相应的事件进行通知。</p>
+ * <p>当 RPC 调用成功或失败时，均会触发 {@link RpcBroadcastClientListener} 相应的事件进行通知。</p>
  * </blockquote>
  *
  * <p><strong>说明：</strong> {@code ParallelRpcBroadcastClient} 类是线程安全的，可在多个线程中使用同一个实例。</p>
@@ -92,12 +101,7 @@ public class ParallelRpcBroadcastClient implements RpcBroadcastClient {
     private final RpcBroadcastClientListener rpcBroadcastClientListener;
 
     /**
-     * 并行执行 RPC 调用请求使用的线程池
-     */
-    private final ThreadPoolExecutor executorService;
-
-    /**
-     * 构造一个 RPC 服务调用方使用的广播客户端，并行执行 RPC 调用请求使用的线程池大小为 500，创建 {@code DirectRpcClient} 时，
+     * 构造一个 RPC 服务调用方使用的广播客户端，创建 {@code DirectRpcClient} 时，
      * {@link Socket} 配置信息使用 {@link SocketConfiguration#DEFAULT}，RPC 调用超时时间设置为 5 秒，最小压缩字节数设置为 64 KB，
      * RPC 调用过慢最小时间设置为 50 毫秒，心跳检测时间设置为 30 秒。
      *
@@ -111,7 +115,7 @@ public class ParallelRpcBroadcastClient implements RpcBroadcastClient {
     public ParallelRpcBroadcastClient(String[] hosts, DirectRpcClientListener directRpcClientListener,
                                       DirectRpcClientListListener directRpcClientListListener,
                                       RpcBroadcastClientListener rpcBroadcastClientListener) throws IllegalStateException {
-        this(hosts, null, 5000, 64 * 1024, 50, 30, directRpcClientListener, directRpcClientListListener, rpcBroadcastClientListener, 500);
+        this(hosts, null, 5000, 64 * 1024, 50, 30, directRpcClientListener, directRpcClientListListener, rpcBroadcastClientListener);
     }
 
     /**
@@ -126,14 +130,14 @@ public class ParallelRpcBroadcastClient implements RpcBroadcastClient {
      * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
      * @param directRpcClientListListener {@link DirectRpcClientList} 事件监听器，允许为 {@code null}
      * @param rpcBroadcastClientListener {@code RpcBroadcastClient} 事件监听器，允许为 {@code null}
-     * @param maximumPoolSize 并行执行 RPC 调用请求使用的线程池大小，如果小于等于 0，则为默认值 500
      * @throws IllegalStateException  如果所有提供 RPC 服务的主机地址都不可用，将会抛出此异常
      * @see DirectRpcClientList
+     * @since 1.2
      */
     public ParallelRpcBroadcastClient(String[] hosts, SocketConfiguration configuration, int timeout, int compressionThreshold,
                                       int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
-                                      DirectRpcClientListListener directRpcClientListListener, RpcBroadcastClientListener rpcBroadcastClientListener,
-                                      int maximumPoolSize) throws IllegalStateException {
+                                      DirectRpcClientListListener directRpcClientListListener,
+                                      RpcBroadcastClientListener rpcBroadcastClientListener) throws IllegalStateException {
         this.hosts = hosts;
         this.hostIndexMap = new HashMap<>();
         for (int i = 0; i < hosts.length; i++) {
@@ -143,11 +147,34 @@ public class ParallelRpcBroadcastClient implements RpcBroadcastClient {
         this.directRpcClientList = new DirectRpcClientList("ParallelRpcBroadcastClient", hosts, configuration, timeout,
                 compressionThreshold, slowExecutionThreshold, heartbeatPeriod, directRpcClientListener, directRpcClientListListener);
         this.rpcBroadcastClientListener = rpcBroadcastClientListener;
+    }
 
-        maximumPoolSize = maximumPoolSize > 0 ? maximumPoolSize : 500;
-        this.executorService = new ThreadPoolExecutor(0, maximumPoolSize,
-                60L, TimeUnit.SECONDS, new SynchronousQueue<>(), new NamedThreadFactory());
-        RpcClientThreadPoolMonitorFactory.get().register(executorService);
+    /**
+     * 构造一个 RPC 服务调用方使用的广播客户端。
+     *
+     * @param hosts 提供 RPC 服务的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182，不允许为 {@code null} 或空数组
+     * @param configuration 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
+     * @param timeout 创建 {@code DirectRpcClient} 使用的 RPC 调用超时时间，单位：毫秒，不能小于等于 0
+     * @param compressionThreshold 创建 {@code DirectRpcClient} 使用的最小压缩字节数，不能小于等于 0
+     * @param slowExecutionThreshold 创建 {@code DirectRpcClient} 使用的 RPC 调用过慢最小时间，单位：毫秒，不能小于等于 0
+     * @param heartbeatPeriod heartbeatPeriod 创建 {@code DirectRpcClient} 使用的心跳检测时间，单位：秒，如果该值小于等于 0，则不进行检测
+     * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
+     * @param directRpcClientListListener {@link DirectRpcClientList} 事件监听器，允许为 {@code null}
+     * @param rpcBroadcastClientListener {@code RpcBroadcastClient} 事件监听器，允许为 {@code null}
+     * @param maximumPoolSize 该参数已不再使用，RPC 调用请求均通过异步方式发送，仅为保持兼容而保留
+     * @throws IllegalStateException  如果所有提供 RPC 服务的主机地址都不可用，将会抛出此异常
+     * @see DirectRpcClientList
+     * @deprecated RPC 调用请求均通过异步方式发送，不再使用线程池，{@code maximumPoolSize} 参数将被忽略，
+     *      请使用 {@link #ParallelRpcBroadcastClient(String[], SocketConfiguration, int, int, int, int, DirectRpcClientListener, DirectRpcClientListListener, RpcBroadcastClientListener)} 代替，
+     *      原线程池的活跃线程数监控可通过 {@link RpcClientBroadcastMonitor} 获取的正在执行中的 RPC 调用数量代替
+     */
+    @Deprecated
+    public ParallelRpcBroadcastClient(String[] hosts, SocketConfiguration configuration, int timeout, int compressionThreshold,
+                                      int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
+                                      DirectRpcClientListListener directRpcClientListListener, RpcBroadcastClientListener rpcBroadcastClientListener,
+                                      int maximumPoolSize) throws IllegalStateException {
+        this(hosts, configuration, timeout, compressionThreshold, slowExecutionThreshold, heartbeatPeriod, directRpcClientListener,
+                directRpcClientListListener, rpcBroadcastClientListener);
     }
 
     @Override
@@ -172,96 +199,179 @@ public class ParallelRpcBroadcastClient implements RpcBroadcastClient {
 
     @Override
     public Map<String, BroadcastResponse> execute(String[] hosts, Method method, Object[] args, long timeout) throws IllegalStateException, IllegalArgumentException {
+        long waitTimeout = (timeout > 0 ? timeout : directRpcClientList.getTimeout()) + FutureUtil.WAIT_TIMEOUT_SLACK;
+        return FutureUtil.get(executeAsync(hosts, method, args, timeout), waitTimeout);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BroadcastResponse>> executeAsync(Method method, Object[] args) {
+        return executeAsync(hosts, method, args, -1);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BroadcastResponse>> executeAsync(Method method, Object[] args, long timeout) {
+        return executeAsync(hosts, method, args, timeout);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BroadcastResponse>> executeAsync(String[] hosts, Method method, Object[] args) {
+        return executeAsync(hosts, method, args, -1);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BroadcastResponse>> executeAsync(String[] hosts, Method method, Object[] args, long timeout) {
+        return broadcast(hosts, method, args, timeout, null);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BroadcastResponse>> executeAsync(Method method, Object[] args, Consumer<BroadcastResponse> responseConsumer) {
+        return executeAsync(hosts, method, args, -1, responseConsumer);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BroadcastResponse>> executeAsync(String[] hosts, Method method, Object[] args, long timeout,
+                                                                          Consumer<BroadcastResponse> responseConsumer) {
+        if (responseConsumer == null) {
+            String errorMessage = buildMethodExecuteFailedLog(null, hosts, method, args, timeout, "responseConsumer could not be null");
+            LOG.error(errorMessage);
+            CompletableFuture<Map<String, BroadcastResponse>> future = new CompletableFuture<>();
+            future.completeExceptionally(new NullPointerException(errorMessage));
+            return future;
+        }
+        return broadcast(hosts, method, args, timeout, responseConsumer);
+    }
 
+    /**
+     * 向指定的 RPC 服务提供方发起异步调用请求，重复的主机地址仅调用一次。
+     *
+     * @param hosts RPC 服务提供方主机地址数组
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 {@code DirectRpcClient} 默认的超时时间
+     * @param responseConsumer 单个 RPC 服务提供方执行结果回调，允许为 {@code null}
+     * @return 结果 {@code Map}，将在所有 RPC 服务提供方执行完成后返回
+     */
+    private CompletableFuture<Map<String, BroadcastResponse>> broadcast(String[] hosts, Method method, Object[] args, long timeout,
+                                                                        Consumer<BroadcastResponse> responseConsumer) {
         if (hosts == null || hosts.length == 0) {
             String errorMessage = buildMethodExecuteFailedLog(null, hosts, method, args, timeout, "hosts could not be null or empty");
             LOG.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
+            CompletableFuture<Map<String, BroadcastResponse>> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalArgumentException(errorMessage));
+            return future;
         }
-        Map<String, BroadcastResponse> responseMap = new HashMap<>();
-        Map<String, Future<BroadcastResponse>> futureMap = new HashMap<>();
-        List<String> failedExecutedHostList = new ArrayList<>();
-        for (String host : hosts) {
-            Integer index = hostIndexMap.get(host);
-            if (index != null) {
-                DirectRpcClient client = directRpcClientList.get(index);
-                if (client != null) {
-                    try {
-                        Future<BroadcastResponse> future = executorService.submit(new RpcExecuteTask(client, method, args, timeout));
-                        futureMap.put(client.getHost(), future);
-                    } catch (RejectedExecutionException e) {
-                        RpcClientThreadPoolMonitorFactory.get().onRejected();
-                        LOG.error(buildMethodExecuteFailedLog(host, hosts, method, args, timeout, "broadcast thread pool is too busy"), e);
-                        BroadcastResponse response = new BroadcastResponse();
-                        response.setHost(host);
-                        response.setCode(BroadcastResponse.CODE_ERROR);
-                        response.setException(e);
-                        responseMap.put(host, response);
-                        failedExecutedHostList.add(host);
-                    }
-                } else {
-                    LOG.error(buildMethodExecuteFailedLog(host, hosts, method, args, timeout, "invalid host"));
+        String[] uniqueHosts = new LinkedHashSet<>(Arrays.asList(hosts)).toArray(new String[0]);
+        List<CompletableFuture<BroadcastResponse>> futures = new ArrayList<>(uniqueHosts.length);
+        for (String host : uniqueHosts) {
+            CompletableFuture<BroadcastResponse> future = executeAsync(host, uniqueHosts, method, args, timeout);
+            if (responseConsumer != null) {
+                future = future.thenApply(response -> {
+                    notifyResponse(responseConsumer, response, uniqueHosts, method, args, timeout);
+                    return response;
+                });
+            }
+            futures.add(future);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<String, BroadcastResponse> responseMap = new HashMap<>();
+            for (CompletableFuture<BroadcastResponse> future : futures) {
+                BroadcastResponse response = future.join();
+                responseMap.put(response.getHost(), response);
+            }
+            return responseMap;
+        });
+    }
+
+    /**
+     * 向单个 RPC 服务提供方发起异步调用请求，返回的 {@code CompletableFuture} 不会异常结束。
+     *
+     * @param host RPC 服务提供方主机地址
+     * @param hosts 本次广播调用的 RPC 服务提供方主机地址数组，用于日志打印
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 {@code DirectRpcClient} 默认的超时时间
+     * @return 该 RPC 服务提供方的执行结果
+     */
+    private CompletableFuture<BroadcastResponse> executeAsync(String host, String[] hosts, Method method, Object[] args, long timeout) {
+        Integer index = hostIndexMap.get(host);
+        if (index != null) {
+            DirectRpcClient client = directRpcClientList.get(index);
+            if (client != null) {
+                RpcClientBroadcastMonitor broadcastMonitor = RpcClientBroadcastMonitor.getInstance();
+                broadcastMonitor.onStarted();
+                CompletableFuture<Object> clientFuture;
+                try {
+                    clientFuture = timeout > 0 ? client.executeAsync(method, args, timeout) : client.executeAsync(method, args);
+                } catch (RuntimeException e) {
+                    broadcastMonitor.onCompleted();
+                    throw e;
+                }
+                return clientFuture.handle((result, exception) -> {
+                    broadcastMonitor.onCompleted();
                     BroadcastResponse response = new BroadcastResponse();
                     response.setHost(host);
-                    response.setCode(BroadcastResponse.CODE_INVALID_HOST);
-                    responseMap.put(host, response);
-                }
+                    if (exception == null) {
+                        response.setResult(result);
+                        notifySuccess(host, hosts, method, args, timeout);
+                    } else {
+                        LOG.error(buildMethodExecuteFailedLog(host, hosts, method, args, timeout, exception.getMessage()), exception);
+                        response.setCode(BroadcastResponse.CODE_ERROR);
+                        response.setException(exception instanceof Exception ? (Exception) exception
+                                : new RpcException(exception.getMessage(), exception));
+                        notifyFail(host, hosts, method, args, timeout);
+                    }
+                    return response;
+                });
             } else {
-                LOG.error(buildMethodExecuteFailedLog(host, hosts, method, args, timeout, "unknown host"));
+                LOG.error(buildMethodExecuteFailedLog(host, hosts, method, args, timeout, "invalid host"));
                 BroadcastResponse response = new BroadcastResponse();
                 response.setHost(host);
-                response.setCode(BroadcastResponse.CODE_UNKNOWN_HOST);
-                responseMap.put(host, response);
-                failedExecutedHostList.add(host);
+                response.setCode(BroadcastResponse.CODE_INVALID_HOST);
+                return CompletableFuture.completedFuture(response);
             }
+        } else {
+            LOG.error(buildMethodExecuteFailedLog(host, hosts, method, args, timeout, "unknown host"));
+            BroadcastResponse response = new BroadcastResponse();
+            response.setHost(host);
+            response.setCode(BroadcastResponse.CODE_UNKNOWN_HOST);
+            notifyFail(host, hosts, method, args, timeout);
+            return CompletableFuture.completedFuture(response);
         }
+    }
 
-        for (String host : futureMap.keySet()) {
-            Future<BroadcastResponse> future = futureMap.get(host);
+    private void notifyResponse(Consumer<BroadcastResponse> responseConsumer, BroadcastResponse response, String[] hosts,
+                                Method method, Object[] args, long timeout) {
+        try {
+            responseConsumer.accept(response);
+        } catch (Exception e) {
+            String methodName = "Consumer#accept(BroadcastResponse response)";
+            Map<String, Object> parameterMap = buildMethodExecuteParameterMap(response.getHost(), hosts, method, args, timeout);
+            LOG.error(LogBuildUtil.buildMethodExecuteFailedLog(methodName, e.getMessage(), parameterMap), e);
+        }
+    }
+
+    private void notifySuccess(String host, String[] hosts, Method method, Object[] args, long timeout) {
+        if (rpcBroadcastClientListener != null) {
             try {
-                BroadcastResponse response = future.get();
-                responseMap.put(host, response);
-                if (response.isSuccess()) {
-                    if (rpcBroadcastClientListener != null) {
-                        try {
-                            rpcBroadcastClientListener.onSuccess(host, method, args);
-                        } catch (Exception e) {
-                            String methodName = "RpcBroadcastClientListener#onSuccess(String host, Method method, Object[] args)";
-                            Map<String, Object> parameterMap = buildMethodExecuteParameterMap(host, hosts, method, args, timeout);
-                            LOG.error(LogBuildUtil.buildMethodExecuteFailedLog(methodName, e.getMessage(), parameterMap), e);
-                        }
-                    }
-                } else {
-                    if (response.getException() != null) {
-                        LOG.error(buildMethodExecuteFailedLog(host, hosts, method, args, timeout, response.getException().getMessage()), response.getException());
-                    } else {
-                        LOG.error(buildMethodExecuteFailedLog(host, hosts, method, args, timeout, "error code [" + response.getCode() + "]"));
-                    }
-                    failedExecutedHostList.add(host);
-                }
-            } catch (Exception e) { //should not happen
-                LOG.error(buildMethodExecuteFailedLog(host, hosts, method, args, timeout, e.getMessage()), e);
-                BroadcastResponse response = new BroadcastResponse();
-                response.setHost(host);
-                response.setCode(BroadcastResponse.CODE_ERROR);
-                response.setException(e);
-                responseMap.put(host, response);
-                failedExecutedHostList.add(host);
+                rpcBroadcastClientListener.onSuccess(host, method, args);
+            } catch (Exception e) {
+                String methodName = "RpcBroadcastClientListener#onSuccess(String host, Method method, Object[] args)";
+                Map<String, Object> parameterMap = buildMethodExecuteParameterMap(host, hosts, method, args, timeout);
+                LOG.error(LogBuildUtil.buildMethodExecuteFailedLog(methodName, e.getMessage(), parameterMap), e);
             }
         }
+    }
 
+    private void notifyFail(String host, String[] hosts, Method method, Object[] args, long timeout) {
         if (rpcBroadcastClientListener != null) {
-            for (String failedExecutedHost : failedExecutedHostList) {
-                try {
-                    rpcBroadcastClientListener.onFail(failedExecutedHost, method, args);
-                } catch (Exception e) {
-                    String methodName = "RpcBroadcastClientListener#onFail(String host, Method method, Object[] args)";
-                    Map<String, Object> parameterMap = buildMethodExecuteParameterMap(failedExecutedHost, hosts, method, args, timeout);
-                    LOG.error(LogBuildUtil.buildMethodExecuteFailedLog(methodName, e.getMessage(), parameterMap), e);
-                }
+            try {
+                rpcBroadcastClientListener.onFail(host, method, args);
+            } catch (Exception e) {
+                String methodName = "RpcBroadcastClientListener#onFail(String host, Method method, Object[] args)";
+                Map<String, Object> parameterMap = buildMethodExecuteParameterMap(host, hosts, method, args, timeout);
+                LOG.error(LogBuildUtil.buildMethodExecuteFailedLog(methodName, e.getMessage(), parameterMap), e);
             }
         }
-        return responseMap;
     }
 
     @Override
@@ -276,7 +386,6 @@ public class ParallelRpcBroadcastClient implements RpcBroadcastClient {
                 ", hostIndexMap=" + hostIndexMap +
                 ", directRpcClientList=" + directRpcClientList +
                 ", rpcBroadcastClientListener=" + rpcBroadcastClientListener +
-                ", executorService=" + executorService +
                 '}';
     }
 
@@ -299,40 +408,4 @@ public class ParallelRpcBroadcastClient implements RpcBroadcastClient {
         return LogBuildUtil.buildMethodExecuteFailedLog(methodName, errorMessage, parameterMap);
     }
 
-    private static class RpcExecuteTask implements Callable<BroadcastResponse> {
-
-        private final DirectRpcClient rpcClient;
-
-        private final Method method;
-
-        private final Object[] args;
-
-        private final long timeout;
-
-        private RpcExecuteTask(DirectRpcClient rpcClient, Method method, Object[] args, long timeout) {
-            this.rpcClient = rpcClient;
-            this.method = method;
-            this.args = args;
-            this.timeout = timeout;
-        }
-
-        @Override
-        public BroadcastResponse call() {
-            BroadcastResponse response = new BroadcastResponse();
-            response.setHost(rpcClient.getHost());
-            try {
-                if (timeout > 0) {
-                    response.setResult(rpcClient.execute(method, args, timeout));
-                } else {
-                    response.setResult(rpcClient.execute(method, args));
-                }
-            } catch (Exception e) {
-                response.setCode(BroadcastResponse.CODE_ERROR);
-                response.setException(e);
-            }
-            return response;
-        }
-
-    }
-
 }
@@ -24,14 +24,28 @@
 
 package com.heimuheimu.naiverpc.client.broadcast;
 
+import com.heimuheimu.naiverpc.util.FutureUtil;
+
 import java.io.Closeable;
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * RPC 服务调用方使用的广播客户端，RPC 调用请求会发送至 {@code RpcBroadcastClient} 中的多个 RPC 服务提供方进行执行，并返回结果 {@code Map}，
  * {@code Map} 的 Key 为 RPC 服务提供方主机地址，Value 为 {@link BroadcastResponse}。
  *
+ * <p>
+ *     如果不希望调用线程阻塞等待所有 RPC 服务提供方的执行结果，可通过 {@link #executeAsync(String[], Method, Object[], long)} 方法发起异步广播调用。
+ *     如果需要在每个 RPC 服务提供方返回结果后立即进行处理，可通过 {@link #executeAsync(String[], Method, Object[], long, Consumer)} 方法逐个接收 {@link BroadcastResponse}。
+ * </p>
+ *
+ * <p>
+ *     {@code executeAsync(...)} 系列方法的默认实现将在调用线程中执行对应的同步调用方法，并返回已结束的 {@code CompletableFuture}，
+ *     实现类应重写这些方法以提供真正的异步调用。
+ * </p>
+ *
  * <p><strong>说明：</strong> {@code RpcBroadcastClient} 的实现类必须是线程安全的。</p>
  *
  * @author heimuheimu
@@ -66,7 +80,7 @@ public interface RpcBroadcastClient extends Closeable {
      *
      * @param method RPC 调用的方法
      * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
-     * @param timeout RPC 调用超时时间，单位为毫秒，不允许小于等于 0
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 {@code RpcBroadcastClient} 实现类默认的超时时间设置
      * @return 结果 {@code Map}，{@code Map} 的 Key 为 RPC 服务提供方主机地址，Value 为 {@link BroadcastResponse}
      * @throws IllegalStateException 如果 {@code RpcBroadcastClient} 处于不可服务状态，将抛出此异常
      */
@@ -99,10 +113,123 @@ public interface RpcBroadcastClient extends Closeable {
      * @param hosts RPC 服务提供方主机地址数组，地址必须包含在 {@link #getHosts()} 中，不允许为 {@code null} 或空数组
      * @param method RPC 调用的方法
      * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
-     * @param timeout RPC 调用超时时间，单位为毫秒，不允许小于等于 0
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 {@code RpcBroadcastClient} 实现类默认的超时时间设置
      * @return 执行结果 Map，Key 为提供 RPC 服务的主机地址，Value 为向服务发起远程调用的执行结果
      * @throws IllegalArgumentException 如果 RPC 服务提供方主机地址数组为 {@code null} 或空数组，将抛出此异常
      * @throws IllegalStateException 如果 {@code RpcBroadcastClient} 处于不可服务状态，将抛出此异常
      */
     Map<String, BroadcastResponse> execute(String[] hosts, Method method, Object[] args, long timeout) throws IllegalArgumentException, IllegalStateException;
+
+    /**
+     * 向所有 RPC 服务提供方发起异步调用请求，调用线程不会等待执行结果，超时时间使用 {@code RpcBroadcastClient} 实现类默认的超时时间设置。
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
+     * @return 结果 {@code Map}，将在所有 RPC 服务提供方执行完成后返回
+     * @see #executeAsync(String[], Method, Object[], long)
+     * @since 1.2
+     */
+    default CompletableFuture<Map<String, BroadcastResponse>> executeAsync(Method method, Object[] args) {
+        return FutureUtil.supplySync(() -> execute(method, args));
+    }
+
+    /**
+     * 向所有 RPC 服务提供方发起异步调用请求，调用线程不会等待执行结果。
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 {@code RpcBroadcastClient} 实现类默认的超时时间设置
+     * @return 结果 {@code Map}，将在所有 RPC 服务提供方执行完成后返回
+     * @see #executeAsync(String[], Method, Object[], long)
+     * @since 1.2
+     */
+    default CompletableFuture<Map<String, BroadcastResponse>> executeAsync(Method method, Object[] args, long timeout) {
+        return FutureUtil.supplySync(() -> execute(method, args, timeout));
+    }
+
+    /**
+     * 向指定的 RPC 服务提供方发起异步调用请求，调用线程不会等待执行结果，超时时间使用 {@code RpcBroadcastClient} 实现类默认的超时时间设置。
+     *
+     * @param hosts RPC 服务提供方主机地址数组，地址必须包含在 {@link #getHosts()} 中，不允许为 {@code null} 或空数组
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
+     * @return 结果 {@code Map}，将在所有 RPC 服务提供方执行完成后返回
+     * @see #executeAsync(String[], Method, Object[], long)
+     * @since 1.2
+     */
+    default CompletableFuture<Map<String, BroadcastResponse>> executeAsync(String[] hosts, Method method, Object[] args) {
+        return FutureUtil.supplySync(() -> execute(hosts, method, args));
+    }
+
+    /**
+     * 向指定的 RPC 服务提供方发起异步调用请求，调用线程不会等待执行结果，所有 RPC 服务提供方执行完成后，返回的 {@code CompletableFuture}
+     * 将以结果 {@code Map} 正常结束，{@code Map} 的 Key 为 RPC 服务提供方主机地址，Value 为 {@link BroadcastResponse}。
+     *
+     * <p><strong>说明：</strong> 单个 RPC 服务提供方执行失败不会导致返回的 {@code CompletableFuture} 异常结束，失败信息可通过 {@link BroadcastResponse} 获取。</p>
+     *
+     * <p><strong>注意：</strong> 如果 RPC 服务提供方主机地址数组为 {@code null} 或空数组，返回的 {@code CompletableFuture} 将以 {@link IllegalArgumentException} 异常结束。</p>
+     *
+     * @param hosts RPC 服务提供方主机地址数组，地址必须包含在 {@link #getHosts()} 中，不允许为 {@code null} 或空数组
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 {@code RpcBroadcastClient} 实现类默认的超时时间设置
+     * @return 结果 {@code Map}，将在所有 RPC 服务提供方执行完成后返回
+     * @since 1.2
+     */
+    default CompletableFuture<Map<String, BroadcastResponse>> executeAsync(String[] hosts, Method method, Object[] args, long timeout) {
+        return FutureUtil.supplySync(() -> execute(hosts, method, args, timeout));
+    }
+
+    /**
+     * 向所有 RPC 服务提供方发起异步调用请求，每个 RPC 服务提供方执行完成后，将立即通过 {@code responseConsumer} 回调其 {@link BroadcastResponse}，
+     * 超时时间使用 {@code RpcBroadcastClient} 实现类默认的超时时间设置。
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
+     * @param responseConsumer 单个 RPC 服务提供方执行结果回调，不允许为 {@code null}
+     * @return 结果 {@code Map}，将在所有 RPC 服务提供方执行完成后返回
+     * @see #executeAsync(String[], Method, Object[], long, Consumer)
+     * @since 1.2
+     */
+    default CompletableFuture<Map<String, BroadcastResponse>> executeAsync(Method method, Object[] args, Consumer<BroadcastResponse> responseConsumer) {
+        return executeAsync(getHosts(), method, args, -1, responseConsumer);
+    }
+
+    /**
+     * 向指定的 RPC 服务提供方发起异步调用请求，每个 RPC 服务提供方执行完成后，将立即通过 {@code responseConsumer} 回调其 {@link BroadcastResponse}，
+     * 所有 RPC 服务提供方执行完成后，返回的 {@code CompletableFuture} 将以结果 {@code Map} 正常结束。
+     *
+     * <p><strong>说明：</strong> 重复的主机地址仅调用一次，每个主机地址的执行结果只会回调一次，回调顺序为执行结果返回的顺序。
+     * 回调抛出的异常将被忽略，不影响其它主机地址的回调及返回的结果 {@code Map}。</p>
+     *
+     * <p><strong>注意：</strong> 回调通常在 RPC 响应接收线程中执行，不应在回调中执行耗时或阻塞的操作。
+     * 如果 {@code responseConsumer} 为 {@code null}，返回的 {@code CompletableFuture} 将以 {@link NullPointerException} 异常结束。</p>
+     *
+     * <p>默认实现将在调用线程中执行 {@link #execute(String[], Method, Object[], long)}，并在返回前依次回调每个执行结果。</p>
+     *
+     * @param hosts RPC 服务提供方主机地址数组，地址必须包含在 {@link #getHosts()} 中，不允许为 {@code null} 或空数组
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，如果没有参数则使用 {@code null} 或空数组
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 {@code RpcBroadcastClient} 实现类默认的超时时间设置
+     * @param responseConsumer 单个 RPC 服务提供方执行结果回调，不允许为 {@code null}
+     * @return 结果 {@code Map}，将在所有 RPC 服务提供方执行完成后返回
+     * @since 1.2
+     */
+    default CompletableFuture<Map<String, BroadcastResponse>> executeAsync(String[] hosts, Method method, Object[] args, long timeout,
+                                                                           Consumer<BroadcastResponse> responseConsumer) {
+        if (responseConsumer == null) {
+            CompletableFuture<Map<String, BroadcastResponse>> future = new CompletableFuture<>();
+            future.completeExceptionally(new NullPointerException("RpcBroadcastClient execute failed: `responseConsumer could not be null`."));
+            return future;
+        }
+        return FutureUtil.supplySync(() -> {
+            Map<String, BroadcastResponse> responseMap = execute(hosts, method, args, timeout);
+            for (BroadcastResponse response : responseMap.values()) {
+                try {
+                    responseConsumer.accept(response);
+                } catch (Exception ignored) {} // 回调抛出的异常不影响其它主机地址的回调及返回的结果
+            }
+            return responseMap;
+        });
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cache;
+
+import java.util.Arrays;
+
+/**
+ * 调用结果缓存使用的调用标识，由 RPC 调用使用的参数数组组成，参数数组通过 {@link Arrays#deepEquals(Object[], Object[])} 比较。
+ *
+ * <p>
+ *     每个 RPC 方法对应独立的 {@link RpcResultCache}，因此调用标识中不包含 RPC 方法。
+ *     构造时将复制参数数组，调用方在调用结束后替换参数数组中的元素不会影响调用标识。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+class CacheKey {
+
+    /**
+     * RPC 调用使用的参数数组，可能为 {@code null}
+     */
+    final Object[] args;
+
+    private final int hashCode;
+
+    /**
+     * 构造一个调用标识。
+     *
+     * @param args RPC 调用使用的参数数组，允许为 {@code null}
+     */
+    CacheKey(Object[] args) {
+        this.args = args != null && args.length > 0 ? args.clone() : null;
+        this.hashCode = Arrays.deepHashCode(this.args);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CacheKey cacheKey = (CacheKey) o;
+        return hashCode == cacheKey.hashCode && Arrays.deepEquals(args, cacheKey.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
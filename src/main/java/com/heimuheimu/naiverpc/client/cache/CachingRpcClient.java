@@ -0,0 +1,207 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cache;
+
+import com.heimuheimu.naiverpc.client.RpcClient;
+import com.heimuheimu.naiverpc.exception.RpcException;
+import com.heimuheimu.naiverpc.exception.TimeoutException;
+import com.heimuheimu.naiverpc.exception.TooBusyException;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientCacheMonitor;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientCompressionMonitorFactory;
+import com.heimuheimu.naiverpc.transcoder.SimpleTranscoder;
+import com.heimuheimu.naiverpc.transcoder.Transcoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 支持调用结果缓存的 RPC 客户端，对使用 {@link RpcCacheable} 注解的方法，在缓存有效期内相同参数的调用将直接返回缓存的调用结果，
+ * 其它方法将直接通过被装饰的 {@link RpcClient} 执行。
+ *
+ * <p>
+ *     每个 RPC 方法使用独立的缓存，缓存容量、有效期由该方法的 {@link RpcCacheable} 注解配置，缓存淘汰策略为 W-TinyLFU。
+ *     缓存命中、未命中、淘汰次数可通过 {@link com.heimuheimu.naiverpc.monitor.client.prometheus.RpcClientCachePrometheusCollector} 进行监控。
+ * </p>
+ *
+ * <p>
+ *     如需同时合并缓存未命中时的并发调用，可将 {@link com.heimuheimu.naiverpc.client.singleflight.SingleFlightRpcClient} 作为被装饰的 RPC 客户端。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code CachingRpcClient} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class CachingRpcClient implements RpcClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingRpcClient.class);
+
+    /**
+     * 调用结果序列化时使用的最小压缩字节数
+     */
+    private static final int COMPRESSION_THRESHOLD = 64 * 1024;
+
+    /**
+     * 被装饰的 RPC 客户端
+     */
+    private final RpcClient rpcClient;
+
+    /**
+     * RPC 方法对应的调用结果缓存 {@code Map}，如果该方法没有使用 {@link RpcCacheable} 注解或注解配置不正确，Value 为 {@link Optional#empty()}
+     */
+    private final ConcurrentHashMap<Method, Optional<RpcResultCache>> cacheMap = new ConcurrentHashMap<>();
+
+    /**
+     * 调用结果序列化使用的转换器
+     */
+    private final Transcoder transcoder = new SimpleTranscoder(COMPRESSION_THRESHOLD, RpcClientCompressionMonitorFactory.get());
+
+    /**
+     * RPC 客户端调用结果缓存信息监控器
+     */
+    private final RpcClientCacheMonitor cacheMonitor = RpcClientCacheMonitor.getInstance();
+
+    /**
+     * 构造一个支持调用结果缓存的 RPC 客户端。
+     *
+     * @param rpcClient 被装饰的 RPC 客户端，不允许为 {@code null}
+     * @throws IllegalArgumentException 如果 {@code rpcClient} 为 {@code null}，将会抛出此异常
+     */
+    public CachingRpcClient(RpcClient rpcClient) throws IllegalArgumentException {
+        if (rpcClient == null) {
+            LOG.error("Create CachingRpcClient failed: `rpcClient could not be null`.");
+            throw new IllegalArgumentException("Create CachingRpcClient failed: `rpcClient could not be null`.");
+        }
+        this.rpcClient = rpcClient;
+    }
+
+    @Override
+    public Object execute(Method method, Object[] args) throws IllegalStateException, TimeoutException, TooBusyException, RpcException {
+        return execute(method, args, 0);
+    }
+
+    @Override
+    public Object execute(Method method, Object[] args, long timeout) throws IllegalStateException, TimeoutException, TooBusyException, RpcException {
+        RpcResultCache cache = getCache(method);
+        if (cache == null) {
+            return timeout > 0 ? rpcClient.execute(method, args, timeout) : rpcClient.execute(method, args);
+        }
+        CacheKey key = new CacheKey(args);
+        Object value = cache.get(key);
+        if (value == RpcResultCache.MISS) {
+            value = timeout > 0 ? rpcClient.execute(method, args, timeout) : rpcClient.execute(method, args);
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args) {
+        return executeAsync(method, args, 0);
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args, long timeout) {
+        RpcResultCache cache = getCache(method);
+        if (cache == null) {
+            return timeout > 0 ? rpcClient.executeAsync(method, args, timeout) : rpcClient.executeAsync(method, args);
+        }
+        CacheKey key = new CacheKey(args);
+        Object value = cache.get(key);
+        if (value != RpcResultCache.MISS) {
+            return CompletableFuture.completedFuture(value);
+        }
+        CompletableFuture<Object> future = timeout > 0 ? rpcClient.executeAsync(method, args, timeout) : rpcClient.executeAsync(method, args);
+        future.whenComplete((result, exception) -> {
+            if (exception == null) {
+                cache.put(key, result);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 移除 RPC 方法所有缓存的调用结果。
+     *
+     * @param method RPC 方法
+     */
+    public void invalidateAll(Method method) {
+        RpcResultCache cache = getCache(method);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * 移除所有 RPC 方法缓存的调用结果。
+     */
+    public void invalidateAll() {
+        for (Optional<RpcResultCache> cache : cacheMap.values()) {
+            cache.ifPresent(RpcResultCache::invalidateAll);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        invalidateAll();
+        rpcClient.close();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingRpcClient{" +
+                "rpcClient=" + rpcClient +
+                ", cacheMap=" + cacheMap +
+                '}';
+    }
+
+    private RpcResultCache getCache(Method method) {
+        if (method == null) {
+            return null;
+        }
+        Optional<RpcResultCache> cache = cacheMap.get(method);
+        if (cache == null) {
+            cache = cacheMap.computeIfAbsent(method, this::createCache);
+        }
+        return cache.orElse(null);
+    }
+
+    private Optional<RpcResultCache> createCache(Method method) {
+        RpcCacheable cacheable = method.getAnnotation(RpcCacheable.class);
+        if (cacheable == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new RpcResultCache(method, cacheable, transcoder, cacheMonitor));
+        } catch (IllegalArgumentException e) { //错误信息已在 RpcResultCache 中输出，调用结果将不会被缓存
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 基于 Count-Min Sketch 实现的访问频率统计，供 W-TinyLFU 缓存淘汰策略在准入判断时使用。
+ *
+ * <p>
+ *     每个计数器占用 4 位，最大计数为 15，每个元素对应 4 个计数器，访问频率为 4 个计数器中的最小值。
+ *     当累计的计数次数达到统计样本数量时，所有计数器将会减半，使访问频率能够反映最近一段时间内的访问情况。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code FrequencySketch} 类是线程安全的，并发执行时计数可能存在少量误差。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+class FrequencySketch {
+
+    /**
+     * 计算计数器位置使用的种子
+     */
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    /**
+     * 计数器减半时使用的掩码
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * 计数器数组，每个 long 包含 16 个 4 位计数器
+     */
+    private final AtomicLongArray table;
+
+    /**
+     * 计数器数组长度掩码
+     */
+    private final int tableMask;
+
+    /**
+     * 统计样本数量，累计计数次数达到该值时，所有计数器将会减半
+     */
+    private final int sampleSize;
+
+    /**
+     * 当前累计的计数次数
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * 构造一个访问频率统计。
+     *
+     * @param maximumSize 预计统计的最大元素数量
+     */
+    FrequencySketch(long maximumSize) {
+        int capacity = (int) Math.min(Math.max(maximumSize, 16), 1 << 30);
+        capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new AtomicLongArray(capacity);
+        this.tableMask = capacity - 1;
+        this.sampleSize = capacity >= (1 << 30) / 10 ? Integer.MAX_VALUE : 10 * capacity;
+    }
+
+    /**
+     * 获得元素的访问频率，最大值为 15。
+     *
+     * @param hashCode 元素的哈希值
+     * @return 访问频率
+     */
+    int frequency(int hashCode) {
+        int hash = spread(hashCode);
+        int start = (hash & 3) << 2;
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table.get(index) >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * 增加元素的访问频率。
+     *
+     * @param hashCode 元素的哈希值
+     */
+    void increment(int hashCode) {
+        int hash = spread(hashCode);
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && size.incrementAndGet() >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counterIndex) {
+        int offset = counterIndex << 2;
+        long mask = 0xfL << offset;
+        while (true) {
+            long value = table.get(index);
+            if ((value & mask) == mask) {
+                return false;
+            }
+            if (table.compareAndSet(index, value, value + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 将所有计数器减半。
+     */
+    private synchronized void reset() {
+        if (size.get() >= sampleSize) {
+            for (int i = 0; i < table.length(); i++) {
+                long value;
+                do {
+                    value = table.get(i);
+                } while (!table.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+            }
+            size.set(sampleSize / 2);
+        }
+    }
+
+    private int indexOf(int hash, int i) {
+        long value = (hash + SEEDS[i]) * SEEDS[i];
+        value += value >>> 32;
+        return ((int) value) & tableMask;
+    }
+
+    private int spread(int hashCode) {
+        int x = ((hashCode >>> 16) ^ hashCode) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
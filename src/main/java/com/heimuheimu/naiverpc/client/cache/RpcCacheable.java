@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * 标识该 RPC 服务接口方法的调用结果允许被缓存，仅适用于只读、幂等且结果变化不频繁的方法，例如：获取配置信息、获取城市列表等。
+ *
+ * <p>
+ *     通过 {@link CachingRpcClient} 执行该方法时，参数数组（通过 {@link java.util.Arrays#deepEquals(Object[], Object[])} 比较）相同的调用，
+ *     在缓存有效期内将直接返回缓存的调用结果，不会发送 RPC 请求。调用过程中出现的异常不会被缓存。
+ * </p>
+ *
+ * <p>
+ *     缓存默认使用调用结果数量进行容量限制，如果设置了 {@link #maximumBytes()}，将使用调用结果序列化后的字节数进行容量限制。
+ *     当调用结果以序列化后的字节形式保存时（设置了 {@link #maximumBytes()} 或 {@link #offHeap()}），每次命中缓存都将反序列化出一个新的调用结果实例，
+ *     否则多次命中缓存将返回同一个调用结果实例，调用方不应修改返回的调用结果。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RpcCacheable {
+
+    /**
+     * 调用结果缓存有效期，从调用结果写入缓存开始计算，单位：毫秒，不能小于等于 0。
+     *
+     * @return 调用结果缓存有效期
+     */
+    long expireAfterWrite();
+
+    /**
+     * 最大缓存的调用结果数量，不能小于等于 0，默认为 1000，如果设置了 {@link #maximumBytes()}，该值仅用于估算访问频率统计所需的空间。
+     *
+     * @return 最大缓存的调用结果数量
+     */
+    int maximumSize() default 1000;
+
+    /**
+     * 最大缓存的调用结果字节数，按调用结果序列化后的字节数计算，如果小于等于 0，则使用 {@link #maximumSize()} 进行容量限制，默认为 0。
+     *
+     * @return 最大缓存的调用结果字节数
+     */
+    long maximumBytes() default 0;
+
+    /**
+     * 是否将调用结果序列化后保存在堆外内存中，以减少缓存对 GC 的影响，默认为 {@code false}。
+     *
+     * @return 是否将调用结果保存在堆外内存中
+     */
+    boolean offHeap() default false;
+}
@@ -0,0 +1,557 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cache;
+
+import com.heimuheimu.naiverpc.monitor.client.RpcClientCacheMonitor;
+import com.heimuheimu.naiverpc.transcoder.Transcoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 单个 RPC 方法的调用结果缓存，使用 W-TinyLFU 缓存淘汰策略：
+ * <ul>
+ *     <li>新写入的调用结果首先进入窗口区（占总容量的 1%），窗口区按 LRU 顺序淘汰</li>
+ *     <li>从窗口区淘汰的调用结果作为候选者进入主区的试用区，主区容量不足时，候选者与试用区中最久未访问的调用结果比较访问频率，
+ *     频率较低的一方将被淘汰</li>
+ *     <li>试用区中的调用结果被再次访问时，将晋升至主区的保护区（占主区容量的 80%），保护区超出容量时，最久未访问的调用结果将降级至试用区</li>
+ * </ul>
+ *
+ * <p>
+ *     读取缓存时不会阻塞等待淘汰锁，如果淘汰锁正在被其它线程持有，本次访问将不会调整 LRU 顺序，访问频率统计不受影响。
+ *     过期的调用结果在读取时被移除，或随淘汰策略被移除。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code RpcResultCache} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+class RpcResultCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RpcResultCache.class);
+
+    /**
+     * 缓存未命中时 {@link #get(CacheKey)} 方法返回的值
+     */
+    static final Object MISS = new Object();
+
+    /**
+     * 调用结果为 {@code null} 时，在缓存中保存的值
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    private static final int QUEUE_REMOVED = -1;
+
+    private static final int QUEUE_WINDOW = 0;
+
+    private static final int QUEUE_PROBATION = 1;
+
+    private static final int QUEUE_PROTECTED = 2;
+
+    /**
+     * 缓存对应的 RPC 方法
+     */
+    private final Method method;
+
+    /**
+     * 调用结果缓存有效期，单位：纳秒
+     */
+    private final long expireAfterWriteNanos;
+
+    /**
+     * 缓存最大容量，按调用结果数量或字节数计算
+     */
+    private final long maximumWeight;
+
+    /**
+     * 窗口区最大容量
+     */
+    private final long maximumWindowWeight;
+
+    /**
+     * 保护区最大容量
+     */
+    private final long maximumProtectedWeight;
+
+    /**
+     * 是否按调用结果序列化后的字节数计算容量
+     */
+    private final boolean weighedByBytes;
+
+    /**
+     * 是否将调用结果序列化后保存
+     */
+    private final boolean encoded;
+
+    /**
+     * 是否将序列化后的调用结果保存在堆外内存中
+     */
+    private final boolean offHeap;
+
+    /**
+     * 调用结果序列化使用的转换器
+     */
+    private final Transcoder transcoder;
+
+    /**
+     * RPC 客户端调用结果缓存信息监控器
+     */
+    private final RpcClientCacheMonitor cacheMonitor;
+
+    /**
+     * 缓存数据 {@code Map}，读取时无需加锁，修改时需持有 {@link #evictionLock}
+     */
+    private final ConcurrentHashMap<CacheKey, Node> data = new ConcurrentHashMap<>();
+
+    /**
+     * 访问频率统计
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * 淘汰锁，修改缓存数据及各区顺序时需持有该锁
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final NodeDeque windowDeque = new NodeDeque();
+
+    private final NodeDeque probationDeque = new NodeDeque();
+
+    private final NodeDeque protectedDeque = new NodeDeque();
+
+    private long windowWeight = 0;
+
+    private long protectedWeight = 0;
+
+    private long totalWeight = 0;
+
+    /**
+     * 构造一个 RPC 方法调用结果缓存。
+     *
+     * @param method 缓存对应的 RPC 方法
+     * @param cacheable 缓存配置
+     * @param transcoder 调用结果序列化使用的转换器
+     * @param cacheMonitor RPC 客户端调用结果缓存信息监控器
+     * @throws IllegalArgumentException 如果缓存配置不正确，将会抛出此异常
+     */
+    RpcResultCache(Method method, RpcCacheable cacheable, Transcoder transcoder, RpcClientCacheMonitor cacheMonitor)
+            throws IllegalArgumentException {
+        if (cacheable.expireAfterWrite() <= 0 || cacheable.maximumSize() <= 0) {
+            LOG.error("Create RpcResultCache failed: `expireAfterWrite and maximumSize could not be equal or less than 0`. Method: `"
+                    + method + "`. ExpireAfterWrite: `" + cacheable.expireAfterWrite() + "`. MaximumSize: `" + cacheable.maximumSize() + "`.");
+            throw new IllegalArgumentException("Create RpcResultCache failed: `expireAfterWrite and maximumSize could not be equal or less than 0`. Method: `"
+                    + method + "`. ExpireAfterWrite: `" + cacheable.expireAfterWrite() + "`. MaximumSize: `" + cacheable.maximumSize() + "`.");
+        }
+        this.method = method;
+        this.expireAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(cacheable.expireAfterWrite());
+        this.weighedByBytes = cacheable.maximumBytes() > 0;
+        this.offHeap = cacheable.offHeap();
+        this.encoded = weighedByBytes || offHeap;
+        this.maximumWeight = weighedByBytes ? cacheable.maximumBytes() : cacheable.maximumSize();
+        this.maximumWindowWeight = Math.max(1, maximumWeight / 100);
+        this.maximumProtectedWeight = (maximumWeight - maximumWindowWeight) * 80 / 100;
+        this.transcoder = transcoder;
+        this.cacheMonitor = cacheMonitor;
+        this.sketch = new FrequencySketch(cacheable.maximumSize());
+    }
+
+    /**
+     * 获得缓存的调用结果，如果缓存未命中，将返回 {@link #MISS}。
+     *
+     * @param key 调用标识
+     * @return 缓存的调用结果，可能为 {@code null}
+     */
+    Object get(CacheKey key) {
+        sketch.increment(key.hashCode());
+        Node node = data.get(key);
+        if (node == null) {
+            cacheMonitor.onMiss();
+            return MISS;
+        }
+        if (System.nanoTime() - node.writeTime >= expireAfterWriteNanos) {
+            evictionLock.lock();
+            try {
+                if (data.remove(key, node)) {
+                    unlink(node);
+                    cacheMonitor.onExpired();
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+            cacheMonitor.onMiss();
+            return MISS;
+        }
+        if (evictionLock.tryLock()) {
+            try {
+                onAccess(node);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        Object value;
+        try {
+            value = getValue(node);
+        } catch (Exception e) {
+            LOG.error("Decode cached value failed: `" + e.getMessage() + "`. Method: `" + method + "`. Arguments: `"
+                    + Arrays.toString(key.args) + "`.", e);
+            invalidate(key);
+            cacheMonitor.onMiss();
+            return MISS;
+        }
+        cacheMonitor.onHit();
+        return value;
+    }
+
+    /**
+     * 将调用结果写入缓存，如果调用结果序列化失败或大于缓存最大容量，将不会写入缓存。
+     *
+     * @param key 调用标识
+     * @param value 调用结果，允许为 {@code null}
+     */
+    void put(CacheKey key, Object value) {
+        Node node;
+        try {
+            node = createNode(key, value);
+        } catch (Exception e) {
+            LOG.warn("Cache value failed: `encode value failed`. Method: `" + method + "`. Arguments: `"
+                    + Arrays.toString(key.args) + "`.", e);
+            return;
+        }
+        if (node.weight > maximumWeight) {
+            LOG.warn("Cache value failed: `value is too large`. Weight: `{}`. MaximumWeight: `{}`. Method: `{}`.",
+                    node.weight, maximumWeight, method);
+            return;
+        }
+        evictionLock.lock();
+        try {
+            Node oldNode = data.put(key, node);
+            if (oldNode != null) {
+                unlink(oldNode);
+            }
+            node.queue = QUEUE_WINDOW;
+            windowDeque.addLast(node);
+            windowWeight += node.weight;
+            totalWeight += node.weight;
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 移除缓存的调用结果。
+     *
+     * @param key 调用标识
+     */
+    void invalidate(CacheKey key) {
+        evictionLock.lock();
+        try {
+            Node node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 移除所有缓存的调用结果。
+     */
+    void invalidateAll() {
+        evictionLock.lock();
+        try {
+            for (Node node : data.values()) {
+                unlink(node);
+            }
+            data.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 获得当前缓存的调用结果数量。
+     *
+     * @return 缓存的调用结果数量
+     */
+    int size() {
+        return data.size();
+    }
+
+    private Node createNode(CacheKey key, Object value) throws Exception {
+        long writeTime = System.nanoTime();
+        if (!encoded) {
+            return new Node(key, value != null ? value : NULL_VALUE, (byte) 0, (byte) 0, 1, writeTime);
+        }
+        byte[][] encodedBytes = transcoder.encode(value);
+        byte[] valueBytes = encodedBytes[1];
+        Object storedValue;
+        if (offHeap) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(valueBytes.length);
+            buffer.put(valueBytes);
+            buffer.flip();
+            storedValue = buffer;
+        } else {
+            storedValue = valueBytes;
+        }
+        long weight = weighedByBytes ? valueBytes.length : 1;
+        return new Node(key, storedValue, encodedBytes[0][0], encodedBytes[0][1], weight, writeTime);
+    }
+
+    private Object getValue(Node node) throws Exception {
+        if (!encoded) {
+            return node.value != NULL_VALUE ? node.value : null;
+        }
+        byte[] valueBytes;
+        if (offHeap) {
+            ByteBuffer buffer = ((ByteBuffer) node.value).duplicate();
+            valueBytes = new byte[buffer.remaining()];
+            buffer.get(valueBytes);
+        } else {
+            valueBytes = (byte[]) node.value;
+        }
+        return transcoder.decode(valueBytes, node.serializationType, node.compressionType);
+    }
+
+    /**
+     * 调整被访问的调用结果在各区中的顺序，调用该方法前需持有淘汰锁。
+     */
+    private void onAccess(Node node) {
+        switch (node.queue) {
+            case QUEUE_WINDOW:
+                windowDeque.moveToLast(node);
+                break;
+            case QUEUE_PROBATION:
+                probationDeque.remove(node);
+                node.queue = QUEUE_PROTECTED;
+                protectedDeque.addLast(node);
+                protectedWeight += node.weight;
+                while (protectedWeight > maximumProtectedWeight) {
+                    Node demotedNode = protectedDeque.pollFirst();
+                    if (demotedNode == null) {
+                        break;
+                    }
+                    protectedWeight -= demotedNode.weight;
+                    demotedNode.queue = QUEUE_PROBATION;
+                    probationDeque.addLast(demotedNode);
+                }
+                break;
+            case QUEUE_PROTECTED:
+                protectedDeque.moveToLast(node);
+                break;
+            default:
+                //已被移除，无需处理
+        }
+    }
+
+    /**
+     * 执行缓存淘汰，调用该方法前需持有淘汰锁。
+     */
+    private void evict() {
+        //窗口区超出容量的调用结果作为候选者进入试用区尾部
+        int candidateCount = 0;
+        while (windowWeight > maximumWindowWeight) {
+            Node node = windowDeque.pollFirst();
+            if (node == null) {
+                break;
+            }
+            windowWeight -= node.weight;
+            node.queue = QUEUE_PROBATION;
+            probationDeque.addLast(node);
+            candidateCount++;
+        }
+        while (totalWeight > maximumWeight) {
+            Node victim = probationDeque.peekFirst();
+            if (victim == null) {
+                victim = protectedDeque.peekFirst() != null ? protectedDeque.peekFirst() : windowDeque.peekFirst();
+                if (victim == null) {
+                    break;
+                }
+                evict(victim);
+                continue;
+            }
+            Node candidate = candidateCount > 0 ? probationDeque.peekLast() : null;
+            if (candidate == null || candidate == victim) {
+                if (candidate != null) {
+                    candidateCount--;
+                }
+                evict(victim);
+            } else if (sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+                evict(victim);
+            } else {
+                evict(candidate);
+                candidateCount--;
+            }
+        }
+    }
+
+    private void evict(Node node) {
+        data.remove(node.key, node);
+        unlink(node);
+        if (System.nanoTime() - node.writeTime >= expireAfterWriteNanos) {
+            cacheMonitor.onExpired();
+        } else {
+            cacheMonitor.onEvicted();
+        }
+    }
+
+    /**
+     * 将调用结果从所在的区中移除，调用该方法前需持有淘汰锁。
+     */
+    private void unlink(Node node) {
+        switch (node.queue) {
+            case QUEUE_WINDOW:
+                windowDeque.remove(node);
+                windowWeight -= node.weight;
+                break;
+            case QUEUE_PROBATION:
+                probationDeque.remove(node);
+                break;
+            case QUEUE_PROTECTED:
+                protectedDeque.remove(node);
+                protectedWeight -= node.weight;
+                break;
+            default:
+                return;
+        }
+        totalWeight -= node.weight;
+        node.queue = QUEUE_REMOVED;
+    }
+
+    @Override
+    public String toString() {
+        return "RpcResultCache{" +
+                "method=" + method +
+                ", expireAfterWriteNanos=" + expireAfterWriteNanos +
+                ", maximumWeight=" + maximumWeight +
+                ", weighedByBytes=" + weighedByBytes +
+                ", offHeap=" + offHeap +
+                ", size=" + data.size() +
+                '}';
+    }
+
+    /**
+     * 缓存的调用结果，除链表指针及所在区外，其它字段均不可变。
+     */
+    private static final class Node {
+
+        private final CacheKey key;
+
+        /**
+         * 调用结果，如果调用结果已被序列化，则为 {@code byte[]} 或堆外 {@link ByteBuffer}
+         */
+        private final Object value;
+
+        private final byte serializationType;
+
+        private final byte compressionType;
+
+        private final long weight;
+
+        private final long writeTime;
+
+        private int queue = QUEUE_REMOVED;
+
+        private Node prev;
+
+        private Node next;
+
+        private Node(CacheKey key, Object value, byte serializationType, byte compressionType, long weight, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.serializationType = serializationType;
+            this.compressionType = compressionType;
+            this.weight = weight;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * 缓存各区使用的双向链表，链表头部为最久未访问的调用结果，所有操作需持有淘汰锁。
+     */
+    private static final class NodeDeque {
+
+        private Node first;
+
+        private Node last;
+
+        private Node peekFirst() {
+            return first;
+        }
+
+        private Node peekLast() {
+            return last;
+        }
+
+        private void addLast(Node node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        private Node pollFirst() {
+            Node node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        private void remove(Node node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        private void moveToLast(Node node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+}
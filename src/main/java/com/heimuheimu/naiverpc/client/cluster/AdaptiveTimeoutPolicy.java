@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster;
+
+import com.heimuheimu.naiverpc.client.DirectRpcClient;
+import com.heimuheimu.naiverpc.client.RpcMethodDescriptor;
+import com.heimuheimu.naiverpc.facility.latency.LatencyHistogram;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientAdaptiveTimeoutMonitor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RPC 调用自适应超时时间计算器，根据每个 RPC 方法在每个 RPC 服务提供方的近期调用耗时计算超时时间。
+ *
+ * <p>
+ *     超时时间为近期调用耗时百分位值的若干倍，并限制在配置的最小值与最大值之间，每秒最多重新计算一次。
+ *     仅成功返回的调用会被记录，如果一段时间内调用全部超时，历史样本将随统计窗口轮换过期，超时时间会恢复为最大值，
+ *     避免方法耗时整体上升后超时时间无法随之调整。
+ * </p>
+ *
+ * <p>
+ *     每个 RPC 方法在每个 RPC 服务提供方各持有一个耗时直方图，RPC 服务提供方成员变更后，已被移除的 RPC 服务提供方的计算状态将通过
+ *     {@link #update(String[])} 方法清除，避免主机地址频繁变更时内存持续增长。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code AdaptiveTimeoutPolicy} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+class AdaptiveTimeoutPolicy {
+
+    /**
+     * 超时时间重新计算周期，单位：纳秒
+     */
+    private static final long REFRESH_PERIOD = TimeUnit.NANOSECONDS.convert(1, TimeUnit.SECONDS);
+
+    /**
+     * 超时时间计算状态 {@code Map}，Key 为 RPC 调用的方法，Value 为该方法在各个 RPC 服务提供方的计算状态 {@code Map}，Key 为主机地址
+     */
+    private final ConcurrentHashMap<Method, ConcurrentHashMap<String, State>> stateMap = new ConcurrentHashMap<>();
+
+    /**
+     * RPC 客户端自适应超时时间监控器
+     */
+    private final RpcClientAdaptiveTimeoutMonitor adaptiveTimeoutMonitor = RpcClientAdaptiveTimeoutMonitor.getInstance();
+
+    /**
+     * 获得 RPC 方法在该 {@code DirectRpcClient} 中执行使用的超时时间。
+     *
+     * @param client RPC 服务调用客户端
+     * @param method RPC 调用的方法
+     * @param configuration RPC 集群客户端调度配置信息
+     * @return 超时时间，单位：毫秒
+     */
+    long getTimeout(DirectRpcClient client, Method method, RpcClusterClientConfiguration configuration) {
+        State state = getState(client.getHost(), method);
+        long maxTimeout = configuration.getMaxAdaptiveTimeout() > 0 ? configuration.getMaxAdaptiveTimeout() : client.getTimeout();
+        long now = System.nanoTime();
+        if (now - state.refreshTime >= REFRESH_PERIOD) {
+            state.refreshTime = now;
+            long minTimeout = Math.min(configuration.getMinAdaptiveTimeout(), maxTimeout);
+            long timeout = maxTimeout;
+            long percentileNanos = state.latencyHistogram.getPercentile(configuration.getAdaptiveTimeoutPercentile());
+            if (percentileNanos >= 0) {
+                long percentile = TimeUnit.MILLISECONDS.convert(percentileNanos, TimeUnit.NANOSECONDS);
+                timeout = Math.max(minTimeout, Math.min(maxTimeout, (long) Math.ceil(percentile * configuration.getAdaptiveTimeoutMultiplier())));
+            }
+            if (timeout != state.timeout) {
+                state.timeout = timeout;
+                adaptiveTimeoutMonitor.onTimeoutChanged(client.getHost(), state.methodName, timeout);
+            }
+        }
+        long timeout = state.timeout;
+        return timeout > 0 ? timeout : maxTimeout; // 首次计算尚未完成时，使用最大值
+    }
+
+    /**
+     * 记录一次成功返回的 RPC 调用耗时。
+     *
+     * @param client RPC 服务调用客户端
+     * @param method RPC 调用的方法
+     * @param latencyNanos RPC 调用耗时，单位：纳秒
+     */
+    void record(DirectRpcClient client, Method method, long latencyNanos) {
+        getState(client.getHost(), method).latencyHistogram.record(latencyNanos);
+    }
+
+    /**
+     * 清除已不在成员中的 RPC 服务提供方的计算状态，在 RPC 服务提供方成员变更后执行。移除期间仍在返回的调用可能重新创建其计算状态，
+     * 将在下一次成员变更时被清除。
+     *
+     * @param hosts 当前的主机地址数组，已移除主机地址的位置值为 {@code null}
+     */
+    void update(String[] hosts) {
+        Set<String> hostSet = new HashSet<>(Arrays.asList(hosts));
+        Set<String> removedHostSet = new HashSet<>();
+        for (ConcurrentHashMap<String, State> hostStateMap : stateMap.values()) {
+            for (String host : hostStateMap.keySet()) {
+                if (!hostSet.contains(host)) {
+                    hostStateMap.remove(host);
+                    removedHostSet.add(host);
+                }
+            }
+        }
+        for (String removedHost : removedHostSet) {
+            adaptiveTimeoutMonitor.onRemoved(removedHost);
+        }
+    }
+
+    private State getState(String host, Method method) {
+        ConcurrentHashMap<String, State> hostStateMap = stateMap.get(method);
+        if (hostStateMap == null) {
+            hostStateMap = stateMap.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        State state = hostStateMap.get(host);
+        if (state == null) {
+            state = hostStateMap.computeIfAbsent(host, key -> new State(method));
+        }
+        return state;
+    }
+
+    /**
+     * RPC 方法在单个 RPC 服务提供方的超时时间计算状态。
+     */
+    private static class State {
+
+        /**
+         * RPC 方法名称，用于监控数据展示
+         */
+        private final String methodName;
+
+        /**
+         * 近期调用耗时直方图
+         */
+        private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        /**
+         * 最近一次计算得出的超时时间，单位：毫秒
+         */
+        private volatile long timeout;
+
+        /**
+         * 最近一次计算超时时间的时间，由 {@link System#nanoTime()} 获得
+         */
+        private volatile long refreshTime;
+
+        private State(Method method) {
+            RpcMethodDescriptor descriptor = RpcMethodDescriptor.get(method);
+            this.methodName = descriptor.getTargetClass() + "#" + descriptor.getMethodUniqueName();
+            this.refreshTime = System.nanoTime() - REFRESH_PERIOD;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster;
+
+import java.lang.annotation.*;
+
+/**
+ * 标识该 RPC 服务接口方法允许对冲调用（Hedged Request），仅适用于幂等的方法。
+ *
+ * <p>
+ *     通过 {@link RpcClusterClient} 执行该方法时，如果在对冲延迟时间内未收到响应，将会选择另外一台 RPC 服务提供方发送相同的调用请求，
+ *     使用最先成功返回的结果，另外一个调用的结果将被丢弃。对冲延迟时间及对冲调用比例上限通过 {@link RpcClusterClientConfiguration} 进行配置。
+ * </p>
+ *
+ * <p>
+ *     <strong>注意：</strong>同一个调用请求可能会被多台 RPC 服务提供方执行，不满足幂等性的方法不应使用该注解。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Hedged {
+
+    /**
+     * 对冲延迟时间，单位：毫秒，如果该值小于等于 0，则使用 {@link RpcClusterClientConfiguration#getHedgeDelay()} 配置的延迟时间。
+     *
+     * @return 对冲延迟时间
+     */
+    long delay() default 0;
+}
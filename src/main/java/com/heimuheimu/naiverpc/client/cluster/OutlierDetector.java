@@ -0,0 +1,438 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster;
+
+import com.heimuheimu.naiverpc.exception.ConcurrencyLimitExceededException;
+import com.heimuheimu.naiverpc.exception.TimeoutException;
+import com.heimuheimu.naiverpc.monitor.client.RpcClusterClientMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异常 RPC 服务提供方检测器，为 {@link RpcClusterClient} 中的每个 RPC 服务提供方维护健康状态，并临时摘除以下异常的 RPC 服务提供方：
+ * <ul>
+ *     <li>无响应：存在未返回的 RPC 调用时，根据响应到达间隔计算的 phi 值（phi-accrual）超过阈值，每次选择时实时判断</li>
+ *     <li>错误率异常：检测周期内超时或连接不可用的调用比例超过阈值</li>
+ *     <li>耗时异常：检测周期内成功调用的平均耗时超过所有 RPC 服务提供方平均耗时中位数的若干倍</li>
+ * </ul>
+ *
+ * <p>
+ *     phi 值假设响应到达间隔服从指数分布：phi = 停顿时间 / (平均到达间隔 + 允许停顿时间) * log10(e)，
+ *     RPC 服务提供方空闲期间的时间不计入到达间隔，因此低调用量的 RPC 服务提供方不会因为长时间没有响应而被误判。
+ *     RPC 服务方实现抛出的异常（{@link com.heimuheimu.naiverpc.exception.RpcException}）通常与 RPC 服务提供方无关，不计入错误率。
+ * </p>
+ *
+ * <p>
+ *     同时被摘除的 RPC 服务提供方数量受最大摘除比例限制，摘除时间到期后自动恢复，连续被摘除时，摘除时间成倍增加（最多 {@link #MAX_EJECTION_MULTIPLIER} 倍）。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code OutlierDetector} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+class OutlierDetector {
+
+    private static final Logger RPC_CONNECTION_LOG = LoggerFactory.getLogger("NAIVERPC_CONNECTION_LOG");
+
+    /**
+     * 连续被摘除时，摘除时间的最大倍数
+     */
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    /**
+     * log10(e)，用于将指数分布的尾部概率转换为 phi 值
+     */
+    private static final double LOG10_E = Math.log10(Math.E);
+
+    /**
+     * 提供 RPC 服务的主机地址数组，与 {@code DirectRpcClientList} 的索引位置一一对应，已移除主机地址的位置值为 {@code null}
+     */
+    private volatile String[] hosts;
+
+    /**
+     * RPC 服务提供方健康状态数组，与主机地址数组位置一一对应，已移除主机地址的位置值为 {@code null}
+     */
+    private volatile HostHealth[] healths;
+
+    /**
+     * RPC 服务提供方健康状态 {@code Map}，Key 为主机地址，成员变更时将替换为新的 {@code Map}
+     */
+    private volatile HashMap<String, HostHealth> healthMap;
+
+    /**
+     * 当前的 RPC 服务提供方数量，不包含已移除的主机地址
+     */
+    private volatile int hostCount;
+
+    /**
+     * 下一次进行错误率及耗时异常检测的时间，由 {@link System#nanoTime()} 获得
+     */
+    private final AtomicLong nextEvaluationTime = new AtomicLong(System.nanoTime());
+
+    /**
+     * 当前被摘除的 RPC 服务提供方数量，摘除到期后在下一次判断时更新
+     */
+    private volatile int ejectedHostCount = 0;
+
+    /**
+     * RPC 集群客户端信息监控器
+     */
+    private final RpcClusterClientMonitor rpcClusterClientMonitor = RpcClusterClientMonitor.getInstance();
+
+    /**
+     * 构造一个异常 RPC 服务提供方检测器。
+     *
+     * @param hosts 提供 RPC 服务的主机地址数组
+     */
+    OutlierDetector(String[] hosts) {
+        this.hosts = new String[0];
+        this.healths = new HostHealth[0];
+        this.healthMap = new HashMap<>();
+        update(hosts);
+    }
+
+    /**
+     * 在 RPC 服务提供方成员变更后执行该方法，仍然存在的 RPC 服务提供方将保留其健康状态，被移除的 RPC 服务提供方如果处于摘除状态，将不再计入摘除数量。
+     *
+     * @param hosts 与 {@code DirectRpcClientList} 索引位置一一对应的主机地址数组，已移除主机地址的位置值为 {@code null}
+     */
+    synchronized void update(String[] hosts) {
+        HashMap<String, HostHealth> previousHealthMap = healthMap;
+        HashMap<String, HostHealth> currentHealthMap = new HashMap<>();
+        HostHealth[] currentHealths = new HostHealth[hosts.length];
+        int currentHostCount = 0;
+        int currentEjectedHostCount = 0;
+        for (int i = 0; i < hosts.length; i++) {
+            if (hosts[i] != null) {
+                HostHealth health = previousHealthMap.get(hosts[i]);
+                currentHealths[i] = health != null ? health : new HostHealth(hosts[i]);
+                currentHealthMap.put(hosts[i], currentHealths[i]);
+                currentHostCount++;
+                if (currentHealths[i].isEjected) {
+                    currentEjectedHostCount++;
+                }
+            }
+        }
+        this.hosts = hosts.clone();
+        this.healths = currentHealths;
+        this.healthMap = currentHealthMap;
+        this.hostCount = currentHostCount;
+        this.ejectedHostCount = currentEjectedHostCount;
+    }
+
+    /**
+     * 判断该位置的 RPC 服务提供方是否已被摘除，如果 RPC 服务提供方的 phi 值超过阈值，将会尝试将其摘除。
+     *
+     * @param clientIndex RPC 服务调用客户端位置索引
+     * @param configuration RPC 集群客户端调度配置信息
+     * @return 是否已被摘除
+     */
+    boolean isEjected(int clientIndex, RpcClusterClientConfiguration configuration) {
+        long now = System.nanoTime();
+        long evaluationTime = nextEvaluationTime.get();
+        if (now - evaluationTime >= 0 && nextEvaluationTime.compareAndSet(evaluationTime,
+                now + TimeUnit.NANOSECONDS.convert(configuration.getOutlierDetectionInterval(), TimeUnit.MILLISECONDS))) {
+            evaluate(now, configuration);
+        }
+        HostHealth[] healths = this.healths;
+        HostHealth health = clientIndex < healths.length ? healths[clientIndex] : null;
+        if (health == null) {
+            return false;
+        }
+        if (health.isEjected) {
+            if (now - health.ejectedUntil < 0) {
+                return true;
+            }
+            release(health, now);
+        }
+        if (health.outstandingCount.get() > 0) {
+            double phi = health.getPhi(now, TimeUnit.NANOSECONDS.convert(configuration.getPhiAcceptablePause(), TimeUnit.MILLISECONDS));
+            if (phi > configuration.getPhiThreshold() && ejectedHostCount < getMaxEjectedHostCount(configuration)) {
+                return eject(health, now, "phi: " + String.format("%.2f", phi), configuration);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 在 RPC 调用发送前执行该方法。
+     *
+     * @param host 执行 RPC 调用的主机地址
+     * @param startTime RPC 调用开始时间，由 {@link System#nanoTime()} 获得
+     */
+    void onSent(String host, long startTime) {
+        HostHealth health = healthMap.get(host);
+        if (health != null && health.outstandingCount.getAndIncrement() == 0) {
+            health.lastArrivalTime = startTime; // RPC 服务提供方空闲期间的时间不计入响应到达间隔
+        }
+    }
+
+    /**
+     * 在 RPC 调用结束后执行该方法，每次调用 {@link #onSent(String, long)} 后必须调用且仅调用一次该方法。
+     *
+     * @param host 执行 RPC 调用的主机地址
+     * @param exception RPC 调用异常，如果调用成功，则为 {@code null}
+     * @param startTime RPC 调用开始时间，由 {@link System#nanoTime()} 获得
+     * @param endTime RPC 调用结束时间，由 {@link System#nanoTime()} 获得
+     */
+    void onCompleted(String host, Throwable exception, long startTime, long endTime) {
+        HostHealth health = healthMap.get(host);
+        if (health == null) {
+            return;
+        }
+        health.outstandingCount.decrementAndGet();
+        if (exception instanceof CompletionException && exception.getCause() != null) {
+            exception = exception.getCause();
+        }
+        if (exception == null) {
+            health.onArrival(endTime);
+            health.successCount.incrementAndGet();
+            health.latencySum.addAndGet(endTime - startTime);
+        } else if (exception instanceof TimeoutException || exception instanceof IllegalStateException) {
+            health.errorCount.incrementAndGet();
+        } else if (!(exception instanceof CancellationException) && !(exception instanceof ConcurrencyLimitExceededException)) {
+            health.onArrival(endTime); // RPC 服务提供方已返回响应，例如繁忙或方法执行异常
+        }
+    }
+
+    /**
+     * 根据检测周期内的调用统计信息，摘除错误率异常或耗时异常的 RPC 服务提供方。
+     *
+     * @param now 当前时间，由 {@link System#nanoTime()} 获得
+     * @param configuration RPC 集群客户端调度配置信息
+     */
+    private synchronized void evaluate(long now, RpcClusterClientConfiguration configuration) {
+        HostHealth[] healths = compact(this.healths);
+        int minRequestCount = configuration.getOutlierMinRequestCount();
+        long[] successCounts = new long[healths.length];
+        long[] errorCounts = new long[healths.length];
+        double[] avgLatencies = new double[healths.length];
+        double[] sortedAvgLatencies = new double[healths.length];
+        int latencySampleCount = 0;
+        for (int i = 0; i < healths.length; i++) {
+            HostHealth health = healths[i];
+            successCounts[i] = health.successCount.getAndSet(0);
+            errorCounts[i] = health.errorCount.getAndSet(0);
+            long latencySum = health.latencySum.getAndSet(0);
+            avgLatencies[i] = successCounts[i] >= minRequestCount ? (double) latencySum / successCounts[i] : -1;
+            if (avgLatencies[i] >= 0) {
+                sortedAvgLatencies[latencySampleCount++] = avgLatencies[i];
+            }
+        }
+        double medianAvgLatency = -1;
+        if (latencySampleCount >= 2) {
+            Arrays.sort(sortedAvgLatencies, 0, latencySampleCount);
+            medianAvgLatency = sortedAvgLatencies[(latencySampleCount - 1) / 2];
+        }
+        for (int i = 0; i < healths.length; i++) {
+            HostHealth health = healths[i];
+            if (health.isEjected) {
+                if (now - health.ejectedUntil < 0) {
+                    continue;
+                }
+                release(health, now);
+            }
+            long requestCount = successCounts[i] + errorCounts[i];
+            if (requestCount >= minRequestCount && (double) errorCounts[i] / requestCount >= configuration.getOutlierErrorRateThreshold()) {
+                eject(health, now, "error rate: " + errorCounts[i] + "/" + requestCount, configuration);
+            } else if (medianAvgLatency > 0 && avgLatencies[i] > medianAvgLatency * configuration.getOutlierLatencyMultiplier()) {
+                eject(health, now, "avg latency: " + TimeUnit.MICROSECONDS.convert((long) avgLatencies[i], TimeUnit.NANOSECONDS)
+                        + "us, median: " + TimeUnit.MICROSECONDS.convert((long) medianAvgLatency, TimeUnit.NANOSECONDS) + "us", configuration);
+            } else if (requestCount >= minRequestCount) {
+                health.ejectedTimes = 0;
+            }
+        }
+    }
+
+    /**
+     * 获得不包含 {@code null} 元素的 RPC 服务提供方健康状态数组。
+     *
+     * @param healths RPC 服务提供方健康状态数组
+     * @return 不包含 {@code null} 元素的 RPC 服务提供方健康状态数组
+     */
+    private static HostHealth[] compact(HostHealth[] healths) {
+        int count = 0;
+        HostHealth[] compactHealths = new HostHealth[healths.length];
+        for (HostHealth health : healths) {
+            if (health != null) {
+                compactHealths[count++] = health;
+            }
+        }
+        return count == healths.length ? compactHealths : Arrays.copyOf(compactHealths, count);
+    }
+
+    /**
+     * 摘除 RPC 服务提供方，如果已达到最大摘除比例，则放弃摘除。
+     *
+     * @param health RPC 服务提供方健康状态
+     * @param now 当前时间，由 {@link System#nanoTime()} 获得
+     * @param reason 摘除原因，用于日志打印
+     * @param configuration RPC 集群客户端调度配置信息
+     * @return 是否已被摘除
+     */
+    private synchronized boolean eject(HostHealth health, long now, String reason, RpcClusterClientConfiguration configuration) {
+        if (health.isEjected) {
+            return true;
+        }
+        int maxEjectedHostCount = getMaxEjectedHostCount(configuration);
+        if (ejectedHostCount >= maxEjectedHostCount) {
+            RPC_CONNECTION_LOG.warn("Eject `{}` failed: `max ejection percent reached`. Reason: `{}`. Ejected: {}/{}. Hosts: `{}`.",
+                    health.host, reason, ejectedHostCount, hostCount, hosts); // lgtm [java/print-array]
+            rpcClusterClientMonitor.onEjectionCapped();
+            return false;
+        }
+        health.ejectedTimes = Math.min(health.ejectedTimes + 1, MAX_EJECTION_MULTIPLIER);
+        long ejectionTime = configuration.getOutlierEjectionTime() * health.ejectedTimes;
+        health.ejectedUntil = now + TimeUnit.NANOSECONDS.convert(ejectionTime, TimeUnit.MILLISECONDS);
+        health.isEjected = true;
+        ejectedHostCount++;
+        RPC_CONNECTION_LOG.warn("Eject `{}` success. Reason: `{}`. Ejection time: {}ms. Ejected: {}/{}. Hosts: `{}`.",
+                health.host, reason, ejectionTime, ejectedHostCount, hostCount, hosts); // lgtm [java/print-array]
+        rpcClusterClientMonitor.onEjected();
+        return true;
+    }
+
+    /**
+     * 恢复摘除时间已到期的 RPC 服务提供方。
+     *
+     * @param health RPC 服务提供方健康状态
+     * @param now 当前时间，由 {@link System#nanoTime()} 获得
+     */
+    private synchronized void release(HostHealth health, long now) {
+        if (health.isEjected && now - health.ejectedUntil >= 0) {
+            health.isEjected = false;
+            health.lastArrivalTime = now; // 重新开始计算停顿时间
+            if (healthMap.get(health.host) == health) { // 已被移除的 RPC 服务提供方不计入摘除数量
+                ejectedHostCount--;
+            }
+            RPC_CONNECTION_LOG.info("Release ejected `{}` success. Ejected: {}/{}. Hosts: `{}`.", health.host, ejectedHostCount,
+                    hostCount, hosts); // lgtm [java/print-array]
+        }
+    }
+
+    /**
+     * 获得允许同时被摘除的 RPC 服务提供方最大数量。
+     *
+     * @param configuration RPC 集群客户端调度配置信息
+     * @return 允许同时被摘除的最大数量
+     */
+    private int getMaxEjectedHostCount(RpcClusterClientConfiguration configuration) {
+        return hostCount * configuration.getMaxEjectionPercent() / 100;
+    }
+
+    /**
+     * RPC 服务提供方健康状态。
+     */
+    private static class HostHealth {
+
+        /**
+         * 主机地址
+         */
+        private final String host;
+
+        /**
+         * 未返回的 RPC 调用数量
+         */
+        private final AtomicInteger outstandingCount = new AtomicInteger();
+
+        /**
+         * 检测周期内成功的调用次数
+         */
+        private final AtomicLong successCount = new AtomicLong();
+
+        /**
+         * 检测周期内超时或连接不可用的调用次数
+         */
+        private final AtomicLong errorCount = new AtomicLong();
+
+        /**
+         * 检测周期内成功调用的耗时总和，单位：纳秒
+         */
+        private final AtomicLong latencySum = new AtomicLong();
+
+        /**
+         * 最近一次收到响应的时间，由 {@link System#nanoTime()} 获得
+         */
+        private volatile long lastArrivalTime = System.nanoTime();
+
+        /**
+         * 平均响应到达间隔，单位：纳秒，多线程并发更新时可能丢失部分样本，不影响统计意义
+         */
+        private volatile double meanInterval = 0;
+
+        /**
+         * 是否已被摘除，仅在持有 {@link OutlierDetector} 锁时修改
+         */
+        private volatile boolean isEjected = false;
+
+        /**
+         * 摘除到期时间，由 {@link System#nanoTime()} 获得
+         */
+        private volatile long ejectedUntil;
+
+        /**
+         * 连续被摘除的次数，仅在持有 {@link OutlierDetector} 锁时修改
+         */
+        private volatile int ejectedTimes = 0;
+
+        private HostHealth(String host) {
+            this.host = host;
+        }
+
+        /**
+         * 记录一次响应到达，使用指数加权移动平均（权重 1/16）更新平均响应到达间隔。
+         *
+         * @param arrivalTime 响应到达时间，由 {@link System#nanoTime()} 获得
+         */
+        private void onArrival(long arrivalTime) {
+            long interval = arrivalTime - lastArrivalTime;
+            if (interval > 0) {
+                lastArrivalTime = arrivalTime;
+                meanInterval += (interval - meanInterval) / 16;
+            }
+        }
+
+        /**
+         * 获得 RPC 服务提供方当前的 phi 值，phi 值越大，RPC 服务提供方无响应的可能性越大。
+         *
+         * @param now 当前时间，由 {@link System#nanoTime()} 获得
+         * @param acceptablePause 允许的响应停顿时间，单位：纳秒
+         * @return phi 值
+         */
+        private double getPhi(long now, long acceptablePause) {
+            long pause = now - lastArrivalTime;
+            return pause > 0 ? pause / (meanInterval + acceptablePause) * LOG10_E : 0;
+        }
+    }
+}
@@ -27,13 +27,25 @@ package com.heimuheimu.naiverpc.client.cluster;
 import com.heimuheimu.naiverpc.client.DirectRpcClient;
 import com.heimuheimu.naiverpc.client.DirectRpcClientListener;
 import com.heimuheimu.naiverpc.client.RpcClient;
+import com.heimuheimu.naiverpc.client.cluster.balancer.LeastOutstandingLoadBalancer;
+import com.heimuheimu.naiverpc.client.cluster.balancer.LoadBalancer;
+import com.heimuheimu.naiverpc.client.cluster.balancer.LoadBalancerContext;
+import com.heimuheimu.naiverpc.exception.ConcurrencyLimitExceededException;
 import com.heimuheimu.naiverpc.exception.RpcException;
 import com.heimuheimu.naiverpc.exception.TimeoutException;
 import com.heimuheimu.naiverpc.exception.TooBusyException;
 import com.heimuheimu.naiverpc.facility.clients.DirectRpcClientList;
+import com.heimuheimu.naiverpc.facility.clients.DirectRpcClientListConfiguration;
 import com.heimuheimu.naiverpc.facility.clients.DirectRpcClientListListener;
+import com.heimuheimu.naiverpc.facility.discovery.HostDiscovery;
+import com.heimuheimu.naiverpc.facility.latency.LatencyHistogram;
+import com.heimuheimu.naiverpc.facility.limit.AdaptiveConcurrencyLimiter;
+import com.heimuheimu.naiverpc.facility.timer.RpcClientTimerFactory;
+import com.heimuheimu.naiverpc.facility.timer.Timeout;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientWeightMonitor;
 import com.heimuheimu.naiverpc.monitor.client.RpcClusterClientMonitor;
 import com.heimuheimu.naiverpc.net.SocketConfiguration;
+import com.heimuheimu.naiverpc.util.FutureUtil;
 import com.heimuheimu.naiverpc.util.LogBuildUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,12 +53,21 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.Method;
 import java.net.Socket;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * RPC 服务调用方使用的集群客户端，RPC 调用请求将根据轮询策略（Round-Robin）调度至相应的 {@link DirectRpcClient} 中执行。
+ * RPC 服务调用方使用的集群客户端，RPC 调用请求将根据负载均衡策略调度至相应的 {@link DirectRpcClient} 中执行，默认使用加权轮询策略，
+ * 可通过 {@link RpcClusterClientConfiguration#setLoadBalancerSupplier(java.util.function.Supplier)} 配置其它负载均衡策略，
+ * 例如根据未返回调用数量进行选择的 {@link LeastOutstandingLoadBalancer}。
  *
  * <p>
  *     当 {@code RpcClusterClient} 不再使用时，应调用 {@link #close()} 方法进行资源释放。
@@ -54,8 +75,43 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * <h3>可用性</h3>
  * <blockquote>
- * {@code RpcClusterClient} 中不可用的 {@code DirectRpcClient} 将会被自动移除，并启动恢复线程尝试进行恢复，如果恢复失败，等待下一次恢复的周期为 5 秒。<br>
- * 刚恢复的 {@code DirectRpcClient} 存在一分钟的保护期，保护期内，该直连客户端的 RPC 调用量以 15 秒为周期逐步增加。
+ * {@code RpcClusterClient} 中不可用的 {@code DirectRpcClient} 将会被自动移除，并由恢复线程池并行尝试进行恢复，如果恢复失败，等待下一次恢复的时间按指数退避增长（默认 0.5 秒起，最长 10 秒），可通过 {@link RpcClusterClientConfiguration} 进行配置。<br>
+ * 刚恢复的 {@code DirectRpcClient} 存在预热期（默认 60 秒），预热期内，该直连客户端的有效权重从配置权重的 10% 逐步提升至配置权重，
+ * 支持权重的负载均衡策略将按有效权重分配 RPC 调用量，预热时间及曲线可通过 {@link RpcClusterClientConfiguration} 进行配置。
+ * </blockquote>
+ *
+ * <h3>区域感知路由</h3>
+ * <blockquote>
+ * 通过 {@link RpcClusterClientConfiguration#setLocalZone(String)} 及 {@link RpcClusterClientConfiguration#setHostZoneMap(java.util.Map)}
+ * 配置调用方及 RPC 服务提供方所在的区域（例如机房、可用区）后，RPC 调用将仅在同一区域的 RPC 服务提供方中进行选择，避免跨区域调用带来的额外耗时。
+ * 当本区域可用的 RPC 服务提供方比例过低，或平均未返回调用数量过多时，RPC 调用将溢出至全部 RPC 服务提供方中进行选择，跨区域调用比例可通过监控数据查看。
+ * </blockquote>
+ *
+ * <h3>对冲调用</h3>
+ * <blockquote>
+ * 使用 {@link Hedged} 注解的幂等方法，如果在对冲延迟时间内未收到响应，将会选择另外一个 {@code DirectRpcClient} 发送相同的调用请求，
+ * 使用最先成功返回的结果，另外一个调用将被取消，其响应数据到达后将被直接丢弃。对冲延迟时间可固定配置，也可使用该方法近期调用耗时的百分位值，
+ * 对冲调用数量占调用数量的比例受 {@link RpcClusterClientConfiguration#getHedgeBudgetRatio()} 限制，避免在服务整体变慢时成倍放大请求量。
+ * </blockquote>
+ *
+ * <h3>自适应超时时间</h3>
+ * <blockquote>
+ * 启用 {@link RpcClusterClientConfiguration#isAdaptiveTimeoutEnabled()} 后，未指定超时时间的 RPC 调用将根据该方法在对应
+ * {@code DirectRpcClient} 中的近期调用耗时计算超时时间，避免在 RPC 服务提供方无响应时，耗时很短的方法也需要等待完整的默认超时时间。
+ * </blockquote>
+ *
+ * <h3>异常摘除</h3>
+ * <blockquote>
+ * 启用 {@link RpcClusterClientConfiguration#isOutlierDetectionEnabled()} 后，长时间无响应（phi-accrual）、错误率过高或耗时明显高于其它
+ * RPC 服务提供方的 {@code DirectRpcClient} 将被临时摘除，摘除期间不再为其分配 RPC 调用，同时被摘除的数量受最大摘除比例限制，
+ * 避免连接未断开但服务能力已下降的 RPC 服务提供方继续承担完整的调用量。
+ * </blockquote>
+ *
+ * <h3>自适应并发限制</h3>
+ * <blockquote>
+ * 通过 {@link RpcClusterClientConfiguration#setConcurrencyLimitEnabled(boolean)} 开启后，每个 {@code DirectRpcClient} 根据调用耗时变化自动探测未返回调用数量上限，
+ * 已达到上限的 RPC 服务提供方不会被负载均衡策略选择，调用将被分配至其它 RPC 服务提供方，如果所有 RPC 服务提供方均已达到上限，调用将立即以 {@link ConcurrencyLimitExceededException} 失败。
+ * 本地限制器拒绝的调用未发送至 RPC 服务提供方，将重新选择其它 RPC 服务提供方重试，重试过程仅输出 DEBUG 日志。
  * </blockquote>
  *
  * <h3>监听器</h3>
@@ -73,9 +129,14 @@ public class RpcClusterClient implements RpcClient {
     private static final Logger LOG = LoggerFactory.getLogger(RpcClusterClient.class);
 
     /**
-     * 提供 RPC 服务的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182
+     * 有效权重重新计算周期，单位：纳秒
+     */
+    private static final long WEIGHT_REFRESH_PERIOD = TimeUnit.NANOSECONDS.convert(100, TimeUnit.MILLISECONDS);
+
+    /**
+     * RPC 服务提供方繁忙时的最大重试次数
      */
-    private final String[] hosts;
+    private static final int TOO_BUSY_RETRY_TIMES = 3;
 
     /**
      * RPC 直连客户端列表
@@ -83,15 +144,75 @@ public class RpcClusterClient implements RpcClient {
     private final DirectRpcClientList directRpcClientList;
 
     /**
-     * 记录已获取 {@code DirectRpcClient} 的次数，用于做负载均衡
+     * 负载均衡策略
+     */
+    private final LoadBalancer loadBalancer;
+
+    /**
+     * 负载均衡选择上下文
      */
-    private final AtomicLong count = new AtomicLong(0);
+    private final LoadBalancerContext loadBalancerContext = new ClusterLoadBalancerContext();
+
+    /**
+     * 本区域负载均衡选择上下文，仅允许选择与调用方位于同一区域的 RPC 服务提供方
+     */
+    private final LoadBalancerContext localZoneLoadBalancerContext = new LocalZoneLoadBalancerContext();
+
+    /**
+     * 当前的 RPC 服务提供方成员信息，成员版本号与 {@link #directRpcClientList} 不一致时重建
+     */
+    private volatile Membership membership;
+
+    /**
+     * 主机地址发现机制，如果使用固定的主机地址数组创建，则为 {@code null}
+     */
+    private final HostDiscovery hostDiscovery;
+
+    /**
+     * RPC 服务调用客户端有效权重数组，与 {@link #directRpcClientList} 的索引位置一一对应
+     */
+    private volatile double[] weights = null;
+
+    /**
+     * 最近一次计算有效权重的时间，由 {@link System#nanoTime()} 获得
+     */
+    private final AtomicLong weightRefreshTime = new AtomicLong(System.nanoTime());
+
+    /**
+     * RPC 集群客户端权重监控器
+     */
+    private final RpcClientWeightMonitor rpcClientWeightMonitor = RpcClientWeightMonitor.getInstance();
 
     /**
      * RPC 集群客户端信息监控器
      */
     private final RpcClusterClientMonitor rpcClusterClientMonitor = RpcClusterClientMonitor.getInstance();
 
+    /**
+     * RPC 集群客户端调度配置信息
+     */
+    private final RpcClusterClientConfiguration clusterConfiguration;
+
+    /**
+     * 对冲调用配额
+     */
+    private final HedgeBudget hedgeBudget = new HedgeBudget();
+
+    /**
+     * RPC 方法对冲策略 {@code Map}，Key 为 RPC 调用的方法，Value 为该方法的对冲策略，如果该方法不允许对冲调用，Value 为空
+     */
+    private final ConcurrentHashMap<Method, Optional<HedgePolicy>> hedgePolicyMap = new ConcurrentHashMap<>();
+
+    /**
+     * RPC 调用自适应超时时间计算器
+     */
+    private final AdaptiveTimeoutPolicy adaptiveTimeoutPolicy = new AdaptiveTimeoutPolicy();
+
+    /**
+     * 异常 RPC 服务提供方检测器
+     */
+    private final OutlierDetector outlierDetector;
+
     /**
      * 构造一个 RPC 服务调用方使用的集群客户端，创建 {@code DirectRpcClient} 时， {@link Socket} 配置信息使用 {@link SocketConfiguration#DEFAULT}，
      * RPC 调用超时时间设置为 5 秒，最小压缩字节数设置为 64 KB，RPC 调用过慢最小时间设置为 50 毫秒，心跳检测时间设置为 30 秒。
@@ -124,9 +245,136 @@ public class RpcClusterClient implements RpcClient {
     public RpcClusterClient(String[] hosts, SocketConfiguration configuration, int timeout, int compressionThreshold,
                             int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
                             DirectRpcClientListListener directRpcClientListListener) throws IllegalStateException {
-        this.hosts = hosts;
+        this(hosts, configuration, timeout, compressionThreshold, slowExecutionThreshold, heartbeatPeriod, directRpcClientListener,
+                directRpcClientListListener, null);
+    }
+
+    /**
+     * 构造一个 RPC 服务调用方使用的集群客户端。
+     *
+     * @param hosts 提供 RPC 服务的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182，不允许为 {@code null} 或空数组
+     * @param configuration 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
+     * @param timeout 创建 {@code DirectRpcClient} 使用的 RPC 调用超时时间，单位：毫秒，不能小于等于 0
+     * @param compressionThreshold 创建 {@code DirectRpcClient} 使用的最小压缩字节数，不能小于等于 0
+     * @param slowExecutionThreshold 创建 {@code DirectRpcClient} 使用的 RPC 调用过慢最小时间，单位：毫秒，不能小于等于 0
+     * @param heartbeatPeriod 创建 {@code DirectRpcClient} 使用的心跳检测时间，单位：秒，如果该值小于等于 0，则不进行检测
+     * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
+     * @param directRpcClientListListener {@link DirectRpcClientList} 事件监听器，允许为 {@code null}
+     * @param clusterConfiguration RPC 集群客户端调度配置信息，如果为 {@code null}，将使用默认配置
+     * @throws IllegalStateException  如果所有提供 RPC 服务的主机地址都不可用，将会抛出此异常
+     * @see DirectRpcClientList
+     * @since 1.2
+     */
+    public RpcClusterClient(String[] hosts, SocketConfiguration configuration, int timeout, int compressionThreshold,
+                            int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
+                            DirectRpcClientListListener directRpcClientListListener,
+                            RpcClusterClientConfiguration clusterConfiguration) throws IllegalStateException {
+        this(hosts, null, configuration, timeout, compressionThreshold, slowExecutionThreshold, heartbeatPeriod, directRpcClientListener,
+                directRpcClientListListener, clusterConfiguration);
+    }
+
+    /**
+     * 构造一个 RPC 服务调用方使用的集群客户端，初始主机地址通过 {@link HostDiscovery#getHosts()} 获得，主机地址发生变更后，
+     * 将自动增加或移除对应的 {@code DirectRpcClient}，{@code RpcClusterClient} 关闭时，{@code HostDiscovery} 也将被关闭。
+     *
+     * @param hostDiscovery 主机地址发现机制，不允许为 {@code null}
+     * @param configuration 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
+     * @param timeout 创建 {@code DirectRpcClient} 使用的 RPC 调用超时时间，单位：毫秒，不能小于等于 0
+     * @param compressionThreshold 创建 {@code DirectRpcClient} 使用的最小压缩字节数，不能小于等于 0
+     * @param slowExecutionThreshold 创建 {@code DirectRpcClient} 使用的 RPC 调用过慢最小时间，单位：毫秒，不能小于等于 0
+     * @param heartbeatPeriod 创建 {@code DirectRpcClient} 使用的心跳检测时间，单位：秒，如果该值小于等于 0，则不进行检测
+     * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
+     * @param directRpcClientListListener {@link DirectRpcClientList} 事件监听器，允许为 {@code null}
+     * @param clusterConfiguration RPC 集群客户端调度配置信息，如果为 {@code null}，将使用默认配置
+     * @throws IllegalStateException 如果无法获取主机地址，或所有提供 RPC 服务的主机地址都不可用，将会抛出此异常
+     * @see HostDiscovery
+     * @since 1.2
+     */
+    public RpcClusterClient(HostDiscovery hostDiscovery, SocketConfiguration configuration, int timeout, int compressionThreshold,
+                            int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
+                            DirectRpcClientListListener directRpcClientListListener,
+                            RpcClusterClientConfiguration clusterConfiguration) throws IllegalStateException {
+        this(hostDiscovery.getHosts(), hostDiscovery, configuration, timeout, compressionThreshold, slowExecutionThreshold, heartbeatPeriod,
+                directRpcClientListener, directRpcClientListListener, clusterConfiguration);
+    }
+
+    /**
+     * 构造一个 RPC 服务调用方使用的集群客户端。
+     *
+     * @param hosts 提供 RPC 服务的主机地址数组
+     * @param hostDiscovery 主机地址发现机制，允许为 {@code null}
+     * @param configuration 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
+     * @param timeout 创建 {@code DirectRpcClient} 使用的 RPC 调用超时时间，单位：毫秒，不能小于等于 0
+     * @param compressionThreshold 创建 {@code DirectRpcClient} 使用的最小压缩字节数，不能小于等于 0
+     * @param slowExecutionThreshold 创建 {@code DirectRpcClient} 使用的 RPC 调用过慢最小时间，单位：毫秒，不能小于等于 0
+     * @param heartbeatPeriod 创建 {@code DirectRpcClient} 使用的心跳检测时间，单位：秒，如果该值小于等于 0，则不进行检测
+     * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
+     * @param directRpcClientListListener {@link DirectRpcClientList} 事件监听器，允许为 {@code null}
+     * @param clusterConfiguration RPC 集群客户端调度配置信息，如果为 {@code null}，将使用默认配置
+     * @throws IllegalStateException 如果所有提供 RPC 服务的主机地址都不可用，将会抛出此异常
+     */
+    private RpcClusterClient(String[] hosts, HostDiscovery hostDiscovery, SocketConfiguration configuration, int timeout,
+                             int compressionThreshold, int slowExecutionThreshold, int heartbeatPeriod,
+                             DirectRpcClientListener directRpcClientListener, DirectRpcClientListListener directRpcClientListListener,
+                             RpcClusterClientConfiguration clusterConfiguration) throws IllegalStateException {
+        this.hostDiscovery = hostDiscovery;
+        this.clusterConfiguration = clusterConfiguration != null ? clusterConfiguration : new RpcClusterClientConfiguration();
+        this.outlierDetector = new OutlierDetector(hosts);
+        this.loadBalancer = this.clusterConfiguration.getLoadBalancerSupplier().get();
         this.directRpcClientList = new DirectRpcClientList("RpcClusterClient", hosts, configuration, timeout, compressionThreshold,
-                slowExecutionThreshold, heartbeatPeriod, directRpcClientListener, directRpcClientListListener);
+                slowExecutionThreshold, heartbeatPeriod, directRpcClientListener, directRpcClientListListener, this.clusterConfiguration);
+        updateMembership();
+        if (hostDiscovery != null) {
+            hostDiscovery.start(this::setHosts);
+        }
+    }
+
+    /**
+     * 获得当前提供 RPC 服务的主机地址数组，不包含已被移除的主机地址，如果开启了确定性子集，仅包含子集中的主机地址。
+     *
+     * @return 提供 RPC 服务的主机地址数组，不会为 {@code null}
+     * @see DirectRpcClientListConfiguration#setSubsetSize(int)
+     * @since 1.2
+     */
+    public String[] getHosts() {
+        return directRpcClientList.getHosts();
+    }
+
+    /**
+     * 增加一个提供 RPC 服务的主机地址，该主机地址将在后台建立连接，连接成功后按刚恢复的 {@code DirectRpcClient} 进行预热。
+     *
+     * @param host 提供 RPC 服务的主机地址，由主机名和端口组成，":"符号分割，例如：localhost:4182，不允许为 {@code null} 或空
+     * @return 是否增加成功，如果主机地址已存在，则返回 {@code false}
+     * @throws IllegalArgumentException 如果主机地址为 {@code null} 或空，将会抛出此异常
+     * @see DirectRpcClientList#add(String)
+     * @since 1.2
+     */
+    public boolean addHost(String host) throws IllegalArgumentException {
+        return directRpcClientList.add(host);
+    }
+
+    /**
+     * 移除一个提供 RPC 服务的主机地址，该主机地址将不再分配新的 RPC 调用，其 {@code DirectRpcClient} 在未返回的调用结束后关闭。
+     *
+     * @param host 提供 RPC 服务的主机地址
+     * @return 是否移除成功，如果主机地址不存在，则返回 {@code false}
+     * @see DirectRpcClientList#remove(String)
+     * @since 1.2
+     */
+    public boolean removeHost(String host) {
+        return directRpcClientList.remove(host);
+    }
+
+    /**
+     * 将提供 RPC 服务的主机地址设置为指定的主机地址数组，不在数组中的主机地址将被移除，新出现的主机地址将被增加。
+     *
+     * @param hosts 提供 RPC 服务的主机地址数组，不允许为 {@code null} 或空数组
+     * @throws IllegalArgumentException 如果主机地址数组为 {@code null} 或空数组，将会抛出此异常
+     * @see DirectRpcClientList#setHosts(String[])
+     * @since 1.2
+     */
+    public void setHosts(String[] hosts) throws IllegalArgumentException {
+        directRpcClientList.setHosts(hosts);
     }
 
     @Override
@@ -136,112 +384,784 @@ public class RpcClusterClient implements RpcClient {
 
     @Override
     public Object execute(Method method, Object[] args, long timeout) throws IllegalStateException, TimeoutException, TooBusyException, RpcException {
-        return execute(method, args, timeout, 3);
+        return FutureUtil.get(executeAsync(method, args, timeout), getWaitTimeout(timeout));
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args) {
+        return executeAsync(method, args, -1);
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args, long timeout) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        executeAsync(method, args, timeout, TOO_BUSY_RETRY_TIMES, future);
+        return future;
+    }
+
+    /**
+     * 获得同步调用等待异步执行结果的最大时间，单位：毫秒，包含全部重试，每次调用按对冲请求可能带来的两倍超时时间计算。
+     *
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用自适应超时时间或 {@code DirectRpcClient} 默认的超时时间
+     * @return 同步调用等待异步执行结果的最大时间
+     */
+    private long getWaitTimeout(long timeout) {
+        long callTimeout = timeout;
+        if (callTimeout <= 0) {
+            callTimeout = Math.max(directRpcClientList.getTimeout(), clusterConfiguration.getMaxAdaptiveTimeout());
+        }
+        return (TOO_BUSY_RETRY_TIMES + 1) * (2 * callTimeout + FutureUtil.WAIT_TIMEOUT_SLACK);
     }
 
     @Override
     public void close() {
+        if (hostDiscovery != null) {
+            hostDiscovery.close();
+        }
         directRpcClientList.close();
     }
 
     @Override
     public String toString() {
         return "RpcClusterClient{" +
-                "hosts=" + Arrays.toString(hosts) +
-                ", directRpcClientList=" + directRpcClientList +
-                ", count=" + count +
+                "directRpcClientList=" + directRpcClientList +
+                ", hostDiscovery=" + hostDiscovery +
+                ", loadBalancer=" + loadBalancer +
+                ", clusterConfiguration=" + clusterConfiguration +
                 '}';
     }
 
-    private Object execute(Method method, Object[] args, long timeout, int tooBusyRetryTimes)
-            throws IllegalStateException, TimeoutException, TooBusyException, RpcException {
-        LinkedHashMap<String, Object> parameterMap = new LinkedHashMap<>();
-        parameterMap.put("method", method);
-        parameterMap.put("args", args);
-        parameterMap.put("timeout", timeout);
-        parameterMap.put("tooBusyRetryTimes", tooBusyRetryTimes);
-
-        DirectRpcClient client = getClient(parameterMap);
+    /**
+     * 选择一个 {@code DirectRpcClient} 执行 RPC 调用，如果 RPC 服务提供方繁忙，将会重新选择 {@code DirectRpcClient} 进行重试，
+     * 直至重试次数用尽，最终执行结果将设置至 {@code future} 中。
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 {@code DirectRpcClient} 默认的超时时间
+     * @param tooBusyRetryTimes RPC 服务提供方繁忙时的剩余重试次数
+     * @param future RPC 调用结果
+     */
+    private void executeAsync(Method method, Object[] args, long timeout, int tooBusyRetryTimes, CompletableFuture<Object> future) {
+        DirectRpcClient client;
         try {
-            if (timeout > 0) {
-                return client.execute(method, args, timeout);
-            } else {
-                return client.execute(method, args);
-            }
-        } catch (TooBusyException ex) {
-            if (tooBusyRetryTimes > 0) {
-                --tooBusyRetryTimes;
-                LOG.error("RPC execute failed: `too busy, left retry times: {}`. Host: `{}`. Method: `{}`. Arguments: `{}`. Hosts: `{}`.",
-                        tooBusyRetryTimes, client.getHost(), method, args, hosts); // lgtm [java/print-array]
-                return execute(method, args, timeout, tooBusyRetryTimes);
+            client = getClient(method, args, timeout, tooBusyRetryTimes);
+        } catch (IllegalStateException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        HedgePolicy hedgePolicy = getHedgePolicy(method);
+        CompletableFuture<Object> clientFuture = hedgePolicy == null ? execute(client, method, args, timeout)
+                : new HedgedCall(hedgePolicy, method, args, timeout).start(client);
+        clientFuture.whenComplete((result, exception) -> {
+            if (exception == null) {
+                future.complete(result);
+            } else if (exception instanceof ConcurrencyLimitExceededException) {
+                //本地限制器拒绝在过载时频率较高，仅输出 DEBUG 日志，且不输出调用参数
+                if (tooBusyRetryTimes > 0) {
+                    LOG.debug("RPC execute failed: `concurrency limit exceeded, left retry times: {}`. Host: `{}`. Method: `{}`.",
+                            tooBusyRetryTimes - 1, client.getHost(), method);
+                    retry(method, args, timeout, tooBusyRetryTimes - 1, future);
+                } else {
+                    LOG.debug("RPC execute failed: `concurrency limit exceeded, no more retry`. Host: `{}`. Method: `{}`.",
+                            client.getHost(), method);
+                    future.completeExceptionally(exception);
+                }
+            } else if (exception instanceof TooBusyException) {
+                if (tooBusyRetryTimes > 0) {
+                    LOG.error("RPC execute failed: `too busy, left retry times: {}`. Host: `{}`. Method: `{}`. Arguments: `{}`. Hosts: `{}`.",
+                            tooBusyRetryTimes - 1, client.getHost(), method, args, directRpcClientList.getHosts()); // lgtm [java/print-array]
+                    retry(method, args, timeout, tooBusyRetryTimes - 1, future);
+                } else {
+                    LOG.error("RPC execute failed: `too busy, no more retry`. Host: `{}`. Method: `{}`. Arguments: `{}`. Hosts: `{}`.",
+                            client.getHost(), method, args, directRpcClientList.getHosts()); // lgtm [java/print-array]
+                    future.completeExceptionally(exception);
+                }
             } else {
-                LOG.error("RPC execute failed: `too busy, no more retry`. Host: `{}`. Method: `{}`. Arguments: `{}`. Hosts: `{}`.",
-                        client.getHost(), method, args, hosts); // lgtm [java/print-array]
-                throw ex;
+                future.completeExceptionally(exception);
+            }
+        });
+    }
+
+    /**
+     * 将重试提交至 {@link RpcClientTimerFactory#getExecutor()} 中执行。RPC 调用结果的回调函数在 {@code Socket} 读取线程中执行，
+     * 如果在回调函数中直接选择客户端并编码、发送重试请求，将推迟同一连接中其它 RPC 调用结果的处理。
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用 {@code DirectRpcClient} 默认的超时时间
+     * @param tooBusyRetryTimes RPC 服务提供方繁忙时的剩余重试次数
+     * @param future RPC 调用结果
+     */
+    private void retry(Method method, Object[] args, long timeout, int tooBusyRetryTimes, CompletableFuture<Object> future) {
+        try {
+            RpcClientTimerFactory.getExecutor().execute(() -> executeAsync(method, args, timeout, tooBusyRetryTimes, future));
+        } catch (RejectedExecutionException e) { //should not happen, just for bug detection
+            LOG.error("Submit RpcClusterClient retry task failed, retry in current thread.", e);
+            executeAsync(method, args, timeout, tooBusyRetryTimes, future);
+        }
+    }
+
+    /**
+     * 使用指定的 {@code DirectRpcClient} 执行 RPC 调用。
+     *
+     * @param client RPC 服务调用客户端
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @param timeout RPC 调用超时时间，单位为毫秒，如果小于等于 0，则使用自适应超时时间或 {@code DirectRpcClient} 默认的超时时间
+     * @return RPC 调用结果
+     */
+    private CompletableFuture<Object> execute(DirectRpcClient client, Method method, Object[] args, long timeout) {
+        boolean isAdaptiveTimeout = timeout <= 0 && clusterConfiguration.isAdaptiveTimeoutEnabled();
+        boolean isOutlierDetection = clusterConfiguration.isOutlierDetectionEnabled();
+        if (!isAdaptiveTimeout && !isOutlierDetection) {
+            return timeout > 0 ? client.executeAsync(method, args, timeout) : client.executeAsync(method, args);
+        }
+        long startTime = System.nanoTime();
+        if (isOutlierDetection) {
+            outlierDetector.onSent(client.getHost(), startTime);
+        }
+        CompletableFuture<Object> clientFuture;
+        if (timeout > 0) {
+            clientFuture = client.executeAsync(method, args, timeout);
+        } else if (isAdaptiveTimeout) {
+            clientFuture = client.executeAsync(method, args, adaptiveTimeoutPolicy.getTimeout(client, method, clusterConfiguration));
+        } else {
+            clientFuture = client.executeAsync(method, args);
+        }
+        clientFuture.whenComplete((result, exception) -> {
+            long endTime = System.nanoTime();
+            if (isAdaptiveTimeout && exception == null) {
+                adaptiveTimeoutPolicy.record(client, method, endTime - startTime);
+            }
+            if (isOutlierDetection) {
+                outlierDetector.onCompleted(client.getHost(), exception, startTime, endTime);
+            }
+        });
+        return clientFuture;
+    }
+
+    /**
+     * 获得 RPC 方法的对冲策略，如果该方法不允许对冲调用，则返回 {@code null}。
+     *
+     * @param method RPC 调用的方法
+     * @return RPC 方法的对冲策略，可能返回 {@code null}
+     */
+    private HedgePolicy getHedgePolicy(Method method) {
+        Optional<HedgePolicy> hedgePolicy = hedgePolicyMap.get(method);
+        if (hedgePolicy == null) {
+            hedgePolicy = hedgePolicyMap.computeIfAbsent(method, key -> {
+                Hedged hedged = key.getAnnotation(Hedged.class);
+                return hedged != null ? Optional.of(new HedgePolicy(hedged.delay())) : Optional.empty();
+            });
+        }
+        return hedgePolicy.orElse(null);
+    }
+
+    /**
+     * 获得对冲调用使用的 RPC 服务调用客户端，该客户端与原调用使用的客户端不同，如果没有其它可用的客户端，则返回 {@code null}。
+     *
+     * @param primaryClient 原调用使用的 RPC 服务调用客户端
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @return 对冲调用使用的 RPC 服务调用客户端，可能返回 {@code null}
+     */
+    private DirectRpcClient getHedgeClient(DirectRpcClient primaryClient, Method method, Object[] args) {
+        LoadBalancerContext context = getLoadBalancerContext();
+        DirectRpcClient client = getHedgeClient(primaryClient, context, method, args);
+        if (client == null && context != loadBalancerContext) { // 本区域没有其它可用的客户端，在全部 RPC 服务提供方中选择
+            client = getHedgeClient(primaryClient, loadBalancerContext, method, args);
+        }
+        if (client != null) {
+            onSelected(client);
+        }
+        return client;
+    }
+
+    /**
+     * 使用指定的负载均衡选择上下文，获得对冲调用使用的 RPC 服务调用客户端，如果没有其它可用的客户端，则返回 {@code null}。
+     *
+     * <p>一致性哈希等策略对相同参数总是选择同一个 RPC 服务提供方，如果连续两次选中原调用使用的客户端，
+     * 将不再通过负载均衡策略选择，而是从原调用所在位置开始，依次选择下一个允许被选择的客户端，相同参数的对冲调用仍将固定发送至同一个 RPC 服务提供方。</p>
+     *
+     * @param primaryClient 原调用使用的 RPC 服务调用客户端
+     * @param context 负载均衡选择上下文
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @return 对冲调用使用的 RPC 服务调用客户端，可能返回 {@code null}
+     */
+    private DirectRpcClient getHedgeClient(DirectRpcClient primaryClient, LoadBalancerContext context, Method method, Object[] args) {
+        int hostCount = context.getHostCount();
+        int primarySelectedTimes = 0;
+        for (int i = 0; i < hostCount && primarySelectedTimes < 2; i++) {
+            int clientIndex = loadBalancer.select(context, method, args);
+            if (clientIndex < 0) { // 没有允许被选择的 RPC 服务提供方
+                break;
+            }
+            DirectRpcClient client = isSelectable(context, clientIndex) ? directRpcClientList.getActive(clientIndex) : null;
+            if (client == primaryClient) {
+                primarySelectedTimes++;
+            } else if (client != null) {
+                return client;
+            }
+        }
+        int primaryIndex = 0;
+        for (int i = 0; i < hostCount; i++) {
+            if (primaryClient.getHost().equals(context.getHost(i))) {
+                primaryIndex = i;
+                break;
             }
         }
+        for (int i = 1; i <= hostCount; i++) {
+            int clientIndex = (primaryIndex + i) % hostCount;
+            if (context.isSelectable(clientIndex)) {
+                DirectRpcClient client = directRpcClientList.getActive(clientIndex);
+                if (client != null && client != primaryClient && client.isActive()) {
+                    return client;
+                }
+            }
+        }
+        return null;
     }
 
     /**
      * 获得本次使用的 RPC 服务调用客户端。
      *
-     * @param parameterMap 方法执行参数
+     * <p>负载均衡策略的选择结果将被再次判断是否允许被选择，如果本区域内没有允许被选择的 RPC 服务提供方，将溢出至全部 RPC 服务提供方重新选择，
+     * 如果全部 RPC 服务提供方均不允许被选择（例如均已达到并发限制），将随机使用一个可用的客户端。</p>
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组
+     * @param timeout RPC 调用超时时间
+     * @param tooBusyRetryTimes RPC 服务提供方繁忙时的剩余重试次数
      * @return RPC 服务调用客户端
      * @throws IllegalStateException 如果没有可用的 RPC 服务调用客户端，将抛出此异常
      */
-    private DirectRpcClient getClient(Map<String, Object> parameterMap) throws IllegalStateException {
-        DirectRpcClient client = directRpcClientList.orAvailableClient(getClientIndex());
+    private DirectRpcClient getClient(Method method, Object[] args, long timeout, int tooBusyRetryTimes) throws IllegalStateException {
+        LoadBalancerContext context = getLoadBalancerContext();
+        int clientIndex = loadBalancer.select(context, method, args);
+        if (!isSelectable(context, clientIndex) && context != loadBalancerContext) {
+            rpcClusterClientMonitor.onZoneSpillover();
+            context = loadBalancerContext;
+            clientIndex = loadBalancer.select(context, method, args);
+        }
+        DirectRpcClient client = isSelectable(context, clientIndex) ? directRpcClientList.getActive(clientIndex) : null;
+        if (client == null) {
+            client = directRpcClientList.getAvailableClient();
+        }
         if (client == null || !client.isActive()) {
+            //方法执行参数仅在失败时用于生成日志
+            LinkedHashMap<String, Object> parameterMap = new LinkedHashMap<>();
+            parameterMap.put("method", method);
+            parameterMap.put("args", args);
+            parameterMap.put("timeout", timeout);
+            parameterMap.put("tooBusyRetryTimes", tooBusyRetryTimes);
             String errorMessage = LogBuildUtil.buildMethodExecuteFailedLog("RpcClusterClient#execute(Method method, Object[] args, long timeout)",
                     "no available client", parameterMap);
             LOG.error(errorMessage);
             rpcClusterClientMonitor.onUnavailable();
             throw new IllegalStateException(errorMessage);
         }
+        onSelected(client);
         return client;
     }
 
     /**
-     * 获得本次使用的 RPC 服务调用客户端索引。
+     * 判断负载均衡策略的选择结果是否允许被选择。
      *
-     * @return RPC 服务调用客户端索引
+     * @param context 负载均衡选择上下文
+     * @param clientIndex 负载均衡策略返回的 RPC 服务提供方索引，可能为 -1
+     * @return 是否允许被选择
      */
-    private int getClientIndex() {
-        int clientIndex = 0;
-        int currentRetryTimes = 0;
-        int maxRetryTimes = hosts.length;
-        while (currentRetryTimes++ < maxRetryTimes) {
-            clientIndex = (int) (Math.abs(count.incrementAndGet()) % hosts.length);
-            if (!isSkipThisRound(clientIndex)) {
-                break;
+    private static boolean isSelectable(LoadBalancerContext context, int clientIndex) {
+        return clientIndex >= 0 && clientIndex < context.getHostCount() && context.isSelectable(clientIndex);
+    }
+
+    /**
+     * 获得本次 RPC 调用使用的负载均衡选择上下文。如果本区域可用的 RPC 服务提供方比例不低于
+     * {@link RpcClusterClientConfiguration#getZoneMinHealthyRatio()}，且平均未返回调用数量未达到
+     * {@link RpcClusterClientConfiguration#getZoneSpilloverOutstandingThreshold()}，仅在本区域内进行选择，否则溢出至全部 RPC 服务提供方。
+     *
+     * @return 负载均衡选择上下文
+     */
+    private LoadBalancerContext getLoadBalancerContext() {
+        Membership currentMembership = getMembership();
+        boolean[] localZoneFlags = currentMembership.localZoneFlags;
+        if (localZoneFlags == null) {
+            return loadBalancerContext;
+        }
+        int healthyCount = 0;
+        long outstandingCount = 0;
+        for (int i = 0; i < localZoneFlags.length; i++) {
+            if (localZoneFlags[i] && loadBalancerContext.isSelectable(i)) {
+                healthyCount++;
+                outstandingCount += loadBalancerContext.getOutstandingCount(i);
+            }
+        }
+        if (healthyCount > 0 && healthyCount >= currentMembership.localZoneHostSet.size() * clusterConfiguration.getZoneMinHealthyRatio()) {
+            int spilloverOutstandingThreshold = clusterConfiguration.getZoneSpilloverOutstandingThreshold();
+            if (spilloverOutstandingThreshold <= 0 || outstandingCount < (long) spilloverOutstandingThreshold * healthyCount) {
+                return localZoneLoadBalancerContext;
+            }
+        }
+        rpcClusterClientMonitor.onZoneSpillover();
+        return loadBalancerContext;
+    }
+
+    /**
+     * 在 RPC 服务调用客户端被选中后执行，如果启用了区域感知路由，则记录本次调用是否跨区域。
+     *
+     * @param client 被选中的 RPC 服务调用客户端
+     */
+    private void onSelected(DirectRpcClient client) {
+        Membership currentMembership = membership;
+        if (currentMembership.localZoneFlags != null) {
+            if (currentMembership.localZoneHostSet.contains(client.getHost())) {
+                rpcClusterClientMonitor.onLocalZone();
             } else {
-                LOG.debug("DirectRpcClient skip this round: `{}`. `clientIndex`:`{}`. `hosts`:`{}`.", hosts[clientIndex], clientIndex, Arrays.toString(hosts));
+                rpcClusterClientMonitor.onCrossZone();
             }
         }
-        return clientIndex;
     }
 
     /**
-     * 判断该位置的 RPC 服务调用客户端是否轮空本轮使用，用于保护刚恢复的客户端突然进入太多请求。
+     * 获得该位置的 RPC 服务调用客户端当前的有效权重，有效权重每 100 毫秒最多重新计算一次。
      *
      * @param clientIndex RPC 服务调用客户端位置索引
-     * @return 是否轮空本轮使用
-     */
-    private boolean isSkipThisRound(int clientIndex) {
-        long rescueTime = directRpcClientList.getRescueTime(clientIndex);
-        long intervalTime = System.currentTimeMillis() - rescueTime;
-        if (intervalTime < 60000) { //在 60 秒以内，才有可能轮空
-            double randomNum = Math.random();
-            if (intervalTime < 15000) { //在 15 秒内，70% 概率轮空
-                return randomNum > 0.3;
-            } else if (intervalTime < 30000) {//在 15 - 30 秒内，50% 概率轮空
-                return randomNum > 0.5;
-            } else if (intervalTime < 45000) { //在 30 - 45 秒内，30% 概率轮空
-                return randomNum > 0.7;
-            } else { //在 45 - 60 秒内，10% 概率轮空
-                return randomNum > 0.9;
-            }
-        }
-        return false;
+     * @return 有效权重
+     */
+    private double getWeight(int clientIndex) {
+        long now = System.nanoTime();
+        long refreshTime = weightRefreshTime.get();
+        if (now - refreshTime >= WEIGHT_REFRESH_PERIOD && weightRefreshTime.compareAndSet(refreshTime, now)) {
+            refreshWeights();
+        }
+        double[] currentWeights = weights;
+        if (clientIndex < currentWeights.length) {
+            return currentWeights[clientIndex];
+        } else { // 成员变更后尚未重新计算有效权重
+            return clusterConfiguration.getHostWeight(directRpcClientList.getHost(clientIndex));
+        }
+    }
+
+    /**
+     * 重新计算所有 RPC 服务调用客户端的有效权重，有效权重为配置权重乘以预热期间的权重比例，用于保护刚恢复的客户端突然进入太多请求。
+     */
+    private void refreshWeights() {
+        String[] hosts = membership.hosts;
+        double[] previousWeights = weights;
+        double[] currentWeights = new double[hosts.length];
+        long currentTime = System.currentTimeMillis();
+        for (int i = 0; i < hosts.length; i++) {
+            long rescueTime = directRpcClientList.getRescueTime(i);
+            double ratio = rescueTime > 0 ? clusterConfiguration.getSlowStartWeightRatio(currentTime - rescueTime) : 1;
+            currentWeights[i] = clusterConfiguration.getHostWeight(hosts[i]) * ratio;
+            if (hosts[i] != null && (previousWeights == null || i >= previousWeights.length || previousWeights[i] != currentWeights[i])) {
+                rpcClientWeightMonitor.onWeightChanged(hosts[i], currentWeights[i]);
+            }
+        }
+        weights = currentWeights;
+    }
+
+    /**
+     * 获得当前的 RPC 服务提供方成员信息，如果 {@link DirectRpcClientList} 的成员已发生变更，将会重建成员信息。
+     *
+     * @return RPC 服务提供方成员信息
+     */
+    private Membership getMembership() {
+        Membership currentMembership = membership;
+        if (currentMembership.version != directRpcClientList.getMembershipVersion()) {
+            currentMembership = updateMembership();
+        }
+        return currentMembership;
+    }
+
+    /**
+     * 根据 {@link DirectRpcClientList} 当前的成员重建成员信息，同时更新异常摘除状态及有效权重。
+     *
+     * @return 重建后的 RPC 服务提供方成员信息
+     */
+    private synchronized Membership updateMembership() {
+        long version = directRpcClientList.getMembershipVersion(); // 先读取版本号，读取主机地址期间发生的变更将在下次重建
+        Membership previousMembership = membership;
+        if (previousMembership != null && previousMembership.version == version) {
+            return previousMembership;
+        }
+        String[] hosts = new String[directRpcClientList.size()];
+        for (int i = 0; i < hosts.length; i++) {
+            hosts[i] = directRpcClientList.getHost(i);
+        }
+        Membership currentMembership = new Membership(version, hosts, clusterConfiguration);
+        if (clusterConfiguration.getLocalZone() != null && currentMembership.localZoneFlags == null) {
+            LOG.warn("Zone aware routing is disabled: `no host in local zone`. LocalZone: `{}`. Hosts: `{}`. HostZoneMap: `{}`.",
+                    clusterConfiguration.getLocalZone(), hosts, clusterConfiguration.getHostZoneMap()); // lgtm [java/print-array]
+        }
+        if (previousMembership != null) {
+            Set<String> currentHostSet = new HashSet<>(Arrays.asList(hosts));
+            for (String previousHost : previousMembership.hosts) {
+                if (previousHost != null && !currentHostSet.contains(previousHost)) {
+                    rpcClientWeightMonitor.onRemoved(previousHost);
+                }
+            }
+        }
+        outlierDetector.update(hosts);
+        adaptiveTimeoutPolicy.update(hosts);
+        membership = currentMembership;
+        refreshWeights();
+        return currentMembership;
+    }
+
+    /**
+     * {@code RpcClusterClient} 提供给负载均衡策略使用的选择上下文，每次选择可能多次执行其中的方法，
+     * 通过 {@link DirectRpcClientList#getActive(int)} 读取客户端，不会产生日志输出或安排恢复任务。
+     */
+    private class ClusterLoadBalancerContext implements LoadBalancerContext {
+
+        @Override
+        public int getHostCount() {
+            return directRpcClientList.size();
+        }
+
+        @Override
+        public String getHost(int clientIndex) {
+            return directRpcClientList.getHost(clientIndex);
+        }
+
+        @Override
+        public long getMembershipVersion() {
+            return directRpcClientList.getMembershipVersion();
+        }
+
+        @Override
+        public boolean isSelectable(int clientIndex) {
+            DirectRpcClient client = directRpcClientList.getActive(clientIndex);
+            if (client == null) {
+                return false;
+            }
+            if (clusterConfiguration.isOutlierDetectionEnabled() && outlierDetector.isEjected(clientIndex, clusterConfiguration)) {
+                return false;
+            }
+            AdaptiveConcurrencyLimiter concurrencyLimiter = client.getConcurrencyLimiter();
+            return concurrencyLimiter == null || !concurrencyLimiter.isLimitReached();
+        }
+
+        @Override
+        public long getOutstandingCount(int clientIndex) {
+            DirectRpcClient client = directRpcClientList.getActive(clientIndex);
+            return client != null ? client.getPendingCallCount() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long getLatencyEstimate(int clientIndex) {
+            DirectRpcClient client = directRpcClientList.getActive(clientIndex);
+            return client != null ? client.getLatencyEstimate() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public double getWeight(int clientIndex) {
+            return RpcClusterClient.this.getWeight(clientIndex);
+        }
+
+        @Override
+        public double getServerLoadPenalty(int clientIndex) {
+            DirectRpcClient client = directRpcClientList.getActive(clientIndex);
+            return client != null ? clusterConfiguration.getServerLoadPenalty(client.getServerLoad()) : 1;
+        }
+    }
+
+    /**
+     * {@code RpcClusterClient} 提供给负载均衡策略使用的本区域选择上下文，仅允许选择与调用方位于同一区域的 RPC 服务提供方。
+     */
+    private class LocalZoneLoadBalancerContext extends ClusterLoadBalancerContext {
+
+        @Override
+        public boolean isSelectable(int clientIndex) {
+            boolean[] localZoneFlags = membership.localZoneFlags;
+            return localZoneFlags != null && clientIndex < localZoneFlags.length && localZoneFlags[clientIndex] && super.isSelectable(clientIndex);
+        }
+    }
+
+    /**
+     * RPC 服务提供方成员信息，与 {@link DirectRpcClientList} 某一成员版本号对应，创建后不再变更。
+     */
+    private static class Membership {
+
+        /**
+         * 成员版本号
+         */
+        private final long version;
+
+        /**
+         * 与 {@link DirectRpcClientList} 索引位置一一对应的主机地址数组，已移除主机地址的位置值为 {@code null}
+         */
+        private final String[] hosts;
+
+        /**
+         * RPC 服务提供方是否与调用方位于同一区域的标识数组，与主机地址数组位置一一对应，如果未启用区域感知路由或本区域没有主机地址，则为 {@code null}
+         */
+        private final boolean[] localZoneFlags;
+
+        /**
+         * 与调用方位于同一区域的 RPC 服务提供方主机地址集合
+         */
+        private final Set<String> localZoneHostSet;
+
+        private Membership(long version, String[] hosts, RpcClusterClientConfiguration configuration) {
+            this.version = version;
+            this.hosts = hosts;
+            Set<String> localZoneHostSet = new HashSet<>();
+            boolean[] localZoneFlags = new boolean[hosts.length];
+            for (int i = 0; i < hosts.length; i++) {
+                if (hosts[i] != null && configuration.isLocalZone(hosts[i])) {
+                    localZoneFlags[i] = true;
+                    localZoneHostSet.add(hosts[i]);
+                }
+            }
+            this.localZoneFlags = localZoneHostSet.isEmpty() ? null : localZoneFlags;
+            this.localZoneHostSet = localZoneHostSet;
+        }
+    }
+
+    /**
+     * RPC 方法对冲策略，记录该方法近期的调用耗时，用于计算对冲延迟时间。
+     */
+    private static class HedgePolicy {
+
+        /**
+         * {@link Hedged#delay()} 指定的对冲延迟时间，单位：毫秒
+         */
+        private final long delay;
+
+        /**
+         * RPC 方法近期调用耗时直方图
+         */
+        private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        private HedgePolicy(long delay) {
+            this.delay = delay;
+        }
+
+        /**
+         * 获得本次调用使用的对冲延迟时间，如果无法确定对冲延迟时间（近期调用样本数量不足），则返回 -1。
+         *
+         * @param configuration RPC 集群客户端调度配置信息
+         * @return 对冲延迟时间，单位：毫秒，可能返回 -1
+         */
+        private long getDelay(RpcClusterClientConfiguration configuration) {
+            if (delay > 0) {
+                return delay;
+            }
+            long hedgeDelay = configuration.getHedgeDelay();
+            if (hedgeDelay > 0) {
+                return hedgeDelay;
+            }
+            long percentileNanos = latencyHistogram.getPercentile(configuration.getHedgePercentile());
+            return percentileNanos >= 0 ? Math.max(1, TimeUnit.MILLISECONDS.convert(percentileNanos, TimeUnit.NANOSECONDS)) : -1;
+        }
+    }
+
+    /**
+     * 对冲调用配额，每次允许对冲的 RPC 调用将存入 {@link RpcClusterClientConfiguration#getHedgeBudgetRatio()} 个配额，
+     * 每次对冲调用消耗 1 个配额，配额最多累积 {@link #MAX_TOKENS} 个，用于限制对冲调用占 RPC 调用的比例。
+     */
+    private static class HedgeBudget {
+
+        /**
+         * 1 个配额对应的计数值
+         */
+        private static final long TOKEN_UNIT = 1000;
+
+        /**
+         * 最多累积的配额数量
+         */
+        private static final long MAX_TOKENS = 10;
+
+        /**
+         * 当前配额计数值
+         */
+        private final AtomicLong tokens = new AtomicLong();
+
+        /**
+         * 存入一次 RPC 调用对应的配额。
+         *
+         * @param ratio 对冲调用数量占 RPC 调用数量的最大比例
+         */
+        private void deposit(double ratio) {
+            if (ratio > 0 && tokens.get() < MAX_TOKENS * TOKEN_UNIT) {
+                tokens.addAndGet(Math.round(ratio * TOKEN_UNIT));
+            }
+        }
+
+        /**
+         * 尝试消耗 1 个配额。
+         *
+         * @return 是否获取成功
+         */
+        private boolean tryAcquire() {
+            long current;
+            do {
+                current = tokens.get();
+                if (current < TOKEN_UNIT) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - TOKEN_UNIT));
+            return true;
+        }
+    }
+
+    /**
+     * 一次允许对冲的 RPC 调用，原调用和对冲调用中最先成功返回的结果将作为最终结果，如果均执行失败，将使用最先失败的异常作为最终结果。
+     */
+    private class HedgedCall {
+
+        private final HedgePolicy hedgePolicy;
+
+        private final Method method;
+
+        private final Object[] args;
+
+        private final long timeout;
+
+        /**
+         * 最终 RPC 调用结果
+         */
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        /**
+         * 尚未结束的调用数量
+         */
+        private final AtomicInteger outstandingCount = new AtomicInteger(1);
+
+        /**
+         * 原调用的 RPC 调用结果
+         */
+        private volatile CompletableFuture<Object> primaryFuture;
+
+        /**
+         * 对冲调用的 RPC 调用结果，未发送对冲调用时为 {@code null}
+         */
+        private volatile CompletableFuture<Object> hedgeFuture;
+
+        /**
+         * 最先失败的调用异常
+         */
+        private volatile Throwable firstException;
+
+        /**
+         * 发送对冲调用的定时任务
+         */
+        private volatile Timeout hedgeTimeout;
+
+        private HedgedCall(HedgePolicy hedgePolicy, Method method, Object[] args, long timeout) {
+            this.hedgePolicy = hedgePolicy;
+            this.method = method;
+            this.args = args;
+            this.timeout = timeout;
+        }
+
+        /**
+         * 使用指定的 {@code DirectRpcClient} 发送原调用，如果在对冲延迟时间内未结束，将会发送对冲调用。
+         *
+         * @param primaryClient 原调用使用的 RPC 服务调用客户端
+         * @return 最终 RPC 调用结果
+         */
+        private CompletableFuture<Object> start(DirectRpcClient primaryClient) {
+            hedgeBudget.deposit(clusterConfiguration.getHedgeBudgetRatio());
+            long hedgeDelay = hedgePolicy.getDelay(clusterConfiguration);
+            long startTime = System.nanoTime();
+            CompletableFuture<Object> clientFuture = execute(primaryClient, method, args, timeout);
+            primaryFuture = clientFuture;
+            if (hedgeDelay > 0 && (timeout <= 0 || hedgeDelay < timeout) && !clientFuture.isDone()) {
+                hedgeTimeout = RpcClientTimerFactory.getFineGrained().newTimeout(expiredTimeout -> dispatchHedge(primaryClient),
+                        hedgeDelay, TimeUnit.MILLISECONDS);
+            }
+            clientFuture.whenComplete((result, exception) -> onCompleted(result, exception, startTime, false));
+            return future;
+        }
+
+        /**
+         * 将发送对冲调用提交至 {@link RpcClientTimerFactory#getExecutor()} 中执行，该方法在时间轮定时器的工作线程中执行，
+         * 选择客户端、编码及发送请求均不在定时器工作线程中进行，避免阻塞其它对冲调用的触发。
+         *
+         * @param primaryClient 原调用使用的 RPC 服务调用客户端
+         */
+        private void dispatchHedge(DirectRpcClient primaryClient) {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                RpcClientTimerFactory.getExecutor().execute(() -> hedge(primaryClient));
+            } catch (RejectedExecutionException e) { //should not happen
+                hedge(primaryClient);
+            }
+        }
+
+        /**
+         * 发送对冲调用，该方法在 {@link RpcClientTimerFactory#getExecutor()} 的线程中执行。
+         *
+         * @param primaryClient 原调用使用的 RPC 服务调用客户端
+         */
+        private void hedge(DirectRpcClient primaryClient) {
+            if (future.isDone()) {
+                return;
+            }
+            DirectRpcClient hedgeClient = getHedgeClient(primaryClient, method, args);
+            if (hedgeClient == null) {
+                return;
+            }
+            if (!hedgeBudget.tryAcquire()) {
+                rpcClusterClientMonitor.onHedgeRejected();
+                return;
+            }
+            outstandingCount.incrementAndGet();
+            rpcClusterClientMonitor.onHedged();
+            long startTime = System.nanoTime();
+            CompletableFuture<Object> clientFuture = execute(hedgeClient, method, args, timeout);
+            hedgeFuture = clientFuture;
+            if (future.isDone()) { // 原调用已在对冲调用发送期间成功返回
+                clientFuture.cancel(false);
+            }
+            clientFuture.whenComplete((result, exception) -> onCompleted(result, exception, startTime, true));
+        }
+
+        /**
+         * 当原调用或对冲调用结束时执行该方法。
+         *
+         * @param result RPC 调用结果
+         * @param exception RPC 调用异常，如果调用成功，则为 {@code null}
+         * @param startTime 该调用的开始时间，由 {@link System#nanoTime()} 获得
+         * @param isHedge 是否为对冲调用
+         */
+        private void onCompleted(Object result, Throwable exception, long startTime, boolean isHedge) {
+            if (exception == null) {
+                hedgePolicy.latencyHistogram.record(System.nanoTime() - startTime);
+                if (future.complete(result)) {
+                    if (isHedge) {
+                        rpcClusterClientMonitor.onHedgeWon();
+                    }
+                    cancel(isHedge ? primaryFuture : hedgeFuture);
+                }
+            } else if (firstException == null) {
+                firstException = exception;
+            }
+            if (outstandingCount.decrementAndGet() == 0 && !future.isDone()) {
+                cancel(null);
+                FutureUtil.complete(future, null, firstException);
+            }
+        }
+
+        /**
+         * 取消尚未结束的调用及发送对冲调用的定时任务。
+         *
+         * @param loserFuture 需要取消的调用，允许为 {@code null}
+         */
+        private void cancel(CompletableFuture<Object> loserFuture) {
+            Timeout task = hedgeTimeout;
+            if (task != null) {
+                task.cancel();
+            }
+            if (loserFuture != null) {
+                loserFuture.cancel(false);
+            }
+        }
     }
 }
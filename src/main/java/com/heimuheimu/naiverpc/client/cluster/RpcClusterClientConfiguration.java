@@ -0,0 +1,897 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster;
+
+import com.heimuheimu.naiverpc.client.cluster.balancer.LoadBalancer;
+import com.heimuheimu.naiverpc.client.cluster.balancer.WeightedRoundRobinLoadBalancer;
+import com.heimuheimu.naiverpc.facility.clients.DirectRpcClientListConfiguration;
+import com.heimuheimu.naiverpc.packet.RpcServerLoad;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link RpcClusterClient} 调度配置信息，继承的 {@link DirectRpcClientListConfiguration} 配置项将用于 {@code RpcClusterClient} 使用的 RPC 直连客户端列表。
+ *
+ * <p><strong>说明：</strong>{@code RpcClusterClientConfiguration} 类是线程安全的，可在多个线程中使用同一个实例，
+ * 配置变更将在下一次 RPC 调用时生效。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClusterClientConfiguration extends DirectRpcClientListConfiguration {
+
+    /**
+     * 未配置权重的 RPC 服务提供方使用的默认权重
+     */
+    public static final int DEFAULT_HOST_WEIGHT = 100;
+
+    /**
+     * 根据 RPC 服务提供方负载信息计算的负载惩罚系数最大值
+     */
+    private static final double MAX_SERVER_LOAD_PENALTY = 100;
+
+    /**
+     * 负载均衡策略提供者，每个 {@code RpcClusterClient} 创建时获取一个负载均衡策略实例
+     */
+    private volatile Supplier<LoadBalancer> loadBalancerSupplier = WeightedRoundRobinLoadBalancer::new;
+
+    /**
+     * RPC 服务提供方权重 {@code Map}，Key 为主机地址，Value 为权重，未配置权重的 RPC 服务提供方使用 {@link #DEFAULT_HOST_WEIGHT}
+     */
+    private volatile Map<String, Integer> hostWeightMap = Collections.emptyMap();
+
+    /**
+     * 预热时间，单位：毫秒，RPC 服务提供方恢复后，权重在该时间内逐步提升至配置值，如果该值小于等于 0，则不进行预热
+     */
+    private volatile long slowStartWindow = 60000;
+
+    /**
+     * 预热曲线系数，预热期间权重比例为 (已恢复时间 / 预热时间) ^ (1 / 预热曲线系数)
+     */
+    private volatile double slowStartAggression = 1;
+
+    /**
+     * 预热期间权重比例的最小值，取值范围为 (0, 1]
+     */
+    private volatile double slowStartMinWeightRatio = 0.1;
+
+    /**
+     * 调用方所在的区域（例如机房、可用区），如果为 {@code null}，则不进行区域感知路由
+     */
+    private volatile String localZone = null;
+
+    /**
+     * RPC 服务提供方所在区域 {@code Map}，Key 为主机地址，Value 为区域名称
+     */
+    private volatile Map<String, String> hostZoneMap = Collections.emptyMap();
+
+    /**
+     * 本区域可用 RPC 服务提供方数量占本区域 RPC 服务提供方总数的最小比例，低于该比例时，RPC 调用将溢出至其它区域
+     */
+    private volatile double zoneMinHealthyRatio = 0.7;
+
+    /**
+     * 本区域可用 RPC 服务提供方的平均未返回调用数量上限，达到该上限时，RPC 调用将溢出至其它区域，如果该值小于等于 0，则不根据负载溢出
+     */
+    private volatile int zoneSpilloverOutstandingThreshold = 32;
+
+    /**
+     * RPC 服务提供方负载信息的有效时间，单位：毫秒，如果该值小于等于 0，则负载均衡时不使用 RPC 服务提供方负载信息
+     */
+    private volatile long serverLoadExpiry = 1000;
+
+    /**
+     * 对冲延迟时间，单位：毫秒，如果该值小于等于 0，则使用近期 RPC 调用耗时的百分位值作为对冲延迟时间
+     */
+    private volatile long hedgeDelay = 0;
+
+    /**
+     * 未配置对冲延迟时间时，作为对冲延迟时间的 RPC 调用耗时百分位，取值范围为 (0, 100]
+     */
+    private volatile double hedgePercentile = 95;
+
+    /**
+     * 对冲调用数量占 RPC 调用数量的最大比例，取值范围为 [0, 1]，如果该值为 0，则不进行对冲调用
+     */
+    private volatile double hedgeBudgetRatio = 0.05;
+
+    /**
+     * 是否启用自适应超时时间
+     */
+    private volatile boolean adaptiveTimeoutEnabled = false;
+
+    /**
+     * 计算自适应超时时间使用的 RPC 调用耗时百分位，取值范围为 (0, 100]
+     */
+    private volatile double adaptiveTimeoutPercentile = 99;
+
+    /**
+     * 自适应超时时间为 RPC 调用耗时百分位值的倍数，不能小于 1
+     */
+    private volatile double adaptiveTimeoutMultiplier = 3;
+
+    /**
+     * 自适应超时时间的最小值，单位：毫秒
+     */
+    private volatile long minAdaptiveTimeout = 50;
+
+    /**
+     * 自适应超时时间的最大值，单位：毫秒，如果该值小于等于 0，则使用 {@code DirectRpcClient} 默认的超时时间
+     */
+    private volatile long maxAdaptiveTimeout = 0;
+
+    /**
+     * 是否启用异常 RPC 服务提供方摘除
+     */
+    private volatile boolean outlierDetectionEnabled = false;
+
+    /**
+     * 错误率及耗时异常检测周期，单位：毫秒
+     */
+    private volatile long outlierDetectionInterval = 10000;
+
+    /**
+     * 判定 RPC 服务提供方无响应的 phi 阈值
+     */
+    private volatile double phiThreshold = 8;
+
+    /**
+     * 计算 phi 值时允许的响应停顿时间，单位：毫秒
+     */
+    private volatile long phiAcceptablePause = 100;
+
+    /**
+     * 检测周期内参与错误率及耗时异常检测的最小调用次数
+     */
+    private volatile int outlierMinRequestCount = 20;
+
+    /**
+     * 判定 RPC 服务提供方异常的错误率阈值，取值范围为 (0, 1]
+     */
+    private volatile double outlierErrorRateThreshold = 0.5;
+
+    /**
+     * 判定 RPC 服务提供方耗时异常的平均耗时倍数（相对于所有 RPC 服务提供方平均耗时的中位数），不能小于 1
+     */
+    private volatile double outlierLatencyMultiplier = 3;
+
+    /**
+     * RPC 服务提供方首次被摘除的时间，单位：毫秒
+     */
+    private volatile long outlierEjectionTime = 30000;
+
+    /**
+     * 同时被摘除的 RPC 服务提供方数量占总数的最大百分比，取值范围为 [0, 100]
+     */
+    private volatile int maxEjectionPercent = 50;
+
+    /**
+     * 获得负载均衡策略提供者，每个 {@code RpcClusterClient} 创建时通过该提供者获取一个负载均衡策略实例，默认使用加权轮询策略。
+     *
+     * <p>
+     *     <strong>注意：</strong>该配置仅在 {@code RpcClusterClient} 创建时生效。
+     * </p>
+     *
+     * @return 负载均衡策略提供者
+     * @see com.heimuheimu.naiverpc.client.cluster.balancer.LeastOutstandingLoadBalancer
+     * @see com.heimuheimu.naiverpc.client.cluster.balancer.PeakEwmaLoadBalancer
+     */
+    public Supplier<LoadBalancer> getLoadBalancerSupplier() {
+        return loadBalancerSupplier;
+    }
+
+    /**
+     * 设置负载均衡策略提供者，提供者每次返回的负载均衡策略实例不应被多个 {@code RpcClusterClient} 共享，例如：{@code LeastOutstandingLoadBalancer::new}。
+     *
+     * @param loadBalancerSupplier 负载均衡策略提供者，不允许为 {@code null}
+     * @throws IllegalArgumentException 如果负载均衡策略提供者为 {@code null}，将会抛出此异常
+     */
+    public void setLoadBalancerSupplier(Supplier<LoadBalancer> loadBalancerSupplier) throws IllegalArgumentException {
+        if (loadBalancerSupplier == null) {
+            throw new IllegalArgumentException("Set `loadBalancerSupplier` failed: `loadBalancerSupplier could not be null`.");
+        }
+        this.loadBalancerSupplier = loadBalancerSupplier;
+    }
+
+    /**
+     * 获得 RPC 服务提供方权重 {@code Map}，Key 为主机地址，Value 为权重，未配置权重的 RPC 服务提供方使用默认权重 100。
+     *
+     * @return RPC 服务提供方权重 {@code Map}，不会为 {@code null}
+     */
+    public Map<String, Integer> getHostWeightMap() {
+        return hostWeightMap;
+    }
+
+    /**
+     * 设置 RPC 服务提供方权重 {@code Map}，权重越高，分配的 RPC 调用越多，仅 {@link WeightedRoundRobinLoadBalancer} 等支持权重的负载均衡策略生效。
+     *
+     * @param hostWeightMap RPC 服务提供方权重 {@code Map}，Key 为主机地址，Value 为权重，允许为 {@code null}
+     * @throws IllegalArgumentException 如果存在小于等于 0 的权重，将会抛出此异常
+     */
+    public void setHostWeightMap(Map<String, Integer> hostWeightMap) throws IllegalArgumentException {
+        Map<String, Integer> weightMap = new HashMap<>();
+        if (hostWeightMap != null) {
+            for (Map.Entry<String, Integer> entry : hostWeightMap.entrySet()) {
+                if (entry.getValue() == null || entry.getValue() <= 0) {
+                    throw new IllegalArgumentException("Set `hostWeightMap` failed: `weight could not be null or equal or less than 0`. Host: `"
+                            + entry.getKey() + "`. Weight: `" + entry.getValue() + "`.");
+                }
+                weightMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+        this.hostWeightMap = Collections.unmodifiableMap(weightMap);
+    }
+
+    /**
+     * 获得 RPC 服务提供方配置的权重，未配置权重时返回 {@link #DEFAULT_HOST_WEIGHT}。
+     *
+     * @param host RPC 服务提供方主机地址
+     * @return RPC 服务提供方配置的权重
+     */
+    public int getHostWeight(String host) {
+        Integer weight = hostWeightMap.get(host);
+        return weight != null ? weight : DEFAULT_HOST_WEIGHT;
+    }
+
+    /**
+     * 获得预热时间，单位：毫秒，默认为 60 秒，RPC 服务提供方恢复后，权重在该时间内逐步提升至配置值，如果该值小于等于 0，则不进行预热。
+     *
+     * @return 预热时间
+     */
+    public long getSlowStartWindow() {
+        return slowStartWindow;
+    }
+
+    /**
+     * 设置预热时间，单位：毫秒，如果该值小于等于 0，则不进行预热。
+     *
+     * @param slowStartWindow 预热时间
+     */
+    public void setSlowStartWindow(long slowStartWindow) {
+        this.slowStartWindow = slowStartWindow;
+    }
+
+    /**
+     * 获得预热曲线系数，默认为 1，即权重线性提升，该值越大，预热初期权重提升越快。
+     *
+     * @return 预热曲线系数
+     */
+    public double getSlowStartAggression() {
+        return slowStartAggression;
+    }
+
+    /**
+     * 设置预热曲线系数，预热期间权重比例为 (已恢复时间 / 预热时间) ^ (1 / 预热曲线系数)。
+     *
+     * @param slowStartAggression 预热曲线系数，不能小于等于 0
+     * @throws IllegalArgumentException 如果预热曲线系数小于等于 0，将会抛出此异常
+     */
+    public void setSlowStartAggression(double slowStartAggression) throws IllegalArgumentException {
+        if (slowStartAggression <= 0) {
+            throw new IllegalArgumentException("Set `slowStartAggression` failed: `slowStartAggression could not be equal or less than 0`. SlowStartAggression: `"
+                    + slowStartAggression + "`.");
+        }
+        this.slowStartAggression = slowStartAggression;
+    }
+
+    /**
+     * 获得预热期间权重比例的最小值，默认为 0.1，即刚恢复的 RPC 服务提供方至少使用配置权重的 10%。
+     *
+     * @return 预热期间权重比例的最小值
+     */
+    public double getSlowStartMinWeightRatio() {
+        return slowStartMinWeightRatio;
+    }
+
+    /**
+     * 设置预热期间权重比例的最小值。
+     *
+     * @param slowStartMinWeightRatio 预热期间权重比例的最小值，取值范围为 (0, 1]
+     * @throws IllegalArgumentException 如果最小值不在取值范围内，将会抛出此异常
+     */
+    public void setSlowStartMinWeightRatio(double slowStartMinWeightRatio) throws IllegalArgumentException {
+        if (slowStartMinWeightRatio <= 0 || slowStartMinWeightRatio > 1) {
+            throw new IllegalArgumentException("Set `slowStartMinWeightRatio` failed: `slowStartMinWeightRatio should be in (0, 1]`. SlowStartMinWeightRatio: `"
+                    + slowStartMinWeightRatio + "`.");
+        }
+        this.slowStartMinWeightRatio = slowStartMinWeightRatio;
+    }
+
+    /**
+     * 获得调用方所在的区域，默认为 {@code null}，即不进行区域感知路由。
+     *
+     * @return 调用方所在的区域，可能为 {@code null}
+     */
+    public String getLocalZone() {
+        return localZone;
+    }
+
+    /**
+     * 设置调用方所在的区域，设置后将优先选择 {@link #getHostZoneMap()} 中属于同一区域的 RPC 服务提供方，
+     * 该配置在 {@code RpcClusterClient} 创建时及主机地址发生变更时读取。
+     *
+     * @param localZone 调用方所在的区域，允许为 {@code null}
+     */
+    public void setLocalZone(String localZone) {
+        this.localZone = localZone;
+    }
+
+    /**
+     * 获得 RPC 服务提供方所在区域 {@code Map}，Key 为主机地址，Value 为区域名称。
+     *
+     * @return RPC 服务提供方所在区域 {@code Map}，不会为 {@code null}
+     */
+    public Map<String, String> getHostZoneMap() {
+        return hostZoneMap;
+    }
+
+    /**
+     * 设置 RPC 服务提供方所在区域 {@code Map}，未配置区域的 RPC 服务提供方视为其它区域，该配置在 {@code RpcClusterClient} 创建时及主机地址发生变更时读取。
+     *
+     * @param hostZoneMap RPC 服务提供方所在区域 {@code Map}，Key 为主机地址，Value 为区域名称，允许为 {@code null}
+     */
+    public void setHostZoneMap(Map<String, String> hostZoneMap) {
+        this.hostZoneMap = hostZoneMap != null ? Collections.unmodifiableMap(new HashMap<>(hostZoneMap)) : Collections.emptyMap();
+    }
+
+    /**
+     * 获得本区域可用 RPC 服务提供方数量占本区域 RPC 服务提供方总数的最小比例，默认为 0.7，低于该比例时，RPC 调用将溢出至其它区域。
+     *
+     * @return 本区域可用 RPC 服务提供方的最小比例
+     */
+    public double getZoneMinHealthyRatio() {
+        return zoneMinHealthyRatio;
+    }
+
+    /**
+     * 设置本区域可用 RPC 服务提供方数量占本区域 RPC 服务提供方总数的最小比例。
+     *
+     * @param zoneMinHealthyRatio 本区域可用 RPC 服务提供方的最小比例，取值范围为 (0, 1]
+     * @throws IllegalArgumentException 如果最小比例不在取值范围内，将会抛出此异常
+     */
+    public void setZoneMinHealthyRatio(double zoneMinHealthyRatio) throws IllegalArgumentException {
+        if (zoneMinHealthyRatio <= 0 || zoneMinHealthyRatio > 1) {
+            throw new IllegalArgumentException("Set `zoneMinHealthyRatio` failed: `zoneMinHealthyRatio should be in (0, 1]`. ZoneMinHealthyRatio: `"
+                    + zoneMinHealthyRatio + "`.");
+        }
+        this.zoneMinHealthyRatio = zoneMinHealthyRatio;
+    }
+
+    /**
+     * 获得本区域可用 RPC 服务提供方的平均未返回调用数量上限，默认为 32，达到该上限时，RPC 调用将溢出至其它区域，
+     * 如果该值小于等于 0，则不根据负载溢出。
+     *
+     * @return 本区域可用 RPC 服务提供方的平均未返回调用数量上限
+     */
+    public int getZoneSpilloverOutstandingThreshold() {
+        return zoneSpilloverOutstandingThreshold;
+    }
+
+    /**
+     * 设置本区域可用 RPC 服务提供方的平均未返回调用数量上限，如果该值小于等于 0，则不根据负载溢出。
+     *
+     * @param zoneSpilloverOutstandingThreshold 本区域可用 RPC 服务提供方的平均未返回调用数量上限
+     */
+    public void setZoneSpilloverOutstandingThreshold(int zoneSpilloverOutstandingThreshold) {
+        this.zoneSpilloverOutstandingThreshold = zoneSpilloverOutstandingThreshold;
+    }
+
+    /**
+     * 获得 RPC 服务提供方负载信息的有效时间，单位：毫秒，默认为 1 秒，如果该值小于等于 0，则负载均衡时不使用 RPC 服务提供方负载信息。
+     *
+     * <p>
+     *     RPC 服务提供方在每个响应中携带负载信息（{@link RpcServerLoad}），负载均衡策略将根据线程池使用率及等待时间计算负载惩罚系数，
+     *     超过有效时间未收到新响应的 RPC 服务提供方，其负载信息将被忽略。
+     * </p>
+     *
+     * @return RPC 服务提供方负载信息的有效时间
+     */
+    public long getServerLoadExpiry() {
+        return serverLoadExpiry;
+    }
+
+    /**
+     * 设置 RPC 服务提供方负载信息的有效时间，单位：毫秒，如果该值小于等于 0，则负载均衡时不使用 RPC 服务提供方负载信息。
+     *
+     * @param serverLoadExpiry RPC 服务提供方负载信息的有效时间
+     */
+    public void setServerLoadExpiry(long serverLoadExpiry) {
+        this.serverLoadExpiry = serverLoadExpiry;
+    }
+
+    /**
+     * 判断 RPC 服务提供方是否与调用方位于同一区域，如果未设置调用方所在的区域，则返回 {@code false}。
+     *
+     * @param host RPC 服务提供方主机地址
+     * @return 是否与调用方位于同一区域
+     */
+    boolean isLocalZone(String host) {
+        String zone = localZone;
+        return zone != null && zone.equals(hostZoneMap.get(host));
+    }
+
+    /**
+     * 根据 RPC 服务提供方负载信息计算负载惩罚系数，负载值将乘以该系数，如果负载信息不存在或已过期，则返回 1。
+     *
+     * <p>
+     *     系数为线程池剩余容量的倒数（使用率 50% 时为 2，90% 时为 10，最高为 20）与 (1 + 等待毫秒数) 的乘积，不超过 {@link #MAX_SERVER_LOAD_PENALTY}。
+     * </p>
+     *
+     * @param serverLoad RPC 服务提供方负载信息，允许为 {@code null}
+     * @return 负载惩罚系数，不小于 1
+     */
+    double getServerLoadPenalty(RpcServerLoad serverLoad) {
+        long expiry = serverLoadExpiry;
+        if (serverLoad == null || expiry <= 0 || System.currentTimeMillis() - serverLoad.getCreatedTime() > expiry) {
+            return 1;
+        }
+        double utilization = Math.min(serverLoad.getPoolUtilization() / 100.0, 0.95);
+        double penalty = (1 + serverLoad.getQueueDelay() / 1000.0) / (1 - utilization);
+        return Math.min(penalty, MAX_SERVER_LOAD_PENALTY);
+    }
+
+    /**
+     * 根据 RPC 服务提供方已恢复的时间，获得预热期间的权重比例。
+     *
+     * @param elapsedTime RPC 服务提供方已恢复的时间，单位：毫秒
+     * @return 权重比例，取值范围为 (0, 1]
+     */
+    double getSlowStartWeightRatio(long elapsedTime) {
+        long window = slowStartWindow;
+        if (window <= 0 || elapsedTime >= window) {
+            return 1;
+        }
+        double ratio = Math.pow(Math.max(elapsedTime, 0) / (double) window, 1 / slowStartAggression);
+        return Math.max(slowStartMinWeightRatio, ratio);
+    }
+
+    /**
+     * 获得对冲延迟时间，单位：毫秒，如果该值小于等于 0，则使用近期 RPC 调用耗时的百分位值作为对冲延迟时间，默认为 0。
+     *
+     * @return 对冲延迟时间
+     * @see Hedged
+     */
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * 设置对冲延迟时间，单位：毫秒，如果该值小于等于 0，则使用近期 RPC 调用耗时的百分位值作为对冲延迟时间。
+     *
+     * @param hedgeDelay 对冲延迟时间
+     */
+    public void setHedgeDelay(long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    /**
+     * 获得未配置对冲延迟时间时，作为对冲延迟时间的 RPC 调用耗时百分位，默认为 95，即使用 P95 耗时作为对冲延迟时间。
+     *
+     * @return RPC 调用耗时百分位
+     */
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * 设置未配置对冲延迟时间时，作为对冲延迟时间的 RPC 调用耗时百分位。
+     *
+     * @param hedgePercentile RPC 调用耗时百分位，取值范围为 (0, 100]
+     * @throws IllegalArgumentException 如果百分位不在取值范围内，将会抛出此异常
+     */
+    public void setHedgePercentile(double hedgePercentile) throws IllegalArgumentException {
+        if (hedgePercentile <= 0 || hedgePercentile > 100) {
+            throw new IllegalArgumentException("Set `hedgePercentile` failed: `hedgePercentile should be in (0, 100]`. HedgePercentile: `"
+                    + hedgePercentile + "`.");
+        }
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    /**
+     * 获得对冲调用数量占 RPC 调用数量的最大比例，默认为 0.05，即对冲调用最多增加 5% 的 RPC 请求。
+     *
+     * @return 对冲调用数量占 RPC 调用数量的最大比例
+     */
+    public double getHedgeBudgetRatio() {
+        return hedgeBudgetRatio;
+    }
+
+    /**
+     * 设置对冲调用数量占 RPC 调用数量的最大比例，如果该值为 0，则不进行对冲调用。
+     *
+     * @param hedgeBudgetRatio 对冲调用数量占 RPC 调用数量的最大比例，取值范围为 [0, 1]
+     * @throws IllegalArgumentException 如果比例不在取值范围内，将会抛出此异常
+     */
+    public void setHedgeBudgetRatio(double hedgeBudgetRatio) throws IllegalArgumentException {
+        if (hedgeBudgetRatio < 0 || hedgeBudgetRatio > 1) {
+            throw new IllegalArgumentException("Set `hedgeBudgetRatio` failed: `hedgeBudgetRatio should be in [0, 1]`. HedgeBudgetRatio: `"
+                    + hedgeBudgetRatio + "`.");
+        }
+        this.hedgeBudgetRatio = hedgeBudgetRatio;
+    }
+
+    /**
+     * 判断是否启用自适应超时时间，默认为 {@code false}。
+     *
+     * <p>
+     *     启用后，未指定超时时间的 RPC 调用将根据该方法在对应 RPC 服务提供方的近期调用耗时计算超时时间：
+     *     超时时间为耗时百分位值的 {@link #getAdaptiveTimeoutMultiplier()} 倍，并限制在 [{@link #getMinAdaptiveTimeout()},
+     *     {@link #getMaxAdaptiveTimeout()}] 范围内，近期调用样本数量不足时，使用最大值作为超时时间。
+     * </p>
+     *
+     * @return 是否启用自适应超时时间
+     */
+    public boolean isAdaptiveTimeoutEnabled() {
+        return adaptiveTimeoutEnabled;
+    }
+
+    /**
+     * 设置是否启用自适应超时时间。
+     *
+     * @param adaptiveTimeoutEnabled 是否启用自适应超时时间
+     */
+    public void setAdaptiveTimeoutEnabled(boolean adaptiveTimeoutEnabled) {
+        this.adaptiveTimeoutEnabled = adaptiveTimeoutEnabled;
+    }
+
+    /**
+     * 获得计算自适应超时时间使用的 RPC 调用耗时百分位，默认为 99。
+     *
+     * @return RPC 调用耗时百分位
+     */
+    public double getAdaptiveTimeoutPercentile() {
+        return adaptiveTimeoutPercentile;
+    }
+
+    /**
+     * 设置计算自适应超时时间使用的 RPC 调用耗时百分位。
+     *
+     * @param adaptiveTimeoutPercentile RPC 调用耗时百分位，取值范围为 (0, 100]
+     * @throws IllegalArgumentException 如果百分位不在取值范围内，将会抛出此异常
+     */
+    public void setAdaptiveTimeoutPercentile(double adaptiveTimeoutPercentile) throws IllegalArgumentException {
+        if (adaptiveTimeoutPercentile <= 0 || adaptiveTimeoutPercentile > 100) {
+            throw new IllegalArgumentException("Set `adaptiveTimeoutPercentile` failed: `adaptiveTimeoutPercentile should be in (0, 100]`. AdaptiveTimeoutPercentile: `"
+                    + adaptiveTimeoutPercentile + "`.");
+        }
+        this.adaptiveTimeoutPercentile = adaptiveTimeoutPercentile;
+    }
+
+    /**
+     * 获得自适应超时时间为 RPC 调用耗时百分位值的倍数，默认为 3。
+     *
+     * @return 自适应超时时间为 RPC 调用耗时百分位值的倍数
+     */
+    public double getAdaptiveTimeoutMultiplier() {
+        return adaptiveTimeoutMultiplier;
+    }
+
+    /**
+     * 设置自适应超时时间为 RPC 调用耗时百分位值的倍数。
+     *
+     * @param adaptiveTimeoutMultiplier 自适应超时时间为 RPC 调用耗时百分位值的倍数，不能小于 1
+     * @throws IllegalArgumentException 如果倍数小于 1，将会抛出此异常
+     */
+    public void setAdaptiveTimeoutMultiplier(double adaptiveTimeoutMultiplier) throws IllegalArgumentException {
+        if (adaptiveTimeoutMultiplier < 1) {
+            throw new IllegalArgumentException("Set `adaptiveTimeoutMultiplier` failed: `adaptiveTimeoutMultiplier could not be less than 1`. AdaptiveTimeoutMultiplier: `"
+                    + adaptiveTimeoutMultiplier + "`.");
+        }
+        this.adaptiveTimeoutMultiplier = adaptiveTimeoutMultiplier;
+    }
+
+    /**
+     * 获得自适应超时时间的最小值，单位：毫秒，默认为 50 毫秒。
+     *
+     * @return 自适应超时时间的最小值
+     */
+    public long getMinAdaptiveTimeout() {
+        return minAdaptiveTimeout;
+    }
+
+    /**
+     * 设置自适应超时时间的最小值，单位：毫秒。
+     *
+     * @param minAdaptiveTimeout 自适应超时时间的最小值，不能小于等于 0
+     * @throws IllegalArgumentException 如果最小值小于等于 0，将会抛出此异常
+     */
+    public void setMinAdaptiveTimeout(long minAdaptiveTimeout) throws IllegalArgumentException {
+        if (minAdaptiveTimeout <= 0) {
+            throw new IllegalArgumentException("Set `minAdaptiveTimeout` failed: `minAdaptiveTimeout could not be equal or less than 0`. MinAdaptiveTimeout: `"
+                    + minAdaptiveTimeout + "`.");
+        }
+        this.minAdaptiveTimeout = minAdaptiveTimeout;
+    }
+
+    /**
+     * 获得自适应超时时间的最大值，单位：毫秒，如果该值小于等于 0，则使用 {@code DirectRpcClient} 默认的超时时间，默认为 0。
+     *
+     * @return 自适应超时时间的最大值
+     */
+    public long getMaxAdaptiveTimeout() {
+        return maxAdaptiveTimeout;
+    }
+
+    /**
+     * 设置自适应超时时间的最大值，单位：毫秒，如果该值小于等于 0，则使用 {@code DirectRpcClient} 默认的超时时间。
+     *
+     * @param maxAdaptiveTimeout 自适应超时时间的最大值
+     */
+    public void setMaxAdaptiveTimeout(long maxAdaptiveTimeout) {
+        this.maxAdaptiveTimeout = maxAdaptiveTimeout;
+    }
+
+    /**
+     * 判断是否启用异常 RPC 服务提供方摘除，默认为 {@code false}。
+     *
+     * 启用后，{@code RpcClusterClient} 将根据以下条件临时摘除异常的 RPC 服务提供方，摘除期间不再为其分配 RPC 调用：
+     * <ul>
+     *     <li>存在未返回的 RPC 调用时，根据响应到达间隔计算的 phi 值超过 {@link #getPhiThreshold()}，即长时间没有收到任何响应</li>
+     *     <li>检测周期内的错误率（超时或连接不可用）超过 {@link #getOutlierErrorRateThreshold()}</li>
+     *     <li>检测周期内成功调用的平均耗时超过所有 RPC 服务提供方平均耗时中位数的 {@link #getOutlierLatencyMultiplier()} 倍</li>
+     * </ul>
+     *
+     * <p>
+     *     摘除时间为 {@link #getOutlierEjectionTime()} 乘以连续被摘除的次数（最多 10 倍），同时被摘除的数量受
+     *     {@link #getMaxEjectionPercent()} 限制。
+     * </p>
+     *
+     * @return 是否启用异常 RPC 服务提供方摘除
+     */
+    public boolean isOutlierDetectionEnabled() {
+        return outlierDetectionEnabled;
+    }
+
+    /**
+     * 设置是否启用异常 RPC 服务提供方摘除。
+     *
+     * @param outlierDetectionEnabled 是否启用异常 RPC 服务提供方摘除
+     */
+    public void setOutlierDetectionEnabled(boolean outlierDetectionEnabled) {
+        this.outlierDetectionEnabled = outlierDetectionEnabled;
+    }
+
+    /**
+     * 获得错误率及耗时异常检测周期，单位：毫秒，默认为 10 秒。
+     *
+     * @return 错误率及耗时异常检测周期
+     */
+    public long getOutlierDetectionInterval() {
+        return outlierDetectionInterval;
+    }
+
+    /**
+     * 设置错误率及耗时异常检测周期，单位：毫秒。
+     *
+     * @param outlierDetectionInterval 错误率及耗时异常检测周期，不能小于等于 0
+     * @throws IllegalArgumentException 如果检测周期小于等于 0，将会抛出此异常
+     */
+    public void setOutlierDetectionInterval(long outlierDetectionInterval) throws IllegalArgumentException {
+        if (outlierDetectionInterval <= 0) {
+            throw new IllegalArgumentException("Set `outlierDetectionInterval` failed: `outlierDetectionInterval could not be equal or less than 0`. OutlierDetectionInterval: `"
+                    + outlierDetectionInterval + "`.");
+        }
+        this.outlierDetectionInterval = outlierDetectionInterval;
+    }
+
+    /**
+     * 获得判定 RPC 服务提供方无响应的 phi 阈值，默认为 8，在默认的允许停顿时间下，约等于存在未返回调用时连续 1.8 秒没有收到任何响应。
+     *
+     * @return phi 阈值
+     */
+    public double getPhiThreshold() {
+        return phiThreshold;
+    }
+
+    /**
+     * 设置判定 RPC 服务提供方无响应的 phi 阈值。
+     *
+     * @param phiThreshold phi 阈值，不能小于等于 0
+     * @throws IllegalArgumentException 如果 phi 阈值小于等于 0，将会抛出此异常
+     */
+    public void setPhiThreshold(double phiThreshold) throws IllegalArgumentException {
+        if (phiThreshold <= 0) {
+            throw new IllegalArgumentException("Set `phiThreshold` failed: `phiThreshold could not be equal or less than 0`. PhiThreshold: `"
+                    + phiThreshold + "`.");
+        }
+        this.phiThreshold = phiThreshold;
+    }
+
+    /**
+     * 获得计算 phi 值时允许的响应停顿时间，单位：毫秒，默认为 100 毫秒，该值将叠加至平均响应到达间隔中，
+     * 避免调用量较大、响应到达间隔很短时，短暂的停顿（例如 GC）导致 RPC 服务提供方被误判为无响应。
+     *
+     * @return 允许的响应停顿时间
+     */
+    public long getPhiAcceptablePause() {
+        return phiAcceptablePause;
+    }
+
+    /**
+     * 设置计算 phi 值时允许的响应停顿时间，单位：毫秒。
+     *
+     * @param phiAcceptablePause 允许的响应停顿时间，不能小于等于 0
+     * @throws IllegalArgumentException 如果停顿时间小于等于 0，将会抛出此异常
+     */
+    public void setPhiAcceptablePause(long phiAcceptablePause) throws IllegalArgumentException {
+        if (phiAcceptablePause <= 0) {
+            throw new IllegalArgumentException("Set `phiAcceptablePause` failed: `phiAcceptablePause could not be equal or less than 0`. PhiAcceptablePause: `"
+                    + phiAcceptablePause + "`.");
+        }
+        this.phiAcceptablePause = phiAcceptablePause;
+    }
+
+    /**
+     * 获得检测周期内参与错误率及耗时异常检测的最小调用次数，默认为 20。
+     *
+     * @return 参与检测的最小调用次数
+     */
+    public int getOutlierMinRequestCount() {
+        return outlierMinRequestCount;
+    }
+
+    /**
+     * 设置检测周期内参与错误率及耗时异常检测的最小调用次数。
+     *
+     * @param outlierMinRequestCount 参与检测的最小调用次数，不能小于等于 0
+     * @throws IllegalArgumentException 如果最小调用次数小于等于 0，将会抛出此异常
+     */
+    public void setOutlierMinRequestCount(int outlierMinRequestCount) throws IllegalArgumentException {
+        if (outlierMinRequestCount <= 0) {
+            throw new IllegalArgumentException("Set `outlierMinRequestCount` failed: `outlierMinRequestCount could not be equal or less than 0`. OutlierMinRequestCount: `"
+                    + outlierMinRequestCount + "`.");
+        }
+        this.outlierMinRequestCount = outlierMinRequestCount;
+    }
+
+    /**
+     * 获得判定 RPC 服务提供方异常的错误率阈值，默认为 0.5。
+     *
+     * @return 错误率阈值
+     */
+    public double getOutlierErrorRateThreshold() {
+        return outlierErrorRateThreshold;
+    }
+
+    /**
+     * 设置判定 RPC 服务提供方异常的错误率阈值。
+     *
+     * @param outlierErrorRateThreshold 错误率阈值，取值范围为 (0, 1]
+     * @throws IllegalArgumentException 如果错误率阈值不在取值范围内，将会抛出此异常
+     */
+    public void setOutlierErrorRateThreshold(double outlierErrorRateThreshold) throws IllegalArgumentException {
+        if (outlierErrorRateThreshold <= 0 || outlierErrorRateThreshold > 1) {
+            throw new IllegalArgumentException("Set `outlierErrorRateThreshold` failed: `outlierErrorRateThreshold should be in (0, 1]`. OutlierErrorRateThreshold: `"
+                    + outlierErrorRateThreshold + "`.");
+        }
+        this.outlierErrorRateThreshold = outlierErrorRateThreshold;
+    }
+
+    /**
+     * 获得判定 RPC 服务提供方耗时异常的平均耗时倍数，默认为 3。
+     *
+     * @return 平均耗时倍数
+     */
+    public double getOutlierLatencyMultiplier() {
+        return outlierLatencyMultiplier;
+    }
+
+    /**
+     * 设置判定 RPC 服务提供方耗时异常的平均耗时倍数。
+     *
+     * @param outlierLatencyMultiplier 平均耗时倍数，不能小于 1
+     * @throws IllegalArgumentException 如果倍数小于 1，将会抛出此异常
+     */
+    public void setOutlierLatencyMultiplier(double outlierLatencyMultiplier) throws IllegalArgumentException {
+        if (outlierLatencyMultiplier < 1) {
+            throw new IllegalArgumentException("Set `outlierLatencyMultiplier` failed: `outlierLatencyMultiplier could not be less than 1`. OutlierLatencyMultiplier: `"
+                    + outlierLatencyMultiplier + "`.");
+        }
+        this.outlierLatencyMultiplier = outlierLatencyMultiplier;
+    }
+
+    /**
+     * 获得 RPC 服务提供方首次被摘除的时间，单位：毫秒，默认为 30 秒。
+     *
+     * @return 首次被摘除的时间
+     */
+    public long getOutlierEjectionTime() {
+        return outlierEjectionTime;
+    }
+
+    /**
+     * 设置 RPC 服务提供方首次被摘除的时间，单位：毫秒。
+     *
+     * @param outlierEjectionTime 首次被摘除的时间，不能小于等于 0
+     * @throws IllegalArgumentException 如果摘除时间小于等于 0，将会抛出此异常
+     */
+    public void setOutlierEjectionTime(long outlierEjectionTime) throws IllegalArgumentException {
+        if (outlierEjectionTime <= 0) {
+            throw new IllegalArgumentException("Set `outlierEjectionTime` failed: `outlierEjectionTime could not be equal or less than 0`. OutlierEjectionTime: `"
+                    + outlierEjectionTime + "`.");
+        }
+        this.outlierEjectionTime = outlierEjectionTime;
+    }
+
+    /**
+     * 获得同时被摘除的 RPC 服务提供方数量占总数的最大百分比，默认为 50，即最多摘除一半的 RPC 服务提供方，
+     * 避免 RPC 服务整体异常时，剩余的 RPC 服务提供方承担全部调用量。
+     *
+     * @return 最大摘除百分比
+     */
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    /**
+     * 设置同时被摘除的 RPC 服务提供方数量占总数的最大百分比。
+     *
+     * @param maxEjectionPercent 最大摘除百分比，取值范围为 [0, 100]
+     * @throws IllegalArgumentException 如果百分比不在取值范围内，将会抛出此异常
+     */
+    public void setMaxEjectionPercent(int maxEjectionPercent) throws IllegalArgumentException {
+        if (maxEjectionPercent < 0 || maxEjectionPercent > 100) {
+            throw new IllegalArgumentException("Set `maxEjectionPercent` failed: `maxEjectionPercent should be in [0, 100]`. MaxEjectionPercent: `"
+                    + maxEjectionPercent + "`.");
+        }
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    @Override
+    public String toString() {
+        return "RpcClusterClientConfiguration{" +
+                "loadBalancerSupplier=" + loadBalancerSupplier +
+                ", hostWeightMap=" + hostWeightMap +
+                ", slowStartWindow=" + slowStartWindow +
+                ", slowStartAggression=" + slowStartAggression +
+                ", slowStartMinWeightRatio=" + slowStartMinWeightRatio +
+                ", localZone='" + localZone + '\'' +
+                ", hostZoneMap=" + hostZoneMap +
+                ", zoneMinHealthyRatio=" + zoneMinHealthyRatio +
+                ", zoneSpilloverOutstandingThreshold=" + zoneSpilloverOutstandingThreshold +
+                ", serverLoadExpiry=" + serverLoadExpiry +
+                ", hedgeDelay=" + hedgeDelay +
+                ", hedgePercentile=" + hedgePercentile +
+                ", hedgeBudgetRatio=" + hedgeBudgetRatio +
+                ", adaptiveTimeoutEnabled=" + adaptiveTimeoutEnabled +
+                ", adaptiveTimeoutPercentile=" + adaptiveTimeoutPercentile +
+                ", adaptiveTimeoutMultiplier=" + adaptiveTimeoutMultiplier +
+                ", minAdaptiveTimeout=" + minAdaptiveTimeout +
+                ", maxAdaptiveTimeout=" + maxAdaptiveTimeout +
+                ", outlierDetectionEnabled=" + outlierDetectionEnabled +
+                ", outlierDetectionInterval=" + outlierDetectionInterval +
+                ", phiThreshold=" + phiThreshold +
+                ", phiAcceptablePause=" + phiAcceptablePause +
+                ", outlierMinRequestCount=" + outlierMinRequestCount +
+                ", outlierErrorRateThreshold=" + outlierErrorRateThreshold +
+                ", outlierLatencyMultiplier=" + outlierLatencyMultiplier +
+                ", outlierEjectionTime=" + outlierEjectionTime +
+                ", maxEjectionPercent=" + maxEjectionPercent +
+                "} " + super.toString();
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一致性哈希负载均衡策略（Consistent Hashing with Bounded Loads），根据 RPC 调用的路由 Key 在哈希环上选择 RPC 服务提供方，
+ * 相同路由 Key 的 RPC 调用将尽量被路由至同一个 RPC 服务提供方，RPC 服务提供方增减时，仅有少部分路由 Key 会被重新分配。
+ *
+ * <p>
+ *     路由 Key 默认为使用 {@link HashKey} 注解的方法参数值，也可通过 {@link HashKeyExtractor} 自定义，
+ *     没有路由 Key 的 RPC 调用将使用备用负载均衡策略进行选择（默认为 {@link LeastOutstandingLoadBalancer}）。
+ * </p>
+ *
+ * <p>
+ *     每个 RPC 服务提供方在哈希环上拥有多个虚拟节点，以保证路由 Key 均匀分布。选择时从路由 Key 所在位置沿哈希环顺时针查找，
+ *     跳过本次不允许被选择（例如连接不可用、已被摘除）的 RPC 服务提供方，以及未返回调用数量已达到负载上限的 RPC 服务提供方，
+ *     负载上限为所有 RPC 服务提供方平均未返回调用数量的 {@code loadFactor} 倍，避免热点 Key 压垮单个 RPC 服务提供方。
+ *     为避免每次选择都遍历全部 RPC 服务提供方，负载上限每毫秒最多重新计算一次。
+ * </p>
+ *
+ * <p>
+ *     哈希环在首次选择时创建，RPC 服务提供方数量变化时重新创建。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code ConsistentHashLoadBalancer} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class ConsistentHashLoadBalancer implements LoadBalancer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsistentHashLoadBalancer.class);
+
+    /**
+     * 负载上限重新计算周期，单位：纳秒
+     */
+    private static final long CAPACITY_REFRESH_PERIOD = TimeUnit.NANOSECONDS.convert(1, TimeUnit.MILLISECONDS);
+
+    /**
+     * 每个 RPC 服务提供方在哈希环上的虚拟节点数量
+     */
+    private final int virtualNodeCount;
+
+    /**
+     * 负载上限为平均未返回调用数量的倍数
+     */
+    private final double loadFactor;
+
+    /**
+     * 路由 Key 提取器
+     */
+    private final HashKeyExtractor hashKeyExtractor;
+
+    /**
+     * 没有路由 Key 时使用的备用负载均衡策略
+     */
+    private final LoadBalancer fallbackLoadBalancer;
+
+    /**
+     * 当前使用的哈希环
+     */
+    private volatile Ring ring = null;
+
+    /**
+     * 最近一次计算得出的负载上限
+     */
+    private volatile long capacity = Long.MAX_VALUE;
+
+    /**
+     * 最近一次计算负载上限的时间，由 {@link System#nanoTime()} 获得
+     */
+    private volatile long capacityRefreshTime = System.nanoTime() - CAPACITY_REFRESH_PERIOD;
+
+    /**
+     * 构造一个一致性哈希负载均衡策略，每个 RPC 服务提供方的虚拟节点数量为 160，负载上限为平均未返回调用数量的 1.25 倍，
+     * 路由 Key 为使用 {@link HashKey} 注解的方法参数值，备用负载均衡策略为 {@link LeastOutstandingLoadBalancer}。
+     */
+    public ConsistentHashLoadBalancer() {
+        this(160, 1.25, null, null);
+    }
+
+    /**
+     * 构造一个一致性哈希负载均衡策略，每个 RPC 服务提供方的虚拟节点数量为 160，负载上限为平均未返回调用数量的 1.25 倍，
+     * 备用负载均衡策略为 {@link LeastOutstandingLoadBalancer}。
+     *
+     * @param hashKeyExtractor 路由 Key 提取器，如果为 {@code null}，则使用 {@link HashKey} 注解的方法参数值作为路由 Key
+     */
+    public ConsistentHashLoadBalancer(HashKeyExtractor hashKeyExtractor) {
+        this(160, 1.25, hashKeyExtractor, null);
+    }
+
+    /**
+     * 构造一个一致性哈希负载均衡策略。
+     *
+     * @param virtualNodeCount 每个 RPC 服务提供方在哈希环上的虚拟节点数量，不能小于等于 0
+     * @param loadFactor 负载上限为平均未返回调用数量的倍数，不能小于 1，该值越小，负载越均衡，但路由 Key 被分配至其它 RPC 服务提供方的概率越高
+     * @param hashKeyExtractor 路由 Key 提取器，如果为 {@code null}，则使用 {@link HashKey} 注解的方法参数值作为路由 Key
+     * @param fallbackLoadBalancer 没有路由 Key 时使用的备用负载均衡策略，如果为 {@code null}，则使用 {@link LeastOutstandingLoadBalancer}
+     * @throws IllegalArgumentException 如果虚拟节点数量小于等于 0 或负载上限倍数小于 1，将会抛出此异常
+     */
+    public ConsistentHashLoadBalancer(int virtualNodeCount, double loadFactor, HashKeyExtractor hashKeyExtractor,
+                                      LoadBalancer fallbackLoadBalancer) throws IllegalArgumentException {
+        if (virtualNodeCount <= 0 || loadFactor < 1) {
+            String errorMessage = "Create ConsistentHashLoadBalancer failed: `virtualNodeCount could not be equal or less than 0 and loadFactor could not be less than 1`. VirtualNodeCount: `"
+                    + virtualNodeCount + "`. LoadFactor: `" + loadFactor + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.virtualNodeCount = virtualNodeCount;
+        this.loadFactor = loadFactor;
+        this.hashKeyExtractor = hashKeyExtractor != null ? hashKeyExtractor : new AnnotationHashKeyExtractor();
+        this.fallbackLoadBalancer = fallbackLoadBalancer != null ? fallbackLoadBalancer : new LeastOutstandingLoadBalancer();
+    }
+
+    @Override
+    public int select(LoadBalancerContext context, Method method, Object[] args) {
+        Object key = hashKeyExtractor.getKey(method, args);
+        if (key == null) {
+            return fallbackLoadBalancer.select(context, method, args);
+        }
+        Ring currentRing = getRing(context);
+        if (currentRing.hashes.length == 0) { // 所有主机地址均已被移除
+            return fallbackLoadBalancer.select(context, method, args);
+        }
+        int hostCount = currentRing.hostCount;
+        long currentCapacity = getCapacity(context, hostCount);
+        int position = currentRing.getPosition(hash(key instanceof String ? (String) key : String.valueOf(key)));
+        int homeIndex = currentRing.hostIndices[position];
+        if (isAcceptable(context, homeIndex, currentCapacity)) {
+            return homeIndex;
+        }
+        boolean[] visited = new boolean[hostCount];
+        visited[homeIndex] = true;
+        int visitedCount = 1;
+        int firstSelectableIndex = -1;
+        for (int i = 1; i < currentRing.hostIndices.length && visitedCount < currentRing.memberCount; i++) {
+            int clientIndex = currentRing.hostIndices[(position + i) % currentRing.hostIndices.length];
+            if (!visited[clientIndex]) {
+                visited[clientIndex] = true;
+                visitedCount++;
+                if (context.isSelectable(clientIndex)) {
+                    if (context.getOutstandingCount(clientIndex) < currentCapacity) {
+                        return clientIndex;
+                    } else if (firstSelectableIndex < 0) {
+                        firstSelectableIndex = clientIndex;
+                    }
+                }
+            }
+        }
+        if (firstSelectableIndex >= 0) { // 所有 RPC 服务提供方均已达到负载上限，优先使用路由 Key 所在的 RPC 服务提供方
+            return context.isSelectable(homeIndex) ? homeIndex : firstSelectableIndex;
+        }
+        return context.isSelectable(homeIndex) ? homeIndex : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsistentHashLoadBalancer{" +
+                "virtualNodeCount=" + virtualNodeCount +
+                ", loadFactor=" + loadFactor +
+                ", hashKeyExtractor=" + hashKeyExtractor +
+                ", fallbackLoadBalancer=" + fallbackLoadBalancer +
+                ", capacity=" + capacity +
+                '}';
+    }
+
+    /**
+     * 判断 RPC 服务提供方是否允许被选择且未达到负载上限。
+     *
+     * @param context 负载均衡选择上下文
+     * @param clientIndex RPC 服务提供方索引
+     * @param currentCapacity 未返回调用数量上限
+     * @return 是否允许被选择且未达到负载上限
+     */
+    private boolean isAcceptable(LoadBalancerContext context, int clientIndex, long currentCapacity) {
+        return context.isSelectable(clientIndex) && context.getOutstandingCount(clientIndex) < currentCapacity;
+    }
+
+    /**
+     * 获得当前使用的哈希环，如果 RPC 服务提供方成员发生变更，将会重新创建，仍然存在的 RPC 服务提供方虚拟节点位置保持不变。
+     *
+     * @param context 负载均衡选择上下文
+     * @return 哈希环
+     */
+    private Ring getRing(LoadBalancerContext context) {
+        Ring currentRing = ring;
+        long membershipVersion = context.getMembershipVersion();
+        int hostCount = context.getHostCount();
+        if (currentRing == null || currentRing.membershipVersion != membershipVersion || currentRing.hostCount != hostCount) {
+            String[] hosts = new String[hostCount];
+            for (int i = 0; i < hostCount; i++) {
+                hosts[i] = context.getHost(i);
+            }
+            currentRing = new Ring(membershipVersion, hosts, virtualNodeCount);
+            ring = currentRing;
+        }
+        return currentRing;
+    }
+
+    /**
+     * 获得单个 RPC 服务提供方允许的未返回调用数量上限，每毫秒最多重新计算一次。
+     *
+     * @param context 负载均衡选择上下文
+     * @param hostCount RPC 服务提供方数量
+     * @return 未返回调用数量上限
+     */
+    private long getCapacity(LoadBalancerContext context, int hostCount) {
+        long now = System.nanoTime();
+        if (now - capacityRefreshTime >= CAPACITY_REFRESH_PERIOD) {
+            capacityRefreshTime = now;
+            long totalOutstandingCount = 0;
+            int availableCount = 0;
+            for (int i = 0; i < hostCount; i++) {
+                long outstandingCount = context.getOutstandingCount(i);
+                if (outstandingCount != Long.MAX_VALUE) {
+                    totalOutstandingCount += outstandingCount;
+                    availableCount++;
+                }
+            }
+            capacity = availableCount > 0 ? (long) Math.ceil((totalOutstandingCount + 1) * loadFactor / availableCount) : Long.MAX_VALUE;
+        }
+        return capacity;
+    }
+
+    /**
+     * 计算字符串的 64 位哈希值，使用 FNV-1a 算法，并使用 MurmurHash3 的 fmix64 函数打散，保证哈希值在哈希环上均匀分布。
+     *
+     * @param value 字符串
+     * @return 64 位哈希值
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * 哈希环，由按哈希值排序的虚拟节点组成，创建后不再变更。
+     */
+    private static class Ring {
+
+        /**
+         * 创建哈希环时的成员版本号
+         */
+        private final long membershipVersion;
+
+        /**
+         * RPC 服务提供方索引位置数量，包含已移除主机地址的空闲位置
+         */
+        private final int hostCount;
+
+        /**
+         * 哈希环上的 RPC 服务提供方数量，不包含已移除的主机地址
+         */
+        private final int memberCount;
+
+        /**
+         * 按升序排列的虚拟节点哈希值数组
+         */
+        private final long[] hashes;
+
+        /**
+         * 与虚拟节点哈希值数组位置一一对应的 RPC 服务提供方索引数组
+         */
+        private final int[] hostIndices;
+
+        private Ring(long membershipVersion, String[] hosts, int virtualNodeCount) {
+            this.membershipVersion = membershipVersion;
+            this.hostCount = hosts.length;
+            int memberCount = 0;
+            for (String host : hosts) {
+                if (host != null) {
+                    memberCount++;
+                }
+            }
+            this.memberCount = memberCount;
+            long[][] nodes = new long[memberCount * virtualNodeCount][];
+            int nodeCount = 0;
+            for (int i = 0; i < hosts.length; i++) {
+                if (hosts[i] != null) {
+                    for (int j = 0; j < virtualNodeCount; j++) {
+                        nodes[nodeCount++] = new long[]{hash(hosts[i] + "#" + j), i};
+                    }
+                }
+            }
+            Arrays.sort(nodes, (first, second) -> Long.compare(first[0], second[0]));
+            this.hashes = new long[nodes.length];
+            this.hostIndices = new int[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                hashes[i] = nodes[i][0];
+                hostIndices[i] = (int) nodes[i][1];
+            }
+        }
+
+        /**
+         * 获得哈希值在哈希环上顺时针方向第一个虚拟节点的位置。
+         *
+         * @param hash 哈希值
+         * @return 虚拟节点位置
+         */
+        private int getPosition(long hash) {
+            int position = Arrays.binarySearch(hashes, hash);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            return position < hashes.length ? position : 0;
+        }
+    }
+
+    /**
+     * 使用 {@link HashKey} 注解的方法参数值作为路由 Key 的提取器。
+     */
+    private static class AnnotationHashKeyExtractor implements HashKeyExtractor {
+
+        /**
+         * 路由 Key 参数位置 {@code Map}，Key 为 RPC 调用的方法，Value 为使用 {@link HashKey} 注解的参数位置，如果没有，则为 -1
+         */
+        private final ConcurrentHashMap<Method, Integer> keyParameterIndexMap = new ConcurrentHashMap<>();
+
+        @Override
+        public Object getKey(Method method, Object[] args) {
+            Integer keyParameterIndex = keyParameterIndexMap.get(method);
+            if (keyParameterIndex == null) {
+                keyParameterIndex = keyParameterIndexMap.computeIfAbsent(method, AnnotationHashKeyExtractor::getKeyParameterIndex);
+            }
+            return keyParameterIndex >= 0 && args != null && keyParameterIndex < args.length ? args[keyParameterIndex] : null;
+        }
+
+        private static int getKeyParameterIndex(Method method) {
+            Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            for (int i = 0; i < parameterAnnotations.length; i++) {
+                for (Annotation annotation : parameterAnnotations[i]) {
+                    if (annotation instanceof HashKey) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public String toString() {
+            return "AnnotationHashKeyExtractor{}";
+        }
+    }
+}
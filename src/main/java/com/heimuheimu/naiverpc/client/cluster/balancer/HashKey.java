@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+import java.lang.annotation.*;
+
+/**
+ * 标识该 RPC 服务接口方法参数作为一致性哈希负载均衡使用的路由 Key，通过 {@link ConsistentHashLoadBalancer} 执行该方法时，
+ * 相同参数值的 RPC 调用将尽量被路由至同一个 RPC 服务提供方，提高 RPC 服务提供方本地缓存的命中率。
+ *
+ * <p>
+ *     路由 Key 通过参数值的 {@code toString()} 方法计算哈希值，参数类型的 {@code toString()} 方法结果应稳定且能区分不同的参数值，
+ *     参数值为 {@code null} 时，将使用 {@link ConsistentHashLoadBalancer} 配置的备用负载均衡策略。
+ * </p>
+ *
+ * <p>
+ *     <strong>注意：</strong>同一个方法只允许一个参数使用该注解，如果存在多个，仅第一个生效。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface HashKey {
+}
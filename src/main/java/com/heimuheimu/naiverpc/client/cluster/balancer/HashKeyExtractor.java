@@ -0,0 +1,50 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+import java.lang.reflect.Method;
+
+/**
+ * 一致性哈希负载均衡使用的路由 Key 提取器，用于无法在 RPC 服务接口方法参数上使用 {@link HashKey} 注解的场景，例如路由 Key 为参数对象中的某个字段。
+ *
+ * <p>
+ *     <strong>说明：</strong> {@code HashKeyExtractor} 的实现类必须是线程安全的。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface HashKeyExtractor {
+
+    /**
+     * 获得本次 RPC 调用的路由 Key，如果该调用不需要按 Key 路由，则返回 {@code null}。
+     *
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，可能为 {@code null}
+     * @return 路由 Key，可能返回 {@code null}
+     */
+    Object getKey(Method method, Object[] args);
+}
@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+/**
+ * 最少未返回调用负载均衡策略（Power of Two Choices），每次随机选择两个允许被选择的 RPC 服务提供方，使用未返回调用数量较少的一个，
+ * 比较时使用（未返回调用数量 + 1）乘以负载惩罚系数（{@link LoadBalancerContext#getServerLoadPenalty(int)}）后除以有效权重，
+ * 权重较高或正在预热的 RPC 服务提供方将按权重比例承担未返回调用，上报负载较高的 RPC 服务提供方将被避开。
+ *
+ * <p>
+ *     相比轮询策略，变慢的 RPC 服务提供方由于未返回调用数量较多，将会自动减少新分配的调用量，避免调用在其连接中排队；
+ *     相比每次遍历全部 RPC 服务提供方选择最少的一个，随机选择两个可避免多个调用方在同一时刻集中选择同一个 RPC 服务提供方。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code LeastOutstandingLoadBalancer} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class LeastOutstandingLoadBalancer extends PowerOfTwoChoicesLoadBalancer {
+
+    @Override
+    protected double getLoad(LoadBalancerContext context, int clientIndex) {
+        return (context.getOutstandingCount(clientIndex) + 1.0) * context.getServerLoadPenalty(clientIndex) / context.getWeight(clientIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "LeastOutstandingLoadBalancer{}";
+    }
+}
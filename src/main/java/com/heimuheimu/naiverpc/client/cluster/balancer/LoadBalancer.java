@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+import java.lang.reflect.Method;
+
+/**
+ * {@link com.heimuheimu.naiverpc.client.cluster.RpcClusterClient} 使用的负载均衡策略，为每次 RPC 调用选择执行该调用的 RPC 服务提供方。
+ *
+ * <p>
+ *     每个 {@code RpcClusterClient} 实例独立持有一个 {@code LoadBalancer} 实例，实现类可在实例中保存选择状态（例如轮询计数）。
+ * </p>
+ *
+ * <p>
+ *     <strong>说明：</strong> {@code LoadBalancer} 的实现类必须是线程安全的，{@link #select(LoadBalancerContext, Method, Object[])}
+ *     方法在每次 RPC 调用时执行，不应进行耗时操作。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public interface LoadBalancer {
+
+    /**
+     * 选择本次 RPC 调用使用的 RPC 服务提供方索引，应仅返回 {@link LoadBalancerContext#isSelectable(int)} 为 {@code true} 的索引，
+     * 如果没有允许被选择的 RPC 服务提供方，则返回 -1。
+     *
+     * <p>
+     *     {@code RpcClusterClient} 将再次判断选择结果是否允许被选择，如果不允许且本次仅在本区域内选择，将在全部 RPC 服务提供方中重新选择，
+     *     如果仍没有允许被选择的 RPC 服务提供方，将随机使用一个可用的 RPC 服务提供方。
+     * </p>
+     *
+     * @param context 负载均衡选择上下文，提供 RPC 服务提供方的数量及状态
+     * @param method RPC 调用的方法
+     * @param args RPC 调用使用的参数数组，可能为 {@code null}
+     * @return RPC 服务提供方索引，取值范围为 [0, {@link LoadBalancerContext#getHostCount()})，如果没有允许被选择的 RPC 服务提供方，则返回 -1
+     */
+    int select(LoadBalancerContext context, Method method, Object[] args);
+}
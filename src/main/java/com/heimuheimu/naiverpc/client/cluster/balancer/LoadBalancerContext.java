@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+/**
+ * 负载均衡选择上下文，由 {@link com.heimuheimu.naiverpc.client.cluster.RpcClusterClient} 提供，{@link LoadBalancer} 通过该上下文获取 RPC 服务提供方的状态。
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public interface LoadBalancerContext {
+
+    /**
+     * 获得 RPC 服务提供方索引位置数量，包含已移除主机地址的空闲位置，有效的索引范围为 [0, hostCount)。
+     *
+     * @return RPC 服务提供方索引位置数量
+     */
+    int getHostCount();
+
+    /**
+     * 获得指定索引对应的 RPC 服务提供方主机地址，由主机名和端口组成，":"符号分割，例如：localhost:4182，如果该位置的主机地址已被移除，则返回 {@code null}。
+     *
+     * @param clientIndex RPC 服务提供方索引
+     * @return RPC 服务提供方主机地址，可能返回 {@code null}
+     */
+    String getHost(int clientIndex);
+
+    /**
+     * 获得 RPC 服务提供方成员版本号，每次增加或移除主机地址后增加，负载均衡策略可根据该值判断根据索引建立的缓存（例如哈希环）是否需要重建。
+     *
+     * @return 成员版本号
+     * @see com.heimuheimu.naiverpc.facility.clients.DirectRpcClientList#getMembershipVersion()
+     */
+    long getMembershipVersion();
+
+    /**
+     * 判断指定索引对应的 RPC 服务提供方本次是否允许被选择，以下 RPC 服务提供方不允许被选择：
+     * <ul>
+     *     <li>主机地址已被移除</li>
+     *     <li>连接不可用，正在等待恢复</li>
+     *     <li>被判定为异常，已被临时摘除</li>
+     *     <li>未返回的 RPC 调用数量已达到自适应并发限制器的上限</li>
+     * </ul>
+     *
+     * @param clientIndex RPC 服务提供方索引
+     * @return 是否允许被选择
+     */
+    boolean isSelectable(int clientIndex);
+
+    /**
+     * 获得指定索引对应的 RPC 服务提供方当前未返回的 RPC 调用数量，如果连接不可用，则返回 {@link Long#MAX_VALUE}。
+     *
+     * @param clientIndex RPC 服务提供方索引
+     * @return 未返回的 RPC 调用数量
+     */
+    long getOutstandingCount(int clientIndex);
+
+    /**
+     * 获得指定索引对应的 RPC 服务提供方调用耗时的 Peak-EWMA 估算值，如果尚未执行过 RPC 调用，则返回 0，如果连接不可用，则返回 {@link Long#MAX_VALUE}。
+     *
+     * @param clientIndex RPC 服务提供方索引
+     * @return RPC 调用耗时估算值，单位：纳秒
+     * @see com.heimuheimu.naiverpc.client.DirectRpcClient#getLatencyEstimate()
+     */
+    long getLatencyEstimate(int clientIndex);
+
+    /**
+     * 获得指定索引对应的 RPC 服务提供方当前的有效权重，有效权重为配置权重乘以预热期间的权重比例，
+     * 刚恢复的 RPC 服务提供方有效权重将在预热时间内逐步提升至配置权重。
+     *
+     * @param clientIndex RPC 服务提供方索引
+     * @return 有效权重，大于 0
+     * @see com.heimuheimu.naiverpc.client.cluster.RpcClusterClientConfiguration#getHostWeight(String)
+     * @see com.heimuheimu.naiverpc.client.cluster.RpcClusterClientConfiguration#getSlowStartWindow()
+     */
+    double getWeight(int clientIndex);
+
+    /**
+     * 获得 RPC 服务提供方根据其上报的负载信息计算的负载惩罚系数，负载均衡策略可将负载值乘以该系数（或将权重除以该系数），
+     * 使 RPC 服务调用方在服务提供方拒绝请求前减少对其的调用。如果服务提供方未上报负载信息或信息已过期，则返回 1。
+     *
+     * @param clientIndex RPC 服务提供方索引
+     * @return 负载惩罚系数，不小于 1
+     * @see com.heimuheimu.naiverpc.packet.RpcServerLoad
+     */
+    double getServerLoadPenalty(int clientIndex);
+}
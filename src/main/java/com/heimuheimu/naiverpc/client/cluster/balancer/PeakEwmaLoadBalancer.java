@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+/**
+ * Peak-EWMA 负载均衡策略，每次随机选择两个允许被选择的 RPC 服务提供方，使用负载值较小的一个，
+ * 负载值为 RPC 调用耗时的 Peak-EWMA 估算值、（未返回调用数量 + 1）与负载惩罚系数（{@link LoadBalancerContext#getServerLoadPenalty(int)}）的乘积，
+ * 再除以该 RPC 服务提供方的有效权重。
+ *
+ * <p>
+ *     调用耗时估算值在 RPC 服务提供方变慢时立即提升，恢复后逐步下降，适用于各 RPC 服务提供方耗时受缓存预热、
+ *     同机部署的其它服务干扰等因素影响而波动的场景。相比 {@link LeastOutstandingLoadBalancer}，在调用量较低、
+ *     未返回调用数量无法体现差异时，仍可避开耗时较长的 RPC 服务提供方。
+ * </p>
+ *
+ * <p>
+ *     尚无耗时估算值的 RPC 服务提供方（例如刚恢复的连接），在已有未返回调用时负载值视为极大值，避免首个调用返回前涌入大量调用。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code PeakEwmaLoadBalancer} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class PeakEwmaLoadBalancer extends PowerOfTwoChoicesLoadBalancer {
+
+    /**
+     * 尚无耗时估算值且已有未返回调用的 RPC 服务提供方使用的负载值
+     */
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    @Override
+    protected double getLoad(LoadBalancerContext context, int clientIndex) {
+        long outstandingCount = context.getOutstandingCount(clientIndex);
+        long latencyEstimate = context.getLatencyEstimate(clientIndex);
+        if (latencyEstimate == 0 && outstandingCount > 0) {
+            return PENALTY + outstandingCount;
+        }
+        return (double) latencyEstimate * (outstandingCount + 1) * context.getServerLoadPenalty(clientIndex) / context.getWeight(clientIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "PeakEwmaLoadBalancer{}";
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 随机选择两个（Power of Two Choices）负载均衡策略的抽象实现，每次随机选择两个允许被选择的 RPC 服务提供方，
+ * 使用 {@link #getLoad(LoadBalancerContext, int)} 返回的负载值较小的一个，子类仅需实现负载值的计算方式。
+ *
+ * <p>
+ *     随机选择最多尝试 RPC 服务提供方索引位置数量次，如果允许被选择的 RPC 服务提供方较少（例如仅允许选择本区域的少数 RPC 服务提供方），
+ *     随机选择未能找到两个时，将从随机位置开始依次检查全部 RPC 服务提供方。如果仅有一个允许被选择的 RPC 服务提供方，则直接使用该 RPC 服务提供方，
+ *     如果没有允许被选择的 RPC 服务提供方，则返回 -1。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code PowerOfTwoChoicesLoadBalancer} 的实现类必须是线程安全的。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public abstract class PowerOfTwoChoicesLoadBalancer implements LoadBalancer {
+
+    @Override
+    public int select(LoadBalancerContext context, Method method, Object[] args) {
+        int hostCount = context.getHostCount();
+        if (hostCount == 1) {
+            return context.isSelectable(0) ? 0 : -1;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int firstIndex = -1;
+        int secondIndex = -1;
+        int currentRetryTimes = 0;
+        while (secondIndex < 0 && currentRetryTimes++ < hostCount) {
+            int clientIndex = random.nextInt(hostCount);
+            if (clientIndex != firstIndex && context.isSelectable(clientIndex)) {
+                if (firstIndex < 0) {
+                    firstIndex = clientIndex;
+                } else {
+                    secondIndex = clientIndex;
+                }
+            }
+        }
+        if (secondIndex < 0 && hostCount > 1) { // 随机选择未能找到两个，从随机位置开始依次检查
+            int startIndex = random.nextInt(hostCount);
+            for (int i = 0; i < hostCount && secondIndex < 0; i++) {
+                int clientIndex = (startIndex + i) % hostCount;
+                if (clientIndex != firstIndex && context.isSelectable(clientIndex)) {
+                    if (firstIndex < 0) {
+                        firstIndex = clientIndex;
+                    } else {
+                        secondIndex = clientIndex;
+                    }
+                }
+            }
+        }
+        if (secondIndex < 0) {
+            return firstIndex;
+        }
+        return getLoad(context, secondIndex) < getLoad(context, firstIndex) ? secondIndex : firstIndex;
+    }
+
+    /**
+     * 获得 RPC 服务提供方的负载值，负载值越小，越优先被选择，该方法仅对允许被选择的 RPC 服务提供方调用。
+     *
+     * @param context 负载均衡选择上下文
+     * @param clientIndex RPC 服务提供方索引
+     * @return 负载值
+     */
+    protected abstract double getLoad(LoadBalancerContext context, int clientIndex);
+}
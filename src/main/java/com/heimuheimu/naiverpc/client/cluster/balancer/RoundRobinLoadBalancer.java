@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 轮询（Round-Robin）负载均衡策略，依次选择每个 RPC 服务提供方，跳过本次不允许被选择的 RPC 服务提供方，不考虑 RPC 服务提供方的权重。
+ * 如果没有允许被选择的 RPC 服务提供方，则返回 -1。
+ *
+ * <p><strong>说明：</strong>{@code RoundRobinLoadBalancer} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RoundRobinLoadBalancer implements LoadBalancer {
+
+    /**
+     * 记录已选择 RPC 服务提供方的次数
+     */
+    private final AtomicLong count = new AtomicLong(0);
+
+    @Override
+    public int select(LoadBalancerContext context, Method method, Object[] args) {
+        int hostCount = context.getHostCount();
+        int currentRetryTimes = 0;
+        while (currentRetryTimes++ < hostCount) {
+            int clientIndex = (int) (Math.abs(count.incrementAndGet()) % hostCount);
+            if (context.isSelectable(clientIndex)) {
+                return clientIndex;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "RoundRobinLoadBalancer{" +
+                "count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.cluster.balancer;
+
+import com.heimuheimu.naiverpc.facility.timer.RpcClientTimerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 加权轮询（Weighted Round-Robin）负载均衡策略，按 RPC 服务提供方的有效权重比例分配调用量。
+ *
+ * <p>
+ *     根据各 RPC 服务提供方的有效权重预先生成一个轮询周期的选择序列，每个 RPC 服务提供方在序列中出现的次数与其有效权重成正比，
+ *     且按间隔均匀分布，各 RPC 服务提供方的起始相位按黄金分割比例错开。例如权重为 5、1、1 的三个 RPC 服务提供方，选择顺序为 a、b、a、a、a、c、a，
+ *     调用在一个周期内均匀分散，而不会连续集中在权重较高的 RPC 服务提供方。该序列与 nginx 的平滑加权轮询（Smooth Weighted Round-Robin）
+ *     分布效果相近，但选择顺序不同。
+ *     刚恢复的 RPC 服务提供方有效权重在预热期间逐步提升，调用量随之平滑增加，选择过程不依赖随机数。
+ *     有效权重还将除以 {@link LoadBalancerContext#getServerLoadPenalty(int)}，上报负载较高的 RPC 服务提供方分配的调用量随之减少。
+ * </p>
+ *
+ * <p>
+ *     选择序列在成员变更后，或距上次生成超过 {@link #SCHEDULE_REBUILD_PERIOD} 纳秒后，提交至 {@link RpcClientTimerFactory#getExecutor()}
+ *     中重新生成，同一时刻最多仅有一个生成任务，调用线程不执行生成操作，生成完成前继续使用旧的选择序列。每次选择仅原子递增一次游标，不加锁，仅对选中的 RPC 服务提供方判断是否允许被选择，
+ *     不允许被选择时继续使用序列中的下一个位置，如果连续多个位置均不允许被选择，将依次检查全部 RPC 服务提供方，
+ *     没有允许被选择的 RPC 服务提供方时返回 -1。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code WeightedRoundRobinLoadBalancer} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class WeightedRoundRobinLoadBalancer implements LoadBalancer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WeightedRoundRobinLoadBalancer.class);
+
+    /**
+     * 有效权重最高的 RPC 服务提供方在一个选择周期中出现的次数，其它 RPC 服务提供方按权重比例计算，最少出现 1 次
+     */
+    private static final int WEIGHT_SCALE = 100;
+
+    /**
+     * 黄金分割比例的小数部分，用于错开各 RPC 服务提供方在选择序列中的相位
+     */
+    private static final double GOLDEN_RATIO_CONJUGATE = 0.6180339887498949;
+
+    /**
+     * 选择序列重新生成周期，单位：纳秒，与有效权重的重新计算周期保持一致
+     */
+    private static final long SCHEDULE_REBUILD_PERIOD = TimeUnit.NANOSECONDS.convert(100, TimeUnit.MILLISECONDS);
+
+    /**
+     * 当前使用的选择序列，可能为 {@code null}
+     */
+    private volatile Schedule schedule = null;
+
+    /**
+     * 是否有线程正在生成选择序列
+     */
+    private final AtomicBoolean isRebuilding = new AtomicBoolean(false);
+
+    /**
+     * 记录已选择 RPC 服务提供方的次数，作为选择序列的游标
+     */
+    private final AtomicLong count = new AtomicLong(0);
+
+    @Override
+    public int select(LoadBalancerContext context, Method method, Object[] args) {
+        int hostCount = context.getHostCount();
+        if (hostCount == 1) {
+            return context.isSelectable(0) ? 0 : -1;
+        }
+        Schedule currentSchedule = getSchedule(context);
+        int[] sequence = currentSchedule.sequence;
+        if (sequence.length > 0) {
+            int maxAttempts = Math.min(sequence.length, hostCount);
+            for (int i = 0; i < maxAttempts; i++) {
+                int clientIndex = sequence[(int) ((count.getAndIncrement() & Long.MAX_VALUE) % sequence.length)];
+                if (clientIndex < hostCount && context.isSelectable(clientIndex)) {
+                    return clientIndex;
+                }
+            }
+        }
+        //选择序列中连续的位置均不允许被选择（例如仅允许选择本区域的少数 RPC 服务提供方），依次检查全部 RPC 服务提供方
+        long start = count.getAndIncrement() & Long.MAX_VALUE;
+        for (int i = 0; i < hostCount; i++) {
+            int clientIndex = (int) ((start + i) % hostCount);
+            if (context.isSelectable(clientIndex)) {
+                return clientIndex;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "WeightedRoundRobinLoadBalancer{" +
+                "schedule=" + schedule +
+                ", count=" + count +
+                '}';
+    }
+
+    /**
+     * 获得当前可用的选择序列，如果选择序列需要重新生成，且没有正在执行的生成任务，将提交一个生成任务至 {@link RpcClientTimerFactory#getExecutor()}，
+     * 本次仍返回旧的选择序列。仅在首次选择时于当前线程中生成。
+     *
+     * @param context 负载均衡上下文
+     * @return 选择序列，不会为 {@code null}
+     */
+    private Schedule getSchedule(LoadBalancerContext context) {
+        Schedule currentSchedule = schedule;
+        if (currentSchedule == null) {
+            currentSchedule = buildSchedule(context);
+            schedule = currentSchedule;
+        } else if ((currentSchedule.membershipVersion != context.getMembershipVersion()
+                || System.nanoTime() - currentSchedule.createdTime >= SCHEDULE_REBUILD_PERIOD)
+                && isRebuilding.compareAndSet(false, true)) {
+            try {
+                RpcClientTimerFactory.getExecutor().execute(() -> rebuildSchedule(context));
+            } catch (RejectedExecutionException e) { //should not happen, just for bug detection
+                isRebuilding.set(false);
+                LOG.error("Submit WeightedRoundRobinLoadBalancer schedule rebuild task failed.", e);
+            }
+        }
+        return currentSchedule;
+    }
+
+    /**
+     * 重新生成选择序列，该方法在 {@link RpcClientTimerFactory#getExecutor()} 的线程中执行。
+     *
+     * @param context 负载均衡上下文
+     */
+    private void rebuildSchedule(LoadBalancerContext context) {
+        try {
+            schedule = buildSchedule(context);
+        } catch (Exception e) { //should not happen, just for bug detection
+            LOG.error("Rebuild WeightedRoundRobinLoadBalancer schedule failed.", e);
+        } finally {
+            isRebuilding.set(false);
+        }
+    }
+
+    /**
+     * 根据当前的有效权重生成一个轮询周期的选择序列，已被移除的 RPC 服务提供方不会出现在序列中。
+     *
+     * <p>每个 RPC 服务提供方的第 k 次出现位置为 (k + 相位) / 出现次数，按位置排序后即可获得均匀分布的选择序列，
+     * 相位按索引位置以黄金分割比例错开，避免出现次数相同的 RPC 服务提供方连续出现。</p>
+     *
+     * @param context 负载均衡上下文
+     * @return 选择序列
+     */
+    private static Schedule buildSchedule(LoadBalancerContext context) {
+        long membershipVersion = context.getMembershipVersion();
+        int hostCount = context.getHostCount();
+        double[] weights = new double[hostCount];
+        double maxWeight = 0;
+        for (int i = 0; i < hostCount; i++) {
+            if (context.getHost(i) != null) {
+                weights[i] = context.getWeight(i) / context.getServerLoadPenalty(i);
+                maxWeight = Math.max(maxWeight, weights[i]);
+            }
+        }
+        int[] slotCounts = new int[hostCount];
+        int length = 0;
+        for (int i = 0; i < hostCount; i++) {
+            if (weights[i] > 0) {
+                slotCounts[i] = (int) Math.max(1, Math.round(weights[i] / maxWeight * WEIGHT_SCALE));
+                length += slotCounts[i];
+            }
+        }
+        //高 32 位保存出现位置（按 [0, 1) 映射至整数），低 32 位保存索引位置，排序后即为选择序列
+        long[] entries = new long[length];
+        int entryIndex = 0;
+        for (int i = 0; i < hostCount; i++) {
+            double phase = ((i + 1) * GOLDEN_RATIO_CONJUGATE) % 1;
+            for (int k = 0; k < slotCounts[i]; k++) {
+                long position = (long) ((k + phase) / slotCounts[i] * Integer.MAX_VALUE);
+                entries[entryIndex++] = (position << 32) | i;
+            }
+        }
+        Arrays.sort(entries);
+        int[] sequence = new int[length];
+        for (int i = 0; i < length; i++) {
+            sequence[i] = (int) entries[i];
+        }
+        return new Schedule(sequence, membershipVersion, System.nanoTime());
+    }
+
+    /**
+     * 一个轮询周期的选择序列，生成后不再变化
+     */
+    private static class Schedule {
+
+        /**
+         * RPC 服务提供方索引位置序列
+         */
+        private final int[] sequence;
+
+        /**
+         * 生成该序列时的成员版本号
+         */
+        private final long membershipVersion;
+
+        /**
+         * 生成该序列的时间，单位：纳秒
+         */
+        private final long createdTime;
+
+        private Schedule(int[] sequence, long membershipVersion, long createdTime) {
+            this.sequence = sequence;
+            this.membershipVersion = membershipVersion;
+            this.createdTime = createdTime;
+        }
+
+        @Override
+        public String toString() {
+            return "Schedule{" +
+                    "length=" + sequence.length +
+                    ", membershipVersion=" + membershipVersion +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * 提供 {@link com.heimuheimu.naiverpc.client.cluster.RpcClusterClient} 使用的负载均衡策略，可通过
+ * {@link com.heimuheimu.naiverpc.client.cluster.RpcClusterClientConfiguration#setLoadBalancerSupplier(java.util.function.Supplier)} 进行配置：
+ * <ul>
+ *     <li>{@link com.heimuheimu.naiverpc.client.cluster.balancer.WeightedRoundRobinLoadBalancer} 加权轮询策略，按有效权重分配调用量，默认使用的负载均衡策略</li>
+ *     <li>{@link com.heimuheimu.naiverpc.client.cluster.balancer.RoundRobinLoadBalancer} 轮询策略，不考虑权重</li>
+ *     <li>{@link com.heimuheimu.naiverpc.client.cluster.balancer.LeastOutstandingLoadBalancer} 随机选择两个 RPC 服务提供方，使用未返回调用数量较少的一个</li>
+ *     <li>{@link com.heimuheimu.naiverpc.client.cluster.balancer.PeakEwmaLoadBalancer} 随机选择两个 RPC 服务提供方，使用调用耗时估算值与未返回调用数量乘积较小的一个</li>
+ *     <li>{@link com.heimuheimu.naiverpc.client.cluster.balancer.ConsistentHashLoadBalancer} 根据 {@link com.heimuheimu.naiverpc.client.cluster.balancer.HashKey} 注解的参数值进行一致性哈希路由，并限制单个 RPC 服务提供方的负载上限</li>
+ * </ul>
+ *
+ * <p>
+ *     RPC 服务提供方在响应中携带的负载信息（{@link com.heimuheimu.naiverpc.packet.RpcServerLoad}）将转换为负载惩罚系数，
+ *     加权轮询、最少未返回调用及 Peak-EWMA 策略会据此减少对负载较高的 RPC 服务提供方的调用，轮询及一致性哈希策略不使用该信息。
+ * </p>
+ *
+ * <p>
+ *     如需自定义负载均衡策略，可实现 {@link com.heimuheimu.naiverpc.client.cluster.balancer.LoadBalancer} 接口，
+ *     随机选择两个并比较负载值的策略可继承 {@link com.heimuheimu.naiverpc.client.cluster.balancer.PowerOfTwoChoicesLoadBalancer}。
+ * </p>
+ *
+ * @author heimuheimu
+ */
+package com.heimuheimu.naiverpc.client.cluster.balancer;
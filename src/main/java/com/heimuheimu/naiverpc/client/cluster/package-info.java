@@ -23,7 +23,7 @@
  */
 
 /**
- * 提供 RPC 服务调用方使用的集群客户端 {@link com.heimuheimu.naiverpc.client.cluster.RpcClusterClient}，RPC 调用请求将根据轮询策略（Round-Robin）进行调度。
+ * 提供 RPC 服务调用方使用的集群客户端 {@link com.heimuheimu.naiverpc.client.cluster.RpcClusterClient}，RPC 调用请求将根据负载均衡策略进行调度，默认使用加权轮询策略。
  *
  * @author heimuheimu
  */
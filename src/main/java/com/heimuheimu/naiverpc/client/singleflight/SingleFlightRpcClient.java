@@ -0,0 +1,221 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.singleflight;
+
+import com.heimuheimu.naiverpc.client.RpcClient;
+import com.heimuheimu.naiverpc.exception.RpcException;
+import com.heimuheimu.naiverpc.exception.TimeoutException;
+import com.heimuheimu.naiverpc.exception.TooBusyException;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientSingleFlightMonitor;
+import com.heimuheimu.naiverpc.util.FutureUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 支持合并调用的 RPC 客户端，对使用 {@link SingleFlight} 注解的方法，并发执行的相同调用将共享同一个 RPC 请求及其执行结果，
+ * 其它方法将直接通过被装饰的 {@link RpcClient} 执行。
+ *
+ * <p>
+ *     方法、参数数组（通过 {@link Arrays#deepEquals(Object[], Object[])} 比较）、超时时间均相同的调用被认为是相同调用，
+ *     参数类型应正确实现 {@code equals()} 及 {@code hashCode()} 方法。调用结束后，后续的相同调用将会发送新的 RPC 请求，
+ *     该客户端不会缓存任何执行结果。
+ * </p>
+ *
+ * <p>
+ *     <strong>注意：</strong>被合并的调用共享同一个执行结果实例，调用方不应修改返回的执行结果。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code SingleFlightRpcClient} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class SingleFlightRpcClient implements RpcClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SingleFlightRpcClient.class);
+
+    /**
+     * 被装饰的 RPC 客户端
+     */
+    private final RpcClient rpcClient;
+
+    /**
+     * 方法是否允许被合并调用 {@code Map}，Key 为 RPC 调用的方法，Value 为是否使用了 {@link SingleFlight} 注解
+     */
+    private final ConcurrentHashMap<Method, Boolean> singleFlightMethodMap = new ConcurrentHashMap<>();
+
+    /**
+     * 正在执行中的调用 {@code Map}，Key 为调用标识，Value 为该调用的执行结果
+     */
+    private final ConcurrentHashMap<CallKey, CompletableFuture<Object>> inFlightCallMap = new ConcurrentHashMap<>();
+
+    /**
+     * RPC 客户端合并调用信息监控器
+     */
+    private final RpcClientSingleFlightMonitor singleFlightMonitor = RpcClientSingleFlightMonitor.getInstance();
+
+    /**
+     * 构造一个支持合并调用的 RPC 客户端。
+     *
+     * @param rpcClient 被装饰的 RPC 客户端，不允许为 {@code null}
+     * @throws IllegalArgumentException 如果 {@code rpcClient} 为 {@code null}，将会抛出此异常
+     */
+    public SingleFlightRpcClient(RpcClient rpcClient) throws IllegalArgumentException {
+        if (rpcClient == null) {
+            LOG.error("Create SingleFlightRpcClient failed: `rpcClient could not be null`.");
+            throw new IllegalArgumentException("Create SingleFlightRpcClient failed: `rpcClient could not be null`.");
+        }
+        this.rpcClient = rpcClient;
+    }
+
+    @Override
+    public Object execute(Method method, Object[] args) throws IllegalStateException, TimeoutException, TooBusyException, RpcException {
+        if (isSingleFlightMethod(method)) {
+            return FutureUtil.get(executeAsync(method, args));
+        } else {
+            return rpcClient.execute(method, args);
+        }
+    }
+
+    @Override
+    public Object execute(Method method, Object[] args, long timeout) throws IllegalStateException, TimeoutException, TooBusyException, RpcException {
+        if (isSingleFlightMethod(method)) {
+            return FutureUtil.get(executeAsync(method, args, timeout));
+        } else {
+            return rpcClient.execute(method, args, timeout);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args) {
+        return executeAsync(method, args, 0);
+    }
+
+    @Override
+    public CompletableFuture<Object> executeAsync(Method method, Object[] args, long timeout) {
+        if (!isSingleFlightMethod(method)) {
+            return timeout > 0 ? rpcClient.executeAsync(method, args, timeout) : rpcClient.executeAsync(method, args);
+        }
+        CallKey callKey = new CallKey(method, args, timeout);
+        CompletableFuture<Object> inFlightFuture = inFlightCallMap.get(callKey);
+        boolean coalesced = true;
+        if (inFlightFuture == null) {
+            CompletableFuture<Object> newFuture = new CompletableFuture<>();
+            inFlightFuture = inFlightCallMap.putIfAbsent(callKey, newFuture);
+            if (inFlightFuture == null) {
+                coalesced = false;
+                inFlightFuture = newFuture;
+                CompletableFuture<Object> clientFuture;
+                try {
+                    clientFuture = timeout > 0 ? rpcClient.executeAsync(method, args, timeout) : rpcClient.executeAsync(method, args);
+                } catch (RuntimeException e) { // RPC 客户端实现同步抛出异常时，同样需要移除该调用并结束共享该调用的所有调用方
+                    LOG.error("Single flight execute failed: `" + e.getMessage() + "`. Method: `" + method + "`. RpcClient: `" + rpcClient + "`.", e);
+                    clientFuture = new CompletableFuture<>();
+                    clientFuture.completeExceptionally(e);
+                }
+                clientFuture.whenComplete((result, exception) -> {
+                    //先移除再结束，保证调用结束后的相同调用会发送新的 RPC 请求
+                    inFlightCallMap.remove(callKey, newFuture);
+                    FutureUtil.complete(newFuture, result, exception);
+                });
+            }
+        }
+        singleFlightMonitor.onCalled(coalesced);
+        //每个调用方获得独立的 CompletableFuture，避免调用方的操作影响其它共享该调用的调用方
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        inFlightFuture.whenComplete((result, exception) -> FutureUtil.complete(future, result, exception));
+        return future;
+    }
+
+    @Override
+    public void close() throws IOException {
+        rpcClient.close();
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlightRpcClient{" +
+                "rpcClient=" + rpcClient +
+                ", inFlightCallCount=" + inFlightCallMap.size() +
+                '}';
+    }
+
+    private boolean isSingleFlightMethod(Method method) {
+        if (method == null) {
+            return false;
+        }
+        Boolean isSingleFlight = singleFlightMethodMap.get(method);
+        if (isSingleFlight == null) {
+            isSingleFlight = method.isAnnotationPresent(SingleFlight.class);
+            singleFlightMethodMap.put(method, isSingleFlight);
+        }
+        return isSingleFlight;
+    }
+
+    /**
+     * 合并调用使用的调用标识。
+     */
+    private static class CallKey {
+
+        private final Method method;
+
+        private final Object[] args;
+
+        private final long timeout;
+
+        private final int hashCode;
+
+        private CallKey(Method method, Object[] args, long timeout) {
+            this.method = method;
+            this.args = args;
+            this.timeout = timeout;
+            this.hashCode = 31 * (31 * method.hashCode() + Arrays.deepHashCode(args)) + Long.hashCode(timeout);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CallKey callKey = (CallKey) o;
+            return hashCode == callKey.hashCode && timeout == callKey.timeout && method.equals(callKey.method)
+                    && Arrays.deepEquals(args, callKey.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.stub;
+
+import java.lang.annotation.*;
+
+/**
+ * 标识该 RPC 服务接口需要在编译期生成客户端调用桩实现类，调用桩实现类由 {@link RpcStubProcessor} 生成，
+ * 与接口位于同一包下，类名为接口名加上 "RpcStub" 后缀（内部接口名中的 "$" 将被替换为 "_"），例如：{@code UserServiceRpcStub}。
+ *
+ * <p>
+ *     调用桩实现类通过常量字段持有接口方法对应的 {@code Method}，直接调用 {@link com.heimuheimu.naiverpc.client.RpcClient} 发起 RPC 调用，
+ *     避免了 JDK 动态代理的 {@code InvocationHandler} 分发开销及代理类生成开销。
+ * </p>
+ *
+ * <p>
+ *     使用方式：在 RPC 服务接口上添加 {@code @RpcStub} 注解，并确保编译时 naiverpc 在 classpath 中，
+ *     {@link com.heimuheimu.naiverpc.client.RpcProxyFactory#build(Class, com.heimuheimu.naiverpc.client.RpcClient)} 将自动使用生成的调用桩。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface RpcStub {
+}
@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.stub;
+
+import com.heimuheimu.naiverpc.client.RpcClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RPC 服务接口客户端调用桩工厂，用于查找并创建由 {@link RpcStubProcessor} 在编译期生成的调用桩实例。
+ *
+ * <p><strong>说明：</strong>{@code RpcStubFactory} 类是线程安全的，可在多个线程中使用。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcStubFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RpcStubFactory.class);
+
+    /**
+     * 调用桩实现类名后缀
+     */
+    static final String STUB_CLASS_NAME_SUFFIX = "RpcStub";
+
+    /**
+     * RPC 服务接口对应的调用桩构造函数 {@code Map}，Key 为 RPC 服务接口 Class，如果该接口没有生成调用桩，Value 为 {@link Optional#empty()}
+     */
+    private static final ConcurrentHashMap<Class<?>, Optional<Constructor<?>>> STUB_CONSTRUCTOR_MAP = new ConcurrentHashMap<>();
+
+    private RpcStubFactory() {
+        //prevent create instance
+    }
+
+    /**
+     * 创建 RPC 服务接口对应的调用桩实例，如果该接口没有生成调用桩，将返回 {@code null}。
+     *
+     * @param clz RPC 服务接口 Class
+     * @param rpcClient RPC 服务调用方使用的客户端
+     * @param <T> RPC 服务类型
+     * @return 调用桩实例，可能为 {@code null}
+     * @throws IllegalStateException 如果调用桩实例创建失败，将抛出此异常
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T build(Class<T> clz, RpcClient rpcClient) throws IllegalStateException {
+        Optional<Constructor<?>> constructor = STUB_CONSTRUCTOR_MAP.computeIfAbsent(clz, RpcStubFactory::findStubConstructor);
+        if (constructor.isPresent()) {
+            try {
+                return (T) constructor.get().newInstance(rpcClient);
+            } catch (Exception e) {
+                LOG.error("Build rpc stub failed: `" + e.getMessage() + "`. Class: `" + clz + "`. RpcClient: `" + rpcClient + "`.", e);
+                throw new IllegalStateException("Build rpc stub failed: `" + e.getMessage() + "`. Class: `" + clz
+                        + "`. RpcClient: `" + rpcClient + "`.", e);
+            }
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * 根据 RPC 服务接口的二进制名称获得对应的调用桩实现类名称，例如：{@code com.demo.UserService} 对应的调用桩实现类名称为
+     * {@code com.demo.UserServiceRpcStub}，{@code com.demo.Outer$UserService} 对应的调用桩实现类名称为 {@code com.demo.Outer_UserServiceRpcStub}。
+     *
+     * @param interfaceBinaryName RPC 服务接口的二进制名称，即 {@link Class#getName()}
+     * @return 调用桩实现类名称
+     */
+    public static String getStubClassName(String interfaceBinaryName) {
+        int packageIndex = interfaceBinaryName.lastIndexOf('.');
+        String packagePrefix = packageIndex >= 0 ? interfaceBinaryName.substring(0, packageIndex + 1) : "";
+        String simpleName = interfaceBinaryName.substring(packageIndex + 1).replace('$', '_');
+        return packagePrefix + simpleName + STUB_CLASS_NAME_SUFFIX;
+    }
+
+    /**
+     * 获得 RPC 服务接口的方法，该方法供生成的调用桩实现类在初始化时使用。
+     *
+     * @param clz 方法所在的 RPC 服务接口 Class
+     * @param name 方法名
+     * @param parameterTypes 方法参数类型数组
+     * @return RPC 服务接口的方法
+     * @throws IllegalStateException 如果方法不存在，将抛出此异常，通常是由于调用桩实现类与 RPC 服务接口版本不一致导致
+     */
+    public static Method getMethod(Class<?> clz, String name, Class<?>... parameterTypes) throws IllegalStateException {
+        try {
+            return clz.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            LOG.error("Get rpc stub method failed: `no such method`. Class: `" + clz + "`. Method name: `" + name + "`.", e);
+            throw new IllegalStateException("Get rpc stub method failed: `no such method`. Class: `" + clz
+                    + "`. Method name: `" + name + "`.", e);
+        }
+    }
+
+    private static Optional<Constructor<?>> findStubConstructor(Class<?> clz) {
+        String stubClassName = getStubClassName(clz.getName());
+        try {
+            Class<?> stubClass = Class.forName(stubClassName, true, clz.getClassLoader());
+            if (clz.isAssignableFrom(stubClass)) {
+                LOG.debug("Rpc stub found: `{}`. Class: `{}`.", stubClassName, clz);
+                return Optional.of(stubClass.getConstructor(RpcClient.class));
+            } else {
+                LOG.warn("Rpc stub is ignored: `stub class does not implement the interface`. Stub class: `{}`. Class: `{}`.",
+                        stubClassName, clz);
+            }
+        } catch (ClassNotFoundException e) {
+            LOG.debug("Rpc stub not found: `{}`. Class: `{}`.", stubClassName, clz);
+        } catch (NoSuchMethodException e) {
+            LOG.warn("Rpc stub is ignored: `no such constructor`. Stub class: `" + stubClassName + "`. Class: `" + clz + "`.", e);
+        } catch (LinkageError e) { //调用桩实现类与 RPC 服务接口版本不一致时，将导致初始化失败
+            LOG.error("Rpc stub is ignored: `" + e.getMessage() + "`. Stub class: `" + stubClassName + "`. Class: `" + clz + "`.", e);
+        }
+        return Optional.empty();
+    }
+}
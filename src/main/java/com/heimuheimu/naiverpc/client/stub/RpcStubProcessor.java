@@ -0,0 +1,242 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.client.stub;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * RPC 服务接口客户端调用桩生成器，为使用 {@link RpcStub} 注解的接口生成调用桩实现类，生成规则如下：
+ * <ul>
+ *     <li>接口中的每个方法（包括继承的方法）对应一个 {@code Method} 常量字段，在调用桩实现类初始化时获取</li>
+ *     <li>如果方法返回类型为 {@link java.util.concurrent.CompletableFuture} 或 {@link java.util.concurrent.CompletionStage}，
+ *     通过 {@link com.heimuheimu.naiverpc.client.RpcClient#executeAsync(java.lang.reflect.Method, Object[])} 发起异步 RPC 调用，
+ *     否则通过 {@link com.heimuheimu.naiverpc.client.RpcClient#execute(java.lang.reflect.Method, Object[])} 发起 RPC 调用</li>
+ *     <li>{@code Object} 中定义的方法不会发起 RPC 调用</li>
+ * </ul>
+ *
+ * <p>
+ *     该生成器通过 {@code META-INF/services/javax.annotation.processing.Processor} 注册，RPC 服务接口所在的项目编译时将自动执行。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+@SupportedAnnotationTypes("com.heimuheimu.naiverpc.client.stub.RpcStub")
+public class RpcStubProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(RpcStub.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Generate rpc stub failed: `@RpcStub could only be used on interface`.", element);
+                continue;
+            }
+            TypeElement interfaceElement = (TypeElement) element;
+            try {
+                generate(interfaceElement);
+            } catch (Exception e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Generate rpc stub failed: `" + e.getMessage() + "`.", element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement interfaceElement) throws IOException {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        String stubClassName = RpcStubFactory.getStubClassName(elements.getBinaryName(interfaceElement).toString());
+        int packageIndex = stubClassName.lastIndexOf('.');
+        String packageName = packageIndex >= 0 ? stubClassName.substring(0, packageIndex) : "";
+        String stubSimpleName = stubClassName.substring(packageIndex + 1);
+        DeclaredType interfaceType = (DeclaredType) interfaceElement.asType();
+        String interfaceName = interfaceElement.getQualifiedName().toString();
+        String typeParameters = buildTypeParameters(interfaceElement.getTypeParameters());
+        String typeArguments = buildTypeArguments(interfaceElement.getTypeParameters());
+
+        StringBuilder fields = new StringBuilder();
+        StringBuilder methods = new StringBuilder();
+        Set<String> signatureSet = new HashSet<>();
+        int methodIndex = 0;
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(interfaceElement))) {
+            if (method.getEnclosingElement().getKind() != ElementKind.INTERFACE
+                    || method.getModifiers().contains(Modifier.STATIC) || method.getModifiers().contains(Modifier.PRIVATE)
+                    || isObjectMethod(method)) {
+                continue;
+            }
+            StringBuilder parameterClasses = new StringBuilder();
+            for (VariableElement parameter : method.getParameters()) {
+                parameterClasses.append(", ").append(types.erasure(parameter.asType())).append(".class");
+            }
+            if (!signatureSet.add(method.getSimpleName() + parameterClasses.toString())) {
+                continue;
+            }
+            String methodField = "METHOD_" + methodIndex++;
+            TypeElement declaringElement = (TypeElement) method.getEnclosingElement();
+            fields.append("    private static final java.lang.reflect.Method ").append(methodField)
+                    .append(" = com.heimuheimu.naiverpc.client.stub.RpcStubFactory.getMethod(")
+                    .append(types.erasure(declaringElement.asType())).append(".class, \"")
+                    .append(method.getSimpleName()).append('"').append(parameterClasses).append(");\n\n");
+
+            ExecutableType methodType = (ExecutableType) types.asMemberOf(interfaceType, method);
+            List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+            TypeMirror returnType = methodType.getReturnType();
+            methods.append("    @Override\n    public ");
+            if (!methodType.getTypeVariables().isEmpty()) {
+                methods.append(buildTypeVariables(methodType.getTypeVariables())).append(' ');
+            }
+            methods.append(returnType).append(' ').append(method.getSimpleName()).append('(');
+            StringBuilder arguments = new StringBuilder();
+            for (int i = 0; i < parameterTypes.size(); i++) {
+                if (i > 0) {
+                    methods.append(", ");
+                    arguments.append(", ");
+                }
+                String parameterType = parameterTypes.get(i).toString();
+                if (method.isVarArgs() && i == parameterTypes.size() - 1 && parameterType.endsWith("[]")) {
+                    parameterType = parameterType.substring(0, parameterType.length() - 2) + "...";
+                }
+                methods.append(parameterType).append(" arg").append(i);
+                arguments.append("arg").append(i);
+            }
+            methods.append(')');
+            List<? extends TypeMirror> thrownTypes = methodType.getThrownTypes();
+            for (int i = 0; i < thrownTypes.size(); i++) {
+                methods.append(i == 0 ? " throws " : ", ").append(thrownTypes.get(i));
+            }
+            String argumentArray = parameterTypes.isEmpty() ? "null" : "new Object[]{" + arguments + "}";
+            methods.append(" {\n        ");
+            if (returnType.getKind() == TypeKind.VOID) {
+                methods.append("rpcClient.execute(").append(methodField).append(", ").append(argumentArray).append(");\n");
+            } else if (isAsyncType(types.erasure(returnType))) {
+                methods.append("return (").append(returnType).append(") (Object) rpcClient.executeAsync(")
+                        .append(methodField).append(", ").append(argumentArray).append(");\n");
+            } else {
+                methods.append("return (").append(returnType).append(") rpcClient.execute(")
+                        .append(methodField).append(", ").append(argumentArray).append(");\n");
+            }
+            methods.append("    }\n\n");
+        }
+
+        JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(stubClassName, interfaceElement);
+        try (Writer writer = sourceFile.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("/**\n * {@link " + interfaceName + "} 的 RPC 客户端调用桩，由 {@link "
+                    + RpcStubProcessor.class.getName() + "} 自动生成，请勿修改。\n */\n");
+            writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"serial\"})\n");
+            writer.write("public final class " + stubSimpleName + typeParameters + " implements "
+                    + interfaceName + typeArguments + " {\n\n");
+            writer.write(fields.toString());
+            writer.write("    private final com.heimuheimu.naiverpc.client.RpcClient rpcClient;\n\n");
+            writer.write("    public " + stubSimpleName + "(com.heimuheimu.naiverpc.client.RpcClient rpcClient) {\n");
+            writer.write("        this.rpcClient = rpcClient;\n    }\n\n");
+            writer.write(methods.toString());
+            writer.write("    @Override\n    public String toString() {\n");
+            writer.write("        return \"" + stubSimpleName + "{\" +\n                \"rpcClient=\" + rpcClient +\n                '}';\n    }\n}\n");
+        }
+    }
+
+    private boolean isObjectMethod(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        int parameterCount = method.getParameters().size();
+        if (parameterCount == 0) {
+            return name.equals("toString") || name.equals("hashCode") || name.equals("getClass")
+                    || name.equals("notify") || name.equals("notifyAll") || name.equals("wait")
+                    || name.equals("clone") || name.equals("finalize");
+        } else if (parameterCount == 1) {
+            return name.equals("equals") && method.getParameters().get(0).asType().toString().equals("java.lang.Object");
+        } else {
+            return false;
+        }
+    }
+
+    private boolean isAsyncType(TypeMirror erasedType) {
+        String typeName = erasedType.toString();
+        return typeName.equals("java.util.concurrent.CompletableFuture") || typeName.equals("java.util.concurrent.CompletionStage");
+    }
+
+    private String buildTypeParameters(List<? extends TypeParameterElement> typeParameters) {
+        List<TypeVariable> typeVariables = new ArrayList<>();
+        for (TypeParameterElement typeParameter : typeParameters) {
+            typeVariables.add((TypeVariable) typeParameter.asType());
+        }
+        return typeVariables.isEmpty() ? "" : buildTypeVariables(typeVariables);
+    }
+
+    private String buildTypeArguments(List<? extends TypeParameterElement> typeParameters) {
+        if (typeParameters.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(", ", "<", ">");
+        for (TypeParameterElement typeParameter : typeParameters) {
+            joiner.add(typeParameter.getSimpleName());
+        }
+        return joiner.toString();
+    }
+
+    private String buildTypeVariables(List<? extends TypeVariable> typeVariables) {
+        StringJoiner joiner = new StringJoiner(", ", "<", ">");
+        for (TypeVariable typeVariable : typeVariables) {
+            StringBuilder declaration = new StringBuilder(typeVariable.toString());
+            TypeParameterElement typeParameter = (TypeParameterElement) typeVariable.asElement();
+            StringJoiner bounds = new StringJoiner(" & ");
+            for (TypeMirror bound : typeParameter.getBounds()) {
+                if (!bound.toString().equals("java.lang.Object")) {
+                    bounds.add(bound.toString());
+                }
+            }
+            if (bounds.length() > 0) {
+                declaration.append(" extends ").append(bounds);
+            }
+            joiner.add(declaration);
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.exception;
+
+/**
+ * RPC 服务调用方本地的自适应并发限制器拒绝执行 RPC 调用时，抛出此异常。该请求未发送至 RPC 服务提供方，可直接选择其它 RPC 服务提供方重试。
+ *
+ * <p>
+ *     该异常为 {@link TooBusyException} 的子类，与 RPC 服务提供方返回的繁忙响应区分：本地拒绝在过载时频率较高，
+ *     处理时不应输出 ERROR 级别日志或调用参数。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class ConcurrencyLimitExceededException extends TooBusyException {
+
+    private static final long serialVersionUID = 4631794170586183211L;
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+
+}
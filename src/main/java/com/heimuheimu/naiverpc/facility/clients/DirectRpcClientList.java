@@ -28,6 +28,7 @@ import com.heimuheimu.naiverpc.client.DirectRpcClient;
 import com.heimuheimu.naiverpc.client.DirectRpcClientListener;
 import com.heimuheimu.naiverpc.constant.BeanStatusEnum;
 import com.heimuheimu.naiverpc.facility.Methods;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientRescueMonitorFactory;
 import com.heimuheimu.naiverpc.net.SocketConfiguration;
 import com.heimuheimu.naiverpc.util.LogBuildUtil;
 import org.slf4j.Logger;
@@ -36,12 +37,57 @@ import org.slf4j.LoggerFactory;
 import java.io.Closeable;
 import java.net.Socket;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * RPC 直连客户端列表，提供客户端自动恢复功能。
  *
+ * <h3>自动恢复</h3>
+ * <blockquote>
+ * 不可用的 RPC 直连客户端由共享的恢复定时器按退避时间调度，到期后在共享的恢复线程池中并行进行重连，恢复线程池的线程数量按需增加，
+ * 每个主机地址独立调度，即使大量主机同时无响应（例如整个机房不可用），单个主机连接阻塞也不会推迟其它主机的恢复。
+ * 恢复失败后的重试等待时间按指数退避增长，并加入随机抖动，恢复时使用较短的 {@code Socket} 连接超时时间，
+ * 相关参数通过 {@link DirectRpcClientListConfiguration} 进行配置。
+ * 可通过 {@link RpcClientRescueMonitorFactory} 获取单个主机地址的恢复信息监控数据，包括从不可用到恢复的耗时。
+ * </blockquote>
+ *
+ * <h3>初始化</h3>
+ * <blockquote>
+ * 构造 {@code DirectRpcClientList} 时，所有主机地址将被并行连接，当可用的客户端数量达到 {@link DirectRpcClientListConfiguration#getBootstrapQuorum()}
+ * 要求的数量、所有主机地址均已尝试连接或超过 {@link DirectRpcClientListConfiguration#getBootstrapTimeout()} 时，构造函数将立即返回，
+ * 尚未完成连接的主机地址将在后台继续连接，连接失败后进入自动恢复流程。
+ * </blockquote>
+ *
+ * <h3>动态成员</h3>
+ * <blockquote>
+ * 可通过 {@link #add(String)}、{@link #remove(String)}、{@link #setHosts(String[])} 在运行期间增加或移除主机地址，无需重建 {@code DirectRpcClientList}。
+ * 每个主机地址占用一个固定的索引位置，被移除的主机地址所在位置将变为空闲位置（{@link #getHost(int)} 返回 {@code null}），
+ * 可被之后增加的主机地址复用，因此已获取的索引位置不会指向其它主机地址，除非已被移除后复用。
+ * 新增的主机地址在后台建立连接，连接成功后视为刚恢复的客户端；被移除的主机地址不再分配新的 RPC 调用，
+ * 其客户端在未返回的调用全部结束或超过 {@link DirectRpcClientListConfiguration#getDrainTimeout()} 后关闭。
+ * 每次成员变更后，{@link #getMembershipVersion()} 都会增加。
+ * </blockquote>
+ *
+ * <h3>确定性子集</h3>
+ * <blockquote>
+ * 当 RPC 服务提供方及调用方数量都很多时，每个调用方连接所有提供方将导致连接数按两者乘积增长，
+ * 可通过 {@link DirectRpcClientListConfiguration#setSubsetSize(int)} 开启确定性子集，每个 {@code DirectRpcClientList}
+ * 仅连接全部主机地址中固定数量的一个子集，连接数量将随调用方数量线性增长。
+ * 子集使用最高随机权重（Rendezvous Hashing）算法选择：根据 {@link DirectRpcClientListConfiguration#getSubsetClientId()} 与每个主机地址计算哈希值，
+ * 取哈希值最大的若干个主机地址，相同的 clientId 及全部主机地址总是得到相同的子集。
+ * 每个主机地址的哈希值不受其它主机地址影响，增加或移除一个主机地址最多替换子集中的一个主机地址，不会导致子集整体变化。
+ * 通过 {@link #add(String)}、{@link #remove(String)}、{@link #setHosts(String[])} 变更的是全部主机地址，变更后将重新计算子集，
+ * 新加入子集的主机地址按增加流程在后台建立连接；被移除的主机地址立即按移除流程等待未返回的调用结束后关闭；
+ * 仍然存在但被挤出子集的主机地址将继续承担调用，每有一个新加入子集的主机地址连接成功，才按移除流程关闭其中一个，避免替换期间可用连接数量减少。
+ * </blockquote>
+ *
  * <h3>连接信息日志 Log4j 配置</h3>
  * <strong>注意：</strong> <code>${log.output.directory}</code> 为占位替换符，请自行定义。
  * <blockquote>
@@ -67,20 +113,90 @@ public class DirectRpcClientList implements Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(DirectRpcClientList.class);
 
+    /**
+     * 检查已移除的 RPC 直连客户端是否还有未返回调用的周期，单位：毫秒
+     */
+    private static final long DRAIN_CHECK_PERIOD = 100;
+
+    /**
+     * 所有 RPC 直连客户端列表共享的恢复定时器，仅负责在退避等待时间到期后将恢复任务提交至 {@link #RESCUE_EXECUTOR}，不执行连接操作，
+     * 空闲线程将在 60 秒后退出
+     */
+    private static final ScheduledThreadPoolExecutor RESCUE_TIMER;
+
+    static {
+        RESCUE_TIMER = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("naiverpc-client-rescue-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        RESCUE_TIMER.setKeepAliveTime(60, TimeUnit.SECONDS);
+        RESCUE_TIMER.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 所有 RPC 直连客户端列表共享的恢复线程池，每个正在重连的主机地址使用一个线程，连接阻塞不会推迟其它主机地址的恢复，空闲线程将在 60 秒后退出
+     */
+    private static final ThreadPoolExecutor RESCUE_EXECUTOR;
+
+    static {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        RESCUE_EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("naiverpc-client-rescue-task-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 所有 RPC 直连客户端列表共享的排空检查定时器，定期检查已被移除的 RPC 直连客户端是否还有未返回的调用，与恢复任务互不影响，
+     * 空闲线程将在 60 秒后退出
+     */
+    private static final ScheduledThreadPoolExecutor DRAIN_TIMER;
+
+    static {
+        DRAIN_TIMER = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("naiverpc-client-drain-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        DRAIN_TIMER.setKeepAliveTime(60, TimeUnit.SECONDS);
+        DRAIN_TIMER.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 所有 RPC 直连客户端列表共享的初始化线程池，每个主机地址使用一个线程并行建立连接，空闲线程将在 60 秒后退出
+     */
+    private static final ThreadPoolExecutor BOOTSTRAP_EXECUTOR;
+
+    static {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        BOOTSTRAP_EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("naiverpc-client-bootstrap-task-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /**
      * RPC 直连客户端列表名称
      */
     private final String name;
 
     /**
-     * 提供 RPC 服务的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182
+     * 全部提供 RPC 服务的主机地址数组，未开启确定性子集时与 {@link #hosts} 中的主机地址一致
      */
-    private final String[] hosts;
+    private volatile String[] candidateHosts;
 
     /**
-     * RPC 服务提供方最后一次从不可用状态中恢复的时间戳列表，该列表顺序、大小与 {@link #hosts} 一致，如果一直保持可用，在列表中的值为 0
+     * 当前连接的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182，已移除主机地址的空闲位置值为 {@code null}，
+     * 数组内容不会被修改，成员变更时将替换为新的数组
      */
-    private final AtomicLongArray rescueTimeArray;
+    private volatile String[] hosts;
 
     /**
      * 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
@@ -117,6 +233,11 @@ public class DirectRpcClientList implements Closeable {
      */
     private final DirectRpcClientListListener listener;
 
+    /**
+     * RPC 直连客户端列表配置信息
+     */
+    private final DirectRpcClientListConfiguration listConfiguration;
+
     /**
      * RPC 直连客户端列表，该列表顺序、大小与 {@link #hosts} 一致
      * <p>
@@ -131,9 +252,30 @@ public class DirectRpcClientList implements Closeable {
     private final Object clientListUpdateLock = new Object();
 
     /**
-     * RPC 直连客户端恢复任务是否运行
+     * RPC 直连客户端恢复状态数组，该数组顺序与 {@link #hosts} 一致，大小不小于 {@link #hosts}，元素字段除 {@link RescueState#rescueTime} 外，
+     * 仅允许在持有 {@link #rescueTaskLock} 时访问，成员变更时将替换为新的数组
+     */
+    private volatile RescueState[] rescueStates;
+
+    /**
+     * 已被移除、正在等待未返回调用结束的 RPC 直连客户端集合
+     */
+    private final Set<DirectRpcClient> drainingClients = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 已被挤出子集、等待替换的主机地址连接成功后再移除的主机地址集合，仅允许在持有 {@link #membershipLock} 时访问
      */
-    private boolean isRescueTaskRunning = false;
+    private final Set<String> replacedHosts = new LinkedHashSet<>();
+
+    /**
+     * 成员版本号，每次增加或移除主机地址后增加
+     */
+    private volatile long membershipVersion = 0;
+
+    /**
+     * 变更全部主机地址及重新计算子集时使用的私有锁
+     */
+    private final Object membershipLock = new Object();
 
     /**
      * RPC 直连客户端恢复任务使用的私有锁
@@ -162,9 +304,30 @@ public class DirectRpcClientList implements Closeable {
     public DirectRpcClientList(String name, String[] hosts, SocketConfiguration configuration, int timeout, int compressionThreshold,
                                int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
                                DirectRpcClientListListener listener) throws IllegalStateException {
+        this(name, hosts, configuration, timeout, compressionThreshold, slowExecutionThreshold, heartbeatPeriod,
+                directRpcClientListener, listener, null);
+    }
+
+    /**
+     * 构造一个 RPC 直连客户端列表，提供客户端自动恢复功能。
+     *
+     * @param name RPC 直连客户端列表名称
+     * @param hosts 提供 RPC 服务的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182
+     * @param configuration 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
+     * @param timeout 创建 {@code DirectRpcClient} 使用的 RPC 调用超时时间，单位：毫秒，不能小于等于 0
+     * @param compressionThreshold 创建 {@code DirectRpcClient} 使用的最小压缩字节数，不能小于等于 0
+     * @param slowExecutionThreshold 创建 {@code DirectRpcClient} 使用的 RPC 调用过慢最小时间，单位：毫秒，不能小于等于 0
+     * @param heartbeatPeriod 创建 {@code DirectRpcClient} 使用的心跳检测时间，单位：秒，如果该值小于等于 0，则不进行检测
+     * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
+     * @param listener RPC 直连客户端列表事件监听器，允许为 {@code null}
+     * @param listConfiguration RPC 直连客户端列表配置信息，如果为 {@code null}，将使用默认配置
+     * @throws IllegalStateException 如果所有 RPC 直连客户端均不可用，将会抛出此异常
+     * @since 1.2
+     */
+    public DirectRpcClientList(String name, String[] hosts, SocketConfiguration configuration, int timeout, int compressionThreshold,
+                               int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
+                               DirectRpcClientListListener listener, DirectRpcClientListConfiguration listConfiguration) throws IllegalStateException {
         this.name = name;
-        this.hosts = hosts;
-        this.rescueTimeArray = new AtomicLongArray(hosts.length);
         this.configuration = configuration;
         this.timeout = timeout;
         this.compressionThreshold = compressionThreshold;
@@ -172,40 +335,395 @@ public class DirectRpcClientList implements Closeable {
         this.heartbeatPeriod = heartbeatPeriod;
         this.directRpcClientListener = directRpcClientListener;
         this.listener = listener;
-        boolean hasAvailableClient = false;
-        boolean isNeedStartRescueTask = false;
-        for (String host : hosts) {
-            boolean isSuccess = createClient(-1, host);
-            if (isSuccess) {
-                hasAvailableClient = true;
-                RPC_CONNECTION_LOG.info("Add `{}` to `{}` is success. Hosts: `{}`.", host, name, hosts); // lgtm [java/print-array]
-                Methods.invokeIfNotNull("DirectRpcClientListListener#onCreated(String host)", getParameterMap(-1, host),
-                        listener, () -> listener.onCreated(name, host));
-            } else {
-                isNeedStartRescueTask = true;
-                RPC_CONNECTION_LOG.error("Add `{}` to `{}` failed. Hosts: `{}`.", host, name, hosts); // lgtm [java/print-array]
-                Methods.invokeIfNotNull("DirectRpcClientListListener#onClosed(String host)", getParameterMap(-1, host),
-                        listener, () -> listener.onClosed(name, host, false));
+        this.listConfiguration = listConfiguration != null ? listConfiguration : new DirectRpcClientListConfiguration();
+        this.candidateHosts = hosts.clone();
+        String[] memberHosts = selectSubset(this.candidateHosts);
+        this.hosts = memberHosts;
+        RescueState[] rescueStates = new RescueState[memberHosts.length];
+        for (int i = 0; i < memberHosts.length; i++) {
+            rescueStates[i] = new RescueState();
+            clientList.add(null);
+            rescueStates[i].isScheduled = true; // 初始化完成前，由初始化任务负责该位置的客户端
+        }
+        this.rescueStates = rescueStates;
+        int quorum = this.listConfiguration.getBootstrapQuorumCount(memberHosts.length);
+        long bootstrapTimeout = this.listConfiguration.getBootstrapTimeout();
+        BootstrapProgress progress = new BootstrapProgress();
+        for (int i = 0; i < memberHosts.length; i++) {
+            int clientIndex = i;
+            BOOTSTRAP_EXECUTOR.execute(() -> bootstrap(clientIndex, progress));
+        }
+        int availableCount;
+        synchronized (progress) {
+            long deadline = bootstrapTimeout > 0 ? System.currentTimeMillis() + bootstrapTimeout : Long.MAX_VALUE;
+            long waitTime;
+            while (progress.availableCount < quorum && progress.finishedCount < memberHosts.length
+                    && (waitTime = deadline - System.currentTimeMillis()) > 0) {
+                try {
+                    progress.wait(Math.min(waitTime, 1000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
+            availableCount = progress.availableCount;
+            RPC_CONNECTION_LOG.info("`{}` bootstrap finished. Available: {}/{}. Quorum: {}. Finished: {}. Hosts: `{}`.", name, availableCount,
+                    memberHosts.length, quorum, progress.finishedCount, memberHosts); // lgtm [java/print-array]
         }
-        if ( !hasAvailableClient ) {
+        if (availableCount == 0) {
+            state = BeanStatusEnum.CLOSED; // 尚未结束的初始化任务在创建成功后将关闭客户端
             LOG.error("There is no available `DirectRpcClient`. `name`:`" + name + "`. hosts:`" + Arrays.toString(hosts) + "`.");
             throw new IllegalStateException("There is no available `DirectRpcClient`. `name`:`" + name + "`. hosts:`" + Arrays.toString(hosts) + "`.");
         }
-        if (isNeedStartRescueTask) {
-            startRescueTask();
-        }
     }
 
     /**
-     * 获得 RPC 地址数组，不会返回 {@code null} 或空数组。
+     * 获得当前的 RPC 地址数组，不包含已被移除的主机地址，不会返回 {@code null}。
      *
      * @return RPC 地址数组
      */
     public String[] getHosts() {
-        String[] copyHosts = new String[hosts.length];
-        System.arraycopy(hosts, 0, copyHosts, 0, hosts.length);
-        return copyHosts;
+        String[] currentHosts = hosts;
+        List<String> hostList = new ArrayList<>(currentHosts.length);
+        for (String host : currentHosts) {
+            if (host != null) {
+                hostList.add(host);
+            }
+        }
+        return hostList.toArray(new String[0]);
+    }
+
+    /**
+     * 获得索引位置数量，包含已移除主机地址的空闲位置，有效的索引位置范围为 [0, size)。
+     *
+     * @return 索引位置数量
+     * @since 1.2
+     */
+    public int size() {
+        return hosts.length;
+    }
+
+    /**
+     * 获得指定索引位置对应的主机地址，如果该位置的主机地址已被移除，则返回 {@code null}。
+     *
+     * @param clientIndex 索引位置
+     * @return 主机地址，可能返回 {@code null}
+     * @throws IndexOutOfBoundsException 如果索引位置越界，将抛出此异常
+     * @since 1.2
+     */
+    public String getHost(int clientIndex) throws IndexOutOfBoundsException {
+        return hosts[clientIndex];
+    }
+
+    /**
+     * 获得创建 {@code DirectRpcClient} 使用的 RPC 调用超时时间，单位：毫秒。
+     *
+     * @return RPC 调用超时时间
+     * @since 1.2
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * 获得成员版本号，每次增加或移除主机地址后增加，可用于判断根据索引位置建立的缓存是否需要重建。
+     *
+     * @return 成员版本号
+     * @since 1.2
+     */
+    public long getMembershipVersion() {
+        return membershipVersion;
+    }
+
+    /**
+     * 获得全部提供 RPC 服务的主机地址数组，开启确定性子集时，仅其中的一个子集会被连接，当前连接的主机地址可通过 {@link #getHosts()} 获得。
+     *
+     * @return 全部提供 RPC 服务的主机地址数组
+     * @since 1.2
+     */
+    public String[] getCandidateHosts() {
+        return candidateHosts.clone();
+    }
+
+    /**
+     * 增加一个提供 RPC 服务的主机地址，该主机地址将在后台建立连接，连接失败后进入自动恢复流程，如果该主机地址已存在，将不会进行任何操作。
+     *
+     * <p>
+     *     如果开启了确定性子集，增加后将重新计算子集，新增的主机地址不一定会被连接。
+     * </p>
+     *
+     * @param host 提供 RPC 服务的主机地址，由主机名和端口组成，":"符号分割，例如：localhost:4182，不允许为 {@code null} 或空
+     * @return 是否增加成功，如果主机地址已存在或 {@code DirectRpcClientList} 已关闭，则返回 {@code false}
+     * @throws IllegalArgumentException 如果主机地址为 {@code null} 或空，将会抛出此异常
+     * @since 1.2
+     */
+    public boolean add(String host) throws IllegalArgumentException {
+        if (host == null || host.isEmpty()) {
+            String errorMessage = LogBuildUtil.buildMethodExecuteFailedLog("DirectRpcClientList#add(String host)",
+                    "host could not be null or empty", getParameterMap(-1, host));
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        synchronized (membershipLock) {
+            String[] currentCandidateHosts = candidateHosts;
+            if (state != BeanStatusEnum.NORMAL || Arrays.asList(currentCandidateHosts).contains(host)) {
+                return false;
+            }
+            String[] newCandidateHosts = Arrays.copyOf(currentCandidateHosts, currentCandidateHosts.length + 1);
+            newCandidateHosts[currentCandidateHosts.length] = host;
+            candidateHosts = newCandidateHosts;
+            applySubset();
+            return true;
+        }
+    }
+
+    /**
+     * 移除一个提供 RPC 服务的主机地址，该主机地址将不再分配新的 RPC 调用，其客户端在未返回的调用全部结束或超过
+     * {@link DirectRpcClientListConfiguration#getDrainTimeout()} 后关闭。
+     *
+     * <p>
+     *     如果开启了确定性子集，移除后将重新计算子集，其它主机地址可能会因此加入或离开子集。
+     * </p>
+     *
+     * @param host 提供 RPC 服务的主机地址
+     * @return 是否移除成功，如果主机地址不存在，则返回 {@code false}
+     * @since 1.2
+     */
+    public boolean remove(String host) {
+        synchronized (membershipLock) {
+            String[] currentCandidateHosts = candidateHosts;
+            if (state != BeanStatusEnum.NORMAL || host == null || !Arrays.asList(currentCandidateHosts).contains(host)) {
+                return false;
+            }
+            List<String> newCandidateHostList = new ArrayList<>(Arrays.asList(currentCandidateHosts));
+            newCandidateHostList.removeAll(Collections.singleton(host));
+            candidateHosts = newCandidateHostList.toArray(new String[0]);
+            applySubset();
+            return true;
+        }
+    }
+
+    /**
+     * 将提供 RPC 服务的主机地址设置为指定的主机地址数组，不在数组中的主机地址将被移除，新出现的主机地址将被增加。
+     *
+     * <p>
+     *     如果开启了确定性子集，仅会根据新的主机地址数组重新计算一次子集。
+     * </p>
+     *
+     * @param hosts 提供 RPC 服务的主机地址数组，不允许为 {@code null} 或空数组
+     * @throws IllegalArgumentException 如果主机地址数组为 {@code null} 或空数组，或包含 {@code null} 或空的主机地址，将会抛出此异常
+     * @see #add(String)
+     * @see #remove(String)
+     * @since 1.2
+     */
+    public void setHosts(String[] hosts) throws IllegalArgumentException {
+        if (hosts == null || hosts.length == 0 || Arrays.stream(hosts).anyMatch(host -> host == null || host.isEmpty())) {
+            String errorMessage = LogBuildUtil.buildMethodExecuteFailedLog("DirectRpcClientList#setHosts(String[] hosts)",
+                    "hosts could not be null or empty, and should not contain null or empty host", getParameterMap(-1, null));
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        synchronized (membershipLock) {
+            if (state == BeanStatusEnum.NORMAL) {
+                candidateHosts = new LinkedHashSet<>(Arrays.asList(hosts)).toArray(new String[0]);
+                applySubset();
+            }
+        }
+    }
+
+    /**
+     * 根据全部主机地址重新计算需要连接的主机地址，先增加新需要连接的主机地址，再移除已不存在的主机地址，
+     * 被挤出子集的主机地址在替换的主机地址连接成功后移除，调用方需持有 {@link #membershipLock}。
+     */
+    private void applySubset() {
+        String[] memberHosts = selectSubset(candidateHosts);
+        Set<String> memberHostSet = new HashSet<>(Arrays.asList(memberHosts));
+        Set<String> candidateHostSet = new HashSet<>(Arrays.asList(candidateHosts));
+        for (String host : memberHosts) {
+            addMember(host);
+        }
+        replacedHosts.removeIf(host -> memberHostSet.contains(host) || !candidateHostSet.contains(host));
+        for (String host : hosts) {
+            if (host != null && !memberHostSet.contains(host)) {
+                if (candidateHostSet.contains(host)) {
+                    replacedHosts.add(host);
+                } else {
+                    removeMember(host);
+                }
+            }
+        }
+        removeReplacedHosts(memberHosts);
+    }
+
+    /**
+     * 移除已被挤出子集的主机地址，子集中尚未连接成功的主机地址有多少个，就保留多少个仍可用的被挤出主机地址，不可用的被挤出主机地址将直接移除，
+     * 调用方需持有 {@link #membershipLock}。
+     *
+     * @param memberHosts 子集中的主机地址数组
+     */
+    private void removeReplacedHosts(String[] memberHosts) {
+        if (replacedHosts.isEmpty()) {
+            return;
+        }
+        int keepCount = 0;
+        for (String host : memberHosts) {
+            if (!isActiveMember(host)) {
+                keepCount++;
+            }
+        }
+        Iterator<String> iterator = replacedHosts.iterator();
+        while (iterator.hasNext()) {
+            String host = iterator.next();
+            if (keepCount > 0 && isActiveMember(host)) {
+                keepCount--;
+            } else {
+                iterator.remove();
+                removeMember(host);
+            }
+        }
+    }
+
+    /**
+     * 判断指定主机地址对应的 RPC 直连客户端是否已连接成功并且可用。
+     *
+     * @param host 主机地址
+     * @return 是否已连接成功并且可用
+     */
+    private boolean isActiveMember(String host) {
+        int clientIndex = Arrays.asList(hosts).indexOf(host);
+        if (clientIndex < 0) {
+            return false;
+        }
+        DirectRpcClient client = clientList.get(clientIndex);
+        return client != null && client.isActive();
+    }
+
+    /**
+     * 主机地址连接成功或恢复后执行该方法，如果存在等待替换的主机地址，将根据子集中已连接成功的主机地址数量移除其中的一部分。
+     */
+    private void onMemberActivated() {
+        synchronized (membershipLock) {
+            if (state == BeanStatusEnum.NORMAL && !replacedHosts.isEmpty()) {
+                removeReplacedHosts(selectSubset(candidateHosts));
+            }
+        }
+    }
+
+    /**
+     * 根据全部主机地址计算需要连接的主机地址，如果未开启确定性子集，或全部主机地址数量不超过子集大小，则连接全部主机地址。
+     *
+     * <p>开启确定性子集时，使用最高随机权重（Rendezvous Hashing）算法，选择调用方 ID 与主机地址的哈希值最大的若干个主机地址。</p>
+     *
+     * @param candidateHosts 全部主机地址数组
+     * @return 需要连接的主机地址数组
+     */
+    private String[] selectSubset(String[] candidateHosts) {
+        int subsetSize = listConfiguration.getSubsetSize();
+        if (subsetSize <= 0) {
+            return candidateHosts.clone();
+        }
+        List<String> sortedHostList = new ArrayList<>(new TreeSet<>(Arrays.asList(candidateHosts))); // 排序后保证哈希值相同时各调用方的选择一致
+        if (sortedHostList.size() <= subsetSize) {
+            return sortedHostList.toArray(new String[0]);
+        }
+        String clientId = String.valueOf(listConfiguration.getSubsetClientId());
+        Map<String, Long> scoreMap = new HashMap<>();
+        for (String host : sortedHostList) {
+            scoreMap.put(host, hash(clientId + "#" + host));
+        }
+        sortedHostList.sort((host1, host2) -> Long.compare(scoreMap.get(host2), scoreMap.get(host1)));
+        return sortedHostList.subList(0, subsetSize).toArray(new String[0]);
+    }
+
+    /**
+     * 计算字符串的 64 位哈希值，使用 FNV-1a 算法，并使用 MurmurHash3 的 fmix64 函数打散。
+     *
+     * @param value 字符串
+     * @return 64 位哈希值
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * 增加一个需要连接的主机地址，该主机地址将在后台建立连接，连接失败后进入自动恢复流程，如果该主机地址已存在，将不会进行任何操作。
+     *
+     * @param host 需要连接的主机地址
+     * @return 是否增加成功，如果主机地址已存在或 {@code DirectRpcClientList} 已关闭，则返回 {@code false}
+     */
+    private boolean addMember(String host) {
+        int clientIndex = -1;
+        synchronized (clientListUpdateLock) {
+            String[] currentHosts = hosts;
+            if (state != BeanStatusEnum.NORMAL || Arrays.asList(currentHosts).contains(host)) {
+                return false;
+            }
+            synchronized (rescueTaskLock) {
+                for (int i = 0; i < currentHosts.length; i++) {
+                    if (currentHosts[i] == null && !rescueStates[i].isScheduled) { // 复用没有恢复任务的空闲位置
+                        clientIndex = i;
+                        break;
+                    }
+                }
+                if (clientIndex < 0) {
+                    clientIndex = currentHosts.length;
+                    clientList.add(null);
+                    rescueStates = Arrays.copyOf(rescueStates, currentHosts.length + 1);
+                }
+                RescueState rescueState = new RescueState();
+                rescueState.isAdded = true;
+                rescueStates[clientIndex] = rescueState;
+            }
+            String[] newHosts = Arrays.copyOf(currentHosts, Math.max(currentHosts.length, clientIndex + 1));
+            newHosts[clientIndex] = host;
+            hosts = newHosts;
+            membershipVersion++;
+        }
+        RPC_CONNECTION_LOG.info("`{}` is added to `{}`. Index: {}. Hosts: `{}`.", host, name, clientIndex, getHosts()); // lgtm [java/print-array]
+        scheduleRescue(clientIndex, true);
+        return true;
+    }
+
+    /**
+     * 移除一个正在连接的主机地址，该主机地址将不再分配新的 RPC 调用，其客户端在未返回的调用全部结束或超过
+     * {@link DirectRpcClientListConfiguration#getDrainTimeout()} 后关闭。
+     *
+     * @param host 正在连接的主机地址
+     * @return 是否移除成功，如果主机地址不存在，则返回 {@code false}
+     */
+    private boolean removeMember(String host) {
+        int clientIndex;
+        DirectRpcClient client;
+        synchronized (clientListUpdateLock) {
+            String[] currentHosts = hosts;
+            clientIndex = host != null ? Arrays.asList(currentHosts).indexOf(host) : -1;
+            if (state != BeanStatusEnum.NORMAL || clientIndex < 0) {
+                return false;
+            }
+            String[] newHosts = currentHosts.clone();
+            newHosts[clientIndex] = null;
+            hosts = newHosts;
+            client = clientList.set(clientIndex, null);
+            membershipVersion++;
+        }
+        RPC_CONNECTION_LOG.info("`{}` is removed from `{}`. Index: {}. Hosts: `{}`.", host, name, clientIndex, getHosts()); // lgtm [java/print-array]
+        Methods.invokeIfNotNull("DirectRpcClientListListener#onRemoved(String host)", getParameterMap(clientIndex, host),
+                listener, () -> listener.onRemoved(name, host));
+        if (client != null) {
+            drainingClients.add(client);
+            drain(client, System.currentTimeMillis() + listConfiguration.getDrainTimeout());
+        }
+        return true;
     }
 
     /**
@@ -238,12 +756,17 @@ public class DirectRpcClientList implements Closeable {
         if (state != BeanStatusEnum.NORMAL) { // 当前 RPC 直连客户端列表已关闭，直接返回 null
             return null;
         }
+        String[] hosts = this.hosts;
         if (clientIndex >= hosts.length) {
             String errorMessage = LogBuildUtil.buildMethodExecuteFailedLog("DirectRpcClientList#get(int clientIndex)",
                     "client index out of range", getParameterMap(clientIndex, null));
             LOG.error(errorMessage);
             throw new IndexOutOfBoundsException(errorMessage);
         }
+        if (hosts[clientIndex] == null) {
+            LOG.debug("Host has been removed. `clientIndex`:`{}`.", clientIndex);
+            return null;
+        }
         DirectRpcClient rpcClient = clientList.get(clientIndex);
         if (rpcClient != null) {
             if (!rpcClient.isActive()) {
@@ -255,11 +778,31 @@ public class DirectRpcClientList implements Closeable {
             }
         } else {
             LOG.debug("DirectRpcClient is null. `clientIndex`:`{}`. `host`:`{}`.", clientIndex, hosts[clientIndex]);
-            startRescueTask(); // make sure rescue task is running
+            scheduleRescue(clientIndex, false); // make sure rescue task is scheduled
         }
         return rpcClient;
     }
 
+    /**
+     * 获得指定索引对应的可用 RPC 直连客户端，如果该位置的主机地址已被移除或客户端不可用，则返回 {@code null}。
+     *
+     * <p>
+     *     与 {@link #get(int)} 不同，该方法不会输出日志，也不会移除不可用的客户端或安排恢复任务，适用于负载均衡选择等频繁执行的场景，
+     *     不可用的客户端在关闭时已通过关闭回调从列表中移除并进入恢复流程。
+     * </p>
+     *
+     * @param clientIndex 索引位置
+     * @return 索引对应的可用 RPC 直连客户端，可能返回 {@code null}
+     * @since 1.2
+     */
+    public DirectRpcClient getActive(int clientIndex) {
+        if (state != BeanStatusEnum.NORMAL || clientIndex < 0 || clientIndex >= clientList.size()) {
+            return null;
+        }
+        DirectRpcClient rpcClient = clientList.get(clientIndex);
+        return rpcClient != null && rpcClient.isActive() ? rpcClient : null;
+    }
+
     /**
      * 随机获取一个可用客户端返回，如果当前没有可用客户端，将返回 {@code null}。
      *
@@ -270,6 +813,7 @@ public class DirectRpcClientList implements Closeable {
         if (state != BeanStatusEnum.NORMAL) { // 当前 RPC 直连客户端列表已关闭，直接返回 null
             return null;
         }
+        String[] hosts = this.hosts;
         List<DirectRpcClient> availableClientList = new ArrayList<>();
         for (int i = 0; i < hosts.length; i++) {
             boolean isExcludeIndex = false;
@@ -308,13 +852,14 @@ public class DirectRpcClientList implements Closeable {
      * @throws IndexOutOfBoundsException 如果索引位置越界，将抛出此异常
      */
     public long getRescueTime(int clientIndex) throws IndexOutOfBoundsException {
-        if (clientIndex >= hosts.length) {
+        RescueState[] rescueStates = this.rescueStates;
+        if (clientIndex >= rescueStates.length) {
             String errorMessage = LogBuildUtil.buildMethodExecuteFailedLog("DirectRpcClientList#getRescueTime(int clientIndex)",
                     "client index out of range", getParameterMap(clientIndex, null));
             LOG.error(errorMessage);
             throw new IndexOutOfBoundsException(errorMessage);
         }
-        return rescueTimeArray.get(clientIndex);
+        return rescueStates[clientIndex].rescueTime;
     }
 
     @Override
@@ -326,7 +871,11 @@ public class DirectRpcClientList implements Closeable {
                     client.close();
                 }
             }
-            RPC_CONNECTION_LOG.info("DirectRpcClientList has been closed. `name`:`{}`. `hosts`:`{}`.", name, hosts); // lgtm [java/print-array]
+            for (DirectRpcClient client : drainingClients) {
+                client.close();
+            }
+            drainingClients.clear();
+            RPC_CONNECTION_LOG.info("DirectRpcClientList has been closed. `name`:`{}`. `hosts`:`{}`.", name, getHosts()); // lgtm [java/print-array]
         }
     }
 
@@ -334,6 +883,7 @@ public class DirectRpcClientList implements Closeable {
     public String toString() {
         return "DirectRpcClientList{" +
                 "name='" + name + '\'' +
+                ", candidateHosts=" + Arrays.toString(candidateHosts) +
                 ", hosts=" + Arrays.toString(hosts) +
                 ", configuration=" + configuration +
                 ", timeout=" + timeout +
@@ -341,41 +891,41 @@ public class DirectRpcClientList implements Closeable {
                 ", slowExecutionThreshold=" + slowExecutionThreshold +
                 ", heartbeatPeriod=" + heartbeatPeriod +
                 ", listener=" + listener +
+                ", listConfiguration=" + listConfiguration +
                 ", clientList=" + clientList +
-                ", isRescueTaskRunning=" + isRescueTaskRunning +
+                ", membershipVersion=" + membershipVersion +
                 ", state=" + state +
                 '}';
     }
 
     /**
-     * 根据提供 RPC 服务的主机地址，创建一个 RPC 直连客户端，并将其放入列表指定索引位置，如果索引位置小于 0，则在列表中新增该直连客户端。
+     * 根据提供 RPC 服务的主机地址，创建一个 RPC 直连客户端，并将其放入列表指定索引位置。
      *
-     * @param clientIndex 索引位置，如果为 -1，则在列表中添加
+     * @param clientIndex 索引位置
      * @param host 提供 RPC 服务的主机地址
+     * @param socketConfiguration 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
      * @return 是否创建成功
      */
-    private boolean createClient(int clientIndex, String host) {
+    private boolean createClient(int clientIndex, String host, SocketConfiguration socketConfiguration) {
         DirectRpcClient client = null;
         try {
-            client = new DirectRpcClient(host, configuration, timeout, compressionThreshold, slowExecutionThreshold,
-                    heartbeatPeriod, directRpcClientListener, this::removeUnavailableClient);
+            client = new DirectRpcClient(host, socketConfiguration, timeout, compressionThreshold, slowExecutionThreshold,
+                    heartbeatPeriod, directRpcClientListener, this::removeUnavailableClient, listConfiguration.createConcurrencyLimiter());
         } catch (Exception ignored) {}
 
         synchronized (clientListUpdateLock) {
-            if (client != null && client.isActive()) {
-                if (clientIndex < 0) {
-                    clientList.add(client);
-                } else {
-                    clientList.set(clientIndex, client);
+            if (host == null || !host.equals(hosts[clientIndex])) { // 连接过程中该主机地址已被移除
+                if (client != null) {
+                    client.close();
                 }
+                LOG.debug("Host has been removed, close created `DirectRpcClient`." + LogBuildUtil.build(getParameterMap(clientIndex, host)));
+                return false;
+            } else if (client != null && client.isActive()) {
+                clientList.set(clientIndex, client);
                 LOG.debug("Add `DirectRpcClient` to client list success." + LogBuildUtil.build(getParameterMap(clientIndex, host)));
                 return true;
             } else {
-                if (clientIndex < 0) {
-                    clientList.add(null);
-                } else {
-                    clientList.set(clientIndex, null);
-                }
+                clientList.set(clientIndex, null);
                 LOG.error("Add `DirectRpcClient` to client list failed." + LogBuildUtil.build(getParameterMap(clientIndex, host)));
                 return false;
             }
@@ -403,12 +953,35 @@ public class DirectRpcClientList implements Closeable {
             }
         }
         if (isRemoveSuccess && (state != BeanStatusEnum.CLOSED)) {
-            startRescueTask();
+            scheduleRescue(clientIndex, true);
             Methods.invokeIfNotNull("DirectRpcClientListListener#onClosed(String host)", getParameterMap(clientIndex, unavailableClient.getHost()),
                     listener, () -> listener.onClosed(name, unavailableClient.getHost(), unavailableClient.isOffline()));
         }
     }
 
+    /**
+     * 等待已被移除的 RPC 直连客户端中未返回的调用全部结束后将其关闭，如果超过截止时间，将直接关闭，该方法在排空检查定时器中定期执行。
+     *
+     * @param client 已被移除的 RPC 直连客户端
+     * @param deadline 截止时间戳
+     */
+    private void drain(DirectRpcClient client, long deadline) {
+        long pendingCallCount = client.getPendingCallCount();
+        if (pendingCallCount == 0 || !client.isActive() || state != BeanStatusEnum.NORMAL || System.currentTimeMillis() >= deadline) {
+            drainingClients.remove(client);
+            client.close();
+            RPC_CONNECTION_LOG.info("`{}` has been drained from `{}`. Abandoned calls: {}.", client.getHost(), name, pendingCallCount);
+        } else {
+            try {
+                DRAIN_TIMER.schedule(() -> drain(client, deadline), DRAIN_CHECK_PERIOD, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) { //should not happen, just for bug detection
+                drainingClients.remove(client);
+                client.close();
+                LOG.error("Schedule DirectRpcClient drain task failed." + LogBuildUtil.build(getParameterMap(-1, client.getHost())), e);
+            }
+        }
+    }
+
     /**
      * 获得方法运行的通用参数 {@code Map}，用于日志打印。
      *
@@ -430,67 +1003,253 @@ public class DirectRpcClientList implements Closeable {
     }
 
     /**
-     * 启动 RPC 直连客户端重连恢复任务。
+     * 初始化指定索引位置的 RPC 直连客户端，如果初始化失败，将进入自动恢复流程，该方法在初始化线程池中执行。
+     *
+     * @param clientIndex 索引位置
+     * @param progress 初始化进度
+     */
+    private void bootstrap(int clientIndex, BootstrapProgress progress) {
+        String host = hosts[clientIndex];
+        boolean isSuccess = false;
+        try {
+            isSuccess = createClient(clientIndex, host, configuration);
+            if (isSuccess) {
+                RPC_CONNECTION_LOG.info("Add `{}` to `{}` is success. Hosts: `{}`.", host, name, hosts); // lgtm [java/print-array]
+                Methods.invokeIfNotNull("DirectRpcClientListListener#onCreated(String host)", getParameterMap(clientIndex, host),
+                        listener, () -> listener.onCreated(name, host));
+            } else {
+                RPC_CONNECTION_LOG.error("Add `{}` to `{}` failed. Hosts: `{}`.", host, name, hosts); // lgtm [java/print-array]
+                Methods.invokeIfNotNull("DirectRpcClientListListener#onClosed(String host)", getParameterMap(clientIndex, host),
+                        listener, () -> listener.onClosed(name, host, false));
+            }
+        } catch (Exception e) { //should not happen, just for bug detection
+            LOG.error("DirectRpcClient bootstrap task executed failed." + LogBuildUtil.build(getParameterMap(clientIndex, host)), e);
+        } finally {
+            synchronized (rescueTaskLock) {
+                rescueStates[clientIndex].isScheduled = false;
+            }
+            if (state != BeanStatusEnum.NORMAL) {
+                closeIfPresent(clientIndex);
+            } else if (!isSuccess) {
+                scheduleRescue(clientIndex, false);
+            }
+            synchronized (progress) {
+                progress.finishedCount++;
+                if (isSuccess) {
+                    progress.availableCount++;
+                }
+                progress.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 当 RPC 直连客户端列表已关闭时，关闭指定索引位置在关闭后才创建成功的 RPC 直连客户端。
+     *
+     * @param clientIndex 索引位置
+     */
+    private void closeIfPresent(int clientIndex) {
+        DirectRpcClient client = clientList.get(clientIndex);
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    /**
+     * 获得恢复时创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，连接超时时间将被限制为
+     * {@link DirectRpcClientListConfiguration#getRescueConnectionTimeout()}，避免无响应的主机长时间占用恢复线程。
+     *
+     * @return 恢复时使用的 {@link Socket} 配置信息
+     */
+    private SocketConfiguration getRescueSocketConfiguration() {
+        int rescueConnectionTimeout = listConfiguration.getRescueConnectionTimeout();
+        SocketConfiguration socketConfiguration = configuration != null ? configuration : SocketConfiguration.DEFAULT;
+        int connectionTimeout = socketConfiguration.getConnectionTimeout();
+        if (rescueConnectionTimeout > 0 && (connectionTimeout <= 0 || connectionTimeout > rescueConnectionTimeout)) {
+            socketConfiguration = socketConfiguration.copy();
+            socketConfiguration.setConnectionTimeout(rescueConnectionTimeout);
+        }
+        return socketConfiguration;
+    }
+
+    /**
+     * 为指定索引位置的 RPC 直连客户端安排恢复任务，如果该位置已有等待执行的恢复任务，将不会进行任何操作。
+     *
+     * @param clientIndex 索引位置
+     * @param isImmediate 是否立即执行，如果为 {@code false}，将在首次重试等待时间后执行
      */
-    private void startRescueTask() {
+    private void scheduleRescue(int clientIndex, boolean isImmediate) {
         if (state == BeanStatusEnum.NORMAL) {
+            long delay;
             synchronized (rescueTaskLock) {
-                if (!isRescueTaskRunning) {
-                    Thread rescueThread = new Thread() {
-
-                        @Override
-                        public void run() {
-                            long startTime = System.currentTimeMillis();
-                            RPC_CONNECTION_LOG.info("DirectRpcClient rescue task has been started. `name`:`{}`. `hosts`:`{}`.", name, Arrays.toString(hosts));
-                            try {
-                                while (state == BeanStatusEnum.NORMAL) {
-                                    boolean hasRecovered = true;
-                                    for (int i = 0; i < hosts.length; i++) {
-                                        if (clientList.get(i) == null) {
-                                            String host = hosts[i];
-                                            boolean isSuccess = createClient(i, host);
-                                            if (isSuccess) {
-                                                rescueTimeArray.set(i, System.currentTimeMillis());
-                                                RPC_CONNECTION_LOG.info("Rescue `{}` success. `name`:`{}`. `hosts`:`{}`.", host, name, Arrays.toString(hosts));
-                                                Methods.invokeIfNotNull("DirectRpcClientListListener#onRecovered(String host)", getParameterMap(i, host),
-                                                        listener, () -> listener.onRecovered(name, host));
-                                            } else {
-                                                hasRecovered = false;
-                                                RPC_CONNECTION_LOG.warn("Rescue `{}` failed. `name`:`{}`. `hosts`:`{}`.", host, name, Arrays.toString(hosts));
-                                            }
-                                        }
-                                    }
-                                    if (hasRecovered) {
-                                        break;
-                                    } else {
-                                        Thread.sleep(5000); //还有未恢复的客户端，等待 5s 后继续尝试
-                                    }
-                                }
-                                RPC_CONNECTION_LOG.info("DirectRpcClient rescue task has been finished. Cost: {}ms. `name`:`{}`. `hosts`:`{}`.",
-                                        System.currentTimeMillis() - startTime, name, hosts); // lgtm [java/print-array]
-                            } catch (Exception e) { //should not happen, just for bug detection
-                                RPC_CONNECTION_LOG.info("DirectRpcClient rescue task execute failed: `{}`. Cost: {}ms. `name`:`{}`. `hosts`:`{}`.",
-                                        e.getMessage(), System.currentTimeMillis() - startTime, name, hosts); // lgtm [java/print-array]
-                                LOG.error("DirectRpcClient rescue task executed failed. `name`:`" + name + "`. `hosts`:`"
-                                        + Arrays.toString(hosts) + "`.", e);
-                            } finally {
-                                rescueOver();
-                            }
-                        }
-
-                        private void rescueOver() {
-                            synchronized (rescueTaskLock) {
-                                isRescueTaskRunning = false;
-                            }
-                        }
-
-                    };
-                    rescueThread.setName("naiverpc-client-rescue-task");
-                    rescueThread.setDaemon(true);
-                    rescueThread.start();
-                    isRescueTaskRunning = true;
+                RescueState rescueState = rescueStates[clientIndex];
+                if (rescueState.isScheduled) {
+                    return;
                 }
+                rescueState.isScheduled = true;
+                if (rescueState.unavailableTime == 0) {
+                    rescueState.unavailableTime = System.currentTimeMillis();
+                }
+                delay = isImmediate ? 0 : listConfiguration.getRescueBackoff(rescueState.failedTimes + 1);
+            }
+            schedule(clientIndex, delay);
+        }
+    }
+
+    /**
+     * 在等待时间后将恢复任务提交至恢复线程池，等待时间为 0 时立即提交。
+     *
+     * @param clientIndex 索引位置
+     * @param delay 等待时间，单位：毫秒
+     */
+    private void schedule(int clientIndex, long delay) {
+        try {
+            if (delay > 0) {
+                RESCUE_TIMER.schedule(() -> submitRescue(clientIndex), delay, TimeUnit.MILLISECONDS);
+            } else {
+                RESCUE_EXECUTOR.execute(() -> rescue(clientIndex));
             }
+            LOG.debug("DirectRpcClient rescue task has been scheduled. Delay: {}ms.{}", delay, LogBuildUtil.build(getParameterMap(clientIndex, hosts[clientIndex])));
+        } catch (RejectedExecutionException e) { //should not happen, just for bug detection
+            synchronized (rescueTaskLock) {
+                rescueStates[clientIndex].isScheduled = false;
+            }
+            LOG.error("Schedule DirectRpcClient rescue task failed." + LogBuildUtil.build(getParameterMap(clientIndex, hosts[clientIndex])), e);
         }
     }
+
+    /**
+     * 将恢复任务提交至恢复线程池，该方法在恢复定时器中执行。
+     *
+     * @param clientIndex 索引位置
+     */
+    private void submitRescue(int clientIndex) {
+        try {
+            RESCUE_EXECUTOR.execute(() -> rescue(clientIndex));
+        } catch (RejectedExecutionException e) { //should not happen, just for bug detection
+            synchronized (rescueTaskLock) {
+                rescueStates[clientIndex].isScheduled = false;
+            }
+            LOG.error("Submit DirectRpcClient rescue task failed." + LogBuildUtil.build(getParameterMap(clientIndex, hosts[clientIndex])), e);
+        }
+    }
+
+    /**
+     * 尝试恢复指定索引位置的 RPC 直连客户端，如果恢复失败，将在退避等待时间后再次尝试，该方法在恢复线程池中执行。
+     *
+     * @param clientIndex 索引位置
+     */
+    private void rescue(int clientIndex) {
+        String host = hosts[clientIndex];
+        boolean isRecovered = false;
+        try {
+            if (state != BeanStatusEnum.NORMAL || host == null) {
+                return;
+            }
+            if (clientList.get(clientIndex) != null) {
+                isRecovered = true;
+                return;
+            }
+            long unavailableTime;
+            boolean isAdded;
+            synchronized (rescueTaskLock) {
+                unavailableTime = rescueStates[clientIndex].unavailableTime;
+                isAdded = rescueStates[clientIndex].isAdded;
+            }
+            if (createClient(clientIndex, host, getRescueSocketConfiguration())) {
+                isRecovered = true;
+                if (state != BeanStatusEnum.NORMAL) {
+                    closeIfPresent(clientIndex);
+                    return;
+                }
+                rescueStates[clientIndex].rescueTime = System.currentTimeMillis();
+                if (isAdded) { // 运行期间增加的主机地址首次连接成功，作为刚恢复的客户端进行预热
+                    RPC_CONNECTION_LOG.info("Add `{}` to `{}` is success. Hosts: `{}`.", host, name, getHosts()); // lgtm [java/print-array]
+                    Methods.invokeIfNotNull("DirectRpcClientListListener#onCreated(String host)", getParameterMap(clientIndex, host),
+                            listener, () -> listener.onCreated(name, host));
+                    onMemberActivated();
+                    return;
+                }
+                long recoverTime = System.currentTimeMillis() - unavailableTime;
+                RpcClientRescueMonitorFactory.get(host).onRecovered(recoverTime);
+                RPC_CONNECTION_LOG.info("Rescue `{}` success. Recover time: {}ms. `name`:`{}`. `hosts`:`{}`.", host, recoverTime, name,
+                        hosts); // lgtm [java/print-array]
+                Methods.invokeIfNotNull("DirectRpcClientListListener#onRecovered(String host)", getParameterMap(clientIndex, host),
+                        listener, () -> listener.onRecovered(name, host));
+                onMemberActivated();
+            } else {
+                RpcClientRescueMonitorFactory.get(host).onFailed();
+                RPC_CONNECTION_LOG.warn("Rescue `{}` failed. `name`:`{}`. `hosts`:`{}`.", host, name, hosts); // lgtm [java/print-array]
+            }
+        } catch (Exception e) { //should not happen, just for bug detection
+            LOG.error("DirectRpcClient rescue task executed failed." + LogBuildUtil.build(getParameterMap(clientIndex, host)), e);
+        } finally {
+            long nextDelay = -1;
+            synchronized (rescueTaskLock) {
+                RescueState rescueState = rescueStates[clientIndex];
+                if (isRecovered || state != BeanStatusEnum.NORMAL || host == null || !host.equals(hosts[clientIndex])) {
+                    rescueState.isScheduled = false;
+                    rescueState.failedTimes = 0;
+                    rescueState.unavailableTime = 0;
+                    if (isRecovered) {
+                        rescueState.isAdded = false;
+                    }
+                } else {
+                    rescueState.failedTimes++;
+                    nextDelay = listConfiguration.getRescueBackoff(rescueState.failedTimes);
+                }
+            }
+            if (nextDelay >= 0) {
+                LOG.debug("DirectRpcClient will be rescued after {}ms.{}", nextDelay, LogBuildUtil.build(getParameterMap(clientIndex, host)));
+                schedule(clientIndex, nextDelay);
+            }
+        }
+    }
+
+    /**
+     * RPC 直连客户端列表初始化进度，仅允许在持有该对象锁时访问。
+     */
+    private static class BootstrapProgress {
+
+        /**
+         * 已创建成功的客户端数量
+         */
+        private int availableCount = 0;
+
+        /**
+         * 已结束初始化的客户端数量
+         */
+        private int finishedCount = 0;
+    }
+
+    /**
+     * 单个 RPC 直连客户端的恢复状态。
+     */
+    private static class RescueState {
+
+        /**
+         * 是否已有等待执行的恢复任务
+         */
+        private boolean isScheduled = false;
+
+        /**
+         * 已连续恢复失败的次数
+         */
+        private int failedTimes = 0;
+
+        /**
+         * 客户端变为不可用的时间戳，如果客户端可用，该值为 0
+         */
+        private long unavailableTime = 0;
+
+        /**
+         * 是否为运行期间增加、尚未连接成功的主机地址
+         */
+        private boolean isAdded = false;
+
+        /**
+         * 客户端最后一次从不可用状态中恢复（或运行期间增加后首次连接成功）的时间戳，如果一直保持可用，该值为 0，允许在不持有锁时读取
+         */
+        private volatile long rescueTime = 0;
+    }
 }
@@ -0,0 +1,461 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.facility.clients;
+
+import com.heimuheimu.naiverpc.facility.limit.AdaptiveConcurrencyLimiter;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * {@link DirectRpcClientList} 配置信息。
+ *
+ * <p><strong>说明：</strong>{@code DirectRpcClientListConfiguration} 类是线程安全的，可在多个线程中使用同一个实例，
+ * 配置变更将在下一次使用时生效。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class DirectRpcClientListConfiguration {
+
+    /**
+     * 默认的确定性子集调用方 ID，根据当前进程名称（通常为 pid@hostname）计算
+     */
+    private static final long DEFAULT_SUBSET_CLIENT_ID = ManagementFactory.getRuntimeMXBean().getName().hashCode() & 0x7fffffffL;
+
+    /**
+     * 恢复失败后首次重试的等待时间，单位：毫秒
+     */
+    private volatile long rescueInitialBackoff = 500;
+
+    /**
+     * 恢复失败后重试的最大等待时间，单位：毫秒
+     */
+    private volatile long rescueMaxBackoff = 10000;
+
+    /**
+     * 每次恢复失败后，重试等待时间的增长倍数
+     */
+    private volatile double rescueBackoffMultiplier = 2;
+
+    /**
+     * 重试等待时间的随机抖动比例，取值范围为 [0, 1]
+     */
+    private volatile double rescueBackoffJitter = 0.2;
+
+    /**
+     * 恢复时建立 {@code Socket} 连接的超时时间，单位：毫秒，如果该值小于等于 0，则使用创建 {@code DirectRpcClient} 的 {@code Socket} 配置
+     */
+    private volatile int rescueConnectionTimeout = 3000;
+
+    /**
+     * 初始化时需要创建成功的客户端数量占主机地址数量的比例，取值范围为 (0, 1]
+     */
+    private volatile double bootstrapQuorum = 1;
+
+    /**
+     * 初始化最长等待时间，单位：毫秒，如果该值小于等于 0，则等待所有主机地址均已尝试连接
+     */
+    private volatile long bootstrapTimeout = 0;
+
+    /**
+     * 主机地址被移除后，等待其未返回调用结束的最长时间，单位：毫秒
+     */
+    private volatile long drainTimeout = 10000;
+
+    /**
+     * 确定性子集大小，如果该值小于等于 0，则连接全部主机地址
+     */
+    private volatile int subsetSize = 0;
+
+    /**
+     * 确定性子集使用的调用方 ID，如果该值小于 0，则使用 {@link #DEFAULT_SUBSET_CLIENT_ID}
+     */
+    private volatile long subsetClientId = -1;
+
+    /**
+     * 是否使用自适应并发限制器限制每个 RPC 直连客户端未返回的调用数量
+     */
+    private volatile boolean concurrencyLimitEnabled = false;
+
+    /**
+     * 自适应并发限制器的初始上限
+     */
+    private volatile int initialConcurrencyLimit = 20;
+
+    /**
+     * 自适应并发限制器上限的最大值
+     */
+    private volatile int maxConcurrencyLimit = 1000;
+
+    /**
+     * 获得恢复失败后首次重试的等待时间，单位：毫秒，默认为 500 毫秒。
+     *
+     * @return 恢复失败后首次重试的等待时间
+     */
+    public long getRescueInitialBackoff() {
+        return rescueInitialBackoff;
+    }
+
+    /**
+     * 设置恢复失败后首次重试的等待时间，单位：毫秒。
+     *
+     * @param rescueInitialBackoff 恢复失败后首次重试的等待时间，不能小于等于 0
+     * @throws IllegalArgumentException 如果等待时间小于等于 0，将会抛出此异常
+     */
+    public void setRescueInitialBackoff(long rescueInitialBackoff) throws IllegalArgumentException {
+        if (rescueInitialBackoff <= 0) {
+            throw new IllegalArgumentException("Set `rescueInitialBackoff` failed: `rescueInitialBackoff could not be equal or less than 0`. RescueInitialBackoff: `"
+                    + rescueInitialBackoff + "`.");
+        }
+        this.rescueInitialBackoff = rescueInitialBackoff;
+    }
+
+    /**
+     * 获得恢复失败后重试的最大等待时间，单位：毫秒，默认为 10 秒。
+     *
+     * @return 恢复失败后重试的最大等待时间
+     */
+    public long getRescueMaxBackoff() {
+        return rescueMaxBackoff;
+    }
+
+    /**
+     * 设置恢复失败后重试的最大等待时间，单位：毫秒。
+     *
+     * @param rescueMaxBackoff 恢复失败后重试的最大等待时间，不能小于等于 0
+     * @throws IllegalArgumentException 如果等待时间小于等于 0，将会抛出此异常
+     */
+    public void setRescueMaxBackoff(long rescueMaxBackoff) throws IllegalArgumentException {
+        if (rescueMaxBackoff <= 0) {
+            throw new IllegalArgumentException("Set `rescueMaxBackoff` failed: `rescueMaxBackoff could not be equal or less than 0`. RescueMaxBackoff: `"
+                    + rescueMaxBackoff + "`.");
+        }
+        this.rescueMaxBackoff = rescueMaxBackoff;
+    }
+
+    /**
+     * 获得每次恢复失败后，重试等待时间的增长倍数，默认为 2。
+     *
+     * @return 重试等待时间的增长倍数
+     */
+    public double getRescueBackoffMultiplier() {
+        return rescueBackoffMultiplier;
+    }
+
+    /**
+     * 设置每次恢复失败后，重试等待时间的增长倍数。
+     *
+     * @param rescueBackoffMultiplier 重试等待时间的增长倍数，不能小于 1
+     * @throws IllegalArgumentException 如果增长倍数小于 1，将会抛出此异常
+     */
+    public void setRescueBackoffMultiplier(double rescueBackoffMultiplier) throws IllegalArgumentException {
+        if (rescueBackoffMultiplier < 1) {
+            throw new IllegalArgumentException("Set `rescueBackoffMultiplier` failed: `rescueBackoffMultiplier could not be less than 1`. RescueBackoffMultiplier: `"
+                    + rescueBackoffMultiplier + "`.");
+        }
+        this.rescueBackoffMultiplier = rescueBackoffMultiplier;
+    }
+
+    /**
+     * 获得重试等待时间的随机抖动比例，默认为 0.2，即实际等待时间在计算值的 80% ~ 120% 之间随机，避免多个客户端同时重连。
+     *
+     * @return 重试等待时间的随机抖动比例
+     */
+    public double getRescueBackoffJitter() {
+        return rescueBackoffJitter;
+    }
+
+    /**
+     * 设置重试等待时间的随机抖动比例。
+     *
+     * @param rescueBackoffJitter 重试等待时间的随机抖动比例，取值范围为 [0, 1]
+     * @throws IllegalArgumentException 如果抖动比例不在取值范围内，将会抛出此异常
+     */
+    public void setRescueBackoffJitter(double rescueBackoffJitter) throws IllegalArgumentException {
+        if (rescueBackoffJitter < 0 || rescueBackoffJitter > 1) {
+            throw new IllegalArgumentException("Set `rescueBackoffJitter` failed: `rescueBackoffJitter should be in [0, 1]`. RescueBackoffJitter: `"
+                    + rescueBackoffJitter + "`.");
+        }
+        this.rescueBackoffJitter = rescueBackoffJitter;
+    }
+
+    /**
+     * 获得恢复时建立 {@code Socket} 连接的超时时间，单位：毫秒，如果该值小于等于 0，则使用创建 {@code DirectRpcClient} 的 {@code Socket} 配置，
+     * 默认为 3 秒。
+     *
+     * @return 恢复时建立 {@code Socket} 连接的超时时间
+     */
+    public int getRescueConnectionTimeout() {
+        return rescueConnectionTimeout;
+    }
+
+    /**
+     * 设置恢复时建立 {@code Socket} 连接的超时时间，单位：毫秒，如果该值小于等于 0，则使用创建 {@code DirectRpcClient} 的 {@code Socket} 配置。
+     *
+     * @param rescueConnectionTimeout 恢复时建立 {@code Socket} 连接的超时时间
+     */
+    public void setRescueConnectionTimeout(int rescueConnectionTimeout) {
+        this.rescueConnectionTimeout = rescueConnectionTimeout;
+    }
+
+    /**
+     * 获得初始化时需要创建成功的客户端数量占主机地址数量的比例，默认为 1，即等待所有主机地址均已尝试连接。
+     *
+     * <p>
+     *     可用的客户端数量达到该比例（向上取整，至少为 1）后，{@link DirectRpcClientList} 构造函数将立即返回，其余主机地址在后台继续连接。
+     * </p>
+     *
+     * @return 初始化时需要创建成功的客户端数量占主机地址数量的比例
+     */
+    public double getBootstrapQuorum() {
+        return bootstrapQuorum;
+    }
+
+    /**
+     * 设置初始化时需要创建成功的客户端数量占主机地址数量的比例。
+     *
+     * @param bootstrapQuorum 初始化时需要创建成功的客户端数量占主机地址数量的比例，取值范围为 (0, 1]
+     * @throws IllegalArgumentException 如果比例不在取值范围内，将会抛出此异常
+     */
+    public void setBootstrapQuorum(double bootstrapQuorum) throws IllegalArgumentException {
+        if (bootstrapQuorum <= 0 || bootstrapQuorum > 1) {
+            throw new IllegalArgumentException("Set `bootstrapQuorum` failed: `bootstrapQuorum should be in (0, 1]`. BootstrapQuorum: `"
+                    + bootstrapQuorum + "`.");
+        }
+        this.bootstrapQuorum = bootstrapQuorum;
+    }
+
+    /**
+     * 获得初始化最长等待时间，单位：毫秒，如果该值小于等于 0，则等待所有主机地址均已尝试连接，默认为 0。
+     *
+     * <p>
+     *     超过该时间后，如果已有可用的客户端，{@link DirectRpcClientList} 构造函数将立即返回，其余主机地址在后台继续连接，
+     *     如果没有任何可用的客户端，将会抛出 {@link IllegalStateException} 异常。
+     * </p>
+     *
+     * @return 初始化最长等待时间
+     */
+    public long getBootstrapTimeout() {
+        return bootstrapTimeout;
+    }
+
+    /**
+     * 设置初始化最长等待时间，单位：毫秒，如果该值小于等于 0，则等待所有主机地址均已尝试连接。
+     *
+     * @param bootstrapTimeout 初始化最长等待时间
+     */
+    public void setBootstrapTimeout(long bootstrapTimeout) {
+        this.bootstrapTimeout = bootstrapTimeout;
+    }
+
+    /**
+     * 获得主机地址被移除后，等待其未返回调用结束的最长时间，单位：毫秒，默认为 10 秒，超过该时间后，客户端将被直接关闭，未返回的调用将以失败结束。
+     *
+     * @return 等待未返回调用结束的最长时间
+     */
+    public long getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    /**
+     * 设置主机地址被移除后，等待其未返回调用结束的最长时间，单位：毫秒，如果该值小于等于 0，则移除后立即关闭。
+     *
+     * @param drainTimeout 等待未返回调用结束的最长时间
+     */
+    public void setDrainTimeout(long drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * 获得确定性子集大小，即每个 {@link DirectRpcClientList} 最多连接的主机地址数量，如果该值小于等于 0，则连接全部主机地址，默认为 0。
+     *
+     * <p>
+     *     子集大小应保证单个调用方的连接足以承担其请求量，并为不可用的主机地址留有余量，通常取 20 ~ 100 之间，
+     *     全部主机地址数量不超过该值时，将连接全部主机地址。
+     * </p>
+     *
+     * @return 确定性子集大小
+     */
+    public int getSubsetSize() {
+        return subsetSize;
+    }
+
+    /**
+     * 设置确定性子集大小，如果该值小于等于 0，则连接全部主机地址，该配置在 {@link DirectRpcClientList} 创建时及主机地址发生变更时读取。
+     *
+     * @param subsetSize 确定性子集大小
+     */
+    public void setSubsetSize(int subsetSize) {
+        this.subsetSize = subsetSize;
+    }
+
+    /**
+     * 获得确定性子集使用的调用方 ID，相同的调用方 ID 在全部主机地址相同时总是得到相同的子集，
+     * 如果未设置，则根据当前进程名称（通常为 pid@hostname）计算。
+     *
+     * <p>
+     *     子集按调用方 ID 与主机地址的哈希值选择，不同调用方 ID 得到的子集相互独立，各主机地址的连接数按随机分布近似均衡。
+     * </p>
+     *
+     * @return 确定性子集使用的调用方 ID，不会小于 0
+     */
+    public long getSubsetClientId() {
+        long clientId = subsetClientId;
+        return clientId >= 0 ? clientId : DEFAULT_SUBSET_CLIENT_ID;
+    }
+
+    /**
+     * 设置确定性子集使用的调用方 ID，如果该值小于 0，则根据当前进程名称计算。
+     *
+     * @param subsetClientId 确定性子集使用的调用方 ID
+     */
+    public void setSubsetClientId(long subsetClientId) {
+        this.subsetClientId = subsetClientId;
+    }
+
+    /**
+     * 判断是否使用自适应并发限制器限制每个 RPC 直连客户端未返回的调用数量，默认为 {@code false}。
+     *
+     * <p>
+     *     开启后，每个新创建的 RPC 直连客户端将使用独立的 {@link AdaptiveConcurrencyLimiter}，根据调用耗时变化自动探测未返回调用数量上限，
+     *     超出上限的调用将立即以 {@link com.heimuheimu.naiverpc.exception.TooBusyException} 失败，RPC 集群客户端将优先选择未达到上限的 RPC 服务提供方。
+     * </p>
+     *
+     * @return 是否使用自适应并发限制器
+     */
+    public boolean isConcurrencyLimitEnabled() {
+        return concurrencyLimitEnabled;
+    }
+
+    /**
+     * 设置是否使用自适应并发限制器限制每个 RPC 直连客户端未返回的调用数量，该配置仅对之后创建的 RPC 直连客户端生效。
+     *
+     * @param concurrencyLimitEnabled 是否使用自适应并发限制器
+     */
+    public void setConcurrencyLimitEnabled(boolean concurrencyLimitEnabled) {
+        this.concurrencyLimitEnabled = concurrencyLimitEnabled;
+    }
+
+    /**
+     * 获得自适应并发限制器的初始上限，默认为 20。
+     *
+     * @return 自适应并发限制器的初始上限
+     */
+    public int getInitialConcurrencyLimit() {
+        return initialConcurrencyLimit;
+    }
+
+    /**
+     * 设置自适应并发限制器的初始上限。
+     *
+     * @param initialConcurrencyLimit 自适应并发限制器的初始上限，不能小于 1
+     * @throws IllegalArgumentException 如果初始上限小于 1，将会抛出此异常
+     */
+    public void setInitialConcurrencyLimit(int initialConcurrencyLimit) throws IllegalArgumentException {
+        if (initialConcurrencyLimit < 1) {
+            throw new IllegalArgumentException("Set `initialConcurrencyLimit` failed: `initialConcurrencyLimit could not be less than 1`. InitialConcurrencyLimit: `"
+                    + initialConcurrencyLimit + "`.");
+        }
+        this.initialConcurrencyLimit = initialConcurrencyLimit;
+    }
+
+    /**
+     * 获得自适应并发限制器上限的最大值，默认为 1000。
+     *
+     * @return 自适应并发限制器上限的最大值
+     */
+    public int getMaxConcurrencyLimit() {
+        return maxConcurrencyLimit;
+    }
+
+    /**
+     * 设置自适应并发限制器上限的最大值，如果该值小于初始上限，将使用初始上限作为最大值。
+     *
+     * @param maxConcurrencyLimit 自适应并发限制器上限的最大值，不能小于 1
+     * @throws IllegalArgumentException 如果最大值小于 1，将会抛出此异常
+     */
+    public void setMaxConcurrencyLimit(int maxConcurrencyLimit) throws IllegalArgumentException {
+        if (maxConcurrencyLimit < 1) {
+            throw new IllegalArgumentException("Set `maxConcurrencyLimit` failed: `maxConcurrencyLimit could not be less than 1`. MaxConcurrencyLimit: `"
+                    + maxConcurrencyLimit + "`.");
+        }
+        this.maxConcurrencyLimit = maxConcurrencyLimit;
+    }
+
+    /**
+     * 为新创建的 RPC 直连客户端创建一个自适应并发限制器，如果未开启并发限制，则返回 {@code null}。
+     *
+     * @return 自适应并发限制器，可能返回 {@code null}
+     */
+    AdaptiveConcurrencyLimiter createConcurrencyLimiter() {
+        if (!concurrencyLimitEnabled) {
+            return null;
+        }
+        int initialLimit = initialConcurrencyLimit;
+        return new AdaptiveConcurrencyLimiter(initialLimit, Math.max(initialLimit, maxConcurrencyLimit));
+    }
+
+    /**
+     * 根据主机地址数量，计算初始化时需要创建成功的客户端数量。
+     *
+     * @param hostCount 主机地址数量
+     * @return 初始化时需要创建成功的客户端数量，至少为 1
+     */
+    int getBootstrapQuorumCount(int hostCount) {
+        return Math.max(1, Math.min(hostCount, (int) Math.ceil(bootstrapQuorum * hostCount)));
+    }
+
+    /**
+     * 根据已连续恢复失败的次数，计算下一次重试的等待时间。
+     *
+     * @param failedTimes 已连续恢复失败的次数，不小于 1
+     * @return 下一次重试的等待时间，单位：毫秒
+     */
+    long getRescueBackoff(int failedTimes) {
+        double backoff = rescueInitialBackoff * Math.pow(rescueBackoffMultiplier, Math.max(0, failedTimes - 1));
+        backoff = Math.min(backoff, rescueMaxBackoff);
+        double jitter = rescueBackoffJitter * (2 * Math.random() - 1);
+        return Math.max(1, Math.round(backoff * (1 + jitter)));
+    }
+
+    @Override
+    public String toString() {
+        return "DirectRpcClientListConfiguration{" +
+                "rescueInitialBackoff=" + rescueInitialBackoff +
+                ", rescueMaxBackoff=" + rescueMaxBackoff +
+                ", rescueBackoffMultiplier=" + rescueBackoffMultiplier +
+                ", rescueBackoffJitter=" + rescueBackoffJitter +
+                ", rescueConnectionTimeout=" + rescueConnectionTimeout +
+                ", bootstrapQuorum=" + bootstrapQuorum +
+                ", bootstrapTimeout=" + bootstrapTimeout +
+                ", drainTimeout=" + drainTimeout +
+                ", subsetSize=" + subsetSize +
+                ", subsetClientId=" + subsetClientId +
+                ", concurrencyLimitEnabled=" + concurrencyLimitEnabled +
+                ", initialConcurrencyLimit=" + initialConcurrencyLimit +
+                ", maxConcurrencyLimit=" + maxConcurrencyLimit +
+                '}';
+    }
+}
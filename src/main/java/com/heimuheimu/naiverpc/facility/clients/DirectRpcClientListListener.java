@@ -25,7 +25,7 @@
 package com.heimuheimu.naiverpc.facility.clients;
 
 /**
- * RPC 直连客户端列表事件监听器，可监听集群列表中 {@code DirectRpcClient} 的创建、关闭、恢复等事件。
+ * RPC 直连客户端列表事件监听器，可监听集群列表中 {@code DirectRpcClient} 的创建、关闭、恢复以及主机地址被移除等事件。
  *
  * <p>
  *     <strong>说明：</strong>监听器的实现类必须是线程安全的。
@@ -36,7 +36,7 @@ package com.heimuheimu.naiverpc.facility.clients;
 public interface DirectRpcClientListListener {
 
     /**
-     * 当 {@code DirectRpcClient} 在 {@code DirectRpcClientList} 初始化过程被创建成功时，将会触发此事件。
+     * 当 {@code DirectRpcClient} 在 {@code DirectRpcClientList} 初始化过程或主机地址增加后被创建成功时，将会触发此事件。
      *
      * @param listName RPC 直连客户端列表名称
      * @param host 提供 RPC 服务的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182
@@ -59,4 +59,16 @@ public interface DirectRpcClientListListener {
      * @param isOffline 是否为接收到 RPC 服务提供方发送的下线操作请求导致的关闭
      */
     void onClosed(String listName, String host, boolean isOffline);
+
+    /**
+     * 当主机地址通过 {@link DirectRpcClientList#remove(String)} 从 {@code DirectRpcClientList} 中移除时，将会触发此事件，
+     * 该主机地址的 {@code DirectRpcClient} 将在未返回的调用结束后关闭，关闭时不会再触发 {@link #onClosed(String, String, boolean)} 事件。
+     *
+     * @param listName RPC 直连客户端列表名称
+     * @param host 提供 RPC 服务的主机地址，由主机名和端口组成，":"符号分割，例如：localhost:4182
+     * @since 1.2
+     */
+    default void onRemoved(String listName, String host) {
+        //do nothing
+    }
 }
@@ -0,0 +1,241 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.facility.discovery;
+
+import com.heimuheimu.naiverpc.constant.BeanStatusEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 从本地文件中读取 RPC 服务提供方主机地址列表，并定期检查文件内容，主机地址发生变更后通知监听器。
+ *
+ * <p>
+ *     文件使用 UTF-8 编码，主机地址之间使用换行、逗号或空白字符分割，"#" 符号之后的内容视为注释，重复的主机地址将被忽略，例如：
+ * </p>
+ * <pre>
+ * # order service
+ * 192.168.1.10:4182
+ * 192.168.1.11:4182, 192.168.1.12:4182
+ * </pre>
+ *
+ * <p>
+ *     为避免文件写入过程中或误操作导致所有主机地址被移除，文件无法读取或不包含任何主机地址时，将继续使用上一次读取到的主机地址，
+ *     建议通过写入临时文件后重命名的方式更新文件内容。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code FileHostDiscovery} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class FileHostDiscovery implements HostDiscovery {
+
+    private static final Logger RPC_CONNECTION_LOG = LoggerFactory.getLogger("NAIVERPC_CONNECTION_LOG");
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileHostDiscovery.class);
+
+    /**
+     * 所有 {@code FileHostDiscovery} 共享的文件检查线程池，空闲线程将在 60 秒后退出
+     */
+    private static final ScheduledThreadPoolExecutor CHECK_EXECUTOR;
+
+    static {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        CHECK_EXECUTOR = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("naiverpc-host-discovery-task-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CHECK_EXECUTOR.setKeepAliveTime(60, TimeUnit.SECONDS);
+        CHECK_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 主机地址列表文件
+     */
+    private final Path file;
+
+    /**
+     * 文件检查周期，单位：毫秒
+     */
+    private final long checkPeriod;
+
+    /**
+     * 最近一次读取到的主机地址数组
+     */
+    private volatile String[] hosts;
+
+    /**
+     * 文件检查任务，未开始监听时为 {@code null}
+     */
+    private ScheduledFuture<?> checkFuture = null;
+
+    /**
+     * 所处状态
+     */
+    private volatile BeanStatusEnum state = BeanStatusEnum.NORMAL;
+
+    /**
+     * 构造一个从本地文件中读取主机地址列表的 {@code FileHostDiscovery}，文件检查周期为 5 秒。
+     *
+     * @param filePath 主机地址列表文件路径，不允许为 {@code null} 或空
+     * @throws IllegalArgumentException 如果文件路径为 {@code null} 或空，将会抛出此异常
+     * @throws IllegalStateException 如果文件无法读取或不包含任何主机地址，将会抛出此异常
+     */
+    public FileHostDiscovery(String filePath) throws IllegalArgumentException, IllegalStateException {
+        this(filePath, 5000);
+    }
+
+    /**
+     * 构造一个从本地文件中读取主机地址列表的 {@code FileHostDiscovery}。
+     *
+     * @param filePath 主机地址列表文件路径，不允许为 {@code null} 或空
+     * @param checkPeriod 文件检查周期，单位：毫秒，不能小于等于 0
+     * @throws IllegalArgumentException 如果文件路径为 {@code null} 或空，或文件检查周期小于等于 0，将会抛出此异常
+     * @throws IllegalStateException 如果文件无法读取或不包含任何主机地址，将会抛出此异常
+     */
+    public FileHostDiscovery(String filePath, long checkPeriod) throws IllegalArgumentException, IllegalStateException {
+        if (filePath == null || filePath.isEmpty() || checkPeriod <= 0) {
+            String errorMessage = "Create FileHostDiscovery failed: `filePath could not be empty and checkPeriod could not be equal or less than 0`. FilePath: `"
+                    + filePath + "`. CheckPeriod: `" + checkPeriod + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.file = Paths.get(filePath);
+        this.checkPeriod = checkPeriod;
+        String[] hosts;
+        try {
+            hosts = read();
+        } catch (IOException e) {
+            String errorMessage = "Create FileHostDiscovery failed: `read file failed`. FilePath: `" + filePath + "`.";
+            LOG.error(errorMessage, e);
+            throw new IllegalStateException(errorMessage, e);
+        }
+        if (hosts.length == 0) {
+            String errorMessage = "Create FileHostDiscovery failed: `there is no host in file`. FilePath: `" + filePath + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalStateException(errorMessage);
+        }
+        this.hosts = hosts;
+    }
+
+    @Override
+    public String[] getHosts() {
+        return hosts.clone();
+    }
+
+    @Override
+    public synchronized void start(HostDiscoveryListener listener) {
+        if (state == BeanStatusEnum.NORMAL && checkFuture == null) {
+            checkFuture = CHECK_EXECUTOR.scheduleWithFixedDelay(() -> check(listener), checkPeriod, checkPeriod, TimeUnit.MILLISECONDS);
+            RPC_CONNECTION_LOG.info("FileHostDiscovery has been started. File: `{}`. Hosts: `{}`.", file, hosts); // lgtm [java/print-array]
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (state != BeanStatusEnum.CLOSED) {
+            state = BeanStatusEnum.CLOSED;
+            if (checkFuture != null) {
+                checkFuture.cancel(false);
+            }
+            RPC_CONNECTION_LOG.info("FileHostDiscovery has been closed. File: `{}`.", file);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileHostDiscovery{" +
+                "file=" + file +
+                ", checkPeriod=" + checkPeriod +
+                ", hosts=" + Arrays.toString(hosts) +
+                ", state=" + state +
+                '}';
+    }
+
+    /**
+     * 检查文件中的主机地址是否发生变更，如果发生变更，将会通知监听器，该方法在文件检查线程池中执行。
+     *
+     * @param listener 主机地址变更监听器
+     */
+    private void check(HostDiscoveryListener listener) {
+        try {
+            String[] currentHosts = read();
+            if (currentHosts.length == 0) {
+                LOG.error("Check hosts file failed: `there is no host in file, keep using the last hosts`. File: `{}`. Hosts: `{}`.",
+                        file, hosts); // lgtm [java/print-array]
+                return;
+            }
+            if (!new LinkedHashSet<>(Arrays.asList(currentHosts)).equals(new LinkedHashSet<>(Arrays.asList(hosts)))) {
+                RPC_CONNECTION_LOG.info("Hosts file has been changed. File: `{}`. Hosts: `{}`. Previous hosts: `{}`.", file,
+                        currentHosts, hosts); // lgtm [java/print-array]
+                hosts = currentHosts;
+                if (state == BeanStatusEnum.NORMAL) {
+                    listener.onChanged(currentHosts.clone());
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Check hosts file failed: `read file failed, keep using the last hosts`. File: `" + file + "`.", e);
+        } catch (Exception e) { // 保证检查任务不会因监听器抛出的异常而停止
+            LOG.error("Check hosts file failed: `" + e.getMessage() + "`. File: `" + file + "`. Hosts: `" + Arrays.toString(hosts) + "`.", e);
+        }
+    }
+
+    /**
+     * 读取文件中的主机地址。
+     *
+     * @return 主机地址数组，不会为 {@code null}
+     * @throws IOException 如果读取文件失败，将会抛出此异常
+     */
+    private String[] read() throws IOException {
+        Set<String> hostSet = new LinkedHashSet<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int commentIndex = line.indexOf('#');
+            if (commentIndex >= 0) {
+                line = line.substring(0, commentIndex);
+            }
+            for (String host : line.split("[,\\s]+")) {
+                if (!host.isEmpty()) {
+                    hostSet.add(host);
+                }
+            }
+        }
+        return hostSet.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.facility.discovery;
+
+import java.io.Closeable;
+
+/**
+ * RPC 服务提供方主机地址发现机制，可通过 {@link com.heimuheimu.naiverpc.client.cluster.RpcClusterClient} 的构造函数进行使用，
+ * 主机地址发生变更后，{@code RpcClusterClient} 将自动增加或移除对应的 {@code DirectRpcClient}，无需重启。
+ *
+ * <p>
+ *     <strong>说明：</strong>{@code HostDiscovery} 的实现类必须是线程安全的。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public interface HostDiscovery extends Closeable {
+
+    /**
+     * 获得当前的主机地址数组，不会返回 {@code null} 或空数组。
+     *
+     * @return 提供 RPC 服务的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182
+     * @throws IllegalStateException 如果无法获取主机地址，将会抛出此异常
+     */
+    String[] getHosts() throws IllegalStateException;
+
+    /**
+     * 开始监听主机地址变更，主机地址发生变更时，将会通知指定的监听器，同一个实例仅允许调用一次。
+     *
+     * @param listener 主机地址变更监听器，不允许为 {@code null}
+     */
+    void start(HostDiscoveryListener listener);
+
+    /**
+     * 停止监听主机地址变更。
+     */
+    @Override
+    void close();
+}
@@ -1,7 +1,7 @@
 /*
  * The MIT License (MIT)
  *
- * Copyright (c) 2017 heimuheimu
+ * Copyright (c) 2018 heimuheimu
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -22,29 +22,25 @@
  * SOFTWARE.
  */
 
-package com.heimuheimu.naiverpc.client.broadcast;
-
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
+package com.heimuheimu.naiverpc.facility.discovery;
 
 /**
- * {@code ParallelRpcBroadcastClient} 使用的线程工厂，生成可识别的线程名。
+ * RPC 服务提供方主机地址变更监听器。
+ *
+ * <p>
+ *     <strong>说明：</strong>监听器的实现类必须是线程安全的。
+ * </p>
  *
  * @author heimuheimu
+ * @since 1.2
  */
-class NamedThreadFactory implements ThreadFactory {
-
-    private final AtomicInteger threadNumber = new AtomicInteger(1);
-
-    @Override
-    public Thread newThread(Runnable r) {
-        Thread t = new Thread(r);
-        t.setName("naiverpc-broadcast-client-" + threadNumber.getAndIncrement());
-        if (t.isDaemon())
-            t.setDaemon(false);
-        if (t.getPriority() != Thread.NORM_PRIORITY)
-            t.setPriority(Thread.NORM_PRIORITY);
-        return t;
-    }
+@FunctionalInterface
+public interface HostDiscoveryListener {
 
+    /**
+     * 当主机地址发生变更时，将会触发此事件。
+     *
+     * @param hosts 变更后的主机地址数组，不会为 {@code null} 或空数组
+     */
+    void onChanged(String[] hosts);
 }
@@ -0,0 +1,246 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.facility.latency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * RPC 调用耗时直方图，用于计算近期 RPC 调用耗时的百分位值（例如 P95、P99）。
+ *
+ * <p>
+ *     耗时以微秒为单位记录在对数分段的桶中：小于 16 微秒的耗时每微秒一个桶，之后每个 2 的幂区间再平均划分为 8 个桶，
+ *     百分位值的相对误差不超过 12.5%。记录操作仅包含一次原子自增，不会产生对象分配。
+ * </p>
+ *
+ * <p>
+ *     直方图由当前统计窗口和上一个统计窗口组成，窗口时长到期后当前窗口会被轮换为上一个窗口，百分位值根据两个窗口的数据合并计算，
+ *     因此计算结果反映的是最近一至两个窗口时长内的调用耗时，旧数据不会长期影响计算结果。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code LatencyHistogram} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class LatencyHistogram {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LatencyHistogram.class);
+
+    /**
+     * 每个 2 的幂区间划分的桶数量（以 2 为底的对数）
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * 每个 2 的幂区间划分的桶数量
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 线性记录的耗时上限，单位：微秒，小于该值的耗时每微秒一个桶
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+
+    /**
+     * 可记录的最大耗时，单位：微秒，大于该值的耗时将按该值记录
+     */
+    private static final long MAX_VALUE = (1L << 40) - 1;
+
+    /**
+     * 桶数量
+     */
+    private static final int BUCKET_COUNT = getBucketIndex(MAX_VALUE) + 1;
+
+    /**
+     * 统计窗口时长，单位：纳秒
+     */
+    private final long windowNanos;
+
+    /**
+     * 计算百分位值需要的最小样本数量
+     */
+    private final int minSampleCount;
+
+    /**
+     * 当前统计窗口
+     */
+    private volatile Window currentWindow;
+
+    /**
+     * 上一个统计窗口
+     */
+    private volatile Window previousWindow;
+
+    /**
+     * 构造一个 RPC 调用耗时直方图，统计窗口时长为 30 秒，计算百分位值需要的最小样本数量为 100。
+     */
+    public LatencyHistogram() {
+        this(30000, 100);
+    }
+
+    /**
+     * 构造一个 RPC 调用耗时直方图。
+     *
+     * @param window 统计窗口时长，单位：毫秒，不能小于等于 0
+     * @param minSampleCount 计算百分位值需要的最小样本数量，不能小于等于 0
+     * @throws IllegalArgumentException 如果统计窗口时长或最小样本数量小于等于 0，将会抛出此异常
+     */
+    public LatencyHistogram(long window, int minSampleCount) throws IllegalArgumentException {
+        if (window <= 0 || minSampleCount <= 0) {
+            LOG.error("Create LatencyHistogram failed: `window and minSampleCount could not be equal or less than 0`. Window: `"
+                    + window + "`. MinSampleCount: `" + minSampleCount + "`.");
+            throw new IllegalArgumentException("Create LatencyHistogram failed: `window and minSampleCount could not be equal or less than 0`. Window: `"
+                    + window + "`. MinSampleCount: `" + minSampleCount + "`.");
+        }
+        this.windowNanos = TimeUnit.NANOSECONDS.convert(window, TimeUnit.MILLISECONDS);
+        this.minSampleCount = minSampleCount;
+        long now = System.nanoTime();
+        this.currentWindow = new Window(now);
+        this.previousWindow = new Window(now - windowNanos);
+    }
+
+    /**
+     * 记录一次 RPC 调用耗时。
+     *
+     * @param latencyNanos RPC 调用耗时，单位：纳秒，小于 0 的值将按 0 记录
+     */
+    public void record(long latencyNanos) {
+        long latencyMicros = latencyNanos > 0 ? latencyNanos / 1000 : 0;
+        getCurrentWindow(System.nanoTime()).counts.incrementAndGet(getBucketIndex(Math.min(latencyMicros, MAX_VALUE)));
+    }
+
+    /**
+     * 获得近期 RPC 调用耗时的百分位值，如果样本数量不足，将返回 -1。
+     *
+     * @param percentile 百分位，取值范围为 (0, 100]，例如 99 表示 P99
+     * @return 近期 RPC 调用耗时的百分位值，单位：纳秒，如果样本数量不足，将返回 -1
+     */
+    public long getPercentile(double percentile) {
+        Window current = getCurrentWindow(System.nanoTime());
+        Window previous = previousWindow;
+        long[] counts = new long[BUCKET_COUNT];
+        long totalCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = current.counts.get(i) + previous.counts.get(i);
+            totalCount += counts[i];
+        }
+        if (totalCount < minSampleCount) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(totalCount * Math.min(Math.max(percentile, 0), 100) / 100);
+        long accumulatedCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulatedCount += counts[i];
+            if (accumulatedCount >= rank && accumulatedCount > 0) {
+                return getBucketUpperBound(i) * 1000;
+            }
+        }
+        return MAX_VALUE * 1000;
+    }
+
+    /**
+     * 获得当前统计窗口，如果当前窗口已到期，将会进行轮换。
+     *
+     * @param now 当前时间，由 {@link System#nanoTime()} 获得
+     * @return 当前统计窗口
+     */
+    private Window getCurrentWindow(long now) {
+        Window current = currentWindow;
+        if (now - current.startTime >= windowNanos) {
+            synchronized (this) {
+                current = currentWindow;
+                if (now - current.startTime >= windowNanos) {
+                    //如果已超过两个窗口时长没有数据，上一个窗口的数据也已过期
+                    previousWindow = (now - current.startTime < 2 * windowNanos) ? current : new Window(now - windowNanos);
+                    current = new Window(now);
+                    currentWindow = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 获得耗时对应的桶索引。
+     *
+     * @param value 耗时，单位：微秒
+     * @return 桶索引
+     */
+    private static int getBucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 获得桶可记录的最大耗时。
+     *
+     * @param index 桶索引
+     * @return 桶可记录的最大耗时，单位：微秒
+     */
+    private static long getBucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS + 1;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "windowNanos=" + windowNanos +
+                ", minSampleCount=" + minSampleCount +
+                '}';
+    }
+
+    /**
+     * 耗时统计窗口。
+     */
+    private static class Window {
+
+        /**
+         * 窗口开始时间，由 {@link System#nanoTime()} 获得
+         */
+        private final long startTime;
+
+        /**
+         * 各个桶记录的调用次数
+         */
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+        private Window(long startTime) {
+            this.startTime = startTime;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.facility.latency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RPC 调用耗时峰值敏感的指数加权移动平均值（Peak-EWMA），用于估算 RPC 服务提供方当前的调用耗时。
+ *
+ * <p>
+ *     如果新记录的耗时大于当前估算值，估算值将立即提升至该耗时，RPC 服务提供方变慢时可被快速感知；
+ *     否则按照与上次记录的时间间隔进行衰减加权：权重为 exp(-间隔 / 衰减时间)，RPC 服务提供方恢复后估算值将逐步下降。
+ *     没有新记录时，读取的估算值同样随时间向 0 衰减，避免长时间未被使用的 RPC 服务提供方一直保留较高的估算值。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code PeakEwma} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class PeakEwma {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PeakEwma.class);
+
+    /**
+     * 衰减时间，单位：纳秒
+     */
+    private final double decayNanos;
+
+    /**
+     * 当前估算值，单位：纳秒，仅在持有当前实例锁时修改
+     */
+    private volatile double cost = 0;
+
+    /**
+     * 最近一次更新估算值的时间，由 {@link System#nanoTime()} 获得，仅在持有当前实例锁时修改
+     */
+    private volatile long stamp = System.nanoTime();
+
+    /**
+     * 构造一个 RPC 调用耗时 Peak-EWMA 估算器，衰减时间为 10 秒。
+     */
+    public PeakEwma() {
+        this(10000);
+    }
+
+    /**
+     * 构造一个 RPC 调用耗时 Peak-EWMA 估算器。
+     *
+     * @param decayTime 衰减时间，单位：毫秒，不能小于等于 0，该值越小，估算值对近期耗时越敏感
+     * @throws IllegalArgumentException 如果衰减时间小于等于 0，将会抛出此异常
+     */
+    public PeakEwma(long decayTime) throws IllegalArgumentException {
+        if (decayTime <= 0) {
+            LOG.error("Create PeakEwma failed: `decayTime could not be equal or less than 0`. DecayTime: `" + decayTime + "`.");
+            throw new IllegalArgumentException("Create PeakEwma failed: `decayTime could not be equal or less than 0`. DecayTime: `"
+                    + decayTime + "`.");
+        }
+        this.decayNanos = TimeUnit.NANOSECONDS.convert(decayTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 记录一次 RPC 调用耗时。
+     *
+     * @param latencyNanos RPC 调用耗时，单位：纳秒，小于 0 的值将按 0 记录
+     */
+    public synchronized void record(long latencyNanos) {
+        long now = System.nanoTime();
+        double latency = Math.max(latencyNanos, 0);
+        if (latency > cost) {
+            cost = latency;
+        } else {
+            double weight = Math.exp(-Math.max(now - stamp, 0) / decayNanos);
+            cost = cost * weight + latency * (1 - weight);
+        }
+        stamp = now;
+    }
+
+    /**
+     * 获得当前的 RPC 调用耗时估算值，如果尚无任何记录，则返回 0。该方法不加锁，与 {@link #record(long)} 并发执行时可能读取到更新前的估算值。
+     *
+     * @return RPC 调用耗时估算值，单位：纳秒
+     */
+    public long get() {
+        long lastStamp = stamp;
+        return (long) (cost * Math.exp(-Math.max(System.nanoTime() - lastStamp, 0) / decayNanos));
+    }
+
+    @Override
+    public String toString() {
+        return "PeakEwma{" +
+                "decayNanos=" + decayNanos +
+                ", cost=" + get() +
+                '}';
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.facility.limit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 自适应并发限制器，参考 TCP Vegas 拥塞控制算法，根据 RPC 调用耗时相对于无负载耗时的变化，自动探测单个 RPC 服务提供方允许的未返回调用数量上限。
+ *
+ * <p>
+ *     无负载耗时取近期观察到的最小耗时，每次调用结束后，按 上限 × (1 - 无负载耗时 / 本次耗时) 估算 RPC 服务提供方的排队数量：
+ *     排队数量较少时提高上限，排队数量较多时降低上限，调用超时或被 RPC 服务提供方拒绝时，上限立即降低为原来的 90%。
+ *     调整幅度与 log10(上限) 成正比，上限较小时快速增长，较大时趋于稳定。
+ *     未返回调用数量不足上限一半时，耗时无法反映容量，不会提高上限。
+ *     每隔若干次调用（与当前上限成正比，并加入随机抖动）重置一次无负载耗时，以适应 RPC 服务提供方耗时基线的变化。
+ * </p>
+ *
+ * <p>
+ *     使用方式：调用前执行 {@link #tryAcquire()}，返回 {@code false} 时应放弃该调用或选择其它 RPC 服务提供方，
+ *     返回 {@code true} 时，调用结束后必须执行 {@link #onSample(long)}、{@link #onDropped()} 或 {@link #onIgnored()} 其中之一。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code AdaptiveConcurrencyLimiter} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    /**
+     * 调用超时或被拒绝时，上限降低的比例
+     */
+    private static final double DROP_BACKOFF_RATIO = 0.9;
+
+    /**
+     * 重置无负载耗时的调用次数与当前上限的倍数
+     */
+    private static final int PROBE_MULTIPLIER = 30;
+
+    /**
+     * 未返回调用数量下限
+     */
+    private final int minLimit;
+
+    /**
+     * 未返回调用数量上限的最大值
+     */
+    private final int maxLimit;
+
+    /**
+     * 当前的未返回调用数量上限，仅在持有当前实例锁时修改
+     */
+    private volatile double limit;
+
+    /**
+     * 当前的未返回调用数量
+     */
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    /**
+     * 无负载耗时，单位：纳秒，为 0 时表示尚未观察到耗时，仅在持有当前实例锁时访问
+     */
+    private long rttNoLoad = 0;
+
+    /**
+     * 自上次重置无负载耗时后的调用次数，仅在持有当前实例锁时访问
+     */
+    private int probeCount = 0;
+
+    /**
+     * 本轮重置无负载耗时需要的调用次数，仅在持有当前实例锁时访问
+     */
+    private double probeThreshold;
+
+    /**
+     * 构造一个自适应并发限制器，未返回调用数量下限为 1。
+     *
+     * @param initialLimit 未返回调用数量的初始上限，不能小于 1
+     * @param maxLimit 未返回调用数量上限的最大值，不能小于初始上限
+     * @throws IllegalArgumentException 如果初始上限小于 1，或最大值小于初始上限，将会抛出此异常
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit) throws IllegalArgumentException {
+        if (initialLimit < 1 || maxLimit < initialLimit) {
+            LOG.error("Create AdaptiveConcurrencyLimiter failed: `initialLimit could not be less than 1, and maxLimit could not be less than initialLimit`. InitialLimit: `"
+                    + initialLimit + "`. MaxLimit: `" + maxLimit + "`.");
+            throw new IllegalArgumentException("Create AdaptiveConcurrencyLimiter failed: `initialLimit could not be less than 1, and maxLimit could not be less than initialLimit`. InitialLimit: `"
+                    + initialLimit + "`. MaxLimit: `" + maxLimit + "`.");
+        }
+        this.minLimit = 1;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.probeThreshold = nextProbeThreshold(initialLimit);
+    }
+
+    /**
+     * 尝试获取一个调用许可，如果当前未返回调用数量已达到上限，则返回 {@code false}。
+     *
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire() {
+        int currentLimit = getLimit();
+        while (true) {
+            int current = inflight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 判断当前未返回调用数量是否已达到上限。
+     *
+     * @return 是否已达到上限
+     */
+    public boolean isLimitReached() {
+        return inflight.get() >= getLimit();
+    }
+
+    /**
+     * 调用正常返回后执行，释放调用许可，并根据本次调用耗时调整上限。
+     *
+     * @param rttNanos 本次调用耗时，单位：纳秒
+     */
+    public void onSample(long rttNanos) {
+        int currentInflight = inflight.getAndDecrement();
+        if (rttNanos > 0) {
+            update(rttNanos, currentInflight, false);
+        }
+    }
+
+    /**
+     * 调用超时或被 RPC 服务提供方拒绝后执行，释放调用许可，并降低上限。
+     */
+    public void onDropped() {
+        int currentInflight = inflight.getAndDecrement();
+        update(0, currentInflight, true);
+    }
+
+    /**
+     * 调用因与 RPC 服务提供方负载无关的原因结束（例如连接关闭、调用被取消）后执行，仅释放调用许可，不调整上限。
+     */
+    public void onIgnored() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * 获得当前的未返回调用数量上限。
+     *
+     * @return 未返回调用数量上限
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * 获得当前的未返回调用数量。
+     *
+     * @return 未返回调用数量
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 根据调用结果调整上限。
+     *
+     * @param rttNanos 本次调用耗时，单位：纳秒
+     * @param currentInflight 本次调用结束前的未返回调用数量
+     * @param isDropped 调用是否超时或被拒绝
+     */
+    private synchronized void update(long rttNanos, int currentInflight, boolean isDropped) {
+        double currentLimit = limit;
+        double newLimit;
+        if (isDropped) {
+            newLimit = currentLimit * DROP_BACKOFF_RATIO;
+        } else {
+            if (++probeCount >= probeThreshold) { // 重置无负载耗时，以本次耗时作为新的基线
+                probeCount = 0;
+                probeThreshold = nextProbeThreshold(currentLimit);
+                rttNoLoad = rttNanos;
+                return;
+            }
+            if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+                rttNoLoad = rttNanos;
+                return;
+            }
+            if (currentInflight * 2 < currentLimit) { // 调用量不足，耗时无法反映容量
+                return;
+            }
+            double step = Math.max(1, Math.log10(currentLimit));
+            double queueSize = Math.ceil(currentLimit * (1 - (double) rttNoLoad / rttNanos));
+            if (queueSize <= step) {
+                newLimit = currentLimit + 6 * step;
+            } else if (queueSize < 3 * step) {
+                newLimit = currentLimit + step;
+            } else if (queueSize > 6 * step) {
+                newLimit = currentLimit - step;
+            } else {
+                return;
+            }
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * 计算下一轮重置无负载耗时需要的调用次数。
+     *
+     * @param currentLimit 当前的未返回调用数量上限
+     * @return 重置无负载耗时需要的调用次数
+     */
+    private static double nextProbeThreshold(double currentLimit) {
+        return PROBE_MULTIPLIER * currentLimit * (0.5 + ThreadLocalRandom.current().nextDouble() * 0.5);
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyLimiter{" +
+                "minLimit=" + minLimit +
+                ", maxLimit=" + maxLimit +
+                ", limit=" + limit +
+                ", inflight=" + inflight +
+                '}';
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.facility.timer;
+
+import com.heimuheimu.naiverpc.constant.BeanStatusEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于哈希时间轮（Hashed Timing Wheel）实现的定时器，适用于大量、短时且通常会被取消的定时任务，例如 RPC 调用超时检查。
+ *
+ * <p>
+ *     时间轮由 {@code ticksPerWheel} 个槽位组成，工作线程每隔 {@code tickDuration} 推进一个槽位，并执行该槽位中已到期的定时任务。
+ *     提交及取消定时任务的时间复杂度均为 O(1)，且不需要获取任何锁，所有定时任务仅由一个工作线程负责检查。
+ * </p>
+ *
+ * <p>
+ *     <strong>注意：</strong>定时任务的执行时间精度为 {@code tickDuration}，实际执行时间可能比预期晚一个 {@code tickDuration}。
+ *     定时任务在工作线程中执行，不应执行耗时操作，否则将会推迟其它定时任务的执行。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code HashedWheelTimer} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class HashedWheelTimer implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    /**
+     * 每次推进时，最多从待加入队列中转移的定时任务数量，防止工作线程长时间无法执行到期任务
+     */
+    private static final int MAX_TRANSFER_TIMEOUTS_PER_TICK = 100000;
+
+    /**
+     * 定时器名称
+     */
+    private final String name;
+
+    /**
+     * 时间轮每推进一个槽位的时间间隔，单位：纳秒
+     */
+    private final long tickDuration;
+
+    /**
+     * 时间轮槽位数组，长度为 2 的幂
+     */
+    private final Bucket[] wheel;
+
+    /**
+     * 槽位索引掩码
+     */
+    private final int mask;
+
+    /**
+     * 定时器启动时间，所有定时任务的到期时间均为相对该时间的纳秒数
+     */
+    private final long startTime;
+
+    /**
+     * 等待加入时间轮的定时任务队列
+     */
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已取消、等待从时间轮中移除的定时任务队列
+     */
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 尚未到期且未被取消的定时任务数量
+     */
+    private final LongAdder pendingTimeoutCount = new LongAdder();
+
+    /**
+     * 时间轮工作线程
+     */
+    private final Thread workerThread;
+
+    /**
+     * 当前定时器所处状态
+     */
+    private volatile BeanStatusEnum state = BeanStatusEnum.NORMAL;
+
+    /**
+     * 构造一个哈希时间轮定时器，工作线程将会立即启动，工作线程为守护线程。
+     *
+     * @param name 定时器名称，将作为工作线程名称使用
+     * @param tickDuration 时间轮每推进一个槽位的时间间隔，不能小于等于 0
+     * @param unit 时间间隔单位
+     * @param ticksPerWheel 时间轮槽位数量，将会被调整为不小于该值的 2 的幂，不能小于等于 0
+     * @throws IllegalArgumentException 如果时间间隔或槽位数量小于等于 0，将会抛出此异常
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) throws IllegalArgumentException {
+        if (tickDuration <= 0 || ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            LOG.error("Create HashedWheelTimer failed: `invalid arguments`. Name: `" + name + "`. TickDuration: `" + tickDuration
+                    + "`. Unit: `" + unit + "`. TicksPerWheel: `" + ticksPerWheel + "`.");
+            throw new IllegalArgumentException("Create HashedWheelTimer failed: `invalid arguments`. Name: `" + name + "`. TickDuration: `"
+                    + tickDuration + "`. Unit: `" + unit + "`. TicksPerWheel: `" + ticksPerWheel + "`.");
+        }
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.name = name;
+        this.tickDuration = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.workerThread = new Thread(new Worker());
+        this.workerThread.setName(name);
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    /**
+     * 提交一个定时任务，该任务将在指定延迟时间后在工作线程中执行。
+     *
+     * @param task 定时任务，不允许为 {@code null}
+     * @param delay 延迟时间
+     * @param unit 延迟时间单位
+     * @return 定时任务句柄，可用于取消该定时任务
+     * @throws NullPointerException 如果定时任务为 {@code null}，将会抛出此异常
+     * @throws IllegalStateException 如果定时器已关闭，将会抛出此异常
+     */
+    public Timeout newTimeout(TimerTask task, long delay, TimeUnit unit) throws NullPointerException, IllegalStateException {
+        if (task == null) {
+            throw new NullPointerException("Submit timer task failed: `task could not be null`. HashedWheelTimer: `" + name + "`.");
+        }
+        if (state != BeanStatusEnum.NORMAL) {
+            throw new IllegalStateException("Submit timer task failed: `timer has been closed`. HashedWheelTimer: `" + name + "`.");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(delay) - startTime;
+        if (delay > 0 && deadline < 0) { // 防止溢出
+            deadline = Long.MAX_VALUE;
+        }
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pendingTimeoutCount.increment();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 获得尚未到期且未被取消的定时任务数量。
+     *
+     * @return 尚未到期且未被取消的定时任务数量
+     */
+    public long getPendingTimeoutCount() {
+        return pendingTimeoutCount.sum();
+    }
+
+    /**
+     * 关闭定时器，尚未到期的定时任务将不会被执行，该方法不会抛出任何异常。
+     */
+    @Override
+    public void close() {
+        if (state != BeanStatusEnum.CLOSED) {
+            state = BeanStatusEnum.CLOSED;
+            workerThread.interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HashedWheelTimer{" +
+                "name='" + name + '\'' +
+                ", tickDuration=" + tickDuration +
+                ", ticksPerWheel=" + wheel.length +
+                ", pendingTimeoutCount=" + pendingTimeoutCount +
+                ", state=" + state +
+                '}';
+    }
+
+    /**
+     * 时间轮工作线程。
+     */
+    private class Worker implements Runnable {
+
+        /**
+         * 已推进的槽位数量
+         */
+        private long tick = 0;
+
+        @Override
+        public void run() {
+            while (state == BeanStatusEnum.NORMAL) {
+                if (waitForNextTick() > 0) {
+                    processCancelledTimeouts();
+                    transferTimeoutsToBuckets();
+                    wheel[(int) (tick & mask)].expireTimeouts();
+                    tick++;
+                }
+            }
+        }
+
+        /**
+         * 等待至下一个槽位的推进时间，返回当前相对定时器启动时间的纳秒数，如果定时器已关闭，则返回 -1。
+         *
+         * @return 当前相对定时器启动时间的纳秒数
+         */
+        private long waitForNextTick() {
+            long deadline = tickDuration * (tick + 1);
+            while (true) {
+                long currentTime = System.nanoTime() - startTime;
+                long sleepTimeMillis = (deadline - currentTime + 999999) / 1000000;
+                if (sleepTimeMillis <= 0) {
+                    return currentTime > 0 ? currentTime : 1;
+                }
+                try {
+                    Thread.sleep(sleepTimeMillis);
+                } catch (InterruptedException e) {
+                    if (state != BeanStatusEnum.NORMAL) {
+                        return -1;
+                    }
+                }
+            }
+        }
+
+        private void processCancelledTimeouts() {
+            WheelTimeout timeout;
+            while ((timeout = cancelledTimeouts.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+
+        private void transferTimeoutsToBuckets() {
+            for (int i = 0; i < MAX_TRANSFER_TIMEOUTS_PER_TICK; i++) {
+                WheelTimeout timeout = pendingTimeouts.poll();
+                if (timeout == null) {
+                    break;
+                }
+                if (timeout.isCancelled()) {
+                    continue;
+                }
+                long calculated = timeout.deadline / tickDuration;
+                timeout.remainingRounds = (calculated - tick) / wheel.length;
+                // 已过期的定时任务放入当前槽位，在本次推进中执行
+                long ticks = Math.max(calculated, tick);
+                wheel[(int) (ticks & mask)].add(timeout);
+            }
+        }
+    }
+
+    /**
+     * 时间轮槽位，由定时任务组成的双向链表，仅在工作线程中访问。
+     */
+    private static class Bucket {
+
+        private WheelTimeout head;
+
+        private WheelTimeout tail;
+
+        private void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts() {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    next = remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    next = remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private WheelTimeout remove(WheelTimeout timeout) {
+            WheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                if (timeout == tail) {
+                    head = tail = null;
+                } else {
+                    head = next;
+                }
+            } else if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+    }
+
+    /**
+     * {@link Timeout} 实现类。
+     */
+    private static class WheelTimeout implements Timeout {
+
+        private static final int ST_INIT = 0;
+
+        private static final int ST_CANCELLED = 1;
+
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+        private final HashedWheelTimer timer;
+
+        private final TimerTask task;
+
+        /**
+         * 到期时间，相对定时器启动时间的纳秒数
+         */
+        private final long deadline;
+
+        private volatile int state = ST_INIT;
+
+        /**
+         * 剩余轮数，仅在工作线程中访问
+         */
+        private long remainingRounds;
+
+        private WheelTimeout next;
+
+        private WheelTimeout prev;
+
+        private Bucket bucket;
+
+        private WheelTimeout(HashedWheelTimer timer, TimerTask task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public TimerTask task() {
+            return task;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                timer.pendingTimeoutCount.decrement();
+                timer.cancelledTimeouts.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        private void expire() {
+            if (STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                timer.pendingTimeoutCount.decrement();
+                try {
+                    task.run(this);
+                } catch (Throwable e) {
+                    LOG.error("Execute timer task failed: `" + e.getMessage() + "`. HashedWheelTimer: `" + timer.name
+                            + "`. TimerTask: `" + task + "`.", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.facility.timer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RPC 客户端使用的定时器工厂类，同一个 JVM 中的所有 RPC 客户端共享同一个 {@link HashedWheelTimer}，用于 RPC 调用超时检查等定时任务。
+ *
+ * <p>
+ *     时间轮每 10 毫秒推进一个槽位，共 512 个槽位，一轮约为 5 秒，与 RPC 调用默认超时时间相近。
+ * </p>
+ *
+ * <p>
+ *     对于延迟时间在毫秒级别的定时任务，例如批量调用的收集窗口，可使用 {@link #getFineGrained()} 获取精度为 1 毫秒的定时器，
+ *     该定时器在首次获取时才会创建。
+ * </p>
+ *
+ * <p>
+ *     定时器工作线程仅应执行轻量的操作，例如获得 RPC 调用的结束权。打印日志、触发监听器、结束 {@code CompletableFuture}
+ *     （将会执行调用方的回调函数）、编码并发送 RPC 请求等耗时操作应提交至 {@link #getExecutor()} 返回的线程池中执行，
+ *     防止单个耗时的回调推迟同一个 JVM 中所有定时任务的执行。
+ * </p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientTimerFactory {
+
+    private RpcClientTimerFactory() {
+        //private constructor
+    }
+
+    private static final HashedWheelTimer CLIENT_TIMER = new HashedWheelTimer("naiverpc-client-timer", 10, TimeUnit.MILLISECONDS, 512);
+
+    /**
+     * 获得 RPC 客户端使用的定时器。
+     *
+     * @return RPC 客户端使用的定时器
+     */
+    public static HashedWheelTimer get() {
+        return CLIENT_TIMER;
+    }
+
+    /**
+     * 获得 RPC 客户端使用的高精度定时器，时间轮每 1 毫秒推进一个槽位，共 256 个槽位。
+     *
+     * @return RPC 客户端使用的高精度定时器
+     */
+    public static HashedWheelTimer getFineGrained() {
+        return FineGrainedTimerHolder.FINE_GRAINED_CLIENT_TIMER;
+    }
+
+    /**
+     * 获得定时任务到期后执行耗时操作使用的线程池，线程数量与 CPU 核数一致（最少 2 个），空闲线程将在 60 秒后退出。
+     *
+     * @return 定时任务到期后执行耗时操作使用的线程池
+     */
+    public static ExecutorService getExecutor() {
+        return ExecutorHolder.TIMER_TASK_EXECUTOR;
+    }
+
+    /**
+     * 定时任务线程池持有类，保证线程池在首次使用时才会创建。
+     */
+    private static class ExecutorHolder {
+
+        private static final ThreadPoolExecutor TIMER_TASK_EXECUTOR;
+
+        static {
+            int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            TIMER_TASK_EXECUTOR = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setName("naiverpc-client-timer-task-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            TIMER_TASK_EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    /**
+     * 高精度定时器持有类，保证高精度定时器在首次使用时才会创建。
+     */
+    private static class FineGrainedTimerHolder {
+
+        private static final HashedWheelTimer FINE_GRAINED_CLIENT_TIMER = new HashedWheelTimer("naiverpc-client-fine-grained-timer",
+                1, TimeUnit.MILLISECONDS, 256);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.facility.timer;
+
+/**
+ * 已提交至 {@link HashedWheelTimer} 的定时任务句柄，可用于取消尚未执行的定时任务。
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public interface Timeout {
+
+    /**
+     * 获得该句柄对应的定时任务。
+     *
+     * @return 定时任务
+     */
+    TimerTask task();
+
+    /**
+     * 判断定时任务是否已到期。
+     *
+     * @return 定时任务是否已到期
+     */
+    boolean isExpired();
+
+    /**
+     * 判断定时任务是否已被取消。
+     *
+     * @return 定时任务是否已被取消
+     */
+    boolean isCancelled();
+
+    /**
+     * 取消尚未执行的定时任务，如果定时任务已到期或已被取消，将返回 {@code false}，该方法不会抛出任何异常。
+     *
+     * @return 是否取消成功
+     */
+    boolean cancel();
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RPC 客户端自适应超时时间监控器，记录每个 RPC 服务提供方、每个 RPC 方法最近一次计算得出的超时时间。
+ *
+ * <p><strong>说明：</strong>{@code RpcClientAdaptiveTimeoutMonitor} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientAdaptiveTimeoutMonitor {
+
+    private static final RpcClientAdaptiveTimeoutMonitor INSTANCE = new RpcClientAdaptiveTimeoutMonitor();
+
+    /**
+     * 自适应超时时间 {@code Map}，Key 为 RPC 服务提供方主机地址，Value 为该主机下 RPC 方法名称与超时时间（单位：毫秒）的 {@code Map}
+     */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Long>> timeoutMap = new ConcurrentHashMap<>();
+
+    private RpcClientAdaptiveTimeoutMonitor() {
+        //private constructor
+    }
+
+    /**
+     * 对计算得出的自适应超时时间进行监控。
+     *
+     * @param host RPC 服务提供方主机地址
+     * @param methodName RPC 方法名称
+     * @param timeout 自适应超时时间，单位：毫秒
+     */
+    public void onTimeoutChanged(String host, String methodName, long timeout) {
+        ConcurrentHashMap<String, Long> methodTimeoutMap = timeoutMap.get(host);
+        if (methodTimeoutMap == null) {
+            methodTimeoutMap = timeoutMap.computeIfAbsent(host, key -> new ConcurrentHashMap<>());
+        }
+        methodTimeoutMap.put(methodName, timeout);
+    }
+
+    /**
+     * 对已被移除的 RPC 服务提供方进行监控，移除后不再输出其自适应超时时间。
+     *
+     * @param host RPC 服务提供方主机地址
+     */
+    public void onRemoved(String host) {
+        timeoutMap.remove(host);
+    }
+
+    /**
+     * 获得当前的自适应超时时间 {@code Map}，Key 为 RPC 服务提供方主机地址，Value 为该主机下 RPC 方法名称与超时时间（单位：毫秒）的 {@code Map}。
+     *
+     * @return 自适应超时时间 {@code Map}，不会为 {@code null}
+     */
+    public Map<String, Map<String, Long>> getTimeoutMap() {
+        Map<String, Map<String, Long>> snapshot = new HashMap<>();
+        timeoutMap.forEach((host, methodTimeoutMap) -> snapshot.put(host, new HashMap<>(methodTimeoutMap)));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * 获得 RPC 客户端自适应超时时间监控器。
+     *
+     * @return RPC 客户端自适应超时时间监控器
+     */
+    public static RpcClientAdaptiveTimeoutMonitor getInstance() {
+        return INSTANCE;
+    }
+}
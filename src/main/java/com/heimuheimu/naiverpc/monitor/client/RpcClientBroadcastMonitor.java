@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RPC 客户端广播调用信息监控器，对 {@link com.heimuheimu.naiverpc.client.broadcast.ParallelRpcBroadcastClient} 正在执行中的 RPC 调用数量进行监控。
+ *
+ * <p>
+ *     广播调用请求通过异步方式发送，不再使用独立的线程池，该监控器统计的正在执行中的 RPC 调用数量可替代原线程池的活跃线程数，
+ *     每个 RPC 服务提供方的调用单独计数。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code RpcClientBroadcastMonitor} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientBroadcastMonitor {
+
+    private static final RpcClientBroadcastMonitor INSTANCE = new RpcClientBroadcastMonitor();
+
+    /**
+     * 正在执行中的 RPC 调用数量
+     */
+    private final AtomicLong inFlightCount = new AtomicLong();
+
+    /**
+     * 出现过的正在执行中的 RPC 调用最大数量
+     */
+    private final AtomicLong peakInFlightCount = new AtomicLong();
+
+    private RpcClientBroadcastMonitor() {
+        //private constructor
+    }
+
+    /**
+     * 在向单个 RPC 服务提供方发送广播调用请求前调用此方法。
+     */
+    public void onStarted() {
+        long count = inFlightCount.incrementAndGet();
+        long peakCount = peakInFlightCount.get();
+        while (count > peakCount && !peakInFlightCount.compareAndSet(peakCount, count)) {
+            peakCount = peakInFlightCount.get();
+        }
+    }
+
+    /**
+     * 在单个 RPC 服务提供方的广播调用结束后调用此方法，无论调用成功或失败。
+     */
+    public void onCompleted() {
+        inFlightCount.decrementAndGet();
+    }
+
+    /**
+     * 获得正在执行中的 RPC 调用数量。
+     *
+     * @return 正在执行中的 RPC 调用数量
+     */
+    public long getInFlightCount() {
+        return inFlightCount.get();
+    }
+
+    /**
+     * 获得出现过的正在执行中的 RPC 调用最大数量。
+     *
+     * @return 出现过的正在执行中的 RPC 调用最大数量
+     */
+    public long getPeakInFlightCount() {
+        return peakInFlightCount.get();
+    }
+
+    /**
+     * 获得 RPC 客户端广播调用信息监控器。
+     *
+     * @return RPC 客户端广播调用信息监控器
+     */
+    public static RpcClientBroadcastMonitor getInstance() {
+        return INSTANCE;
+    }
+}
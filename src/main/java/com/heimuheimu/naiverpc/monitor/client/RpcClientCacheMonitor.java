@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RPC 客户端调用结果缓存信息监控器，对 {@link com.heimuheimu.naiverpc.client.cache.CachingRpcClient} 的缓存使用情况进行监控。
+ *
+ * <p><strong>说明：</strong>{@code RpcClientCacheMonitor} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientCacheMonitor {
+
+    private static final RpcClientCacheMonitor INSTANCE = new RpcClientCacheMonitor();
+
+    /**
+     * 缓存命中总次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 缓存未命中总次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 因缓存容量不足被淘汰的调用结果总数
+     */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 因过期被移除的调用结果总数
+     */
+    private final LongAdder expirationCount = new LongAdder();
+
+    private RpcClientCacheMonitor() {
+        //private constructor
+    }
+
+    /**
+     * 对缓存命中进行监控。
+     */
+    public void onHit() {
+        hitCount.increment();
+    }
+
+    /**
+     * 对缓存未命中进行监控。
+     */
+    public void onMiss() {
+        missCount.increment();
+    }
+
+    /**
+     * 对因缓存容量不足被淘汰的调用结果进行监控。
+     */
+    public void onEvicted() {
+        evictionCount.increment();
+    }
+
+    /**
+     * 对因过期被移除的调用结果进行监控。
+     */
+    public void onExpired() {
+        expirationCount.increment();
+    }
+
+    /**
+     * 获得缓存命中总次数。
+     *
+     * @return 缓存命中总次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 获得缓存未命中总次数。
+     *
+     * @return 缓存未命中总次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 获得因缓存容量不足被淘汰的调用结果总数。
+     *
+     * @return 因缓存容量不足被淘汰的调用结果总数
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 获得因过期被移除的调用结果总数。
+     *
+     * @return 因过期被移除的调用结果总数
+     */
+    public long getExpirationCount() {
+        return expirationCount.sum();
+    }
+
+    /**
+     * 获得 RPC 客户端调用结果缓存信息监控器。
+     *
+     * @return RPC 客户端调用结果缓存信息监控器
+     */
+    public static RpcClientCacheMonitor getInstance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * RPC 客户端等待响应的 RPC 调用信息监控器，用于统计连接至同一个 RPC 服务提供方的所有客户端中，已发送请求但尚未收到响应的 RPC 调用数量。
+ *
+ * <p>
+ *     监控器不会在每次 RPC 调用时更新计数，而是在采集时汇总已注册的计数器，RPC 客户端关闭后，应调用 {@link #unregister(LongSupplier)} 方法移除计数器。
+ * </p>
+ *
+ * <p><strong>说明：</strong>{@code RpcClientPendingCallMonitor} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientPendingCallMonitor {
+
+    /**
+     * 等待响应的 RPC 调用数量计数器列表
+     */
+    private final CopyOnWriteArrayList<LongSupplier> counterList = new CopyOnWriteArrayList<>();
+
+    /**
+     * 注册一个等待响应的 RPC 调用数量计数器。
+     *
+     * @param counter 等待响应的 RPC 调用数量计数器，不允许为 {@code null}
+     */
+    public void register(LongSupplier counter) {
+        if (counter != null) {
+            counterList.add(counter);
+        }
+    }
+
+    /**
+     * 移除已注册的等待响应的 RPC 调用数量计数器。
+     *
+     * @param counter 等待响应的 RPC 调用数量计数器
+     */
+    public void unregister(LongSupplier counter) {
+        counterList.remove(counter);
+    }
+
+    /**
+     * 获得当前等待响应的 RPC 调用数量。
+     *
+     * @return 当前等待响应的 RPC 调用数量
+     */
+    public long getPendingCallCount() {
+        long pendingCallCount = 0;
+        for (LongSupplier counter : counterList) {
+            pendingCallCount += counter.getAsLong();
+        }
+        return pendingCallCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RpcClientPendingCallMonitor{" +
+                "pendingCallCount=" + getPendingCallCount() +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RPC 客户端等待响应的 RPC 调用信息监控器工厂类。
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientPendingCallMonitorFactory {
+
+    private RpcClientPendingCallMonitorFactory() {
+        //private constructor
+    }
+
+    private static final ConcurrentHashMap<String, RpcClientPendingCallMonitor> CLIENT_PENDING_CALL_MONITOR_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 根据 RPC 服务提供方主机地址获得对应的等待响应的 RPC 调用信息监控器，该方法不会返回 {@code null}。
+     *
+     * @param host RPC 服务提供方主机地址
+     * @return RPC 服务提供方主机地址对应的等待响应的 RPC 调用信息监控器，该方法不会返回 {@code null}
+     */
+    public static RpcClientPendingCallMonitor get(String host) {
+        return CLIENT_PENDING_CALL_MONITOR_MAP.computeIfAbsent(host, key -> new RpcClientPendingCallMonitor());
+    }
+
+    /**
+     * 获得当前工厂管理的所有等待响应的 RPC 调用信息监控器列表。
+     *
+     * @return 当前工厂管理的所有等待响应的 RPC 调用信息监控器列表
+     */
+    public static List<RpcClientPendingCallMonitor> getAll() {
+        return new ArrayList<>(CLIENT_PENDING_CALL_MONITOR_MAP.values());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RPC 客户端恢复信息监控器，对单个 RPC 服务提供方的重连恢复情况进行监控。
+ *
+ * <p><strong>说明：</strong>{@code RpcClientRescueMonitor} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientRescueMonitor {
+
+    /**
+     * 恢复成功总次数
+     */
+    private final AtomicLong recoveredCount = new AtomicLong();
+
+    /**
+     * 恢复成功的 RPC 客户端从不可用到恢复的总耗时，单位：毫秒
+     */
+    private final AtomicLong totalRecoverTime = new AtomicLong();
+
+    /**
+     * 最近一次恢复成功的 RPC 客户端从不可用到恢复的耗时，单位：毫秒
+     */
+    private volatile long lastRecoverTime = 0;
+
+    /**
+     * 恢复失败总次数
+     */
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * 对恢复成功的 RPC 客户端进行监控。
+     *
+     * @param recoverTime 从不可用到恢复的耗时，单位：毫秒
+     */
+    public void onRecovered(long recoverTime) {
+        recoveredCount.incrementAndGet();
+        totalRecoverTime.addAndGet(recoverTime);
+        lastRecoverTime = recoverTime;
+    }
+
+    /**
+     * 对恢复失败的尝试进行监控。
+     */
+    public void onFailed() {
+        failedCount.incrementAndGet();
+    }
+
+    /**
+     * 获得恢复成功总次数。
+     *
+     * @return 恢复成功总次数
+     */
+    public long getRecoveredCount() {
+        return recoveredCount.get();
+    }
+
+    /**
+     * 获得恢复成功的 RPC 客户端从不可用到恢复的总耗时，单位：毫秒。
+     *
+     * @return 从不可用到恢复的总耗时
+     */
+    public long getTotalRecoverTime() {
+        return totalRecoverTime.get();
+    }
+
+    /**
+     * 获得最近一次恢复成功的 RPC 客户端从不可用到恢复的耗时，单位：毫秒，如果从未恢复过，则返回 0。
+     *
+     * @return 最近一次从不可用到恢复的耗时
+     */
+    public long getLastRecoverTime() {
+        return lastRecoverTime;
+    }
+
+    /**
+     * 获得恢复失败总次数。
+     *
+     * @return 恢复失败总次数
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RpcClientRescueMonitor{" +
+                "recoveredCount=" + recoveredCount +
+                ", totalRecoverTime=" + totalRecoverTime +
+                ", lastRecoverTime=" + lastRecoverTime +
+                ", failedCount=" + failedCount +
+                '}';
+    }
+}
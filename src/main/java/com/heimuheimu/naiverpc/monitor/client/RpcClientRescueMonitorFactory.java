@@ -0,0 +1,52 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RPC 客户端恢复信息监控器工厂类。
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientRescueMonitorFactory {
+
+    private RpcClientRescueMonitorFactory() {
+        //private constructor
+    }
+
+    private static final ConcurrentHashMap<String, RpcClientRescueMonitor> CLIENT_RESCUE_MONITOR_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 根据 RPC 服务提供方主机地址获得对应的恢复信息监控器，该方法不会返回 {@code null}。
+     *
+     * @param host RPC 服务提供方主机地址
+     * @return RPC 服务提供方主机地址对应的恢复信息监控器，该方法不会返回 {@code null}
+     */
+    public static RpcClientRescueMonitor get(String host) {
+        return CLIENT_RESCUE_MONITOR_MAP.computeIfAbsent(host, key -> new RpcClientRescueMonitor());
+    }
+}
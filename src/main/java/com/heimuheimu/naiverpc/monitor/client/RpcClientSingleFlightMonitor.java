@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RPC 客户端合并调用信息监控器，对 {@link com.heimuheimu.naiverpc.client.singleflight.SingleFlightRpcClient} 的合并调用情况进行监控。
+ *
+ * <p><strong>说明：</strong>{@code RpcClientSingleFlightMonitor} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientSingleFlightMonitor {
+
+    private static final RpcClientSingleFlightMonitor INSTANCE = new RpcClientSingleFlightMonitor();
+
+    /**
+     * 允许合并的 RPC 调用总次数
+     */
+    private final LongAdder callCount = new LongAdder();
+
+    /**
+     * 被合并的 RPC 调用总次数，被合并的 RPC 调用不会发送 RPC 请求，直接共享正在执行中的相同 RPC 调用结果
+     */
+    private final LongAdder coalescedCount = new LongAdder();
+
+    private RpcClientSingleFlightMonitor() {
+        //private constructor
+    }
+
+    /**
+     * 对允许合并的 RPC 调用进行监控。
+     *
+     * @param coalesced 该 RPC 调用是否被合并
+     */
+    public void onCalled(boolean coalesced) {
+        callCount.increment();
+        if (coalesced) {
+            coalescedCount.increment();
+        }
+    }
+
+    /**
+     * 获得允许合并的 RPC 调用总次数。
+     *
+     * @return 允许合并的 RPC 调用总次数
+     */
+    public long getCallCount() {
+        return callCount.sum();
+    }
+
+    /**
+     * 获得被合并的 RPC 调用总次数。
+     *
+     * @return 被合并的 RPC 调用总次数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * 获得 RPC 客户端合并调用信息监控器。
+     *
+     * @return RPC 客户端合并调用信息监控器
+     */
+    public static RpcClientSingleFlightMonitor getInstance() {
+        return INSTANCE;
+    }
+}
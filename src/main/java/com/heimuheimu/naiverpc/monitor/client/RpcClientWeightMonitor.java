@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RPC 集群客户端权重监控器，记录每个 RPC 服务提供方最近一次计算得出的有效权重（配置权重乘以预热期间的权重比例）。
+ *
+ * <p><strong>说明：</strong>{@code RpcClientWeightMonitor} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientWeightMonitor {
+
+    private static final RpcClientWeightMonitor INSTANCE = new RpcClientWeightMonitor();
+
+    /**
+     * 有效权重 {@code Map}，Key 为 RPC 服务提供方主机地址，Value 为有效权重
+     */
+    private final ConcurrentHashMap<String, Double> weightMap = new ConcurrentHashMap<>();
+
+    private RpcClientWeightMonitor() {
+        //private constructor
+    }
+
+    /**
+     * 对计算得出的 RPC 服务提供方有效权重进行监控。
+     *
+     * @param host RPC 服务提供方主机地址
+     * @param weight 有效权重
+     */
+    public void onWeightChanged(String host, double weight) {
+        weightMap.put(host, weight);
+    }
+
+    /**
+     * 对已被移除的 RPC 服务提供方进行监控，移除后不再输出其有效权重。
+     *
+     * @param host RPC 服务提供方主机地址
+     */
+    public void onRemoved(String host) {
+        weightMap.remove(host);
+    }
+
+    /**
+     * 获得当前的有效权重 {@code Map}，Key 为 RPC 服务提供方主机地址，Value 为有效权重。
+     *
+     * @return 有效权重 {@code Map}，不会为 {@code null}
+     */
+    public Map<String, Double> getWeightMap() {
+        return Collections.unmodifiableMap(new HashMap<>(weightMap));
+    }
+
+    /**
+     * 获得 RPC 集群客户端权重监控器。
+     *
+     * @return RPC 集群客户端权重监控器
+     */
+    public static RpcClientWeightMonitor getInstance() {
+        return INSTANCE;
+    }
+}
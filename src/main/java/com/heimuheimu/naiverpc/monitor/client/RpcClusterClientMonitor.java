@@ -40,6 +40,46 @@ public class RpcClusterClientMonitor {
      */
     private final AtomicLong unavailableClientCount = new AtomicLong();
 
+    /**
+     * 已发送的对冲调用次数
+     */
+    private final AtomicLong hedgeCount = new AtomicLong();
+
+    /**
+     * 对冲调用先于原调用成功返回的次数
+     */
+    private final AtomicLong hedgeWonCount = new AtomicLong();
+
+    /**
+     * 因超出对冲调用比例上限而放弃对冲的次数
+     */
+    private final AtomicLong hedgeRejectedCount = new AtomicLong();
+
+    /**
+     * 异常 RPC 服务提供方被摘除的次数
+     */
+    private final AtomicLong ejectedCount = new AtomicLong();
+
+    /**
+     * 因超出最大摘除比例而放弃摘除异常 RPC 服务提供方的次数
+     */
+    private final AtomicLong ejectionCappedCount = new AtomicLong();
+
+    /**
+     * 发送至调用方所在区域的 RPC 调用次数
+     */
+    private final AtomicLong localZoneCount = new AtomicLong();
+
+    /**
+     * 发送至其它区域的 RPC 调用次数
+     */
+    private final AtomicLong crossZoneCount = new AtomicLong();
+
+    /**
+     * 因本区域 RPC 服务提供方不可用或负载过高，RPC 调用溢出至其它区域进行选择的次数
+     */
+    private final AtomicLong zoneSpilloverCount = new AtomicLong();
+
     private RpcClusterClientMonitor() {
         //private constructor
     }
@@ -60,6 +100,158 @@ public class RpcClusterClientMonitor {
         return unavailableClientCount.get();
     }
 
+    /**
+     * 对 RPC 集群客户端发送的对冲调用进行监控。
+     *
+     * @since 1.2
+     */
+    public void onHedged() {
+        hedgeCount.incrementAndGet();
+    }
+
+    /**
+     * 对先于原调用成功返回的对冲调用进行监控。
+     *
+     * @since 1.2
+     */
+    public void onHedgeWon() {
+        hedgeWonCount.incrementAndGet();
+    }
+
+    /**
+     * 对因超出对冲调用比例上限而放弃的对冲调用进行监控。
+     *
+     * @since 1.2
+     */
+    public void onHedgeRejected() {
+        hedgeRejectedCount.incrementAndGet();
+    }
+
+    /**
+     * 获得已发送的对冲调用次数。
+     *
+     * @return 已发送的对冲调用次数
+     * @since 1.2
+     */
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    /**
+     * 获得对冲调用先于原调用成功返回的次数。
+     *
+     * @return 对冲调用先于原调用成功返回的次数
+     * @since 1.2
+     */
+    public long getHedgeWonCount() {
+        return hedgeWonCount.get();
+    }
+
+    /**
+     * 获得因超出对冲调用比例上限而放弃对冲的次数。
+     *
+     * @return 因超出对冲调用比例上限而放弃对冲的次数
+     * @since 1.2
+     */
+    public long getHedgeRejectedCount() {
+        return hedgeRejectedCount.get();
+    }
+
+    /**
+     * 对被摘除的异常 RPC 服务提供方进行监控。
+     *
+     * @since 1.2
+     */
+    public void onEjected() {
+        ejectedCount.incrementAndGet();
+    }
+
+    /**
+     * 对因超出最大摘除比例而放弃的摘除操作进行监控。
+     *
+     * @since 1.2
+     */
+    public void onEjectionCapped() {
+        ejectionCappedCount.incrementAndGet();
+    }
+
+    /**
+     * 获得异常 RPC 服务提供方被摘除的次数。
+     *
+     * @return 异常 RPC 服务提供方被摘除的次数
+     * @since 1.2
+     */
+    public long getEjectedCount() {
+        return ejectedCount.get();
+    }
+
+    /**
+     * 获得因超出最大摘除比例而放弃摘除异常 RPC 服务提供方的次数。
+     *
+     * @return 因超出最大摘除比例而放弃摘除的次数
+     * @since 1.2
+     */
+    public long getEjectionCappedCount() {
+        return ejectionCappedCount.get();
+    }
+
+    /**
+     * 对发送至调用方所在区域的 RPC 调用进行监控。
+     *
+     * @since 1.2
+     */
+    public void onLocalZone() {
+        localZoneCount.incrementAndGet();
+    }
+
+    /**
+     * 对发送至其它区域的 RPC 调用进行监控。
+     *
+     * @since 1.2
+     */
+    public void onCrossZone() {
+        crossZoneCount.incrementAndGet();
+    }
+
+    /**
+     * 对溢出至其它区域进行选择的 RPC 调用进行监控。
+     *
+     * @since 1.2
+     */
+    public void onZoneSpillover() {
+        zoneSpilloverCount.incrementAndGet();
+    }
+
+    /**
+     * 获得发送至调用方所在区域的 RPC 调用次数。
+     *
+     * @return 发送至调用方所在区域的 RPC 调用次数
+     * @since 1.2
+     */
+    public long getLocalZoneCount() {
+        return localZoneCount.get();
+    }
+
+    /**
+     * 获得发送至其它区域的 RPC 调用次数。
+     *
+     * @return 发送至其它区域的 RPC 调用次数
+     * @since 1.2
+     */
+    public long getCrossZoneCount() {
+        return crossZoneCount.get();
+    }
+
+    /**
+     * 获得 RPC 调用溢出至其它区域进行选择的次数。
+     *
+     * @return RPC 调用溢出至其它区域进行选择的次数
+     * @since 1.2
+     */
+    public long getZoneSpilloverCount() {
+        return zoneSpilloverCount.get();
+    }
+
     /**
      * 获得 RPC 集群客户端信息监控器。
      *
@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client.falcon;
+
+import com.heimuheimu.naivemonitor.falcon.FalconData;
+import com.heimuheimu.naivemonitor.falcon.support.AbstractFalconDataCollector;
+import com.heimuheimu.naiverpc.constant.FalconDataCollectorConstant;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientBroadcastMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RPC 客户端广播调用信息 Falcon 监控数据采集器。该采集器采集周期为 30 秒，每次采集将会返回以下数据项：
+ * <ul>
+ *     <li>naiverpc_client_broadcast_in_flight_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 采集时刻正在执行中的广播 RPC 调用数量</li>
+ *     <li>naiverpc_client_broadcast_peak_in_flight_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 出现过的正在执行中的广播 RPC 调用最大数量</li>
+ * </ul>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientBroadcastDataCollector extends AbstractFalconDataCollector {
+
+    @Override
+    public List<FalconData> getList() {
+        RpcClientBroadcastMonitor monitor = RpcClientBroadcastMonitor.getInstance();
+        List<FalconData> falconDataList = new ArrayList<>();
+        falconDataList.add(create("_broadcast_in_flight_count", monitor.getInFlightCount()));
+        falconDataList.add(create("_broadcast_peak_in_flight_count", monitor.getPeakInFlightCount()));
+        return falconDataList;
+    }
+
+    @Override
+    protected String getModuleName() {
+        return FalconDataCollectorConstant.MODULE_NAME;
+    }
+
+    @Override
+    protected String getCollectorName() {
+        return "client";
+    }
+
+    @Override
+    public int getPeriod() {
+        return FalconDataCollectorConstant.REPORT_PERIOD;
+    }
+}
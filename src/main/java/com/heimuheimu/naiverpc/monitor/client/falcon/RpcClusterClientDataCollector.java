@@ -36,12 +36,37 @@ import java.util.List;
  * RPC 集群客户端信息 Falcon 监控数据采集器。该采集器采集周期为 30 秒，每次采集将会返回以下数据项：
  * <ul>
  *     <li>naiverpc_client_cluster_unavailable_client_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内 RPC 集群客户端获取到不可用 RPC 客户端的次数</li>
+ *     <li>naiverpc_client_cluster_hedge_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内 RPC 集群客户端发送的对冲调用次数</li>
+ *     <li>naiverpc_client_cluster_hedge_won_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内对冲调用先于原调用成功返回的次数</li>
+ *     <li>naiverpc_client_cluster_hedge_rejected_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内因超出对冲调用比例上限而放弃对冲的次数</li>
+ *     <li>naiverpc_client_cluster_ejected_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内异常 RPC 服务提供方被摘除的次数</li>
+ *     <li>naiverpc_client_cluster_ejection_capped_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内因超出最大摘除比例而放弃摘除的次数</li>
+ *     <li>naiverpc_client_cluster_local_zone_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内发送至调用方所在区域的 RPC 调用次数</li>
+ *     <li>naiverpc_client_cluster_cross_zone_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内发送至其它区域的 RPC 调用次数</li>
+ *     <li>naiverpc_client_cluster_cross_zone_ratio/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内发送至其它区域的 RPC 调用次数占比</li>
+ *     <li>naiverpc_client_cluster_zone_spillover_count/module=naiverpc &nbsp;&nbsp;&nbsp;&nbsp; 30 秒内因本区域不可用或负载过高，RPC 调用溢出至其它区域的次数</li>
  * </ul>
  */
 public class RpcClusterClientDataCollector extends AbstractFalconDataCollector {
 
     private volatile long lastUnavailableClientCount = 0;
 
+    private volatile long lastHedgeCount = 0;
+
+    private volatile long lastHedgeWonCount = 0;
+
+    private volatile long lastHedgeRejectedCount = 0;
+
+    private volatile long lastEjectedCount = 0;
+
+    private volatile long lastEjectionCappedCount = 0;
+
+    private volatile long lastLocalZoneCount = 0;
+
+    private volatile long lastCrossZoneCount = 0;
+
+    private volatile long lastZoneSpilloverCount = 0;
+
     @Override
     public List<FalconData> getList() {
         RpcClusterClientMonitor monitor = RpcClusterClientMonitor.getInstance();
@@ -49,6 +74,41 @@ public class RpcClusterClientDataCollector extends AbstractFalconDataCollector {
         long unavailableClientCount = monitor.getUnavailableClientCount();
         falconDataList.add(create("_cluster_unavailable_client_count", unavailableClientCount - lastUnavailableClientCount));
         lastUnavailableClientCount = unavailableClientCount;
+
+        long hedgeCount = monitor.getHedgeCount();
+        falconDataList.add(create("_cluster_hedge_count", hedgeCount - lastHedgeCount));
+        lastHedgeCount = hedgeCount;
+
+        long hedgeWonCount = monitor.getHedgeWonCount();
+        falconDataList.add(create("_cluster_hedge_won_count", hedgeWonCount - lastHedgeWonCount));
+        lastHedgeWonCount = hedgeWonCount;
+
+        long hedgeRejectedCount = monitor.getHedgeRejectedCount();
+        falconDataList.add(create("_cluster_hedge_rejected_count", hedgeRejectedCount - lastHedgeRejectedCount));
+        lastHedgeRejectedCount = hedgeRejectedCount;
+
+        long ejectedCount = monitor.getEjectedCount();
+        falconDataList.add(create("_cluster_ejected_count", ejectedCount - lastEjectedCount));
+        lastEjectedCount = ejectedCount;
+
+        long ejectionCappedCount = monitor.getEjectionCappedCount();
+        falconDataList.add(create("_cluster_ejection_capped_count", ejectionCappedCount - lastEjectionCappedCount));
+        lastEjectionCappedCount = ejectionCappedCount;
+
+        long localZoneCount = monitor.getLocalZoneCount();
+        long crossZoneCount = monitor.getCrossZoneCount();
+        long periodLocalZoneCount = localZoneCount - lastLocalZoneCount;
+        long periodCrossZoneCount = crossZoneCount - lastCrossZoneCount;
+        long periodZoneCount = periodLocalZoneCount + periodCrossZoneCount;
+        falconDataList.add(create("_cluster_local_zone_count", periodLocalZoneCount));
+        falconDataList.add(create("_cluster_cross_zone_count", periodCrossZoneCount));
+        falconDataList.add(create("_cluster_cross_zone_ratio", periodZoneCount > 0 ? (double) periodCrossZoneCount / periodZoneCount : 0));
+        lastLocalZoneCount = localZoneCount;
+        lastCrossZoneCount = crossZoneCount;
+
+        long zoneSpilloverCount = monitor.getZoneSpilloverCount();
+        falconDataList.add(create("_cluster_zone_spillover_count", zoneSpilloverCount - lastZoneSpilloverCount));
+        lastZoneSpilloverCount = zoneSpilloverCount;
         return falconDataList;
     }
 
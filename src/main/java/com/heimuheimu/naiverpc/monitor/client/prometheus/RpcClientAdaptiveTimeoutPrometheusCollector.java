@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client.prometheus;
+
+import com.heimuheimu.naivemonitor.prometheus.PrometheusCollector;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusData;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusSample;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientAdaptiveTimeoutMonitor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RPC 客户端自适应超时时间采集器，采集时会返回以下数据：
+ * <ul>
+ *     <li>naiverpc_client_adaptive_timeout{remoteAddress="$remoteAddress",method="$method"} 采集时刻 RPC 方法在该 RPC 服务提供方使用的自适应超时时间，单位：毫秒</li>
+ * </ul>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientAdaptiveTimeoutPrometheusCollector implements PrometheusCollector {
+
+    @Override
+    public List<PrometheusData> getList() {
+        PrometheusData timeoutData = PrometheusData.buildGauge("naiverpc_client_adaptive_timeout", "");
+        for (Map.Entry<String, Map<String, Long>> hostEntry : RpcClientAdaptiveTimeoutMonitor.getInstance().getTimeoutMap().entrySet()) {
+            for (Map.Entry<String, Long> methodEntry : hostEntry.getValue().entrySet()) {
+                timeoutData.addSample(PrometheusSample.build(methodEntry.getValue())
+                        .addSampleLabel("remoteAddress", hostEntry.getKey())
+                        .addSampleLabel("method", methodEntry.getKey()));
+            }
+        }
+        return Collections.singletonList(timeoutData);
+    }
+}
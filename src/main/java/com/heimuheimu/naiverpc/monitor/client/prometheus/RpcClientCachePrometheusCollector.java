@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client.prometheus;
+
+import com.heimuheimu.naivemonitor.prometheus.PrometheusCollector;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusData;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusSample;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientCacheMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RPC 客户端调用结果缓存信息采集器，采集时会返回以下数据：
+ * <ul>
+ *     <li>naiverpc_client_cache_hit_count 相邻两次采集周期内缓存命中次数</li>
+ *     <li>naiverpc_client_cache_miss_count 相邻两次采集周期内缓存未命中次数</li>
+ *     <li>naiverpc_client_cache_hit_ratio 相邻两次采集周期内缓存命中率</li>
+ *     <li>naiverpc_client_cache_eviction_count 相邻两次采集周期内因缓存容量不足被淘汰的调用结果数量</li>
+ *     <li>naiverpc_client_cache_expiration_count 相邻两次采集周期内因过期被移除的调用结果数量</li>
+ * </ul>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientCachePrometheusCollector implements PrometheusCollector {
+
+    /**
+     * 上一次采集时的缓存命中总次数
+     */
+    private volatile long lastHitCount = 0;
+
+    /**
+     * 上一次采集时的缓存未命中总次数
+     */
+    private volatile long lastMissCount = 0;
+
+    /**
+     * 上一次采集时因缓存容量不足被淘汰的调用结果总数
+     */
+    private volatile long lastEvictionCount = 0;
+
+    /**
+     * 上一次采集时因过期被移除的调用结果总数
+     */
+    private volatile long lastExpirationCount = 0;
+
+    @Override
+    public synchronized List<PrometheusData> getList() {
+        RpcClientCacheMonitor monitor = RpcClientCacheMonitor.getInstance();
+        long hitCount = monitor.getHitCount();
+        long missCount = monitor.getMissCount();
+        long evictionCount = monitor.getEvictionCount();
+        long expirationCount = monitor.getExpirationCount();
+        long deltaHitCount = hitCount - lastHitCount;
+        long deltaMissCount = missCount - lastMissCount;
+        long deltaEvictionCount = evictionCount - lastEvictionCount;
+        long deltaExpirationCount = expirationCount - lastExpirationCount;
+        lastHitCount = hitCount;
+        lastMissCount = missCount;
+        lastEvictionCount = evictionCount;
+        lastExpirationCount = expirationCount;
+
+        PrometheusData hitCountData = PrometheusData.buildGauge("naiverpc_client_cache_hit_count", "");
+        hitCountData.addSample(PrometheusSample.build(deltaHitCount));
+        PrometheusData missCountData = PrometheusData.buildGauge("naiverpc_client_cache_miss_count", "");
+        missCountData.addSample(PrometheusSample.build(deltaMissCount));
+        long requestCount = deltaHitCount + deltaMissCount;
+        PrometheusData hitRatioData = PrometheusData.buildGauge("naiverpc_client_cache_hit_ratio", "");
+        hitRatioData.addSample(PrometheusSample.build(requestCount > 0 ? (double) deltaHitCount / requestCount : 0));
+        PrometheusData evictionCountData = PrometheusData.buildGauge("naiverpc_client_cache_eviction_count", "");
+        evictionCountData.addSample(PrometheusSample.build(deltaEvictionCount));
+        PrometheusData expirationCountData = PrometheusData.buildGauge("naiverpc_client_cache_expiration_count", "");
+        expirationCountData.addSample(PrometheusSample.build(deltaExpirationCount));
+
+        List<PrometheusData> dataList = new ArrayList<>();
+        dataList.add(hitCountData);
+        dataList.add(missCountData);
+        dataList.add(hitRatioData);
+        dataList.add(evictionCountData);
+        dataList.add(expirationCountData);
+        return dataList;
+    }
+}
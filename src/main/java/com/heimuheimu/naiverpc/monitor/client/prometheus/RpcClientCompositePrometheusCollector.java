@@ -37,6 +37,14 @@ import java.util.List;
  *     <li>{@link RpcClientSocketPrometheusCollector} RPC 客户端 Socket 读、写信息采集器</li>
  *     <li>{@link RpcClientCompressionPrometheusCollector} RPC 客户端压缩操作信息采集器</li>
  *     <li>{@link RpcClientThreadPoolPrometheusCollector} RPC 客户端使用的线程池信息采集器</li>
+ *     <li>{@link RpcClientPendingCallPrometheusCollector} RPC 客户端等待响应的 RPC 调用信息采集器</li>
+ *     <li>{@link RpcClientSingleFlightPrometheusCollector} RPC 客户端合并调用信息采集器</li>
+ *     <li>{@link RpcClientCachePrometheusCollector} RPC 客户端调用结果缓存信息采集器</li>
+ *     <li>{@link RpcClusterClientPrometheusCollector} RPC 集群客户端信息采集器</li>
+ *     <li>{@link RpcClientAdaptiveTimeoutPrometheusCollector} RPC 客户端自适应超时时间采集器</li>
+ *     <li>{@link RpcClientRescuePrometheusCollector} RPC 客户端恢复信息采集器</li>
+ *     <li>{@link RpcClientWeightPrometheusCollector} RPC 集群客户端权重采集器</li>
+ *     <li>{@link RpcClientBroadcastPrometheusCollector} RPC 客户端广播调用信息采集器</li>
  * </ul>
  *
  * @author heimuheimu
@@ -64,6 +72,46 @@ public class RpcClientCompositePrometheusCollector implements PrometheusCollecto
      */
     private final RpcClientThreadPoolPrometheusCollector threadPoolCollector;
 
+    /**
+     * RPC 客户端等待响应的 RPC 调用信息采集器
+     */
+    private final RpcClientPendingCallPrometheusCollector pendingCallCollector;
+
+    /**
+     * RPC 客户端合并调用信息采集器
+     */
+    private final RpcClientSingleFlightPrometheusCollector singleFlightCollector;
+
+    /**
+     * RPC 客户端调用结果缓存信息采集器
+     */
+    private final RpcClientCachePrometheusCollector cacheCollector;
+
+    /**
+     * RPC 集群客户端信息采集器
+     */
+    private final RpcClusterClientPrometheusCollector clusterCollector;
+
+    /**
+     * RPC 客户端自适应超时时间采集器
+     */
+    private final RpcClientAdaptiveTimeoutPrometheusCollector adaptiveTimeoutCollector;
+
+    /**
+     * RPC 客户端恢复信息采集器
+     */
+    private final RpcClientRescuePrometheusCollector rescueCollector;
+
+    /**
+     * RPC 集群客户端权重采集器
+     */
+    private final RpcClientWeightPrometheusCollector weightCollector;
+
+    /**
+     * RPC 客户端广播调用信息采集器
+     */
+    private final RpcClientBroadcastPrometheusCollector broadcastCollector;
+
     /**
      * 构造一个 RpcClientCompositePrometheusCollector 实例。
      *
@@ -78,6 +126,14 @@ public class RpcClientCompositePrometheusCollector implements PrometheusCollecto
         this.socketCollector = new RpcClientSocketPrometheusCollector(configurationList);
         this.compressionCollector = new RpcClientCompressionPrometheusCollector();
         this.threadPoolCollector = new RpcClientThreadPoolPrometheusCollector();
+        this.pendingCallCollector = new RpcClientPendingCallPrometheusCollector(configurationList);
+        this.singleFlightCollector = new RpcClientSingleFlightPrometheusCollector();
+        this.cacheCollector = new RpcClientCachePrometheusCollector();
+        this.clusterCollector = new RpcClusterClientPrometheusCollector();
+        this.adaptiveTimeoutCollector = new RpcClientAdaptiveTimeoutPrometheusCollector();
+        this.rescueCollector = new RpcClientRescuePrometheusCollector(configurationList);
+        this.weightCollector = new RpcClientWeightPrometheusCollector();
+        this.broadcastCollector = new RpcClientBroadcastPrometheusCollector();
     }
 
     @Override
@@ -87,6 +143,14 @@ public class RpcClientCompositePrometheusCollector implements PrometheusCollecto
         dataList.addAll(socketCollector.getList());
         dataList.addAll(compressionCollector.getList());
         dataList.addAll(threadPoolCollector.getList());
+        dataList.addAll(pendingCallCollector.getList());
+        dataList.addAll(singleFlightCollector.getList());
+        dataList.addAll(cacheCollector.getList());
+        dataList.addAll(clusterCollector.getList());
+        dataList.addAll(adaptiveTimeoutCollector.getList());
+        dataList.addAll(rescueCollector.getList());
+        dataList.addAll(weightCollector.getList());
+        dataList.addAll(broadcastCollector.getList());
         return dataList;
     }
 }
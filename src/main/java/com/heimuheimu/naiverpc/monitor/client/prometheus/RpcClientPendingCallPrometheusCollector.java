@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client.prometheus;
+
+import com.heimuheimu.naivemonitor.prometheus.PrometheusCollector;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusData;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusSample;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientPendingCallMonitor;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientPendingCallMonitorFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RPC 客户端等待响应的 RPC 调用信息采集器，采集时会返回以下数据：
+ * <ul>
+ *     <li>naiverpc_client_pending_call_count{name="$serverName",remoteAddress="$remoteAddress"} 采集时刻已发送请求但尚未收到响应的 RPC 调用数量</li>
+ * </ul>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientPendingCallPrometheusCollector implements PrometheusCollector {
+
+    /**
+     * 等待响应的 RPC 调用信息监控器列表，不会为 {@code null} 或空，仅允许在构造函数中修改
+     */
+    private final List<RpcClientPendingCallMonitor> monitorList;
+
+    /**
+     * 监控器访问的 RPC 服务名称列表，与 {@link #monitorList} 一一对应， 不会为 {@code null} 或空，仅允许在构造函数中修改
+     */
+    private final List<String> nameList;
+
+    /**
+     * 监控器对应的 RPC 服务远程主机地址列表，与 {@link #monitorList} 一一对应， 不会为 {@code null} 或空，仅允许在构造函数中修改
+     */
+    private final List<String> hostList;
+
+    /**
+     * 构造一个 RpcClientPendingCallPrometheusCollector 实例。
+     *
+     * @param configurationList 配置信息列表，不允许为 {@code null} 或空
+     * @throws IllegalArgumentException 如果 configurationList 为 {@code null} 或空，将会抛出此异常
+     */
+    public RpcClientPendingCallPrometheusCollector(List<RpcClientPrometheusCollectorConfiguration> configurationList) throws IllegalArgumentException {
+        if (configurationList == null || configurationList.isEmpty()) {
+            throw new IllegalArgumentException("Create `RpcClientPendingCallPrometheusCollector` failed: `configurationList could not be empty`.");
+        }
+        monitorList = new ArrayList<>();
+        nameList = new ArrayList<>();
+        hostList = new ArrayList<>();
+        for (RpcClientPrometheusCollectorConfiguration configuration : configurationList) {
+            for (String host : configuration.getHostList()) {
+                monitorList.add(RpcClientPendingCallMonitorFactory.get(host));
+                nameList.add(configuration.getName());
+                hostList.add(host);
+            }
+        }
+    }
+
+    @Override
+    public List<PrometheusData> getList() {
+        PrometheusData pendingCallCountData = PrometheusData.buildGauge("naiverpc_client_pending_call_count", "");
+        for (int i = 0; i < monitorList.size(); i++) {
+            pendingCallCountData.addSample(PrometheusSample.build(monitorList.get(i).getPendingCallCount())
+                    .addSampleLabel("name", nameList.get(i))
+                    .addSampleLabel("remoteAddress", hostList.get(i)));
+        }
+        return Collections.singletonList(pendingCallCountData);
+    }
+}
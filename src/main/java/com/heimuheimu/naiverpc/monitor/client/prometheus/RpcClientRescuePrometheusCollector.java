@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client.prometheus;
+
+import com.heimuheimu.naivemonitor.prometheus.PrometheusCollector;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusData;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusSample;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientRescueMonitor;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientRescueMonitorFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RPC 客户端恢复信息采集器，采集时会返回以下数据：
+ * <ul>
+ *     <li>naiverpc_client_rescue_recovered_count{name="$serverName",remoteAddress="$remoteAddress"} 相邻两次采集周期内 RPC 客户端恢复成功的次数</li>
+ *     <li>naiverpc_client_rescue_failed_count{name="$serverName",remoteAddress="$remoteAddress"} 相邻两次采集周期内 RPC 客户端恢复失败的次数</li>
+ *     <li>naiverpc_client_rescue_avg_recover_time{name="$serverName",remoteAddress="$remoteAddress"} 相邻两次采集周期内恢复成功的 RPC 客户端从不可用到恢复的平均耗时，单位：毫秒</li>
+ *     <li>naiverpc_client_rescue_last_recover_time{name="$serverName",remoteAddress="$remoteAddress"} 最近一次恢复成功的 RPC 客户端从不可用到恢复的耗时，单位：毫秒</li>
+ * </ul>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientRescuePrometheusCollector implements PrometheusCollector {
+
+    /**
+     * RPC 客户端恢复信息监控器列表，不会为 {@code null} 或空，仅允许在构造函数中修改
+     */
+    private final List<RpcClientRescueMonitor> monitorList;
+
+    /**
+     * 监控器访问的 RPC 服务名称列表，与 {@link #monitorList} 一一对应， 不会为 {@code null} 或空，仅允许在构造函数中修改
+     */
+    private final List<String> nameList;
+
+    /**
+     * 监控器对应的 RPC 服务远程主机地址列表，与 {@link #monitorList} 一一对应， 不会为 {@code null} 或空，仅允许在构造函数中修改
+     */
+    private final List<String> hostList;
+
+    /**
+     * 上一次采集时恢复成功总次数，与 {@link #monitorList} 一一对应
+     */
+    private final long[] lastRecoveredCounts;
+
+    /**
+     * 上一次采集时恢复成功总耗时，与 {@link #monitorList} 一一对应
+     */
+    private final long[] lastTotalRecoverTimes;
+
+    /**
+     * 上一次采集时恢复失败总次数，与 {@link #monitorList} 一一对应
+     */
+    private final long[] lastFailedCounts;
+
+    /**
+     * 构造一个 RpcClientRescuePrometheusCollector 实例。
+     *
+     * @param configurationList 配置信息列表，不允许为 {@code null} 或空
+     * @throws IllegalArgumentException 如果 configurationList 为 {@code null} 或空，将会抛出此异常
+     */
+    public RpcClientRescuePrometheusCollector(List<RpcClientPrometheusCollectorConfiguration> configurationList) throws IllegalArgumentException {
+        if (configurationList == null || configurationList.isEmpty()) {
+            throw new IllegalArgumentException("Create `RpcClientRescuePrometheusCollector` failed: `configurationList could not be empty`.");
+        }
+        monitorList = new ArrayList<>();
+        nameList = new ArrayList<>();
+        hostList = new ArrayList<>();
+        for (RpcClientPrometheusCollectorConfiguration configuration : configurationList) {
+            for (String host : configuration.getHostList()) {
+                monitorList.add(RpcClientRescueMonitorFactory.get(host));
+                nameList.add(configuration.getName());
+                hostList.add(host);
+            }
+        }
+        lastRecoveredCounts = new long[monitorList.size()];
+        lastTotalRecoverTimes = new long[monitorList.size()];
+        lastFailedCounts = new long[monitorList.size()];
+    }
+
+    @Override
+    public synchronized List<PrometheusData> getList() {
+        PrometheusData recoveredCountData = PrometheusData.buildGauge("naiverpc_client_rescue_recovered_count", "");
+        PrometheusData failedCountData = PrometheusData.buildGauge("naiverpc_client_rescue_failed_count", "");
+        PrometheusData avgRecoverTimeData = PrometheusData.buildGauge("naiverpc_client_rescue_avg_recover_time", "");
+        PrometheusData lastRecoverTimeData = PrometheusData.buildGauge("naiverpc_client_rescue_last_recover_time", "");
+        for (int i = 0; i < monitorList.size(); i++) {
+            RpcClientRescueMonitor monitor = monitorList.get(i);
+            String name = nameList.get(i);
+            String host = hostList.get(i);
+            long recoveredCount = monitor.getRecoveredCount();
+            long totalRecoverTime = monitor.getTotalRecoverTime();
+            long failedCount = monitor.getFailedCount();
+            long deltaRecoveredCount = recoveredCount - lastRecoveredCounts[i];
+            long deltaTotalRecoverTime = totalRecoverTime - lastTotalRecoverTimes[i];
+            long deltaFailedCount = failedCount - lastFailedCounts[i];
+            lastRecoveredCounts[i] = recoveredCount;
+            lastTotalRecoverTimes[i] = totalRecoverTime;
+            lastFailedCounts[i] = failedCount;
+
+            recoveredCountData.addSample(PrometheusSample.build(deltaRecoveredCount)
+                    .addSampleLabel("name", name)
+                    .addSampleLabel("remoteAddress", host));
+            failedCountData.addSample(PrometheusSample.build(deltaFailedCount)
+                    .addSampleLabel("name", name)
+                    .addSampleLabel("remoteAddress", host));
+            avgRecoverTimeData.addSample(PrometheusSample.build(deltaRecoveredCount > 0 ? (double) deltaTotalRecoverTime / deltaRecoveredCount : 0)
+                    .addSampleLabel("name", name)
+                    .addSampleLabel("remoteAddress", host));
+            lastRecoverTimeData.addSample(PrometheusSample.build(monitor.getLastRecoverTime())
+                    .addSampleLabel("name", name)
+                    .addSampleLabel("remoteAddress", host));
+        }
+        List<PrometheusData> dataList = new ArrayList<>();
+        dataList.add(recoveredCountData);
+        dataList.add(failedCountData);
+        dataList.add(avgRecoverTimeData);
+        dataList.add(lastRecoverTimeData);
+        return dataList;
+    }
+}
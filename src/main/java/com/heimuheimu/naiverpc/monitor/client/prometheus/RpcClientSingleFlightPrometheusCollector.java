@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client.prometheus;
+
+import com.heimuheimu.naivemonitor.prometheus.PrometheusCollector;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusData;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusSample;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientSingleFlightMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RPC 客户端合并调用信息采集器，采集时会返回以下数据：
+ * <ul>
+ *     <li>naiverpc_client_single_flight_call_count 相邻两次采集周期内允许合并的 RPC 调用次数</li>
+ *     <li>naiverpc_client_single_flight_coalesced_count 相邻两次采集周期内被合并的 RPC 调用次数</li>
+ *     <li>naiverpc_client_single_flight_coalesced_ratio 相邻两次采集周期内被合并的 RPC 调用次数占允许合并的 RPC 调用次数的比例</li>
+ * </ul>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientSingleFlightPrometheusCollector implements PrometheusCollector {
+
+    /**
+     * 上一次采集时允许合并的 RPC 调用总次数
+     */
+    private volatile long lastCallCount = 0;
+
+    /**
+     * 上一次采集时被合并的 RPC 调用总次数
+     */
+    private volatile long lastCoalescedCount = 0;
+
+    @Override
+    public synchronized List<PrometheusData> getList() {
+        RpcClientSingleFlightMonitor monitor = RpcClientSingleFlightMonitor.getInstance();
+        long callCount = monitor.getCallCount();
+        long coalescedCount = monitor.getCoalescedCount();
+        long deltaCallCount = callCount - lastCallCount;
+        long deltaCoalescedCount = coalescedCount - lastCoalescedCount;
+        lastCallCount = callCount;
+        lastCoalescedCount = coalescedCount;
+
+        PrometheusData callCountData = PrometheusData.buildGauge("naiverpc_client_single_flight_call_count", "");
+        callCountData.addSample(PrometheusSample.build(deltaCallCount));
+        PrometheusData coalescedCountData = PrometheusData.buildGauge("naiverpc_client_single_flight_coalesced_count", "");
+        coalescedCountData.addSample(PrometheusSample.build(deltaCoalescedCount));
+        PrometheusData coalescedRatioData = PrometheusData.buildGauge("naiverpc_client_single_flight_coalesced_ratio", "");
+        coalescedRatioData.addSample(PrometheusSample.build(deltaCallCount > 0 ? (double) deltaCoalescedCount / deltaCallCount : 0));
+
+        List<PrometheusData> dataList = new ArrayList<>();
+        dataList.add(callCountData);
+        dataList.add(coalescedCountData);
+        dataList.add(coalescedRatioData);
+        return dataList;
+    }
+}
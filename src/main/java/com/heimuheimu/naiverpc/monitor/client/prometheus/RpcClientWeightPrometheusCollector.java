@@ -0,0 +1,56 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client.prometheus;
+
+import com.heimuheimu.naivemonitor.prometheus.PrometheusCollector;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusData;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusSample;
+import com.heimuheimu.naiverpc.monitor.client.RpcClientWeightMonitor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RPC 集群客户端权重采集器，采集时会返回以下数据：
+ * <ul>
+ *     <li>naiverpc_client_cluster_host_weight{remoteAddress="$remoteAddress"} 采集时刻 RPC 服务提供方的有效权重，预热期间低于配置权重</li>
+ * </ul>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClientWeightPrometheusCollector implements PrometheusCollector {
+
+    @Override
+    public List<PrometheusData> getList() {
+        PrometheusData weightData = PrometheusData.buildGauge("naiverpc_client_cluster_host_weight", "");
+        for (Map.Entry<String, Double> entry : RpcClientWeightMonitor.getInstance().getWeightMap().entrySet()) {
+            weightData.addSample(PrometheusSample.build(entry.getValue())
+                    .addSampleLabel("remoteAddress", entry.getKey()));
+        }
+        return Collections.singletonList(weightData);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.monitor.client.prometheus;
+
+import com.heimuheimu.naivemonitor.prometheus.PrometheusCollector;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusData;
+import com.heimuheimu.naivemonitor.prometheus.PrometheusSample;
+import com.heimuheimu.naiverpc.monitor.client.RpcClusterClientMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RPC 集群客户端信息采集器，采集时会返回以下数据：
+ * <ul>
+ *     <li>naiverpc_client_cluster_unavailable_client_count 相邻两次采集周期内 RPC 集群客户端获取到不可用 RPC 客户端的次数</li>
+ *     <li>naiverpc_client_cluster_hedge_count 相邻两次采集周期内 RPC 集群客户端发送的对冲调用次数</li>
+ *     <li>naiverpc_client_cluster_hedge_won_count 相邻两次采集周期内对冲调用先于原调用成功返回的次数</li>
+ *     <li>naiverpc_client_cluster_hedge_rejected_count 相邻两次采集周期内因超出对冲调用比例上限而放弃对冲的次数</li>
+ *     <li>naiverpc_client_cluster_ejected_count 相邻两次采集周期内异常 RPC 服务提供方被摘除的次数</li>
+ *     <li>naiverpc_client_cluster_ejection_capped_count 相邻两次采集周期内因超出最大摘除比例而放弃摘除的次数</li>
+ *     <li>naiverpc_client_cluster_local_zone_count 相邻两次采集周期内发送至调用方所在区域的 RPC 调用次数</li>
+ *     <li>naiverpc_client_cluster_cross_zone_count 相邻两次采集周期内发送至其它区域的 RPC 调用次数</li>
+ *     <li>naiverpc_client_cluster_cross_zone_ratio 相邻两次采集周期内发送至其它区域的 RPC 调用次数占比</li>
+ *     <li>naiverpc_client_cluster_zone_spillover_count 相邻两次采集周期内因本区域不可用或负载过高，RPC 调用溢出至其它区域的次数</li>
+ * </ul>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class RpcClusterClientPrometheusCollector implements PrometheusCollector {
+
+    /**
+     * 上一次采集时获取到不可用 RPC 客户端的总次数
+     */
+    private volatile long lastUnavailableClientCount = 0;
+
+    /**
+     * 上一次采集时已发送的对冲调用总次数
+     */
+    private volatile long lastHedgeCount = 0;
+
+    /**
+     * 上一次采集时对冲调用先于原调用成功返回的总次数
+     */
+    private volatile long lastHedgeWonCount = 0;
+
+    /**
+     * 上一次采集时因超出对冲调用比例上限而放弃对冲的总次数
+     */
+    private volatile long lastHedgeRejectedCount = 0;
+
+    /**
+     * 上一次采集时异常 RPC 服务提供方被摘除的总次数
+     */
+    private volatile long lastEjectedCount = 0;
+
+    /**
+     * 上一次采集时因超出最大摘除比例而放弃摘除的总次数
+     */
+    private volatile long lastEjectionCappedCount = 0;
+
+    /**
+     * 上一次采集时发送至调用方所在区域的 RPC 调用总次数
+     */
+    private volatile long lastLocalZoneCount = 0;
+
+    /**
+     * 上一次采集时发送至其它区域的 RPC 调用总次数
+     */
+    private volatile long lastCrossZoneCount = 0;
+
+    /**
+     * 上一次采集时 RPC 调用溢出至其它区域的总次数
+     */
+    private volatile long lastZoneSpilloverCount = 0;
+
+    @Override
+    public synchronized List<PrometheusData> getList() {
+        RpcClusterClientMonitor monitor = RpcClusterClientMonitor.getInstance();
+        long unavailableClientCount = monitor.getUnavailableClientCount();
+        long hedgeCount = monitor.getHedgeCount();
+        long hedgeWonCount = monitor.getHedgeWonCount();
+        long hedgeRejectedCount = monitor.getHedgeRejectedCount();
+        long ejectedCount = monitor.getEjectedCount();
+        long ejectionCappedCount = monitor.getEjectionCappedCount();
+        long localZoneCount = monitor.getLocalZoneCount();
+        long crossZoneCount = monitor.getCrossZoneCount();
+        long zoneSpilloverCount = monitor.getZoneSpilloverCount();
+
+        PrometheusData unavailableClientCountData = PrometheusData.buildGauge("naiverpc_client_cluster_unavailable_client_count", "");
+        unavailableClientCountData.addSample(PrometheusSample.build(unavailableClientCount - lastUnavailableClientCount));
+        PrometheusData hedgeCountData = PrometheusData.buildGauge("naiverpc_client_cluster_hedge_count", "");
+        hedgeCountData.addSample(PrometheusSample.build(hedgeCount - lastHedgeCount));
+        PrometheusData hedgeWonCountData = PrometheusData.buildGauge("naiverpc_client_cluster_hedge_won_count", "");
+        hedgeWonCountData.addSample(PrometheusSample.build(hedgeWonCount - lastHedgeWonCount));
+        PrometheusData hedgeRejectedCountData = PrometheusData.buildGauge("naiverpc_client_cluster_hedge_rejected_count", "");
+        hedgeRejectedCountData.addSample(PrometheusSample.build(hedgeRejectedCount - lastHedgeRejectedCount));
+        PrometheusData ejectedCountData = PrometheusData.buildGauge("naiverpc_client_cluster_ejected_count", "");
+        ejectedCountData.addSample(PrometheusSample.build(ejectedCount - lastEjectedCount));
+        PrometheusData ejectionCappedCountData = PrometheusData.buildGauge("naiverpc_client_cluster_ejection_capped_count", "");
+        ejectionCappedCountData.addSample(PrometheusSample.build(ejectionCappedCount - lastEjectionCappedCount));
+        long periodLocalZoneCount = localZoneCount - lastLocalZoneCount;
+        long periodCrossZoneCount = crossZoneCount - lastCrossZoneCount;
+        long periodZoneCount = periodLocalZoneCount + periodCrossZoneCount;
+        PrometheusData localZoneCountData = PrometheusData.buildGauge("naiverpc_client_cluster_local_zone_count", "");
+        localZoneCountData.addSample(PrometheusSample.build(periodLocalZoneCount));
+        PrometheusData crossZoneCountData = PrometheusData.buildGauge("naiverpc_client_cluster_cross_zone_count", "");
+        crossZoneCountData.addSample(PrometheusSample.build(periodCrossZoneCount));
+        PrometheusData crossZoneRatioData = PrometheusData.buildGauge("naiverpc_client_cluster_cross_zone_ratio", "");
+        crossZoneRatioData.addSample(PrometheusSample.build(periodZoneCount > 0 ? (double) periodCrossZoneCount / periodZoneCount : 0));
+        PrometheusData zoneSpilloverCountData = PrometheusData.buildGauge("naiverpc_client_cluster_zone_spillover_count", "");
+        zoneSpilloverCountData.addSample(PrometheusSample.build(zoneSpilloverCount - lastZoneSpilloverCount));
+
+        lastUnavailableClientCount = unavailableClientCount;
+        lastHedgeCount = hedgeCount;
+        lastHedgeWonCount = hedgeWonCount;
+        lastHedgeRejectedCount = hedgeRejectedCount;
+        lastEjectedCount = ejectedCount;
+        lastEjectionCappedCount = ejectionCappedCount;
+        lastLocalZoneCount = localZoneCount;
+        lastCrossZoneCount = crossZoneCount;
+        lastZoneSpilloverCount = zoneSpilloverCount;
+
+        List<PrometheusData> dataList = new ArrayList<>();
+        dataList.add(unavailableClientCountData);
+        dataList.add(hedgeCountData);
+        dataList.add(hedgeWonCountData);
+        dataList.add(hedgeRejectedCountData);
+        dataList.add(ejectedCountData);
+        dataList.add(ejectionCappedCountData);
+        dataList.add(localZoneCountData);
+        dataList.add(crossZoneCountData);
+        dataList.add(crossZoneRatioData);
+        dataList.add(zoneSpilloverCountData);
+        return dataList;
+    }
+}
@@ -251,6 +251,24 @@ public class SocketConfiguration {
 		this.connectionTimeout = connectionTimeout;
 	}
 
+	/**
+	 * 获得当前配置信息的副本，副本允许修改，对副本的修改不会影响当前配置信息。
+	 *
+	 * @return 当前配置信息的副本
+	 * @since 1.2
+	 */
+	public SocketConfiguration copy() {
+		SocketConfiguration config = new SocketConfiguration();
+		config.keepAlive = keepAlive;
+		config.tcpNoDelay = tcpNoDelay;
+		config.sendBufferSize = sendBufferSize;
+		config.receiveBufferSize = receiveBufferSize;
+		config.soTimeout = soTimeout;
+		config.soLinger = soLinger;
+		config.connectionTimeout = connectionTimeout;
+		return config;
+	}
+
 	@Override
 	public String toString() {
 		return "SocketConfiguration{" +
@@ -97,7 +97,7 @@ import java.util.Arrays;
  *             <td>24</td>
  *             <td>7</td>
  *             <td>reserved bytes</td>
- *             <td>预留字节，允许具体操作自行定义其含义</td>
+ *             <td>预留字节，允许具体操作自行定义其含义，RPC 调用响应数据使用该字节携带 RPC 服务提供方负载信息，具体定义参考：{@link RpcServerLoad}</td>
  *         </tr>
  * </table>
  * </blockquote>
@@ -233,6 +233,16 @@ public class RpcPacket {
         return header[16];
     }
 
+    /**
+     * 获得当前 RPC 数据头部预留字节中携带的 RPC 服务提供方负载信息，如果未携带负载信息，则返回 {@code null}，该信息仅在响应数据中有意义。
+     *
+     * @return RPC 服务提供方负载信息，可能返回 {@code null}
+     * @since 1.2
+     */
+    public RpcServerLoad getServerLoad() {
+        return isResponsePacket() ? RpcServerLoad.readFrom(header) : null;
+    }
+
     @Override
     public String toString() {
         return "RpcPacket{" +
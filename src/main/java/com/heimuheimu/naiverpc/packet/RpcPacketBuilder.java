@@ -114,4 +114,16 @@ public class RpcPacketBuilder {
         return new RpcPacket(header, encodedBytes[1]);
     }
 
+    /**
+     * 将 RPC 服务提供方负载信息写入 RPC 响应数据头部的预留字节中，该方法仅允许在响应数据发送前调用。
+     *
+     * @param responseRpcPacket RPC 响应数据
+     * @param serverLoad RPC 服务提供方负载信息
+     * @return RPC 响应数据
+     * @since 1.2
+     */
+    public static RpcPacket setServerLoad(RpcPacket responseRpcPacket, RpcServerLoad serverLoad) {
+        serverLoad.writeTo(responseRpcPacket.getHeader());
+        return responseRpcPacket;
+    }
 }
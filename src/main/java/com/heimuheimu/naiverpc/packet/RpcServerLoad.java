@@ -0,0 +1,225 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.packet;
+
+/**
+ * RPC 服务提供方在响应数据头部预留字节中携带的负载信息，RPC 服务调用方可据此在服务提供方拒绝请求前避开负载过高的主机。
+ *
+ * <h3>头部预留字节定义</h3>
+ * <blockquote>
+ *     <table border summary="负载信息定义">
+ *         <tr>
+ *             <th>起始索引</th>
+ *             <th>结束索引</th>
+ *             <th>字节长度</th>
+ *             <th>名称</th>
+ *             <th>描述</th>
+ *         </tr>
+ *         <tr>
+ *             <td>18</td>
+ *             <td>18</td>
+ *             <td>1</td>
+ *             <td>load flags</td>
+ *             <td>负载信息标识，值为 {@link #FLAG_PRESENT} 时代表后续字节包含负载信息，旧版本 RPC 服务提供方该字节为 0</td>
+ *         </tr>
+ *         <tr>
+ *             <td>19</td>
+ *             <td>20</td>
+ *             <td>2</td>
+ *             <td>active task count</td>
+ *             <td>尚未返回响应的 RPC 调用数量，包含本次调用及异步执行中的调用，无符号整数，最大为 {@link #MAX_ACTIVE_TASK_COUNT}</td>
+ *         </tr>
+ *         <tr>
+ *             <td>21</td>
+ *             <td>21</td>
+ *             <td>1</td>
+ *             <td>pool utilization</td>
+ *             <td>RPC 执行线程池使用率百分比，取值范围为 [0, 100]</td>
+ *         </tr>
+ *         <tr>
+ *             <td>22</td>
+ *             <td>24</td>
+ *             <td>3</td>
+ *             <td>queue delay</td>
+ *             <td>本次调用从接收到开始执行的等待时间，单位：微秒，无符号整数，最大为 {@link #MAX_QUEUE_DELAY}</td>
+ *         </tr>
+ * </table>
+ * </blockquote>
+ *
+ * <p><strong>说明：</strong>{@code RpcServerLoad} 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @since 1.2
+ * @see RpcPacket#getServerLoad()
+ * @see RpcPacketBuilder#setServerLoad(RpcPacket, RpcServerLoad)
+ */
+public class RpcServerLoad {
+
+    /**
+     * 负载信息标识，代表响应数据头部包含负载信息
+     */
+    public static final byte FLAG_PRESENT = 1;
+
+    /**
+     * 可携带的最大 RPC 调用数量
+     */
+    public static final int MAX_ACTIVE_TASK_COUNT = 0xFFFF;
+
+    /**
+     * 可携带的最大等待时间，单位：微秒
+     */
+    public static final int MAX_QUEUE_DELAY = 0xFFFFFF;
+
+    /**
+     * 负载信息标识在头部信息中的索引位置
+     */
+    private static final int FLAGS_OFFSET = 17;
+
+    /**
+     * 尚未返回响应的 RPC 调用数量在头部信息中的起始索引位置
+     */
+    private static final int ACTIVE_TASK_COUNT_OFFSET = 18;
+
+    /**
+     * 线程池使用率在头部信息中的索引位置
+     */
+    private static final int POOL_UTILIZATION_OFFSET = 20;
+
+    /**
+     * 等待时间在头部信息中的起始索引位置
+     */
+    private static final int QUEUE_DELAY_OFFSET = 21;
+
+    /**
+     * 尚未返回响应的 RPC 调用数量
+     */
+    private final int activeTaskCount;
+
+    /**
+     * RPC 执行线程池使用率百分比，取值范围为 [0, 100]
+     */
+    private final int poolUtilization;
+
+    /**
+     * 本次调用从接收到开始执行的等待时间，单位：微秒
+     */
+    private final int queueDelay;
+
+    /**
+     * 创建时间戳，单位：毫秒
+     */
+    private final long createdTime = System.currentTimeMillis();
+
+    /**
+     * 构造一个 RPC 服务提供方负载信息，超出头部预留字节表示范围的值将被截断为最大值。
+     *
+     * @param activeTaskCount 尚未返回响应的 RPC 调用数量，小于 0 时视为 0
+     * @param poolUtilization RPC 执行线程池使用率百分比，超出 [0, 100] 范围的值将被截断
+     * @param queueDelay 本次调用从接收到开始执行的等待时间，单位：微秒，小于 0 时视为 0
+     */
+    public RpcServerLoad(int activeTaskCount, int poolUtilization, long queueDelay) {
+        this.activeTaskCount = Math.max(0, Math.min(activeTaskCount, MAX_ACTIVE_TASK_COUNT));
+        this.poolUtilization = Math.max(0, Math.min(poolUtilization, 100));
+        this.queueDelay = (int) Math.max(0, Math.min(queueDelay, MAX_QUEUE_DELAY));
+    }
+
+    /**
+     * 获得尚未返回响应的 RPC 调用数量，包含本次调用及异步执行中的调用。
+     *
+     * @return 尚未返回响应的 RPC 调用数量
+     */
+    public int getActiveTaskCount() {
+        return activeTaskCount;
+    }
+
+    /**
+     * 获得 RPC 执行线程池使用率百分比，取值范围为 [0, 100]。
+     *
+     * @return RPC 执行线程池使用率百分比
+     */
+    public int getPoolUtilization() {
+        return poolUtilization;
+    }
+
+    /**
+     * 获得本次调用从接收到开始执行的等待时间，单位：微秒。
+     *
+     * @return 本次调用从接收到开始执行的等待时间
+     */
+    public int getQueueDelay() {
+        return queueDelay;
+    }
+
+    /**
+     * 获得 {@code RpcServerLoad} 创建时间戳，对于 RPC 服务调用方，即为接收到该负载信息的时间，单位：毫秒。
+     *
+     * @return 创建时间戳
+     */
+    public long getCreatedTime() {
+        return createdTime;
+    }
+
+    /**
+     * 将负载信息写入 RPC 数据头部信息的预留字节中。
+     *
+     * @param header RPC 数据头部信息
+     */
+    void writeTo(byte[] header) {
+        header[FLAGS_OFFSET] = FLAG_PRESENT;
+        header[ACTIVE_TASK_COUNT_OFFSET] = (byte) (activeTaskCount >> 8);
+        header[ACTIVE_TASK_COUNT_OFFSET + 1] = (byte) activeTaskCount;
+        header[POOL_UTILIZATION_OFFSET] = (byte) poolUtilization;
+        header[QUEUE_DELAY_OFFSET] = (byte) (queueDelay >> 16);
+        header[QUEUE_DELAY_OFFSET + 1] = (byte) (queueDelay >> 8);
+        header[QUEUE_DELAY_OFFSET + 2] = (byte) queueDelay;
+    }
+
+    /**
+     * 从 RPC 数据头部信息的预留字节中读取负载信息，如果头部信息未包含负载信息，则返回 {@code null}。
+     *
+     * @param header RPC 数据头部信息
+     * @return 负载信息，可能返回 {@code null}
+     */
+    static RpcServerLoad readFrom(byte[] header) {
+        if (header[FLAGS_OFFSET] != FLAG_PRESENT) {
+            return null;
+        }
+        int activeTaskCount = ((header[ACTIVE_TASK_COUNT_OFFSET] & 0xff) << 8) | (header[ACTIVE_TASK_COUNT_OFFSET + 1] & 0xff);
+        int poolUtilization = header[POOL_UTILIZATION_OFFSET] & 0xff;
+        int queueDelay = ((header[QUEUE_DELAY_OFFSET] & 0xff) << 16) | ((header[QUEUE_DELAY_OFFSET + 1] & 0xff) << 8)
+                | (header[QUEUE_DELAY_OFFSET + 2] & 0xff);
+        return new RpcServerLoad(activeTaskCount, poolUtilization, queueDelay);
+    }
+
+    @Override
+    public String toString() {
+        return "RpcServerLoad{" +
+                "activeTaskCount=" + activeTaskCount +
+                ", poolUtilization=" + poolUtilization +
+                ", queueDelay=" + queueDelay +
+                ", createdTime=" + createdTime +
+                '}';
+    }
+}
@@ -49,7 +49,12 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * <p>
  *     {@code RpcServer} 实例应调用 {@link #init()} 方法，初始化成功后，才可对外提供 RPC 服务。
  *     <br>当 {@code RpcServer} 需要关闭时，应先调用 {@link #offline()} 执行下线操作，防止正在执行中的 RPC 调用失败，
- *     等待一段时间后，再调用 {@link #close()} 方法进行资源释放。
+ *     下线操作返回后，再调用 {@link #close()} 方法进行资源释放。
+ * </p>
+ *
+ * <p>
+ *     下线操作会并行通知所有 RPC 调用方，并等待每个管道中执行中的 RPC 调用全部响应完成，最长等待下线排空超时时间，
+ *     RPC 调用方在执行中的 RPC 调用全部完成后将立即关闭管道。
  * </p>
  *
  * <p><strong>说明：</strong>{@code RpcServer} 类是线程安全的，可在多个线程中使用同一个实例。</p>
@@ -190,9 +195,27 @@ public class RpcServer implements Closeable {
     }
 
     /**
-     * {@code RpcServer} 执行下线操作，防止正在执行中的 RPC 调用失败，在下线完成一段时间后，再调用 {@link #close()} 方法进行资源释放，该方法不会抛出任何异常。
+     * {@code RpcServer} 执行下线操作，防止正在执行中的 RPC 调用失败，下线排空超时时间为 {@link RpcChannel#DEFAULT_DRAIN_TIMEOUT} 毫秒，
+     * 在下线完成后，再调用 {@link #close()} 方法进行资源释放，该方法不会抛出任何异常。
+     *
+     * @see #offline(long)
      */
     public synchronized void offline() {
+        offline(RpcChannel.DEFAULT_DRAIN_TIMEOUT);
+    }
+
+    /**
+     * {@code RpcServer} 执行下线操作，防止正在执行中的 RPC 调用失败，在下线完成后，再调用 {@link #close()} 方法进行资源释放，该方法不会抛出任何异常。
+     *
+     * <p>
+     *     所有管道的下线操作并行执行：先向所有 RPC 调用方发送下线操作请求，再等待每个管道中执行中的 RPC 调用全部响应完成，
+     *     所有管道共享同一个截止时间，因此该方法最长等待 {@code drainTimeout} 毫秒。
+     * </p>
+     *
+     * @param drainTimeout 下线排空超时时间，单位：毫秒
+     * @since 1.2
+     */
+    public synchronized void offline(long drainTimeout) {
         long startTime = System.currentTimeMillis();
         if (state == BeanStatusEnum.NORMAL) {
             if (rpcServerTask != null) {
@@ -200,10 +223,16 @@ public class RpcServer implements Closeable {
                     rpcServerTask.close();
                     ArrayList<RpcChannel> copyActiveChannelList = new ArrayList<>(activeRpcChannelList);
                     for (RpcChannel channel : copyActiveChannelList) {
-                        channel.offline();
+                        channel.startOffline();
+                    }
+                    int failedCount = 0;
+                    for (RpcChannel channel : copyActiveChannelList) {
+                        if (!channel.awaitOffline(drainTimeout)) {
+                            failedCount++;
+                        }
                     }
-                    RPC_CONNECTION_LOG.info("RpcServer has been offline. Cost: `{}ms`. Port: `{}`. SocketConfiguration: `{}`.",
-                            (System.currentTimeMillis() - startTime), port, socketConfiguration);
+                    RPC_CONNECTION_LOG.info("RpcServer has been offline. Cost: `{}ms`. Channels: `{}`. Failed: `{}`. Drain timeout: `{}ms`. Port: `{}`. SocketConfiguration: `{}`.",
+                            (System.currentTimeMillis() - startTime), copyActiveChannelList.size(), failedCount, drainTimeout, port, socketConfiguration);
                 } catch (Exception e) {
                     LOG.error("Offline RpcServer failed: `unexpected error`. Port: `" + port + "`.", e);
                 }
@@ -34,6 +34,7 @@ import com.heimuheimu.naiverpc.monitor.server.RpcServerExecutionMonitorFactory;
 import com.heimuheimu.naiverpc.monitor.server.RpcServerThreadPoolMonitorFactory;
 import com.heimuheimu.naiverpc.packet.RpcPacket;
 import com.heimuheimu.naiverpc.packet.RpcPacketBuilder;
+import com.heimuheimu.naiverpc.packet.RpcServerLoad;
 import com.heimuheimu.naiverpc.server.RpcExecutor;
 import com.heimuheimu.naiverpc.server.RpcExecutorListener;
 import com.heimuheimu.naiverpc.transcoder.SimpleTranscoder;
@@ -43,10 +44,22 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 基于 JDK 反射类库实现的 {@link RpcExecutor}。
  *
+ * <p>
+ *     如果 RPC 方法返回 {@link CompletionStage}（例如 {@link CompletableFuture}），将在异步结果执行完成后再发送 RPC 响应数据，
+ *     执行线程不会等待异步结果，异步结果执行失败时，RPC 服务调用方将收到 {@link ResponseStatusCode#INVOCATION_TARGET_ERROR} 响应。
+ * </p>
+ *
+ * <h3>负载信息</h3>
+ * <blockquote>
+ * 每个 RPC 响应数据的头部预留字节中将携带当前的负载信息 {@link RpcServerLoad}，包括尚未返回响应的 RPC 调用数量、RPC 执行线程池使用率以及本次调用的等待时间，
+ * RPC 服务调用方可据此在本执行器拒绝请求（{@link ResponseStatusCode#TOO_BUSY}）前减少对当前主机的调用。
+ * </blockquote>
+ *
  * <h3>监听器</h3>
  * <blockquote>
  * 当 RPC 执行时出现异常、执行过慢等事件时，均会触发 {@link RpcExecutorListener} 相应的事件进行通知。
@@ -107,6 +120,16 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
      */
     private final ConcurrentHashMap<String, RpcServiceDepiction> depictionMap = new ConcurrentHashMap<>();
 
+    /**
+     * 已接收但尚未返回响应的 RPC 调用数量，包含异步执行中的调用
+     */
+    private final AtomicInteger activeTaskCount = new AtomicInteger();
+
+    /**
+     * 正在执行 RPC 方法的线程数量，与通过 {@link ThreadPoolExecutor#getActiveCount()} 获取相比无需加锁遍历工作线程
+     */
+    private final AtomicInteger runningThreadCount = new AtomicInteger();
+
     /**
      * 构造一个 {@code AsyncJdkRpcExecutor} ，用于执行 RPC 方法。
      *
@@ -178,12 +201,15 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
 
     @Override
     public void execute(RpcChannel channel, RpcPacket packet) {
+        activeTaskCount.incrementAndGet();
         try  {
             executorService.submit(new RpcTask(channel, packet));
         } catch (RejectedExecutionException e) {
             threadPoolMonitor.onRejected();
             LOG.error("AsyncJdkRpcExecutor is too busy. MaximumPoolSize: " + maximumPoolSize + ".", e);
-            channel.send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.TOO_BUSY));
+            channel.send(RpcPacketBuilder.setServerLoad(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.TOO_BUSY),
+                    new RpcServerLoad(activeTaskCount.get(), 100, 0))); // 线程池已满
+            activeTaskCount.decrementAndGet();
         }
     }
 
@@ -192,6 +218,16 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
         executorService.shutdown();
     }
 
+    /**
+     * 获得当前的负载信息。
+     *
+     * @param queueDelay 本次调用从接收到开始执行的等待时间，单位：微秒
+     * @return 当前的负载信息
+     */
+    private RpcServerLoad getServerLoad(long queueDelay) {
+        return new RpcServerLoad(activeTaskCount.get(), runningThreadCount.get() * 100 / maximumPoolSize, queueDelay);
+    }
+
     @Override
     public String toString() {
         return "AsyncJdkRpcExecutor{" +
@@ -201,6 +237,8 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
                 ", slowExecutionThreshold=" + slowExecutionThreshold +
                 ", rpcExecutorListener=" + rpcExecutorListener +
                 ", depictionMap=" + depictionMap +
+                ", activeTaskCount=" + activeTaskCount +
+                ", runningThreadCount=" + runningThreadCount +
                 '}';
     }
 
@@ -213,6 +251,16 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
 
         private final RpcPacket packet;
 
+        /**
+         * RPC 执行任务提交时间，单位：纳秒
+         */
+        private final long submitTime = System.nanoTime();
+
+        /**
+         * 本次调用从接收到开始执行的等待时间，单位：微秒
+         */
+        private long queueDelay;
+
         private RpcTask(RpcChannel channel, RpcPacket packet) {
             this.channel = channel;
             this.packet = packet;
@@ -220,25 +268,47 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
 
         @Override
         public void run() {
+            queueDelay = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - submitTime);
+            runningThreadCount.incrementAndGet();
+            try {
+                execute();
+            } finally {
+                runningThreadCount.decrementAndGet();
+            }
+        }
+
+        /**
+         * 执行 RPC 方法，并发送 RPC 响应数据，如果 RPC 方法返回异步结果，将在异步结果执行完成后再发送。
+         */
+        private void execute() {
             RpcRequestMessage rpcRequestMessage = null;
             try {
                 rpcRequestMessage = transcoder.decode(packet.getBody(), packet.getSerializationType(), packet.getCompressionType());
             } catch (Exception e) {
                 LOG.error("Decode RpcRequestMessage failed: `invalid packet`. Packet: `" + packet + "`.", e);
-                channel.send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INTERNAL_ERROR));
+                send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INTERNAL_ERROR));
                 executionMonitor.onError(RpcServerExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
+                activeTaskCount.decrementAndGet();
             }
             if (rpcRequestMessage != null) {
                 long startTime = System.nanoTime();
+                boolean isAsyncResult = false;
                 try {
                     RpcServiceDepiction depiction = depictionMap.get(rpcRequestMessage.getTargetClass());
                     if (depiction != null) {
                         try {
                             Object v = depiction.execute(rpcRequestMessage.getMethodUniqueName(), rpcRequestMessage.getArguments());
-                            channel.send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.SUCCESS, v, transcoder));
+                            if (v instanceof CompletionStage) {
+                                isAsyncResult = true;
+                                RpcRequestMessage asyncRequestMessage = rpcRequestMessage;
+                                ((CompletionStage<?>) v).whenComplete((value, throwable) ->
+                                        onAsyncCompleted(asyncRequestMessage, startTime, value, throwable));
+                            } else {
+                                send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.SUCCESS, v, transcoder));
+                            }
                         } catch (NoSuchMethodException e) {
                             LOG.error("Execute rpc method failed: `no such method`. RpcRequestMessage: `" + rpcRequestMessage + "`.", e);
-                            channel.send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.NO_SUCH_METHOD));
+                            send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.NO_SUCH_METHOD));
                             if (rpcExecutorListener != null) {
                                 try {
                                     rpcExecutorListener.onNoSuchMethod(rpcRequestMessage);
@@ -249,11 +319,11 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
                             executionMonitor.onError(RpcServerExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
                         } catch (IllegalAccessException e) { //should not happen
                             LOG.error("Execute rpc method failed: `illegal access`. RpcRequestMessage: `" + rpcRequestMessage + "`.", e);
-                            channel.send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INTERNAL_ERROR));
+                            send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INTERNAL_ERROR));
                             executionMonitor.onError(RpcServerExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
                         } catch (IllegalArgumentException e) {
                             LOG.error("Execute rpc method failed: `illegal argument`. RpcRequestMessage: `" + rpcRequestMessage + "`.", e);
-                            channel.send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.ILLEGAL_ARGUMENT));
+                            send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.ILLEGAL_ARGUMENT));
                             if (rpcExecutorListener != null) {
                                 try {
                                     rpcExecutorListener.onIllegalArgument(rpcRequestMessage);
@@ -265,7 +335,7 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
                         } catch (InvocationTargetException e) {
                             LOG.error("Execute rpc method failed: `invocation target error`. RpcRequestMessage: `" + rpcRequestMessage + "`.", e);
                             String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
-                            channel.send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INVOCATION_TARGET_ERROR, errorMessage, transcoder));
+                            send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INVOCATION_TARGET_ERROR, errorMessage, transcoder));
                             if (rpcExecutorListener != null) {
                                 try {
                                     rpcExecutorListener.onInvocationTargetError(rpcRequestMessage, e);
@@ -277,7 +347,7 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
                         }
                     } else {
                         LOG.error("Execute rpc method failed: `class not found`. RpcRequestMessage: `" + rpcRequestMessage + "`.");
-                        channel.send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.CLASS_NOT_FOUND));
+                        send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.CLASS_NOT_FOUND));
                         if (rpcExecutorListener != null) {
                             try {
                                 rpcExecutorListener.onClassNotFound(rpcRequestMessage);
@@ -289,24 +359,78 @@ public class AsyncJdkRpcExecutor implements RpcExecutor {
                     }
                 } catch (Exception e) {
                     LOG.error("Execute rpc method failed: `" + e.getMessage() + "`. RpcRequestMessage: `" + rpcRequestMessage + "`.", e);
-                    channel.send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INTERNAL_ERROR));
+                    send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INTERNAL_ERROR));
                     executionMonitor.onError(RpcServerExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
                 } finally {
+                    if (!isAsyncResult) {
+                        onExecuted(rpcRequestMessage, startTime);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 当 RPC 方法返回的异步结果执行完成后，发送 RPC 响应数据，该方法在完成异步结果的线程中执行。
+         *
+         * @param rpcRequestMessage RPC 调用请求消息
+         * @param startTime RPC 方法开始执行时间，单位：纳秒
+         * @param value 异步结果的执行结果
+         * @param throwable 异步结果执行过程中遇到的异常，如果执行成功，则为 {@code null}
+         */
+        private void onAsyncCompleted(RpcRequestMessage rpcRequestMessage, long startTime, Object value, Throwable throwable) {
+            try {
+                if (throwable == null) {
+                    send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.SUCCESS, value, transcoder));
+                } else {
+                    Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+                    LOG.error("Execute rpc method failed: `invocation target error`. RpcRequestMessage: `" + rpcRequestMessage + "`.", cause);
+                    send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INVOCATION_TARGET_ERROR, cause.getMessage(), transcoder));
                     if (rpcExecutorListener != null) {
-                        long executedNanoTime = System.nanoTime() - startTime;
-                        if (executedNanoTime > slowExecutionThreshold) {
-                            executionMonitor.onError(RpcServerExecutionMonitorFactory.ERROR_CODE_SLOW_EXECUTION);
-                            try {
-                                rpcExecutorListener.onSlowExecution(rpcRequestMessage, executedNanoTime);
-                            } catch (Exception e) {
-                                LOG.error("Call RpcExecutorListener#onSlowExecution() failed. RpcRequestMessage: `" + rpcRequestMessage
-                                        + "`. Executed nano time: `" + executedNanoTime + "`.", e);
-                            }
+                        try {
+                            rpcExecutorListener.onInvocationTargetError(rpcRequestMessage, new InvocationTargetException(cause));
+                        } catch (Exception e1) {
+                            LOG.error("Call RpcExecutorListener#onInvocationTargetError() failed. RpcRequestMessage: `" + rpcRequestMessage + "`.", e1);
                         }
                     }
-                    executionMonitor.onExecuted(startTime);
+                    executionMonitor.onError(RpcServerExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
+                }
+            } catch (Exception e) {
+                LOG.error("Execute rpc method failed: `" + e.getMessage() + "`. RpcRequestMessage: `" + rpcRequestMessage + "`.", e);
+                try {
+                    send(RpcPacketBuilder.buildResponsePacket(packet, ResponseStatusCode.INTERNAL_ERROR));
+                } catch (Exception e1) {
+                    LOG.error("Send internal error response failed: `" + e1.getMessage() + "`. RpcRequestMessage: `" + rpcRequestMessage + "`.", e1);
+                }
+                executionMonitor.onError(RpcServerExecutionMonitorFactory.ERROR_CODE_INVOCATION_ERROR);
+            } finally {
+                onExecuted(rpcRequestMessage, startTime);
+            }
+        }
+
+        /**
+         * 在 RPC 响应数据头部写入当前的负载信息后发送。
+         *
+         * @param responsePacket RPC 响应数据
+         */
+        private void send(RpcPacket responsePacket) {
+            channel.send(RpcPacketBuilder.setServerLoad(responsePacket, getServerLoad(queueDelay)));
+        }
+
+        private void onExecuted(RpcRequestMessage rpcRequestMessage, long startTime) {
+            activeTaskCount.decrementAndGet();
+            if (rpcExecutorListener != null) {
+                long executedNanoTime = System.nanoTime() - startTime;
+                if (executedNanoTime > slowExecutionThreshold) {
+                    executionMonitor.onError(RpcServerExecutionMonitorFactory.ERROR_CODE_SLOW_EXECUTION);
+                    try {
+                        rpcExecutorListener.onSlowExecution(rpcRequestMessage, executedNanoTime);
+                    } catch (Exception e) {
+                        LOG.error("Call RpcExecutorListener#onSlowExecution() failed. RpcRequestMessage: `" + rpcRequestMessage
+                                + "`. Executed nano time: `" + executedNanoTime + "`.", e);
+                    }
                 }
             }
+            executionMonitor.onExecuted(startTime);
         }
 
     }
@@ -71,16 +71,42 @@ public class ParallelRpcBroadcastClientFactory implements FactoryBean<ParallelRp
      * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
      * @param directRpcClientListListener {@link DirectRpcClientList} 事件监听器，允许为 {@code null}
      * @param rpcBroadcastClientListener {@code RpcBroadcastClient} 事件监听器，允许为 {@code null}
-     * @param maximumPoolSize 并行执行 RPC 调用请求使用的线程池大小，如果小于等于 0，则为默认值 500
      * @throws IllegalStateException  如果所有提供 RPC 服务的主机地址都不可用，将会抛出此异常
-     * @see ParallelRpcBroadcastClient#ParallelRpcBroadcastClient(String[], SocketConfiguration, int, int, int, int, DirectRpcClientListener, DirectRpcClientListListener, RpcBroadcastClientListener, int)
+     * @see ParallelRpcBroadcastClient#ParallelRpcBroadcastClient(String[], SocketConfiguration, int, int, int, int, DirectRpcClientListener, DirectRpcClientListListener, RpcBroadcastClientListener)
+     * @since 1.2
      */
+    public ParallelRpcBroadcastClientFactory(String[] hosts, SocketConfiguration configuration, int timeout, int compressionThreshold,
+                                             int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
+                                             DirectRpcClientListListener directRpcClientListListener,
+                                             RpcBroadcastClientListener rpcBroadcastClientListener) throws IllegalStateException {
+        this.broadcastClient = new ParallelRpcBroadcastClient(hosts, configuration, timeout, compressionThreshold, slowExecutionThreshold,
+                heartbeatPeriod, directRpcClientListener, directRpcClientListListener, rpcBroadcastClientListener);
+    }
+
+    /**
+     * 构造一个 {@link ParallelRpcBroadcastClient} Spring 工厂类，用于创建 {@link ParallelRpcBroadcastClient} 实例。
+     *
+     * @param hosts 提供 RPC 服务的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182，不允许为 {@code null} 或空数组
+     * @param configuration 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
+     * @param timeout 创建 {@code DirectRpcClient} 使用的 RPC 调用超时时间，单位：毫秒，不能小于等于 0
+     * @param compressionThreshold 创建 {@code DirectRpcClient} 使用的最小压缩字节数，不能小于等于 0
+     * @param slowExecutionThreshold 创建 {@code DirectRpcClient} 使用的 RPC 调用过慢最小时间，单位：毫秒，不能小于等于 0
+     * @param heartbeatPeriod heartbeatPeriod 创建 {@code DirectRpcClient} 使用的心跳检测时间，单位：秒，如果该值小于等于 0，则不进行检测
+     * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
+     * @param directRpcClientListListener {@link DirectRpcClientList} 事件监听器，允许为 {@code null}
+     * @param rpcBroadcastClientListener {@code RpcBroadcastClient} 事件监听器，允许为 {@code null}
+     * @param maximumPoolSize 该参数已不再使用，仅为保持兼容而保留
+     * @throws IllegalStateException  如果所有提供 RPC 服务的主机地址都不可用，将会抛出此异常
+     * @deprecated {@code maximumPoolSize} 参数将被忽略，请使用
+     *      {@link #ParallelRpcBroadcastClientFactory(String[], SocketConfiguration, int, int, int, int, DirectRpcClientListener, DirectRpcClientListListener, RpcBroadcastClientListener)} 代替
+     */
+    @Deprecated
     public ParallelRpcBroadcastClientFactory(String[] hosts, SocketConfiguration configuration, int timeout, int compressionThreshold,
                                              int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
                                              DirectRpcClientListListener directRpcClientListListener, RpcBroadcastClientListener rpcBroadcastClientListener,
                                              int maximumPoolSize) throws IllegalStateException {
-        this.broadcastClient = new ParallelRpcBroadcastClient(hosts, configuration, timeout, compressionThreshold, slowExecutionThreshold,
-                heartbeatPeriod, directRpcClientListener, directRpcClientListListener, rpcBroadcastClientListener, maximumPoolSize);
+        this(hosts, configuration, timeout, compressionThreshold, slowExecutionThreshold, heartbeatPeriod, directRpcClientListener,
+                directRpcClientListListener, rpcBroadcastClientListener);
     }
 
     @Override
@@ -26,8 +26,10 @@ package com.heimuheimu.naiverpc.spring.client;
 
 import com.heimuheimu.naiverpc.client.DirectRpcClientListener;
 import com.heimuheimu.naiverpc.client.cluster.RpcClusterClient;
+import com.heimuheimu.naiverpc.client.cluster.RpcClusterClientConfiguration;
 import com.heimuheimu.naiverpc.facility.clients.DirectRpcClientList;
 import com.heimuheimu.naiverpc.facility.clients.DirectRpcClientListListener;
+import com.heimuheimu.naiverpc.facility.discovery.HostDiscovery;
 import com.heimuheimu.naiverpc.net.SocketConfiguration;
 import org.springframework.beans.factory.FactoryBean;
 
@@ -77,6 +79,54 @@ public class RpcClusterClientFactory implements FactoryBean<RpcClusterClient> {
                 heartbeatPeriod, directRpcClientListener, directRpcClientListListener);
     }
 
+    /**
+     * 构造一个 {@link RpcClusterClient} Spring 工厂类，用于创建 {@link RpcClusterClient} 实例。
+     *
+     * @param hosts 提供 RPC 服务的主机地址数组，由主机名和端口组成，":"符号分割，例如：localhost:4182，不允许为 {@code null} 或空数组
+     * @param configuration 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
+     * @param timeout 创建 {@code DirectRpcClient} 使用的 RPC 调用超时时间，单位：毫秒，不能小于等于 0
+     * @param compressionThreshold 创建 {@code DirectRpcClient} 使用的最小压缩字节数，不能小于等于 0
+     * @param slowExecutionThreshold 创建 {@code DirectRpcClient} 使用的 RPC 调用过慢最小时间，单位：毫秒，不能小于等于 0
+     * @param heartbeatPeriod 创建 {@code DirectRpcClient} 使用的心跳检测时间，单位：秒，如果该值小于等于 0，则不进行检测
+     * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
+     * @param directRpcClientListListener {@link DirectRpcClientList} 事件监听器，允许为 {@code null}
+     * @param clusterConfiguration RPC 集群客户端调度配置信息，如果为 {@code null}，将使用默认配置
+     * @throws IllegalStateException  如果所有提供 RPC 服务的主机地址都不可用，将会抛出此异常
+     * @see RpcClusterClient#RpcClusterClient(String[], SocketConfiguration, int, int, int, int, DirectRpcClientListener, DirectRpcClientListListener, RpcClusterClientConfiguration)
+     * @since 1.2
+     */
+    public RpcClusterClientFactory(String[] hosts, SocketConfiguration configuration, int timeout, int compressionThreshold,
+                                   int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
+                                   DirectRpcClientListListener directRpcClientListListener,
+                                   RpcClusterClientConfiguration clusterConfiguration) throws IllegalStateException {
+        this.clusterClient = new RpcClusterClient(hosts, configuration, timeout, compressionThreshold, slowExecutionThreshold,
+                heartbeatPeriod, directRpcClientListener, directRpcClientListListener, clusterConfiguration);
+    }
+
+    /**
+     * 构造一个 {@link RpcClusterClient} Spring 工厂类，用于创建 {@link RpcClusterClient} 实例，主机地址通过 {@link HostDiscovery} 获得并自动更新。
+     *
+     * @param hostDiscovery 主机地址发现机制，不允许为 {@code null}
+     * @param configuration 创建 {@code DirectRpcClient} 使用的 {@link Socket} 配置信息，允许为 {@code null}
+     * @param timeout 创建 {@code DirectRpcClient} 使用的 RPC 调用超时时间，单位：毫秒，不能小于等于 0
+     * @param compressionThreshold 创建 {@code DirectRpcClient} 使用的最小压缩字节数，不能小于等于 0
+     * @param slowExecutionThreshold 创建 {@code DirectRpcClient} 使用的 RPC 调用过慢最小时间，单位：毫秒，不能小于等于 0
+     * @param heartbeatPeriod 创建 {@code DirectRpcClient} 使用的心跳检测时间，单位：秒，如果该值小于等于 0，则不进行检测
+     * @param directRpcClientListener 创建 {@code DirectRpcClient} 使用的 {@code DirectRpcClient} 事件监听器，允许为 {@code null}
+     * @param directRpcClientListListener {@link DirectRpcClientList} 事件监听器，允许为 {@code null}
+     * @param clusterConfiguration RPC 集群客户端调度配置信息，如果为 {@code null}，将使用默认配置
+     * @throws IllegalStateException 如果无法获取主机地址，或所有提供 RPC 服务的主机地址都不可用，将会抛出此异常
+     * @see RpcClusterClient#RpcClusterClient(HostDiscovery, SocketConfiguration, int, int, int, int, DirectRpcClientListener, DirectRpcClientListListener, RpcClusterClientConfiguration)
+     * @since 1.2
+     */
+    public RpcClusterClientFactory(HostDiscovery hostDiscovery, SocketConfiguration configuration, int timeout, int compressionThreshold,
+                                   int slowExecutionThreshold, int heartbeatPeriod, DirectRpcClientListener directRpcClientListener,
+                                   DirectRpcClientListListener directRpcClientListListener,
+                                   RpcClusterClientConfiguration clusterConfiguration) throws IllegalStateException {
+        this.clusterClient = new RpcClusterClient(hostDiscovery, configuration, timeout, compressionThreshold, slowExecutionThreshold,
+                heartbeatPeriod, directRpcClientListener, directRpcClientListListener, clusterConfiguration);
+    }
+
     @Override
     public RpcClusterClient getObject() throws Exception {
         return clusterClient;
@@ -0,0 +1,164 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.naiverpc.util;
+
+import com.heimuheimu.naiverpc.exception.RpcException;
+import com.heimuheimu.naiverpc.exception.TimeoutException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 异步执行结果工具类，用于在同步调用方法中等待 {@link Future} 执行完成，并将执行过程中遇到的异常原样抛出。
+ *
+ * @author heimuheimu
+ * @since 1.2
+ */
+public class FutureUtil {
+
+    /**
+     * 同步调用方法等待异步执行结果时，在 RPC 调用超时时间之外额外等待的时间，单位：毫秒
+     *
+     * <p>异步执行结果通常由超时检查任务保证结束，该等待时间仅作为超时检查任务未能及时执行时的兜底。</p>
+     */
+    public static final long WAIT_TIMEOUT_SLACK = 1000;
+
+    private FutureUtil() {
+        //prevent create instance
+    }
+
+    /**
+     * 等待异步执行完成，并返回执行结果。如果异步执行过程中遇到 {@link RuntimeException} 异常，将会直接抛出该异常。
+     *
+     * <p><strong>注意：</strong>该方法不会设置等待超时时间，调用方需保证 {@code Future} 一定会被完成。</p>
+     *
+     * @param future 异步执行结果
+     * @param <T> 执行结果类型
+     * @return 执行结果
+     * @throws RuntimeException 异步执行过程中遇到的异常
+     * @throws RpcException 如果等待过程中线程被中断，或者异步执行过程中遇到非 {@code RuntimeException} 异常，将会抛出此异常
+     */
+    public static <T> T get(Future<T> future) throws RuntimeException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RpcException("Wait for future failed: `interrupted`.", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 等待异步执行完成，并返回执行结果，最多等待 {@code timeout} 毫秒。如果异步执行过程中遇到 {@link RuntimeException} 异常，将会直接抛出该异常。
+     *
+     * <p>等待超时后不会取消 {@code Future}，异步执行结果仍由其自身的超时检查任务结束。</p>
+     *
+     * @param future 异步执行结果
+     * @param timeout 最大等待时间，单位：毫秒
+     * @param <T> 执行结果类型
+     * @return 执行结果
+     * @throws RuntimeException 异步执行过程中遇到的异常
+     * @throws TimeoutException 如果等待超时，将会抛出此异常
+     * @throws RpcException 如果等待过程中线程被中断，或者异步执行过程中遇到非 {@code RuntimeException} 异常，将会抛出此异常
+     */
+    public static <T> T get(Future<T> future, long timeout) throws RuntimeException {
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            throw new TimeoutException("Wait for future failed: `wait timeout`. Timeout: `" + timeout + "ms`.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RpcException("Wait for future failed: `interrupted`.", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 获得异步执行过程中遇到的原始异常，{@link Error} 将会直接抛出。
+     *
+     * @param e 异步执行异常
+     * @return 需要抛出的 {@code RuntimeException}
+     */
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else {
+            return new RpcException("Wait for future failed: `" + cause + "`.", cause);
+        }
+    }
+
+    /**
+     * 在调用线程中执行 {@code supplier}，并返回已结束的 {@code CompletableFuture}，执行过程中抛出的异常将使返回的 {@code CompletableFuture} 异常结束。
+     *
+     * <p>该方法通常用于接口异步方法的默认实现，将同步调用方法包装为异步调用方法。</p>
+     *
+     * @param supplier 同步执行函数
+     * @param <T> 执行结果类型
+     * @return 已结束的 {@code CompletableFuture}
+     */
+    public static <T> CompletableFuture<T> supplySync(Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(supplier.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 使用执行结果或执行异常结束 {@code CompletableFuture}，如果执行异常为 {@link CompletionException}，将使用其原始异常结束。
+     *
+     * <p>该方法通常在 {@code whenComplete} 回调中使用，用于将一个异步执行结果传递给另外一个 {@code CompletableFuture}。</p>
+     *
+     * @param future 需要结束的 {@code CompletableFuture}
+     * @param value 执行结果
+     * @param throwable 执行异常，如果为 {@code null}，则使用执行结果结束
+     * @param <T> 执行结果类型
+     * @since 1.2
+     */
+    public static <T> void complete(CompletableFuture<T> future, T value, Throwable throwable) {
+        if (throwable == null) {
+            future.complete(value);
+        } else {
+            if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                throwable = throwable.getCause();
+            }
+            future.completeExceptionally(throwable);
+        }
+    }
+}
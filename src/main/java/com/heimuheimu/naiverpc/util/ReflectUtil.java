@@ -24,6 +24,8 @@
 package com.heimuheimu.naiverpc.util;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * 反射工具类。
@@ -52,4 +54,16 @@ public class ReflectUtil {
 		}
 		
 	}
+
+	/**
+	 * 判断该方法是否为异步方法，即方法返回类型为 {@link CompletableFuture} 或 {@link CompletionStage}。
+	 *
+	 * @param method Method 实例
+	 * @return 是否为异步方法
+	 * @since 1.2
+	 */
+	public static boolean isAsyncMethod(Method method) {
+		Class<?> returnType = method.getReturnType();
+		return returnType == CompletableFuture.class || returnType == CompletionStage.class;
+	}
 }